@@ -0,0 +1,174 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test for the ContactController read endpoints.
+ * Seeds one user with a contact list of generated contacts, then runs a fixed number of concurrent clients against
+ * a mix of cache-served and database-bound endpoints and prints latency percentiles per endpoint. Run it once against
+ * the service with platform threads and once with SPRING_THREADS_VIRTUAL_ENABLED=true to compare the two modes.
+ * Needs only a JDK 21: java loadtest/ContactLoadTest.java [baseUrl] [clients] [seconds] [contacts]
+ */
+public class ContactLoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    private static final String[] NAMES = {"June", "Thomas", "Amelie", "Bruno", "Chen", "Dalia", "Emeka", "Farah"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int contacts = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(5)).build();
+            String api = baseUrl + "/api/v1";
+
+            UUID userId = UUID.randomUUID();
+            String list = send(client, HttpRequest.newBuilder(URI.create(api + "/contact_lists"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"listName\":\"load-test\",\"userId\":\"" + userId + "\"}")).build());
+            UUID listId = UUID.fromString(firstId(list));
+
+            StringBuilder rows = new StringBuilder();
+            for (int i = 0; i < contacts; i++) {
+                rows.append("{\"contactListId\":\"").append(listId)
+                        .append("\",\"firstName\":\"").append(NAMES[i % NAMES.length])
+                        .append("\",\"lastName\":\"").append(NAMES[(i / NAMES.length) % NAMES.length]).append(i)
+                        .append("\",\"email\":\"load-").append(userId).append('-').append(i)
+                        .append("@test.com\",\"phone\":\"").append(1_000_000_000L + i).append("\"}\n");
+            }
+            send(client, HttpRequest.newBuilder(URI.create(api + "/contacts/import"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(rows.toString())).build());
+
+            List<String> contactIds = new ArrayList<>();
+            Matcher matcher = ID.matcher(send(client, get(api + "/contacts/contact-list/" + listId)));
+            while (matcher.find()) {
+                contactIds.add(matcher.group(1));
+            }
+
+            Map<String, Supplier<HttpRequest>> endpoints = new LinkedHashMap<>();
+            endpoints.put("GET /contacts/{id}", () -> get(api + "/contacts/" + pick(contactIds)));
+            endpoints.put("GET /contacts/user/{userId}/typeahead", () -> get(api + "/contacts/user/" + userId + "/typeahead?q="
+                    + pick(List.of(NAMES)).substring(0, 2)));
+            endpoints.put("GET /contacts/search/{name}", () -> get(api + "/contacts/search/" + pick(List.of(NAMES))));
+            endpoints.put("GET /contacts/contact-list/{id}", () -> get(api + "/contacts/contact-list/" + listId));
+            endpoints.put("GET /contacts?limit=100", () -> get(api + "/contacts?limit=100"));
+            List<String> names = List.copyOf(endpoints.keySet());
+
+            // Warm the JIT, the lookup cache and the typeahead index before measuring.
+            run(client, executor, Math.min(clients, 20), Duration.ofSeconds(5), names, endpoints, new LinkedHashMap<>());
+
+            Map<String, Stats> stats = new LinkedHashMap<>();
+            names.forEach(name -> stats.put(name, new Stats()));
+            long started = System.nanoTime();
+            run(client, executor, clients, Duration.ofSeconds(seconds), names, endpoints, stats);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+
+            System.out.printf("%d clients for %ds against %s%n", clients, seconds, baseUrl);
+            System.out.printf("%-38s %8s %7s %8s %8s %8s %8s%n", "endpoint", "requests", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            Stats all = new Stats();
+            stats.forEach((name, endpoint) -> {
+                endpoint.print(name);
+                all.latencies.addAll(endpoint.latencies);
+                all.errors.addAndGet(endpoint.errors.get());
+            });
+            all.print("all");
+            System.out.printf("throughput: %.0f requests/s%n", all.latencies.size() / elapsed);
+        }
+    }
+
+    private static void run(HttpClient client, ExecutorService executor, int clients, Duration duration, List<String> names,
+                            Map<String, Supplier<HttpRequest>> endpoints, Map<String, Stats> stats) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<java.util.concurrent.Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            int offset = i;
+            workers.add(executor.submit(() -> {
+                for (int n = offset; System.nanoTime() < deadline; n++) {
+                    String name = names.get(n % names.size());
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(endpoints.get(name).get(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                    } catch (Exception ex) {
+                        ok = false;
+                    }
+                    Stats endpoint = stats.get(name);
+                    if (endpoint != null) {
+                        endpoint.latencies.add(System.nanoTime() - start);
+                        if (!ok) {
+                            endpoint.errors.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (java.util.concurrent.Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String firstId(String json) {
+        Matcher matcher = ID.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static final class Stats {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        private void print(String name) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            System.out.printf("%-38s %8d %7d %8.1f %8.1f %8.1f %8.1f%n", name, sorted.size(), errors.get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1e6;
+        }
+    }
+}
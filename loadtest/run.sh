@@ -0,0 +1,31 @@
+# Compares p99 latency of the ContactController endpoints with platform threads and with virtual threads.
+# Starts the packaged service once per mode against the database configured in $env_file, runs ContactLoadTest, then
+# stops it. Build first with `mvn package -DskipTests`. Usage: ./loadtest/run.sh [clients] [seconds] [contacts]
+env_file=${ENV_FILE:-./.env.dev}
+clients=${1:-400}
+seconds=${2:-30}
+contacts=${3:-2000}
+
+set -a # Automatically export all variables
+source $env_file
+set +a # Stop automatically exporting
+
+CONTAINER_HOST=localhost
+jar=target/contact-management-service-0.0.1-SNAPSHOT.jar
+url=http://localhost:${CONTAINER_PORT}
+
+for virtual in false true; do
+  echo "== spring.threads.virtual.enabled=$virtual =="
+  SPRING_THREADS_VIRTUAL_ENABLED=$virtual java -jar $jar > loadtest/service-virtual-$virtual.log 2>&1 &
+  pid=$!
+  until curl -sf $url/api/v1/contact_lists > /dev/null; do
+    if ! kill -0 $pid 2> /dev/null; then
+      echo "Service failed to start, see loadtest/service-virtual-$virtual.log"
+      exit 1
+    fi
+    sleep 1
+  done
+  java loadtest/ContactLoadTest.java $url $clients $seconds $contacts
+  kill $pid
+  wait $pid 2> /dev/null
+done
@@ -0,0 +1,99 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fixture data shared by the benchmarks.
+ * Values come from a seeded Random, so every run and every fork measures the same contacts.
+ */
+final class BenchmarkData {
+
+    private static final String[] FIRST_NAMES = {"June", "Thomas", "Amélie", "Bruno", "Chen", "Dalia", "Emeka", "Farah"};
+    private static final String[] LAST_NAMES = {"Aldujaili", "Nguyen", "O'Brien", "Schmidt", "Tremblay", "Okafor"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a contact list owned by a random user.
+     * @param random The source of randomness.
+     * @return The contact list.
+     */
+    static ContactListEntity contactList(Random random) {
+        return ContactListEntity.builder()
+                .id(new UUID(random.nextLong(), random.nextLong()))
+                .listName("List " + random.nextInt(1000))
+                .userId(new UUID(random.nextLong(), random.nextLong()))
+                .contacts(new HashSet<>())
+                .build();
+    }
+
+    /**
+     * Creates a contact with every field set, as loaded from the database.
+     * @param random The source of randomness.
+     * @param contactList The contact list the contact belongs to.
+     * @return The contact.
+     */
+    static ContactEntity contact(Random random, ContactListEntity contactList) {
+        ContactEntity entity = new ContactEntity();
+        entity.setId(new UUID(random.nextLong(), random.nextLong()));
+        entity.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        entity.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        entity.setPreferredName(random.nextBoolean() ? entity.getFirstName() : null);
+        entity.setEmail(entity.getId() + "@test.com");
+        entity.setPhone(String.valueOf(1_000_000_000L + random.nextInt(1_000_000_000)));
+        entity.setFax(null);
+        entity.setAddressId(new UUID(random.nextLong(), random.nextLong()));
+        entity.setDoNotContact(random.nextInt(10) == 0);
+        entity.setContactList(contactList);
+        return entity;
+    }
+
+    /**
+     * Creates a set of contacts spread over a few contact lists.
+     * @param size The number of contacts.
+     * @return The contacts.
+     */
+    static Set<ContactEntity> contacts(int size) {
+        Random random = new Random(42);
+        ContactListEntity[] lists = {contactList(random), contactList(random), contactList(random)};
+        Set<ContactEntity> contacts = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            contacts.add(contact(random, lists[i % lists.length]));
+        }
+        return contacts;
+    }
+
+    /**
+     * Creates a set of contact lists.
+     * @param size The number of contact lists.
+     * @return The contact lists.
+     */
+    static Set<ContactListEntity> contactLists(int size) {
+        Random random = new Random(42);
+        Set<ContactListEntity> lists = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            lists.add(contactList(random));
+        }
+        return lists;
+    }
+
+    /**
+     * Creates a contact DTO with every field set.
+     * @return The contact DTO.
+     */
+    static ContactDTO contactDTO() {
+        Random random = new Random(42);
+        ContactEntity entity = contact(random, contactList(random));
+        return new ContactDTO(entity.getId(), entity.getContactList().getId(), entity.getFirstName(), entity.getLastName(),
+                entity.getPreferredName(), entity.getEmail(), entity.getPhone(), entity.getFax(), entity.getAddressId(),
+                entity.isDoNotContact());
+    }
+}
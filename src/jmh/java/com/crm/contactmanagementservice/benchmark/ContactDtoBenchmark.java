@@ -0,0 +1,84 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.mapper.ContactMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for ContactDTO JSON serialization and validation.
+ * The ObjectMapper is configured the way Spring Boot configures the one used by the controllers. A page of 1000
+ * contacts is included because list endpoints serialize whole sets at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactDtoBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ContactDTO contact;
+    private ContactDTO sparseContact;
+    private ContactDTO emptyContact;
+    private byte[] contactJson;
+    private Set<ContactDTO> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        contact = BenchmarkData.contactDTO();
+        emptyContact = new ContactDTO(null, null, null, null, null, null, null, null, null, false);
+        sparseContact = new ContactDTO(contact.id(), null, null, null, null, null, null, null, null, false);
+        contactJson = objectMapper.writeValueAsBytes(contact);
+        page = new ContactMapperImpl().toDTOs(BenchmarkData.contacts(1000));
+    }
+
+    @Benchmark
+    public byte[] serializeContact() throws IOException {
+        return objectMapper.writeValueAsBytes(contact);
+    }
+
+    @Benchmark
+    public ContactDTO deserializeContact() throws IOException {
+        return objectMapper.readValue(contactJson, ContactDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public boolean isValidDtoFull() {
+        return contact.isValidDto();
+    }
+
+    /**
+     * Only the id, which is checked last, is set: the worst case for a valid DTO.
+     */
+    @Benchmark
+    public boolean isValidDtoSparse() {
+        return sparseContact.isValidDto();
+    }
+
+    @Benchmark
+    public boolean isValidDtoEmpty() {
+        return emptyContact.isValidDto();
+    }
+}
@@ -0,0 +1,83 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.mapper.ContactListMapperImpl;
+import com.crm.contactmanagementservice.mapper.ContactMapperImpl;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.service.impl.ContactListServiceImpl;
+import com.crm.contactmanagementservice.dto.ContactListDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the collection pipelines in ContactListServiceImpl.
+ * The repository is replaced by a stub that returns prebuilt entities, so only the service's own work is measured:
+ * mapping every entity and collecting the DTOs into a Set. Contact reads are projected by the database, so they are
+ * measured against it in ContactReadBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactListServiceBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ContactListServiceImpl contactListService;
+    private final UUID id = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        Set<ContactListEntity> contactLists = BenchmarkData.contactLists(size);
+        ContactRepository contactRepository = stub(ContactRepository.class, Map.of());
+        ContactListRepository contactListRepository = stub(ContactListRepository.class, Map.of(
+                "findAll", new ArrayList<>(contactLists),
+                "findAllContactListsByUserId", contactLists));
+        contactListService = new ContactListServiceImpl(contactListRepository, contactRepository, new ContactListMapperImpl(), new ContactMapperImpl(), null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Set<ContactListDTO> getAllContactLists() {
+        return contactListService.getAllContactLists();
+    }
+
+    @Benchmark
+    public Set<ContactListDTO> getAllContactListsByUserId() {
+        return contactListService.getAllContactListsByUserId(id);
+    }
+
+    /**
+     * Creates a repository stub that answers the named methods with fixed results.
+     * @param type The repository interface.
+     * @param results The result for each method name.
+     * @return The stub.
+     */
+    private static <T> T stub(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!results.containsKey(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return results.get(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,98 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.mapper.ContactListMapper;
+import com.crm.contactmanagementservice.mapper.ContactListMapperImpl;
+import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.crm.contactmanagementservice.mapper.ContactMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the MapStruct mappers.
+ * Single-entity conversions measure the generated field copying; the set conversions add the cost of building the
+ * result HashSet, which dominates for large contact lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactMapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private final ContactMapper contactMapper = new ContactMapperImpl();
+    private final ContactListMapper contactListMapper = new ContactListMapperImpl();
+
+    private ContactEntity contact;
+    private ContactDTO contactDTO;
+    private Set<ContactEntity> contacts;
+    private Set<ContactDTO> contactDTOs;
+    private ContactListEntity contactList;
+    private Set<ContactListEntity> contactLists;
+    private Set<ContactListDTO> contactListDTOs;
+
+    @Setup
+    public void setUp() {
+        contacts = BenchmarkData.contacts(size);
+        contact = contacts.iterator().next();
+        contactDTOs = contactMapper.toDTOs(contacts);
+        contactDTO = contactMapper.toDTO(contact);
+        contactLists = BenchmarkData.contactLists(size);
+        contactList = contactLists.iterator().next();
+        contactListDTOs = contactListMapper.toDTOs(contactLists);
+    }
+
+    @Benchmark
+    public ContactDTO contactToDTO() {
+        return contactMapper.toDTO(contact);
+    }
+
+    @Benchmark
+    public ContactEntity contactToEntity() {
+        return contactMapper.toEntity(contactDTO);
+    }
+
+    @Benchmark
+    public Set<ContactDTO> contactsToDTOs() {
+        return contactMapper.toDTOs(contacts);
+    }
+
+    @Benchmark
+    public Set<ContactEntity> contactsToEntities() {
+        return contactMapper.toEntities(contactDTOs);
+    }
+
+    @Benchmark
+    public ContactListDTO contactListToDTO() {
+        return contactListMapper.toDTO(contactList);
+    }
+
+    @Benchmark
+    public Set<ContactListDTO> contactListsToDTOs() {
+        return contactListMapper.toDTOs(contactLists);
+    }
+
+    @Benchmark
+    public Set<ContactListEntity> contactListsToEntities() {
+        return contactListMapper.toEntities(contactListDTOs);
+    }
+}
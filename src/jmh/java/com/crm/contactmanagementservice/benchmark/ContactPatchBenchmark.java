@@ -0,0 +1,120 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.ContactManagementServiceApplication;
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.service.ContactService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for ContactService.updateContact against the in-memory H2 test database.
+ * Besides the time per PATCH, the statements and patches counters report how many JDBC statements the PATCHes
+ * prepared, which is the number of database round trips they cost in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactPatchBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ContactService contactService;
+    private Statistics statistics;
+    private UUID contactId;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ContactManagementServiceApplication.class)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.main.web-application-type=none")
+                .run();
+        contactService = context.getBean(ContactService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        ContactListEntity contactList = context.getBean(ContactListRepository.class)
+                .save(ContactListEntity.builder().listName("List").userId(UUID.randomUUID()).build());
+        ContactEntity contact = BenchmarkData.contacts(1).iterator().next();
+        contact.setId(null);
+        contact.setContactList(contactList);
+        contactId = context.getBean(ContactRepository.class).save(contact).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Statements prepared by the measured PATCHes and the number of PATCHes, totalled over the run.
+     * JMH sums event counters across iterations, so statements divided by patches is the cost of one PATCH.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounter {
+
+        public long statements;
+        public long patches;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            patches = 0;
+        }
+
+        void record(long count) {
+            statements += count;
+            patches++;
+        }
+    }
+
+    /**
+     * A PATCH that changes the phone number, so every call writes one column.
+     */
+    @Benchmark
+    public ContactDTO patchPhone(StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        ContactDTO patch = new ContactDTO(null, null, null, null, null, null, Long.toString(sequence++), null, null, false);
+        ContactDTO updated = contactService.updateContact(patch, contactId);
+        counter.record(statistics.getPrepareStatementCount() - before);
+        return updated;
+    }
+
+    /**
+     * A PATCH that changes nothing, so only the read is left.
+     */
+    @Benchmark
+    public ContactDTO patchUnchanged(StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        ContactDTO updated = contactService.updateContact(new ContactDTO(null, null, null, null, null, null, null,
+                null, null, false), contactId);
+        counter.record(statistics.getPrepareStatementCount() - before);
+        return updated;
+    }
+}
@@ -0,0 +1,95 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.mapper.ContactMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark for writing a page of 10k contacts in each response format, with and without gzip.
+ * Besides the time per page, the bytes and pages counters report the size of the page on the wire: bytes divided by
+ * pages is the response body a client downloads for one page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactPayloadBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+    private Set<ContactDTO> page;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+        page = new ContactMapperImpl().toDTOs(BenchmarkData.contacts(10_000));
+    }
+
+    /**
+     * Bytes written by the measured pages and the number of pages, totalled over the run.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ByteCounter {
+
+        public long bytes;
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            pages = 0;
+        }
+
+        void record(long count) {
+            bytes += count;
+            pages++;
+        }
+    }
+
+    @Benchmark
+    public byte[] writePage(ByteCounter counter) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(buffer, 8192) : buffer) {
+            objectMapper.writeValue(out, page);
+        }
+        byte[] body = buffer.toByteArray();
+        counter.record(body.length);
+        return body;
+    }
+}
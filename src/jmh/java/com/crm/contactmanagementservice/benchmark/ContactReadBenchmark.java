@@ -0,0 +1,137 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import com.crm.contactmanagementservice.ContactManagementServiceApplication;
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.service.ContactService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark for the contact reads of ContactService against the in-memory H2 test database.
+ * Each read is measured twice. The entity arms run the queries the service used before the reads were projected:
+ * they load managed ContactEntity rows in a read-only transaction, as the repository methods did, and map each one
+ * into a Set of DTOs. The projection arms call the ContactService bean, which reads the DTOs straight from the
+ * selected columns. Run with the GC profiler to compare the bytes allocated per read as well as the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactReadBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private ContactService contactService;
+    private ContactMapper contactMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private UUID userId;
+    private UUID contactListId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ContactManagementServiceApplication.class)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "spring.main.web-application-type=none")
+                .run();
+        contactService = context.getBean(ContactService.class);
+        contactMapper = context.getBean(ContactMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate.setReadOnly(true);
+        userId = UUID.randomUUID();
+        ContactListEntity contactList = context.getBean(ContactListRepository.class)
+                .save(ContactListEntity.builder().listName("List").userId(userId).build());
+        contactListId = contactList.getId();
+        Set<ContactEntity> contacts = BenchmarkData.contacts(size);
+        contacts.forEach(contact -> {
+            contact.setId(null);
+            contact.setContactList(contactList);
+        });
+        context.getBean(ContactRepository.class).saveAll(contacts);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Set<ContactDTO> getAllContactsEntities() {
+        return readEntities("SELECT * FROM public.contact", Map.of());
+    }
+
+    @Benchmark
+    public Set<ContactDTO> getAllContactsProjection() {
+        return contactService.getAllContacts();
+    }
+
+    @Benchmark
+    public Set<ContactDTO> getAllContactsByContactListIdEntities() {
+        return readEntities("SELECT * FROM public.contact WHERE contact_list_id = :contactListId",
+                Map.of("contactListId", contactListId));
+    }
+
+    @Benchmark
+    public Set<ContactDTO> getAllContactsByContactListIdProjection() {
+        return contactService.getAllContactsByContactListId(contactListId);
+    }
+
+    @Benchmark
+    public Set<ContactDTO> getAllContactsByUserIdEntities() {
+        return readEntities("SELECT c.* FROM public.contact c JOIN public.contact_list cl "
+                + "ON c.contact_list_id = cl.id WHERE cl.user_id = :userId", Map.of("userId", userId));
+    }
+
+    @Benchmark
+    public Set<ContactDTO> getAllContactsByUserIdProjection() {
+        return contactService.getAllContactsByUserId(userId);
+    }
+
+    /**
+     * Loads managed entities with a native query and maps them to DTOs one by one.
+     * @param sql The native query.
+     * @param parameters The query parameters.
+     * @return A set of the contact DTOs.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<ContactDTO> readEntities(String sql, Map<String, Object> parameters) {
+        List<ContactEntity> contacts = readOnlyTransactionTemplate.execute(status -> {
+            var query = entityManager.createNativeQuery(sql, ContactEntity.class);
+            parameters.forEach(query::setParameter);
+            return query.getResultList();
+        });
+        return contacts.stream().map(contactMapper::toDTO).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,174 @@
+package com.crm.contactmanagementservice.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.crm.contactmanagementservice.ContactManagementServiceApplication;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.logging.EmailValueMasker;
+import com.crm.contactmanagementservice.logging.RequestLoggingFilter;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import jakarta.servlet.Filter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.mask.MaskingJsonGeneratorDecorator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmark for the lookup endpoints with the logging before and after the switch to sampled, structured logging.
+ * The legacy setup writes one line per service call synchronously to a log file, the way every lookup was logged at
+ * INFO. The structured setup writes JSON through the bounded async queue, with the service's per-call lines at DEBUG
+ * and the access log sampled at the configured rates. Requests go through MockMvc with the application's filters, so
+ * request id correlation and statement counting are included in both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class LookupLoggingBenchmark {
+
+    private static final int CONTACTS = 1000;
+    private static final String[] PREFIXES = {"Ju", "Th", "Br", "Ch", "Da", "Em", "Fa", "Ngu"};
+
+    @Param({"legacy", "structured"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private List<UUID> contactIds;
+    private UUID userId;
+    private Path logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(ContactManagementServiceApplication.class)
+                .properties("spring.jpa.show-sql=false", "contacts.sql.response-headers=false")
+                .run("--spring.profiles.active=test", "--server.port=0");
+        userId = UUID.randomUUID();
+        ContactListEntity contactList = context.getBean(ContactListRepository.class)
+                .save(ContactListEntity.builder().listName("List").userId(userId).build());
+        Set<ContactEntity> contacts = BenchmarkData.contacts(CONTACTS);
+        contacts.forEach(contact -> {
+            contact.setId(null);
+            contact.setContactList(contactList);
+        });
+        contactIds = context.getBean(ContactRepository.class).saveAll(contacts).stream().map(ContactEntity::getId).toList();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBeanProvider(Filter.class).orderedStream().toArray(Filter[]::new))
+                .build();
+        logFile = Files.createTempFile("lookup-logging", ".log");
+        configureLogging();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    /**
+     * The contact ids each benchmark thread cycles through.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int bound) {
+            next = (next + 1) % bound;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public int getContactById(Cursor cursor) throws Exception {
+        return mockMvc.perform(get("/api/v1/contacts/{id}", contactIds.get(cursor.next(contactIds.size()))))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int typeahead(Cursor cursor) throws Exception {
+        return mockMvc.perform(get("/api/v1/contacts/user/{userId}/typeahead", userId)
+                        .param("q", PREFIXES[cursor.next(PREFIXES.length)]))
+                .andReturn().getResponse().getStatus();
+    }
+
+    /**
+     * Replaces the console logging of the test profile with the setup under measurement, writing to a temporary file.
+     */
+    private void configureLogging() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        if ("legacy".equals(logging)) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+            root.addAppender(fileAppender(loggerContext, encoder));
+            loggerContext.getLogger("com.crm.contactmanagementservice.service").setLevel(Level.DEBUG);
+            loggerContext.getLogger(RequestLoggingFilter.class).setLevel(Level.OFF);
+        } else {
+            LogstashEncoder encoder = new LogstashEncoder();
+            MaskingJsonGeneratorDecorator decorator = new MaskingJsonGeneratorDecorator();
+            decorator.addValueMasker(new EmailValueMasker());
+            decorator.start();
+            encoder.setJsonGeneratorDecorator(decorator);
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(819);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender(loggerContext, encoder));
+            async.start();
+            root.addAppender(async);
+        }
+    }
+
+    private Appender<ILoggingEvent> fileAppender(LoggerContext loggerContext, Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(loggerContext);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setFile(logFile.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+}
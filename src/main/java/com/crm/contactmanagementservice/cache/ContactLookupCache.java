@@ -0,0 +1,254 @@
+package com.crm.contactmanagementservice.cache;
+
+import com.crm.contactmanagementservice.config.PrimaryReads;
+import com.crm.contactmanagementservice.dto.ContactCacheStatsDTO;
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for single-contact lookups by id and email.
+ * Contacts are stored once by id in an access-ordered map; email only maps to the id, so one invalidation clears every
+ * way of reaching a contact. Phone numbers are not unique, so they are not a cache key: a cached contact could answer
+ * for another contact sharing its number. Entries expire after a fixed time to live and the least recently used entry
+ * is evicted when the cache is full. Loads run outside the lock, and a load that overlapped an invalidation of the
+ * contact it returned is returned to its caller but not cached, so a stale row can never be re-inserted after a write;
+ * invalidations of other contacts do not stop it being cached.
+ */
+@Component
+public class ContactLookupCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private final LinkedHashMap<UUID, Entry> byId = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, UUID> idByEmail = new HashMap<>();
+
+    /**
+     * Number of loads in flight by the invalidation sequence each started at.
+     */
+    private final TreeMap<Long, Integer> loads = new TreeMap<>();
+
+    /**
+     * Sequence of the last invalidation of each contact, oldest first, kept while a load that started before it may
+     * still be in flight.
+     */
+    private final LinkedHashMap<UUID, Long> invalidatedAt = new LinkedHashMap<>();
+
+    private long sequence;
+    private long allInvalidatedAt;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor for the ContactLookupCache class.
+     * @param maxSize The maximum number of contacts kept.
+     * @param ttl How long a cached contact is served before it is reloaded.
+     */
+    @Autowired
+    public ContactLookupCache(@Value("${contacts.cache.max-size:10000}") int maxSize,
+                              @Value("${contacts.cache.ttl:PT5M}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * Constructor for the ContactLookupCache class with an explicit time source, for tests.
+     * @param maxSize The maximum number of contacts kept.
+     * @param ttl How long a cached contact is served before it is reloaded.
+     * @param ticker The time source, in nanoseconds.
+     */
+    ContactLookupCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the contact with the given id, loading and caching it on a miss.
+     * @param id The id of the contact.
+     * @param loader Loads the contact from the database; exceptions propagate and nothing is cached.
+     * @return The contact.
+     */
+    public ContactDTO getById(UUID id, Supplier<ContactDTO> loader) {
+        long seen;
+        synchronized (this) {
+            Entry entry = live(id);
+            if (entry != null) {
+                hits++;
+                return entry.contact();
+            }
+            misses++;
+            seen = startLoad();
+        }
+        return load(loader, seen);
+    }
+
+    /**
+     * Returns the contact with the given email, loading and caching it on a miss.
+     * @param email The email of the contact.
+     * @param loader Loads the contact from the database; exceptions propagate and nothing is cached.
+     * @return The contact.
+     */
+    public ContactDTO getByEmail(String email, Supplier<ContactDTO> loader) {
+        return getByKey(idByEmail, email, ContactDTO::email, loader);
+    }
+
+    /**
+     * Drops a contact, e.g. after it was updated, moved or deleted.
+     * @param id The id of the contact.
+     */
+    public synchronized void invalidate(UUID id) {
+        sequence++;
+        if (!loads.isEmpty()) {
+            invalidatedAt.remove(id);
+            invalidatedAt.put(id, sequence);
+        }
+        remove(id);
+    }
+
+    /**
+     * Drops every contact, e.g. after a contact list deletion detached its contacts in the database.
+     */
+    public synchronized void invalidateAll() {
+        sequence++;
+        allInvalidatedAt = sequence;
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     * @return The hit, miss and eviction counts and the current size.
+     */
+    public synchronized ContactCacheStatsDTO stats() {
+        return new ContactCacheStatsDTO(hits, misses, evictions, byId.size());
+    }
+
+    /**
+     * Looks a contact up through a secondary key, checking the cached contact still has that key.
+     */
+    private ContactDTO getByKey(Map<String, UUID> index, String key, Function<ContactDTO, String> field,
+                                Supplier<ContactDTO> loader) {
+        long seen;
+        synchronized (this) {
+            UUID id = index.get(key);
+            Entry entry = id == null ? null : live(id);
+            if (entry != null && Objects.equals(field.apply(entry.contact()), key)) {
+                hits++;
+                return entry.contact();
+            }
+            misses++;
+            seen = startLoad();
+        }
+        return load(loader, seen);
+    }
+
+    /**
+     * Registers a load in flight. Caller must hold the lock.
+     * @return The invalidation sequence the load started at.
+     */
+    private long startLoad() {
+        loads.merge(sequence, 1, Integer::sum);
+        return sequence;
+    }
+
+    /**
+     * Runs a loader and caches its result unless the contact it returned was invalidated while it ran.
+     * The loader reads from the primary, as a row loaded from a lagging replica would be served until it expires.
+     */
+    private ContactDTO load(Supplier<ContactDTO> loader, long seen) {
+        ContactDTO contact = null;
+        try {
+            contact = PrimaryReads.call(loader);
+            return contact;
+        } finally {
+            synchronized (this) {
+                if (contact != null && allInvalidatedAt <= seen && invalidatedAt.getOrDefault(contact.id(), 0L) <= seen) {
+                    put(contact);
+                }
+                finishLoad(seen);
+            }
+        }
+    }
+
+    /**
+     * Ends a load, dropping the invalidations no load in flight started before. Caller must hold the lock.
+     * @param seen The invalidation sequence the load started at.
+     */
+    private void finishLoad(long seen) {
+        loads.computeIfPresent(seen, (key, count) -> count == 1 ? null : count - 1);
+        long oldest = loads.isEmpty() ? sequence : loads.firstKey();
+        Iterator<Long> iterator = invalidatedAt.values().iterator();
+        while (iterator.hasNext() && iterator.next() <= oldest) {
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the entry for an id if it has not expired, dropping it otherwise. Caller must hold the lock.
+     */
+    private Entry live(UUID id) {
+        Entry entry = byId.get(id);
+        if (entry != null && ticker.getAsLong() - entry.expiresAt() >= 0) {
+            remove(id);
+            evictions++;
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Caches a contact under its id and email, evicting the least recently used if full. Caller must hold the lock.
+     */
+    private void put(ContactDTO contact) {
+        remove(contact.id());
+        byId.put(contact.id(), new Entry(contact, ticker.getAsLong() + ttlNanos));
+        if (contact.email() != null) {
+            idByEmail.put(contact.email(), contact.id());
+        }
+        Iterator<Map.Entry<UUID, Entry>> eldest = byId.entrySet().iterator();
+        while (byId.size() > maxSize && eldest.hasNext()) {
+            Map.Entry<UUID, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes a contact and its email mapping. Caller must hold the lock.
+     */
+    private void remove(UUID id) {
+        unlink(id, byId.remove(id));
+    }
+
+    /**
+     * Removes the email mapping of an entry if it still points at its id. Caller must hold the lock.
+     */
+    private void unlink(UUID id, Entry entry) {
+        if (entry != null && entry.contact().email() != null) {
+            idByEmail.remove(entry.contact().email(), id);
+        }
+    }
+
+    /**
+     * A cached contact and the tick at which it expires.
+     */
+    private record Entry(ContactDTO contact, long expiresAt) {
+    }
+}
@@ -0,0 +1,503 @@
+package com.crm.contactmanagementservice.cache;
+
+import com.crm.contactmanagementservice.config.PrimaryReads;
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, per-user prefix index over contact names, used to answer typeahead queries without a database round trip.
+ * Each user's index is a concurrent sorted set of (normalized name, contact id) pairs that is searched from the first
+ * pair at or after the query, so reads never take a lock. A contact change updates only that contact's pairs in place,
+ * in logarithmic time, and finds the loaded user holding the contact or its list by id instead of scanning every user.
+ * Snapshots are built lazily from the database and kept in an access-ordered map; the least recently used users are
+ * evicted once the estimated size of all snapshots exceeds the configured memory budget. Writes made through other
+ * instances or by bulk jobs never reach this index, so a snapshot is rebuilt once it is older than its time to live.
+ */
+@Component
+@Slf4j
+public class ContactTypeaheadIndex {
+
+    /**
+     * Matches the combining marks left behind by NFD decomposition, so accented names match unaccented queries.
+     */
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ContactRepository contactRepository;
+    private final ContactListRepository contactListRepository;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    /**
+     * Loaded user snapshots in least-recently-used order. Guarded by {@code this}.
+     */
+    private final LinkedHashMap<UUID, UserIndex> users = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Loaded user snapshot holding each contact list. Guarded by {@code this}.
+     */
+    private final HashMap<UUID, UserIndex> listHolders = new HashMap<>();
+
+    /**
+     * Loaded user snapshot holding each contact. Guarded by {@code this}.
+     */
+    private final HashMap<UUID, UserIndex> contactHolders = new HashMap<>();
+
+    /**
+     * Mutations made while a snapshot was being built, oldest first. A finished snapshot touched by one of the
+     * mutations since its build started is served once but never cached; snapshots of other users are unaffected.
+     * Guarded by {@code this}.
+     */
+    private final ArrayDeque<Mutation> recentMutations = new ArrayDeque<>();
+
+    /**
+     * Number of snapshot builds in flight by the mutation sequence each started at. Guarded by {@code this}.
+     */
+    private final TreeMap<Long, Integer> builds = new TreeMap<>();
+
+    private long sequence;
+    private long usedBytes;
+    private long evictions;
+
+    /**
+     * Constructor for the ContactTypeaheadIndex class.
+     * @param contactRepository The repository used to load a user's contacts.
+     * @param contactListRepository The repository used to load a user's contact lists.
+     * @param maxBytes The estimated memory budget shared by all loaded users.
+     * @param ttl How long a user's snapshot is served before it is rebuilt.
+     */
+    @Autowired
+    public ContactTypeaheadIndex(ContactRepository contactRepository,
+                                 ContactListRepository contactListRepository,
+                                 @Value("${contacts.typeahead.max-bytes:67108864}") long maxBytes,
+                                 @Value("${contacts.typeahead.ttl:PT1M}") Duration ttl) {
+        this(contactRepository, contactListRepository, maxBytes, ttl, System::nanoTime);
+    }
+
+    /**
+     * Constructor for the ContactTypeaheadIndex class with an explicit time source, for tests.
+     * @param contactRepository The repository used to load a user's contacts.
+     * @param contactListRepository The repository used to load a user's contact lists.
+     * @param maxBytes The estimated memory budget shared by all loaded users.
+     * @param ttl How long a user's snapshot is served before it is rebuilt.
+     * @param ticker The time source, in nanoseconds.
+     */
+    ContactTypeaheadIndex(ContactRepository contactRepository, ContactListRepository contactListRepository,
+                          long maxBytes, Duration ttl, LongSupplier ticker) {
+        this.contactRepository = contactRepository;
+        this.contactListRepository = contactListRepository;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Finds the user's contacts with a first, last, preferred or full name starting with the query.
+     * @param userId The id of the user whose contacts to search.
+     * @param query The prefix to search for; case and accents are ignored.
+     * @param limit The maximum number of contacts to return.
+     * @return The matching contacts, in name order.
+     */
+    public List<ContactDTO> search(UUID userId, String query, int limit) {
+        return snapshot(userId).search(normalize(query), limit);
+    }
+
+    /**
+     * Applies a created or updated contact to whichever loaded users it leaves or joins.
+     * @param contact The contact as it was saved.
+     */
+    public synchronized void onContactSaved(ContactDTO contact) {
+        record(null, contact.contactListId() == null ? Set.of() : Set.of(contact.contactListId()), Set.of(contact.id()));
+        UserIndex owner = contact.contactListId() == null ? null : listHolders.get(contact.contactListId());
+        UserIndex previous = contactHolders.get(contact.id());
+        if (previous != null && previous != owner) {
+            apply(previous, contact.id(), null);
+        }
+        if (owner != null) {
+            apply(owner, contact.id(), contact);
+        }
+        evict();
+    }
+
+    /**
+     * Removes a deleted contact from any loaded user.
+     * @param contactId The id of the deleted contact.
+     */
+    public synchronized void onContactDeleted(UUID contactId) {
+        record(null, Set.of(), Set.of(contactId));
+        UserIndex holder = contactHolders.get(contactId);
+        if (holder != null) {
+            apply(holder, contactId, null);
+        }
+    }
+
+    /**
+     * Drops the loaded user owning a contact list, e.g. after the list was deleted, reassigned or bulk-filled.
+     * The user's snapshot is rebuilt on its next query.
+     * @param contactListId The id of the changed contact list.
+     */
+    public synchronized void invalidateContactList(UUID contactListId) {
+        record(null, Set.of(contactListId), Set.of());
+        UserIndex holder = listHolders.get(contactListId);
+        if (holder != null) {
+            drop(holder);
+        }
+    }
+
+    /**
+     * Drops every loaded user holding any of the given contacts, e.g. after they were moved in bulk.
+     * The users' snapshots are rebuilt on their next query.
+     * @param contactIds The ids of the changed contacts.
+     */
+    public synchronized void invalidateContacts(Collection<UUID> contactIds) {
+        record(null, Set.of(), Set.copyOf(contactIds));
+        for (UUID contactId : contactIds) {
+            UserIndex holder = contactHolders.get(contactId);
+            if (holder != null) {
+                drop(holder);
+            }
+        }
+    }
+
+    /**
+     * Drops a loaded user, e.g. after one of their contact lists was created or moved to them.
+     * The user's snapshot is rebuilt on its next query.
+     * @param userId The id of the user.
+     */
+    public synchronized void invalidateUser(UUID userId) {
+        record(userId, Set.of(), Set.of());
+        UserIndex index = users.get(userId);
+        if (index != null) {
+            drop(index);
+        }
+    }
+
+    /**
+     * Returns the estimated memory held by all loaded users.
+     * @return The estimate in bytes.
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Returns the number of users evicted to stay within the memory budget.
+     * @return The eviction count.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the user's snapshot, building it from the database if the user is not loaded or their snapshot expired.
+     * @param userId The id of the user.
+     * @return The user's snapshot.
+     */
+    private UserIndex snapshot(UUID userId) {
+        long seen;
+        synchronized (this) {
+            UserIndex index = users.get(userId);
+            if (index != null && ticker.getAsLong() - index.expiresAt < 0) {
+                return index;
+            }
+            if (index != null) {
+                drop(index);
+            }
+            seen = sequence;
+            builds.merge(seen, 1, Integer::sum);
+        }
+        UserIndex index = null;
+        try {
+            // Read from the primary, as a snapshot built from a lagging replica would be kept until it expires
+            long expiresAt = ticker.getAsLong() + ttlNanos;
+            index = PrimaryReads.call(() -> UserIndex.build(userId,
+                    contactListRepository.findAllContactListsByUserId(userId).stream()
+                            .map(ContactListEntity::getId)
+                            .collect(Collectors.toSet()),
+                    List.copyOf(contactRepository.findContactDTOsByUserId(userId)),
+                    expiresAt));
+            log.info("Built typeahead index for user {} with {} contacts (~{} bytes)", userId, index.contacts.size(), index.bytes);
+            return index;
+        } finally {
+            UserIndex built = index;
+            synchronized (this) {
+                boolean stale = built == null || recentMutations.stream()
+                        .anyMatch(mutation -> mutation.sequence() > seen && mutation.touches(userId, built));
+                finishBuild(seen);
+                if (!stale && built.bytes <= maxBytes && !users.containsKey(userId)) {
+                    load(built);
+                    evict();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts a mutation, keeping it while snapshot builds are in flight so they can tell whether it touched them.
+     * Caller must hold the lock.
+     * @param userId The id of the changed user, or null.
+     * @param listIds The ids of the changed contact lists.
+     * @param contactIds The ids of the changed contacts.
+     */
+    private void record(UUID userId, Set<UUID> listIds, Set<UUID> contactIds) {
+        sequence++;
+        if (!builds.isEmpty()) {
+            recentMutations.add(new Mutation(sequence, userId, listIds, contactIds));
+        }
+    }
+
+    /**
+     * Ends a snapshot build, dropping the mutations no build in flight can be touched by. Caller must hold the lock.
+     * @param seen The mutation sequence the build started at.
+     */
+    private void finishBuild(long seen) {
+        builds.computeIfPresent(seen, (key, count) -> count == 1 ? null : count - 1);
+        long oldest = builds.isEmpty() ? sequence : builds.firstKey();
+        while (!recentMutations.isEmpty() && recentMutations.peekFirst().sequence() <= oldest) {
+            recentMutations.removeFirst();
+        }
+    }
+
+    /**
+     * Caches a built snapshot and registers it as the holder of its lists and contacts. Caller must hold the lock.
+     * @param index The snapshot.
+     */
+    private void load(UserIndex index) {
+        users.put(index.userId, index);
+        usedBytes += index.bytes;
+        index.listIds.forEach(listId -> listHolders.put(listId, index));
+        index.contacts.keySet().forEach(contactId -> contactHolders.put(contactId, index));
+    }
+
+    /**
+     * Removes a cached snapshot and its holder entries. Caller must hold the lock.
+     * @param index The snapshot.
+     */
+    private void drop(UserIndex index) {
+        users.remove(index.userId);
+        usedBytes -= index.bytes;
+        index.listIds.forEach(listId -> listHolders.remove(listId, index));
+        index.contacts.keySet().forEach(contactId -> contactHolders.remove(contactId, index));
+    }
+
+    /**
+     * Applies a contact change to a cached snapshot in place, keeping the memory estimate and the holder of the
+     * contact in step. Caller must hold the lock.
+     * @param index The snapshot.
+     * @param contactId The id of the changed contact.
+     * @param contact The contact as saved, or null to remove it.
+     */
+    private void apply(UserIndex index, UUID contactId, ContactDTO contact) {
+        usedBytes += index.apply(contactId, contact);
+        if (contact == null) {
+            contactHolders.remove(contactId, index);
+        } else {
+            contactHolders.put(contactId, index);
+        }
+    }
+
+    /**
+     * Evicts least recently used users until the memory estimate fits the budget. Caller must hold the lock.
+     */
+    private void evict() {
+        while (usedBytes > maxBytes && !users.isEmpty()) {
+            drop(users.values().iterator().next());
+            evictions++;
+        }
+    }
+
+    /**
+     * Normalizes a name or query for prefix matching: accents stripped, lower-cased and trimmed.
+     * @param value The value to normalize.
+     * @return The normalized value, empty for null.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Prefix index over one user's contacts.
+     * Keys are kept in a concurrent sorted set of (key, contact id) pairs, so a prefix query is a seek to the first pair
+     * at or after the query followed by a scan of the matching run. Searches run without a lock and may see a
+     * concurrent change half applied; changes are made under the index lock and add a contact's new keys before
+     * removing its old ones, so a renamed contact is never missing from a search in between.
+     */
+    private static final class UserIndex {
+
+        /**
+         * Rough heap cost of one contact: the DTO with its strings and UUIDs, and its entries in the contact maps.
+         */
+        private static final long CONTACT_BYTES = 400;
+
+        /**
+         * Rough heap cost of one key entry excluding its characters: String header, pair and skip list nodes.
+         */
+        private static final long ENTRY_BYTES = 96;
+
+        /**
+         * Sorts before every contact id, so a pair with it and a query as key is where the query's matches start.
+         */
+        private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+        private final UUID userId;
+        private final Set<UUID> listIds;
+        private final Map<UUID, ContactDTO> contacts;
+        private final NavigableSet<Entry> entries;
+        private final long expiresAt;
+
+        /**
+         * Estimated heap cost of the snapshot. Guarded by the index lock once the snapshot is cached.
+         */
+        private long bytes;
+
+        private UserIndex(UUID userId, Set<UUID> listIds, long expiresAt) {
+            this.userId = userId;
+            this.listIds = listIds;
+            this.contacts = new ConcurrentHashMap<>();
+            this.entries = new ConcurrentSkipListSet<>();
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Builds a snapshot from a user's lists and contacts.
+         * @param userId The id of the user.
+         * @param listIds The ids of the user's contact lists.
+         * @param contacts The user's contacts.
+         * @param expiresAt The tick at which the snapshot expires.
+         * @return The snapshot.
+         */
+        static UserIndex build(UUID userId, Set<UUID> listIds, List<ContactDTO> contacts, long expiresAt) {
+            UserIndex index = new UserIndex(userId, listIds, expiresAt);
+            for (ContactDTO contact : contacts) {
+                index.apply(contact.id(), contact);
+            }
+            return index;
+        }
+
+        /**
+         * Removes a contact and, if given, re-adds it with its new names.
+         * Runs in logarithmic time in the number of keys. The snapshot still expires at the same time, as it has only
+         * seen the writes made through this instance since it was built.
+         * @param contactId The id of the contact to replace.
+         * @param contact The new contact, or null to only remove it.
+         * @return The change of the estimated heap cost, in bytes.
+         */
+        long apply(UUID contactId, ContactDTO contact) {
+            long before = bytes;
+            List<Entry> added = contact == null ? List.of() : entriesOf(contact);
+            ContactDTO previous = contact == null ? contacts.get(contactId) : contacts.put(contactId, contact);
+            for (Entry entry : added) {
+                if (entries.add(entry)) {
+                    bytes += ENTRY_BYTES + entry.key().length();
+                }
+            }
+            if (previous != null) {
+                for (Entry entry : entriesOf(previous)) {
+                    if (!added.contains(entry) && entries.remove(entry)) {
+                        bytes -= ENTRY_BYTES + entry.key().length();
+                    }
+                }
+            }
+            if (contact == null) {
+                contacts.remove(contactId);
+            }
+            bytes += (contact == null ? 0 : CONTACT_BYTES) - (previous == null ? 0 : CONTACT_BYTES);
+            return bytes - before;
+        }
+
+        /**
+         * Finds contacts with a key starting with the normalized query.
+         * @param prefix The normalized query.
+         * @param limit The maximum number of contacts to return.
+         * @return The matching contacts, in key order and without duplicates.
+         */
+        List<ContactDTO> search(String prefix, int limit) {
+            Set<UUID> matched = new LinkedHashSet<>();
+            for (Entry entry : entries.tailSet(new Entry(prefix, FIRST_ID))) {
+                if (matched.size() >= limit || !entry.key().startsWith(prefix)) {
+                    break;
+                }
+                matched.add(entry.id());
+            }
+            return matched.stream().map(contacts::get).filter(Objects::nonNull).toList();
+        }
+
+        /**
+         * Returns the keys a contact is found under: each of its names and its full name.
+         * @param contact The contact.
+         * @return The contact's distinct, non-empty keys.
+         */
+        private static List<Entry> entriesOf(ContactDTO contact) {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(normalize(contact.firstName()));
+            keys.add(normalize(contact.lastName()));
+            keys.add(normalize(contact.preferredName()));
+            keys.add(normalize(Arrays.stream(new String[]{contact.firstName(), contact.lastName()})
+                    .filter(name -> name != null && !name.isBlank())
+                    .collect(Collectors.joining(" "))));
+            keys.remove("");
+            return keys.stream().map(key -> new Entry(key, contact.id())).toList();
+        }
+    }
+
+    /**
+     * A change to the user, contact lists or contacts a snapshot may hold, numbered in the order it was applied.
+     */
+    private record Mutation(long sequence, UUID userId, Set<UUID> listIds, Set<UUID> contactIds) {
+
+        /**
+         * Returns whether the mutation changes what a user's snapshot should hold.
+         * @param userId The id of the user.
+         * @param index The user's snapshot.
+         * @return true if the snapshot may miss the mutation.
+         */
+        boolean touches(UUID userId, UserIndex index) {
+            return userId.equals(this.userId)
+                    || listIds.stream().anyMatch(index.listIds::contains)
+                    || contactIds.stream().anyMatch(index.contacts::containsKey);
+        }
+    }
+
+    /**
+     * A normalized name and the contact it belongs to, ordered by name then id.
+     */
+    private record Entry(String key, UUID id) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : id.compareTo(other.id);
+        }
+    }
+}
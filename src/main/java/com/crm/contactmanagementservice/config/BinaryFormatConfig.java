@@ -0,0 +1,105 @@
+package com.crm.contactmanagementservice.config;
+
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Binary response formats for the contact payloads.
+ * Besides JSON, every endpoint answers in CBOR ({@code application/cbor}) or Smile ({@code application/x-jackson-smile})
+ * when the client asks for it in Accept. Both carry the same fields as JSON but encode numbers, UUIDs and repeated
+ * field names more compactly. The mappers are built from the same builder as the JSON one, so all formats share its
+ * configuration. The binary converters come after JSON, so a client that accepts anything still receives JSON.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Media type of Smile responses.
+     */
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    /**
+     * The formats a streamed response can be written in, in order of preference for wildcard Accept headers.
+     */
+    private static final List<MediaType> STREAMED_TYPES = List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE,
+            MediaType.APPLICATION_CBOR);
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    /**
+     * Constructor for the BinaryFormatConfig class.
+     * @param objectMapper The JSON ObjectMapper.
+     * @param builder The builder Spring Boot configured for the JSON ObjectMapper.
+     */
+    public BinaryFormatConfig(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        this.jsonMapper = objectMapper;
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+        this.smileMapper = builder.factory(new SmileFactory()).build();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+
+    /**
+     * Picks the format of a response written by the controller itself instead of a message converter.
+     * The accepted types are tried by specificity and quality, and JSON is used when none of them matches.
+     * @param accept The Accept header of the request, or null.
+     * @return JSON, Smile or CBOR.
+     * @throws AppBadRequestException if the Accept header cannot be parsed.
+     */
+    public MediaType negotiateStreamedType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            throw new AppBadRequestException("Invalid Accept header: " + accept, ex);
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        return accepted.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .flatMap(type -> STREAMED_TYPES.stream().filter(type::includes))
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Returns the ObjectMapper writing a streamed response format.
+     * @param mediaType One of the types returned by {@link #negotiateStreamedType(String)}.
+     * @return The ObjectMapper for the format.
+     */
+    public ObjectMapper objectMapperFor(MediaType mediaType) {
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+            return cborMapper;
+        }
+        if (APPLICATION_SMILE.equalsTypeAndSubtype(mediaType)) {
+            return smileMapper;
+        }
+        return jsonMapper;
+    }
+}
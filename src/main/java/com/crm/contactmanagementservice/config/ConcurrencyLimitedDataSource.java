@@ -0,0 +1,157 @@
+package com.crm.contactmanagementservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that limits how many connections can be checked out at once.
+ * A caller takes a permit before borrowing a connection and gives it back when the connection is closed. Callers that
+ * cannot get a permit within the acquire timeout fail fast instead of piling up inside the pool, which keeps request
+ * latency bounded when virtual threads make the number of concurrent requests effectively unlimited.
+ * Once bound to a meter registry, the time each caller waits for a permit is recorded, since with virtual threads this
+ * wait replaces the wait inside the pool. Closing it closes the target, such as a Hikari pool, if that can be closed.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements Closeable {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+    private volatile Timer acquireTimer;
+
+    /**
+     * Constructor for the ConcurrencyLimitedDataSource class.
+     * @param target The DataSource to delegate to.
+     * @param maxConcurrency The maximum number of connections checked out at once.
+     * @param acquireTimeout How long a caller waits for a permit before failing.
+     */
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Returns the number of permits not currently held.
+     * @return The number of connections that can still be checked out without waiting.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Registers the permit wait timer and the available permits gauge.
+     * Waits are recorded from then on, including the ones that time out.
+     * @param registry The registry to register the meters with.
+     * @param tags The tags identifying this data source.
+     */
+    public void bindTo(MeterRegistry registry, Iterable<Tag> tags) {
+        Gauge.builder("contacts.db.permits.available", permits, Semaphore::availablePermits)
+                .description("Database permits not currently held")
+                .tags(tags)
+                .register(registry);
+        acquireTimer = Timer.builder("contacts.db.permit.acquire")
+                .description("Time spent waiting for a database permit")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        Timer timer = acquireTimer;
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                throw new SQLTransientConnectionException("Timed out after " + Duration.ofNanos(acquireTimeoutNanos).toMillis()
+                        + "ms waiting for one of " + maxConcurrency + " database permits");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", ex);
+        }
+    }
+
+    /**
+     * Wraps the connection so that the first close also releases the caller's permit.
+     * @param connection The borrowed connection.
+     * @return A proxy for the connection.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
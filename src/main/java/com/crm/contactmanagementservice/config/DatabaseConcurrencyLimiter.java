@@ -0,0 +1,99 @@
+package com.crm.contactmanagementservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wraps the application's DataSource in a ConcurrencyLimitedDataSource when virtual threads are enabled.
+ * With platform threads the Tomcat worker pool already caps how many requests can reach the database; with virtual
+ * threads every request gets its own thread, so the cap moves here. The permit count defaults to the Hikari pool size,
+ * so waiting happens on a fair semaphore with a short timeout rather than inside the pool. With read replicas, the
+ * primary and each replica pool are wrapped on their own, so every pool gets its own permits and reads cannot use up
+ * the primary's. The limiter is also the meter binder of the wrapped data sources, so their permit waits are published
+ * next to the Hikari pool metrics.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor, MeterBinder, Ordered {
+
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+    private final Map<String, ConcurrencyLimitedDataSource> dataSources = new LinkedHashMap<>();
+    private MeterRegistry registry;
+
+    /**
+     * Constructor for the DatabaseConcurrencyLimiter class.
+     * @param maxConcurrency The maximum number of connections checked out at once from each pool.
+     * @param acquireTimeout How long a request waits for a permit before failing.
+     */
+    public DatabaseConcurrencyLimiter(@Value("${contacts.db.max-concurrency:10}") int maxConcurrency,
+                                      @Value("${contacts.db.acquire-timeout:PT2S}") Duration acquireTimeout) {
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Runs right after ReadReplicaRouter, so the routing DataSource is seen before other post-processors wrap it.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ReplicaRoutingDataSource routing) {
+            routing.wrapTargets(beanName, this::limit);
+            return routing;
+        }
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+            return limit(beanName, dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Wraps a data source in a ConcurrencyLimitedDataSource with its own permits.
+     * @param name The name of the data source, used in its meter tags.
+     * @param dataSource The data source to limit.
+     * @return The wrapped data source.
+     */
+    private DataSource limit(String name, DataSource dataSource) {
+        log.info("Limiting DataSource {} to {} concurrent connections", name, maxConcurrency);
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+        register(name, limited);
+        return limited;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        dataSources.forEach((name, dataSource) -> dataSource.bindTo(registry, Tags.of("name", name)));
+    }
+
+    /**
+     * Keeps a wrapped data source so its meters can be bound, binding them now if the registry is already known.
+     * @param name The name of the data source bean, or of the replica pool.
+     * @param dataSource The wrapped data source.
+     */
+    private synchronized void register(String name, ConcurrencyLimitedDataSource dataSource) {
+        dataSources.put(name, dataSource);
+        if (registry != null) {
+            dataSource.bindTo(registry, Tags.of("name", name));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.crm.contactmanagementservice.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread's reads as ones that must see the latest writes, so ReplicaRoutingDataSource serves its
+ * read-only transactions from the primary instead of a replica. Without read replicas the mark has no effect.
+ * Callers that keep what they read, such as the lookup cache and the typeahead index, the change feeds, whose
+ * watermarks must not pass changes a replica has yet to replay, and requests pinned by ReadYourWritesFilter use it,
+ * since a replica may lag behind the primary.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Returns whether the current thread's reads must go to the primary.
+     * @return true if the current thread is pinned to the primary.
+     */
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Runs reads on the primary.
+     * @param reads The reads to run; transactions they start get primary connections.
+     * @return The result of the reads.
+     * @param <T> The type of the result.
+     */
+    public static <T> T call(Supplier<T> reads) {
+        boolean previous = pin();
+        try {
+            return reads.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Pins the current thread to the primary.
+     * @return Whether the thread was already pinned, to be passed to {@link #restore(boolean)}.
+     */
+    static boolean pin() {
+        boolean previous = isPinned();
+        PINNED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    /**
+     * Undoes a {@link #pin()}, leaving the thread pinned if it was pinned before.
+     * @param previous The value returned by the matching pin.
+     */
+    static void restore(boolean previous) {
+        if (!previous) {
+            PINNED.remove();
+        }
+    }
+}
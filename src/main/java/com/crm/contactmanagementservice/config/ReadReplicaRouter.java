@@ -0,0 +1,144 @@
+package com.crm.contactmanagementservice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts the application's DataSource behind a ReplicaRoutingDataSource when read replica URLs are configured.
+ * Each replica gets its own Hikari pool, copied from the primary's pool settings and credentials unless replica
+ * credentials are set, and marked read-only. Replica pools start without waiting for their database, and take a
+ * replica out of the rotation once it cannot hand out a connection within the replica connection timeout. The router
+ * runs before the statement monitor and the concurrency limiter, so replica statements are counted like any other and
+ * each replica pool gets its own permits. It is also the meter binder of the replica pools and of the number of
+ * healthy replicas.
+ */
+@Component
+@ConditionalOnExpression("!'${contacts.db.replicas.urls:}'.isBlank()")
+@Slf4j
+public class ReadReplicaRouter implements BeanPostProcessor, MeterBinder, Ordered {
+
+    private final List<String> urls;
+    private final String username;
+    private final String password;
+    private final Duration connectionTimeout;
+    private final Duration healthCheckInterval;
+    private final Map<String, ReplicaRoutingDataSource> dataSources = new LinkedHashMap<>();
+    private final Map<String, HikariDataSource> replicaPools = new LinkedHashMap<>();
+    private MeterRegistry registry;
+
+    /**
+     * Constructor for the ReadReplicaRouter class.
+     * @param urls The JDBC URLs of the replicas.
+     * @param username The replica username, or blank to use the primary's.
+     * @param password The replica password, used with the replica username.
+     * @param connectionTimeout How long a read waits for a replica connection before the replica is skipped.
+     * @param healthCheckInterval How often the replicas are checked.
+     */
+    public ReadReplicaRouter(@Value("${contacts.db.replicas.urls}") String[] urls,
+                             @Value("${contacts.db.replicas.username:}") String username,
+                             @Value("${contacts.db.replicas.password:}") String password,
+                             @Value("${contacts.db.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+                             @Value("${contacts.db.replicas.health-check-interval:PT5S}") Duration healthCheckInterval) {
+        this.urls = Arrays.stream(urls).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.username = username;
+        this.password = password;
+        this.connectionTimeout = connectionTimeout;
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    /**
+     * Runs before the other DataSource post-processors, so they wrap the routing DataSource rather than the primary.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource primary && !(bean instanceof ReplicaRoutingDataSource)) {
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (int i = 0; i < urls.size(); i++) {
+                String name = beanName + "-replica-" + (i + 1);
+                replicas.put(name, replicaPool(primary, name, urls.get(i)));
+            }
+            log.info("Routing read-only transactions of DataSource {} to {} read replicas", beanName, replicas.size());
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, healthCheckInterval);
+            register(beanName, routing);
+            return routing;
+        }
+        return bean;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        dataSources.forEach(this::bindTo);
+        replicaPools.values().forEach(pool -> pool.setMetricRegistry(registry));
+    }
+
+    /**
+     * Creates the pool of a replica.
+     * @param primary The primary DataSource, whose pool settings are copied if it is a Hikari pool.
+     * @param name The pool name.
+     * @param url The JDBC URL of the replica.
+     * @return The replica pool.
+     */
+    private synchronized HikariDataSource replicaPool(DataSource primary, String name, String url) {
+        HikariConfig config = new HikariConfig();
+        if (primary instanceof HikariConfig primaryConfig) {
+            primaryConfig.copyStateTo(config);
+            config.setMetricRegistry(null);
+        }
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        if (!username.isBlank()) {
+            config.setUsername(username);
+            config.setPassword(password);
+        }
+        config.setReadOnly(true);
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setInitializationFailTimeout(-1);
+        HikariDataSource pool = new HikariDataSource(config);
+        replicaPools.put(name, pool);
+        if (registry != null) {
+            pool.setMetricRegistry(registry);
+        }
+        return pool;
+    }
+
+    /**
+     * Keeps a routing data source so its meters can be bound, binding them now if the registry is already known.
+     * @param beanName The name of the data source bean.
+     * @param dataSource The routing data source.
+     */
+    private synchronized void register(String beanName, ReplicaRoutingDataSource dataSource) {
+        dataSources.put(beanName, dataSource);
+        if (registry != null) {
+            bindTo(beanName, dataSource);
+        }
+    }
+
+    private void bindTo(String beanName, ReplicaRoutingDataSource dataSource) {
+        Gauge.builder("contacts.db.replicas.healthy", dataSource, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Read replicas currently serving read-only transactions")
+                .tag("name", beanName)
+                .register(registry);
+    }
+}
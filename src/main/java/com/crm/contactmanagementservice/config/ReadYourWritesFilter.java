@@ -0,0 +1,112 @@
+package com.crm.contactmanagementservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sends a client's reads to the primary for a short window after it writes, so it reads its own writes even while the
+ * replicas lag behind. Every request other than GET, HEAD and OPTIONS counts as a write and sets a cookie with the time
+ * of the write. The write request itself, and later requests carrying a cookie younger than the window, run pinned to
+ * the primary by PrimaryReads. The cookie is what keeps the client on the primary, whichever instance serves it next.
+ * The filter is also the task decorator of the application task executor, so streamed responses keep the pin.
+ */
+@Component
+@ConditionalOnExpression("!'${contacts.db.replicas.urls:}'.isBlank()")
+public class ReadYourWritesFilter extends OncePerRequestFilter implements TaskDecorator {
+
+    /**
+     * Cookie holding the time of the client's last write, in milliseconds since the epoch.
+     */
+    public static final String LAST_WRITE_COOKIE = "contacts-last-write";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long windowMillis;
+
+    /**
+     * Constructor for the ReadYourWritesFilter class.
+     * @param window How long after a write the client's reads go to the primary.
+     */
+    public ReadYourWritesFilter(@Value("${contacts.db.read-your-writes-window:PT5S}") Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(LAST_WRITE_COOKIE, Long.toString(now))
+                    .path("/")
+                    .maxAge(Duration.ofMillis(windowMillis).toSeconds() + 1)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+        if (!write && !wroteRecently(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean previous = PrimaryReads.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReads.restore(previous);
+        }
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        if (!PrimaryReads.isPinned()) {
+            return runnable;
+        }
+        return () -> {
+            boolean previous = PrimaryReads.pin();
+            try {
+                runnable.run();
+            } finally {
+                PrimaryReads.restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns whether the request carries a last write cookie younger than the window.
+     * @param request The request.
+     * @param now The current time in milliseconds since the epoch.
+     * @return true if the client wrote within the window.
+     */
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    // Allows for clocks of different instances being slightly apart
+                    return Math.abs(now - Long.parseLong(cookie.getValue())) < windowMillis;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,172 @@
+package com.crm.contactmanagementservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * DataSource that serves read-only transactions from read replicas and everything else from the primary.
+ * Connections are only fetched when a transaction runs its first statement, by which time a
+ * {@code @Transactional(readOnly = true)} transaction has marked its connection read-only, so it gets a replica
+ * connection and every other transaction a primary one. Replicas take turns. A replica that fails to hand out a
+ * connection leaves the rotation until a background health check validates a connection again; with no healthy
+ * replica, reads go to the primary. Reads also go to the primary while the thread is pinned by PrimaryReads.
+ * The primary and the replicas can each be wrapped by DataSource post-processors that must apply per pool, such as
+ * DatabaseConcurrencyLimiter, through {@link #wrapTargets}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+
+    /**
+     * Constructor for the ReplicaRoutingDataSource class.
+     * @param primary The DataSource of the primary, used for writes.
+     * @param replicas The DataSources of the replicas by name, used for read-only transactions.
+     * @param healthCheckInterval How often the replicas are checked.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration healthCheckInterval) {
+        super(primary);
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(entry -> new Replica(entry.getKey(), entry.getValue())).toList();
+        setReadOnlyDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection();
+            }
+        });
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval.toMillis(),
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replaces the primary and each replica with a wrapper of it, before the DataSource is first used.
+     * Closing this DataSource closes the wrappers, which must close what they wrap.
+     * @param primaryName The name of the primary, passed to the wrapper.
+     * @param wrapper Returns the DataSource to use in place of a pool, given the pool's name and DataSource.
+     */
+    void wrapTargets(String primaryName, BiFunction<String, DataSource, DataSource> wrapper) {
+        primary = wrapper.apply(primaryName, primary);
+        setTargetDataSource(primary);
+        for (Replica replica : replicas) {
+            replica.dataSource = wrapper.apply(replica.name, replica.dataSource);
+        }
+    }
+
+    /**
+     * Returns the number of replicas currently in the rotation.
+     * @return The number of healthy replicas.
+     */
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Validates a connection of every replica, taking failed replicas out of the rotation and putting recovered ones
+     * back in.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException ex) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is back in the rotation", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("Read replica {} failed its health check, reading from the other replicas", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Closes the replica pools and the primary.
+     * @throws IOException if a pool fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        healthChecks.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Borrows a connection for a read-only transaction from the next healthy replica, or from the primary.
+     * @return The connection.
+     * @throws SQLException if the primary fails to hand out a connection.
+     */
+    private Connection readConnection() throws SQLException {
+        if (!PrimaryReads.isPinned()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException ex) {
+                    if (replica.healthy) {
+                        log.warn("Read replica {} failed to hand out a connection, reading from the other replicas: {}",
+                                replica.name, ex.getMessage());
+                    }
+                    replica.healthy = false;
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * A replica and whether it is in the rotation.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private volatile DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
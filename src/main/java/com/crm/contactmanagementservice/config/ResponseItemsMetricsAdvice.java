@@ -0,0 +1,74 @@
+package com.crm.contactmanagementservice.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Records the number of items in each collection response.
+ * Every body that is a collection is counted in the {@value #METRIC_NAME} distribution, tagged with the method and the
+ * URI template like http.server.requests, so the size of a response can be read next to its latency. Streamed pages
+ * never pass through a message converter; their handlers record the count themselves with {@link #summaryFor}.
+ * Without a meter registry, as in the web slice tests, the items are counted into a registry that publishes nothing.
+ */
+@ControllerAdvice
+public class ResponseItemsMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Name of the response items distribution.
+     */
+    public static final String METRIC_NAME = "http.server.response.items";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for the ResponseItemsMetricsAdvice class.
+     * @param meterRegistry The application's meter registry, if there is one.
+     */
+    public ResponseItemsMetricsAdvice(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(CompositeMeterRegistry::new);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Collection<?> items && request instanceof ServletServerHttpRequest servletRequest) {
+            summaryFor(servletRequest.getServletRequest()).record(items.size());
+        }
+        return body;
+    }
+
+    /**
+     * Returns the response items distribution of the handler serving a request.
+     * @param request The request, after its handler has been selected.
+     * @return The distribution tagged with the request's method and URI template.
+     */
+    public DistributionSummary summaryFor(HttpServletRequest request) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("Number of items in collection responses")
+                .baseUnit("items")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(meterRegistry);
+    }
+}
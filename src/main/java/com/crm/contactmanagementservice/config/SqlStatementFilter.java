@@ -0,0 +1,60 @@
+package com.crm.contactmanagementservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements of each request and logs the requests over budget.
+ * A request that runs more statements than the statement budget, or spends longer in the database than the time budget,
+ * is logged with the SQL it ran, so an endpoint that starts issuing a query per row is caught in the logs before it is
+ * caught in the latency graphs. Only the SQL text is logged, never the bound parameters, and the request is named by
+ * its URI template rather than its path, as paths carry names and ids.
+ */
+@Component
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final int maxStatements;
+    private final long maxTimeNanos;
+    private final int maxLoggedStatements;
+
+    /**
+     * Constructor for the SqlStatementFilter class.
+     * @param maxStatements The number of statements a request may run before it is logged.
+     * @param maxTime How long a request may spend in the database before it is logged.
+     * @param maxLoggedStatements The number of statements logged for a request over budget.
+     */
+    public SqlStatementFilter(@Value("${contacts.sql.max-statements-per-request:20}") int maxStatements,
+                              @Value("${contacts.sql.max-time-per-request:PT0.5S}") Duration maxTime,
+                              @Value("${contacts.sql.max-logged-statements:50}") int maxLoggedStatements) {
+        this.maxStatements = maxStatements;
+        this.maxTimeNanos = maxTime.toNanos();
+        this.maxLoggedStatements = maxLoggedStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementScope scope = SqlStatementScope.open(maxLoggedStatements)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (scope.statementCount() > maxStatements || scope.elapsed().toNanos() > maxTimeNanos) {
+                    Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    log.warn("{} {} ran {} SQL statements in {} ms:{}", request.getMethod(), uri == null ? "UNKNOWN" : uri,
+                            scope.statementCount(), scope.elapsed().toMillis(), scope.describeStatements());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.crm.contactmanagementservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Returns the SQL statement count and database time of each request in response headers.
+ * The headers are added just before the body is written, after the handler's transaction has ended, so they cover
+ * every statement the request ran. Streamed bodies are written after their headers, so their headers are missing.
+ * Enabled by the dev and qa profiles only, as the headers tell clients about the queries behind each endpoint.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "contacts.sql.response-headers", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Header carrying the number of SQL statements the request ran.
+     */
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    /**
+     * Header carrying the milliseconds the request spent in the database.
+     */
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementScope scope = SqlStatementScope.current();
+        if (scope != null) {
+            response.getHeaders().set(STATEMENT_COUNT_HEADER, Integer.toString(scope.statementCount()));
+            response.getHeaders().set(TIME_HEADER, String.format(Locale.ROOT, "%.3f", scope.elapsed().toNanos() / 1_000_000.0));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,75 @@
+package com.crm.contactmanagementservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps the application's DataSource in a datasource-proxy that times every statement.
+ * Each execution is counted in the SqlStatementScope of the executing thread, which is how requests learn how many
+ * statements they ran. Statements slower than the slow statement threshold are logged on their own, whichever thread
+ * runs them, so slow queries of the outbox relay and the bulk job workers show up as well.
+ */
+@Component
+@Slf4j
+public class SqlStatementMonitor implements BeanPostProcessor, QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatementMonitor.class.getName() + ".start";
+
+    private final long slowStatementNanos;
+
+    /**
+     * Constructor for the SqlStatementMonitor class.
+     * @param slowStatementThreshold How long a statement may take before it is logged.
+     */
+    public SqlStatementMonitor(@Value("${contacts.sql.slow-statement-threshold:PT0.2S}") Duration slowStatementThreshold) {
+        this.slowStatementNanos = slowStatementThreshold.toNanos();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            log.info("Monitoring SQL statements of DataSource {}", beanName);
+            return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(this).build();
+        }
+        return bean;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = start == null ? 0 : System.nanoTime() - start;
+        String sql = describe(execInfo, queryInfoList);
+        SqlStatementScope.record(sql, elapsedNanos);
+        if (elapsedNanos > slowStatementNanos) {
+            log.warn("Slow SQL statement took {} ms: {}", Duration.ofNanos(elapsedNanos).toMillis(), sql);
+        }
+    }
+
+    /**
+     * Describes an execution by its SQL, with the number of parameter sets for a batch.
+     * @param execInfo The execution.
+     * @param queryInfoList The queries of the execution.
+     * @return The SQL of the execution.
+     */
+    private static String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        return execInfo.isBatch() ? sql + " [batch of " + execInfo.getBatchSize() + "]" : sql;
+    }
+}
@@ -0,0 +1,118 @@
+package com.crm.contactmanagementservice.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements a thread runs while the scope is open, and the time the database took to run them.
+ * Scopes nest: a statement is counted by every scope open on the executing thread, so a test can wrap a request whose
+ * filter opens its own scope. Statements run on other threads, such as the writers of streamed responses, are not
+ * counted. Only the SQL text is kept, never the bound parameters, so the statements can be logged without contact data.
+ */
+public final class SqlStatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementScope parent;
+    private final int maxKeptStatements;
+    private final List<String> statements = new ArrayList<>();
+    private int statementCount;
+    private long elapsedNanos;
+    private boolean closed;
+
+    private SqlStatementScope(SqlStatementScope parent, int maxKeptStatements) {
+        this.parent = parent;
+        this.maxKeptStatements = maxKeptStatements;
+    }
+
+    /**
+     * Opens a scope on the calling thread.
+     * @param maxKeptStatements The number of statements whose SQL is kept; later statements are only counted.
+     * @return The scope, to be closed on the same thread.
+     */
+    public static SqlStatementScope open(int maxKeptStatements) {
+        SqlStatementScope scope = new SqlStatementScope(CURRENT.get(), maxKeptStatements);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Returns the innermost scope open on the calling thread.
+     * @return The scope, or null if none is open.
+     */
+    public static SqlStatementScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts one execution in every scope open on the calling thread.
+     * @param sql The SQL that was executed.
+     * @param elapsedNanos The time the execution took.
+     */
+    static void record(String sql, long elapsedNanos) {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statementCount++;
+            scope.elapsedNanos += elapsedNanos;
+            if (scope.statements.size() < scope.maxKeptStatements) {
+                scope.statements.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of statements run in the scope. A JDBC batch counts as one statement.
+     * @return The statement count.
+     */
+    public int statementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Returns the time the database took to run the statements of the scope.
+     * @return The total execution time.
+     */
+    public Duration elapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    /**
+     * Returns the SQL of the statements run in the scope, in order, up to the number kept.
+     * @return The SQL statements.
+     */
+    public List<String> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * Formats the kept statements one per line, noting how many more were counted.
+     * @return The statements for a log message or an assertion failure.
+     */
+    public String describeStatements() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            description.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        if (statementCount > statements.size()) {
+            description.append("\n  ... and ").append(statementCount - statements.size()).append(" more");
+        }
+        return description.toString();
+    }
+
+    /**
+     * Closes the scope, making its parent the innermost scope again.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+}
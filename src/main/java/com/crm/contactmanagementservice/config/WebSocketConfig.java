@@ -0,0 +1,118 @@
+package com.crm.contactmanagementservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
+
+/**
+ * STOMP over WebSocket configuration for the live change topics.
+ * Clients connect to {@value #ENDPOINT} and subscribe to /topic/users/{userId}/contacts and
+ * /topic/users/{userId}/contact-lists; only the server publishes, so SEND frames from clients are dropped.
+ * Each session buffers at most send-buffer-size-limit bytes for send-time-limit. A subscriber that falls further behind
+ * is disconnected instead of holding memory or a broker thread, and catches up from the change feeds after
+ * reconnecting.
+ * Messages go through an external STOMP broker when relay.host is set, so a change made on one instance reaches the
+ * sessions of every instance; this includes the bulk job progress topics. Without one, the in-memory broker only
+ * reaches sessions connected to the instance that made the change, which is only complete with a single instance.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@EnableScheduling
+@Slf4j
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    /**
+     * The WebSocket handshake endpoint.
+     */
+    public static final String ENDPOINT = "/api/v1/ws";
+
+    private final String[] allowedOriginPatterns;
+    private final int sendBufferSizeLimit;
+    private final Duration sendTimeLimit;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+
+    /**
+     * Constructor for the WebSocketConfig class.
+     * @param allowedOriginPatterns The origins allowed to open a WebSocket.
+     * @param sendBufferSizeLimit The number of bytes buffered for a session before it is disconnected.
+     * @param sendTimeLimit How long a single send to a session may take before it is disconnected.
+     * @param relayHost The host of the STOMP broker relaying the topics, or blank for the in-memory broker.
+     * @param relayPort The STOMP port of the broker.
+     * @param relayLogin The login used for the broker connections.
+     * @param relayPasscode The passcode used for the broker connections.
+     */
+    public WebSocketConfig(@Value("${contacts.websocket.allowed-origin-patterns:http://localhost:[*],https://localhost:[*]}") String[] allowedOriginPatterns,
+                           @Value("${contacts.websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+                           @Value("${contacts.websocket.send-time-limit:PT10S}") Duration sendTimeLimit,
+                           @Value("${contacts.websocket.relay.host:}") String relayHost,
+                           @Value("${contacts.websocket.relay.port:61613}") int relayPort,
+                           @Value("${contacts.websocket.relay.login:guest}") String relayLogin,
+                           @Value("${contacts.websocket.relay.passcode:guest}") String relayPasscode) {
+        this.allowedOriginPatterns = allowedOriginPatterns;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimit = sendTimeLimit;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint(ENDPOINT).setAllowedOriginPatterns(allowedOriginPatterns);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        if (relayHost.isBlank()) {
+            log.warn("No STOMP broker relay is configured; live change topics only reach sessions on this instance");
+            registry.enableSimpleBroker("/topic");
+            return;
+        }
+        registry.enableStompBrokerRelay("/topic")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit((int) sendTimeLimit.toMillis());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                if (StompCommand.SEND.equals(accessor.getCommand())) {
+                    log.debug("Dropping SEND frame from a client to {}", accessor.getDestination());
+                    return null;
+                }
+                return message;
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.crm.contactmanagementservice.controller;
+
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.service.BulkJobService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for bulk jobs.
+ * Operations on every contact of a contact list are submitted here instead of running within one request; the job is
+ * run in the background and its progress is read by polling the job, or pushed to /topic/jobs/{id}.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+@AllArgsConstructor
+public class BulkJobController {
+
+    private final BulkJobService bulkJobService;
+
+    /**
+     * Submits a bulk job.
+     * @param request The job to run.
+     * @return HTTP status 202 (Accepted) with the queued job and its location.
+     */
+    @PostMapping
+    public ResponseEntity<BulkJobDTO> submitJob(@RequestBody BulkJobRequestDTO request) {
+        BulkJobDTO job = bulkJobService.submitJob(request);
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.id())).body(job);
+    }
+
+    /**
+     * Fetches the state and progress of a bulk job.
+     * @param id The ID of the job.
+     * @return The job DTO.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobDTO> getJobById(@PathVariable UUID id) {
+        return ResponseEntity.ok(bulkJobService.getJobById(id));
+    }
+}
@@ -1,12 +1,40 @@
 package com.crm.contactmanagementservice.controller;
 
+import com.crm.contactmanagementservice.config.BinaryFormatConfig;
+import com.crm.contactmanagementservice.config.ResponseItemsMetricsAdvice;
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactBatchRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactBatchResultDTO;
+import com.crm.contactmanagementservice.dto.ContactCacheStatsDTO;
+import com.crm.contactmanagementservice.dto.ContactChangesDTO;
+import com.crm.contactmanagementservice.dto.ContactCursor;
 import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactImportResultDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveResultDTO;
+import com.crm.contactmanagementservice.dto.VersionETag;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
 import com.crm.contactmanagementservice.service.ContactService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -19,25 +47,133 @@ import java.util.UUID;
 @AllArgsConstructor
 public class ContactController {
 
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Upper bound on the page size a client may request.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Number of search results returned when the client does not ask for a limit.
+     */
+    private static final int DEFAULT_SEARCH_RESULTS = 20;
+
+    /**
+     * Upper bound on the number of search results a client may request.
+     */
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    /**
+     * Upper bound on the number of ids in one batch lookup.
+     */
+    private static final int MAX_BATCH_IDS = 1000;
+
+    /**
+     * Upper bound on the number of ids in one bulk move.
+     */
+    private static final int MAX_MOVE_IDS = 100_000;
+
+    /**
+     * Column header of the CSV export, in the field order of ContactDTO.
+     */
+    private static final String CSV_HEADER = "id,contactListId,firstName,lastName,preferredName,email,phone,fax,addressId,doNotContact";
+
+    /**
+     * Media type of the CSV export.
+     */
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
     private final ContactService contactService;
+    private final ObjectMapper objectMapper;
+    private final BinaryFormatConfig binaryFormatConfig;
+    private final ResponseItemsMetricsAdvice responseItemsMetrics;
 
     /**
      * Fetches a contact by its ID.
+     * The response carries the contact's version as a strong ETag; a request whose If-None-Match holds the current
+     * tag is answered with 304 Not Modified and no body.
      * @param id The ID of the contact.
      * @return The contact DTO.
      */
     @GetMapping("/{id}")
     public ResponseEntity<ContactDTO> getContactById(@PathVariable UUID id) {
-        return ResponseEntity.ok(contactService.getContactById(id));
+        return withETag(HttpStatus.OK, contactService.getContactById(id));
+    }
+
+    /**
+     * Fetches several contacts by ID in one request.
+     * @param request The IDs to fetch, at most {@value #MAX_BATCH_IDS}.
+     * @return The contacts found in request order, and the IDs that were not found.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ContactBatchResultDTO> getContactsByIds(@RequestBody ContactBatchRequestDTO request) {
+        if (request.ids() == null || request.ids().isEmpty() || request.ids().size() > MAX_BATCH_IDS) {
+            throw new AppBadRequestException("ids must contain between 1 and " + MAX_BATCH_IDS + " ids");
+        }
+        if (request.ids().contains(null)) {
+            throw new AppBadRequestException("ids must not contain null");
+        }
+        return ResponseEntity.ok(contactService.getContactsByIds(request.ids()));
+    }
+
+    /**
+     * Fetches the hit, miss and eviction counters of the contact lookup cache.
+     * @return The cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ContactCacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(contactService.getCacheStats());
     }
 
     /**
-     * Fetches all contacts.
-     * @return A set of all contact DTOs.
+     * Fetches a keyset page of contacts ordered by ID.
+     * The body is streamed as {@code {"contacts": [...], "next": "<cursor>"}} while rows are read from the database,
+     * so the page is never materialized in memory. {@code next} is null once the last page has been served.
+     * The page is written as JSON unless Accept asks for CBOR or Smile.
+     * @param after The opaque cursor returned by the previous page, or absent for the first page.
+     * @param limit The maximum number of contacts on the page, capped at {@value #MAX_PAGE_SIZE}.
+     * @param accept The Accept header of the request, or absent for JSON.
+     * @param request The request, to tag the page size metric with.
+     * @return The streamed page of contact DTOs.
      */
     @GetMapping
-    public ResponseEntity<Set<ContactDTO>> getAllContacts() {
-        return ResponseEntity.ok(contactService.getAllContacts());
+    public ResponseEntity<StreamingResponseBody> getAllContacts(@RequestParam(required = false) String after,
+                                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                HttpServletRequest request) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new AppBadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ContactCursor cursor = ContactCursor.decode(after);
+        MediaType mediaType = binaryFormatConfig.negotiateStreamedType(accept);
+        ObjectMapper pageMapper = binaryFormatConfig.objectMapperFor(mediaType);
+        DistributionSummary pageSize = responseItemsMetrics.summaryFor(request);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = pageMapper.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("contacts");
+                UUID[] last = new UUID[1];
+                int[] count = new int[1];
+                contactService.streamContacts(cursor.after(), limit, contactDTO -> {
+                    try {
+                        generator.writeObject(contactDTO);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    last[0] = contactDTO.id();
+                    count[0]++;
+                });
+                pageSize.record(count[0]);
+                generator.writeEndArray();
+                generator.writeStringField("next", count[0] == limit ? new ContactCursor(last[0]).encode() : null);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
     }
     /**
      * Fetches all contacts from a contact list by its ID.
@@ -59,6 +195,97 @@ public class ContactController {
         return ResponseEntity.ok(contacts);
     }
 
+    /**
+     * Fetches the inserts, updates and deletes of a user's contacts after a watermark.
+     * The first request omits since and pages through every contact; later requests pass the next watermark of the
+     * previous response to receive only what changed. Clients should keep paging while hasMore is true.
+     * A watermark older than the tombstone retention window is answered with 410 Gone, and the client must resync
+     * from the beginning.
+     * @param userId The ID of the user whose contact changes to fetch.
+     * @param since The watermark returned by the previous request, or absent to start from the beginning.
+     * @param limit The maximum number of changes on the page, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The changes in order, and the watermark to resume from.
+     */
+    @GetMapping("user/{userId}/changes")
+    public ResponseEntity<ContactChangesDTO> getContactChangesByUserId(@PathVariable UUID userId,
+                                                                       @RequestParam(required = false) String since,
+                                                                       @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new AppBadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(contactService.getContactChangesByUserId(userId, ChangeCursor.decode(since), limit));
+    }
+
+    /**
+     * Exports all contacts for a given user ID as newline-delimited JSON or CSV.
+     * Rows are written to the response as they are read from the database cursor, so exports run in constant memory.
+     * @param userId The ID of the user whose contacts to export.
+     * @param format The export format, either {@code ndjson} or {@code csv}.
+     * @return The streamed export.
+     */
+    @GetMapping("user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportContactsByUserId(@PathVariable UUID userId,
+                                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        StreamingResponseBody body;
+        MediaType mediaType;
+        switch (format) {
+            case "ndjson" -> {
+                mediaType = MediaType.APPLICATION_NDJSON;
+                body = outputStream -> {
+                    try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                        generator.setRootValueSeparator(null);
+                        contactService.streamContactsByUserId(userId, contactDTO -> {
+                            try {
+                                generator.writeObject(contactDTO);
+                                generator.writeRaw('\n');
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        });
+                    }
+                };
+            }
+            case "csv" -> {
+                mediaType = TEXT_CSV;
+                body = outputStream -> {
+                    try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+                        writer.write(CSV_HEADER);
+                        writer.write('\n');
+                        contactService.streamContactsByUserId(userId, contactDTO -> {
+                            try {
+                                writeCsvRow(writer, contactDTO);
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        });
+                    }
+                };
+            }
+            default -> throw new AppBadRequestException("Unsupported export format: " + format);
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"contacts-" + userId + "." + format + "\"")
+                .body(body);
+    }
+
+    /**
+     * Suggests a user's contacts whose first, last, preferred or full name starts with the query.
+     * Served from an in-memory per-user index, so it is cheap enough to call on every keystroke.
+     * @param userId The ID of the user whose contacts to search.
+     * @param q The prefix typed so far.
+     * @param limit The maximum number of suggestions, capped at {@value #MAX_SEARCH_RESULTS}.
+     * @return A list of matching contact DTOs, in name order.
+     */
+    @GetMapping("user/{userId}/typeahead")
+    public ResponseEntity<List<ContactDTO>> typeahead(@PathVariable UUID userId, @RequestParam String q,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new AppBadRequestException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return ResponseEntity.ok(contactService.typeahead(userId, q, limit));
+    }
+
     /**
      * Creates a new contact.
      * @param contactDTO The contact DTO to create.
@@ -66,18 +293,65 @@ public class ContactController {
      */
     @PostMapping
     public ResponseEntity<ContactDTO> createContact(@RequestBody ContactDTO contactDTO) {
-        return new ResponseEntity<>(contactService.createContact(contactDTO), HttpStatus.CREATED);
+        return withETag(HttpStatus.CREATED, contactService.createContact(contactDTO));
+    }
+
+    /**
+     * Creates contacts in bulk.
+     * Accepts either a JSON array or newline-delimited JSON; rows are parsed lazily and inserted in batches.
+     * @param body The request body containing the contact DTOs.
+     * @return The per-row outcome and throughput of the import.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ContactImportResultDTO> importContacts(InputStream body) throws IOException {
+        return ResponseEntity.ok(contactService.importContacts(objectMapper.readerFor(ContactDTO.class).readValues(body)));
     }
 
     /**
      * Updates a contact.
+     * With an If-Match header the update is only applied if the contact is still at that version, otherwise the
+     * response is 412 Precondition Failed. The response carries the new version as its ETag.
      * @param id The ID of the contact to update.
+     * @param ifMatch The ETag of the version the client last saw, or absent to update unconditionally.
      * @param contactDTO The contact DTO to update.
      * @return The updated contact DTO.
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<ContactDTO> updateContact(@PathVariable UUID id, @RequestBody ContactDTO contactDTO) {
-        return ResponseEntity.ok(contactService.updateContact(contactDTO, id));
+    public ResponseEntity<ContactDTO> updateContact(@PathVariable UUID id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestBody ContactDTO contactDTO) {
+        VersionETag expected = VersionETag.decodeIfMatch(ifMatch);
+        if (expected == null) {
+            return withETag(HttpStatus.OK, contactService.updateContact(contactDTO, id));
+        }
+        return withETag(HttpStatus.OK, contactService.updateContact(contactDTO, id, expected.version()));
+    }
+
+    /**
+     * Moves contacts to another contact list in bulk.
+     * The contacts are either listed by ID, at most {@value #MAX_MOVE_IDS}, or selected as every contact of a source list.
+     * @param request The contacts to move and the target contact list.
+     * @return The number of contacts moved.
+     */
+    @PostMapping("/move")
+    public ResponseEntity<ContactMoveResultDTO> moveContacts(@RequestBody ContactMoveRequestDTO request) {
+        if (request.targetContactListId() == null) {
+            throw new AppBadRequestException("targetContactListId is required");
+        }
+        if ((request.ids() == null) == (request.sourceContactListId() == null)) {
+            throw new AppBadRequestException("Exactly one of ids and sourceContactListId is required");
+        }
+        if (request.sourceContactListId() != null) {
+            return ResponseEntity.ok(contactService.moveContactListContacts(request.sourceContactListId(), request.targetContactListId()));
+        }
+        if (request.ids().isEmpty() || request.ids().size() > MAX_MOVE_IDS) {
+            throw new AppBadRequestException("ids must contain between 1 and " + MAX_MOVE_IDS + " ids");
+        }
+        if (request.ids().contains(null)) {
+            throw new AppBadRequestException("ids must not contain null");
+        }
+        return ResponseEntity.ok(contactService.moveContacts(request.ids(), request.targetContactListId()));
     }
 
     /**
@@ -93,12 +367,72 @@ public class ContactController {
 
     /**
      * Searches contacts by name.
+     * Results are ranked with exact name matches first, then prefix matches, then other matches.
      * @param name The name to search for.
-     * @return A set of contact DTOs that match the search.
+     * @param limit The maximum number of contacts to return, capped at {@value #MAX_SEARCH_RESULTS}.
+     * @param offset The number of ranked contacts to skip.
+     * @return A list of contact DTOs that match the search.
      */
     @GetMapping("/search/{name}")
-    public ResponseEntity<Set<ContactDTO>> searchContactsByName(@PathVariable String name) {
-        return ResponseEntity.ok(contactService.searchContactsByName(name));
+    public ResponseEntity<List<ContactDTO>> searchContactsByName(@PathVariable String name,
+                                                                 @RequestParam(defaultValue = "" + DEFAULT_SEARCH_RESULTS) int limit,
+                                                                 @RequestParam(defaultValue = "0") int offset) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new AppBadRequestException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (offset < 0) {
+            throw new AppBadRequestException("offset must not be negative");
+        }
+        return ResponseEntity.ok(contactService.searchContactsByName(name, limit, offset));
+    }
+
+    /**
+     * Builds a response for one contact, with its version as the ETag when it is known.
+     * @param status The response status.
+     * @param contactDTO The contact.
+     * @return The response.
+     */
+    private static ResponseEntity<ContactDTO> withETag(HttpStatus status, ContactDTO contactDTO) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (contactDTO.version() != null) {
+            builder.eTag(new VersionETag(contactDTO.version()).encode());
+        }
+        return builder.body(contactDTO);
+    }
+
+    /**
+     * Writes one contact as a CSV row.
+     * @param writer The writer to append to.
+     * @param contactDTO The contact to write.
+     * @throws IOException if the row cannot be written.
+     */
+    private static void writeCsvRow(Writer writer, ContactDTO contactDTO) throws IOException {
+        Object[] values = {contactDTO.id(), contactDTO.contactListId(), contactDTO.firstName(), contactDTO.lastName(),
+                contactDTO.preferredName(), contactDTO.email(), contactDTO.phone(), contactDTO.fax(),
+                contactDTO.addressId(), contactDTO.doNotContact()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Formats a value as a CSV field, quoting it when it contains a separator, quote or line break.
+     * @param value The value to format.
+     * @return The CSV field, empty for null.
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
 
-}
\ No newline at end of file
+}
@@ -1,12 +1,20 @@
 package com.crm.contactmanagementservice.controller;
 
 import org.springframework.web.bind.annotation.*;
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactListChangesDTO;
 import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.dto.ContactListDetailDTO;
+import com.crm.contactmanagementservice.dto.ContactListSummaryDTO;
+import com.crm.contactmanagementservice.dto.VersionETag;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
 import com.crm.contactmanagementservice.service.ContactListService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -20,16 +28,40 @@ import java.util.UUID;
 @AllArgsConstructor
 public class ContactListController {
 
+    /**
+     * Page size of the change feed when the client does not ask for one.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Upper bound on the page size of the change feed a client may request.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ContactListService contactListService;
 
     /**
      * Fetches a contact list by its ID.
+     * The response carries the contact list's version as a strong ETag; a request whose If-None-Match holds the
+     * current tag is answered with 304 Not Modified and no body.
      * @param id The ID of the contact list.
      * @return The contact list DTO.
      */
     @GetMapping("/{id}")
     public ResponseEntity<ContactListDTO> getContactListById(@PathVariable UUID id) {
-        return ResponseEntity.ok(contactListService.getContactListById(id));
+        return withETag(HttpStatus.OK, contactListService.getContactListById(id));
+    }
+
+    /**
+     * Fetches a contact list by its ID together with its contacts and their counts.
+     * The whole response is read with one query. The ETag is not set, since the list's version does not change when
+     * only its contacts do.
+     * @param id The ID of the contact list.
+     * @return The contact list detail DTO.
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ContactListDetailDTO> getContactListDetailById(@PathVariable UUID id) {
+        return ResponseEntity.ok(contactListService.getContactListDetailById(id));
     }
 
     /**
@@ -50,6 +82,38 @@ public class ContactListController {
         Set<ContactListDTO> contactLists = contactListService.getAllContactListsByUserId(id);
         return ResponseEntity.ok(contactLists);
     }
+
+    /**
+     * Fetches all contact lists by the user id together with their contact and do-not-contact counts.
+     * The counts are computed in the same query as the lists, so no contacts are loaded.
+     * @param id The id of the user whose contact lists to fetch.
+     * @return A list of contact list summary DTOs ordered by list name.
+     */
+    @GetMapping("user/{id}/summary")
+    public ResponseEntity<List<ContactListSummaryDTO>> getContactListSummariesByUserId(@PathVariable UUID id) {
+        return ResponseEntity.ok(contactListService.getContactListSummariesByUserId(id));
+    }
+    /**
+     * Fetches the inserts, updates and deletes of a user's contact lists after a watermark.
+     * The first request omits since and pages through every contact list; later requests pass the next watermark of
+     * the previous response to receive only what changed. Clients should keep paging while hasMore is true.
+     * A watermark older than the tombstone retention window is answered with 410 Gone, and the client must resync
+     * from the beginning.
+     * @param id The id of the user whose contact list changes to fetch.
+     * @param since The watermark returned by the previous request, or absent to start from the beginning.
+     * @param limit The maximum number of changes on the page, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The changes in order, and the watermark to resume from.
+     */
+    @GetMapping("user/{id}/changes")
+    public ResponseEntity<ContactListChangesDTO> getContactListChangesByUserId(@PathVariable UUID id,
+                                                                               @RequestParam(required = false) String since,
+                                                                               @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new AppBadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(contactListService.getContactListChangesByUserId(id, ChangeCursor.decode(since), limit));
+    }
+
     /**
      * Creates a new contact list.
      * @param contactListDTO The contact list DTO to create.
@@ -57,18 +121,27 @@ public class ContactListController {
      */
     @PostMapping
     public ResponseEntity<ContactListDTO> createContactList(@RequestBody ContactListDTO contactListDTO) {
-        return new ResponseEntity<>(contactListService.createContactList(contactListDTO), HttpStatus.CREATED);
+        return withETag(HttpStatus.CREATED, contactListService.createContactList(contactListDTO));
     }
 
     /**
      * Updates a contact list.
+     * With an If-Match header the update is only applied if the contact list is still at that version, otherwise the
+     * response is 412 Precondition Failed. The response carries the new version as its ETag.
      * @param id The ID of the contact list to update.
+     * @param ifMatch The ETag of the version the client last saw, or absent to update unconditionally.
      * @param contactListDTO The contact list DTO to update.
      * @return The updated contact list DTO.
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<ContactListDTO> updateContactList(@PathVariable UUID id, @RequestBody ContactListDTO contactListDTO) {
-        return ResponseEntity.ok(contactListService.updateContactList(contactListDTO, id));
+    public ResponseEntity<ContactListDTO> updateContactList(@PathVariable UUID id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @RequestBody ContactListDTO contactListDTO) {
+        VersionETag expected = VersionETag.decodeIfMatch(ifMatch);
+        if (expected == null) {
+            return withETag(HttpStatus.OK, contactListService.updateContactList(contactListDTO, id));
+        }
+        return withETag(HttpStatus.OK, contactListService.updateContactList(contactListDTO, id, expected.version()));
     }
 
     /**
@@ -81,4 +154,18 @@ public class ContactListController {
         contactListService.deleteContactListById(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Builds a response for one contact list, with its version as the ETag when it is known.
+     * @param status The response status.
+     * @param contactListDTO The contact list.
+     * @return The response.
+     */
+    private static ResponseEntity<ContactListDTO> withETag(HttpStatus status, ContactListDTO contactListDTO) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (contactListDTO.version() != null) {
+            builder.eTag(new VersionETag(contactListDTO.version()).encode());
+        }
+        return builder.body(contactListDTO);
+    }
 }
\ No newline at end of file
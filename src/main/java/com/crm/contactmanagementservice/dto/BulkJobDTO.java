@@ -0,0 +1,33 @@
+package com.crm.contactmanagementservice.dto;
+
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.job.BulkJobStatus;
+import com.crm.contactmanagementservice.job.BulkJobType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the state and progress of a bulk job.
+ */
+public record BulkJobDTO(
+        UUID id, // The unique identifier for the job
+        BulkJobType type, // The kind of job
+        BulkJobStatus status, // The state of the job
+        UUID contactListId, // The id of the contact list whose contacts are processed
+        long processed, // The number of contacts processed by the committed chunks
+        String error, // The reason the job failed, null unless it did
+        Instant createdAt, // The time the job was submitted
+        Instant updatedAt) // The time the job last made progress or changed state
+{
+
+    /**
+     * Creates the DTO of a job.
+     * @param entity The job.
+     * @return The DTO.
+     */
+    public static BulkJobDTO of(BulkJobEntity entity) {
+        return new BulkJobDTO(entity.getId(), entity.getJobType(), entity.getStatus(), entity.getContactListId(),
+                entity.getProcessed(), entity.getError(), entity.getCreatedAt(), entity.getUpdatedAt());
+    }
+}
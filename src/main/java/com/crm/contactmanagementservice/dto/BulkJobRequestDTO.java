@@ -0,0 +1,18 @@
+package com.crm.contactmanagementservice.dto;
+
+import com.crm.contactmanagementservice.job.BulkJobType;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for submitting a bulk job.
+ * Move jobs need the target contact list, do not contact jobs the flag to write.
+ */
+public record BulkJobRequestDTO(
+        BulkJobType type, // The kind of job
+        UUID contactListId, // The id of the contact list whose contacts are processed
+        UUID targetContactListId, // The id of the contact list the contacts are moved to
+        Boolean doNotContact) // The do not contact flag written to the contacts
+{
+
+}
@@ -0,0 +1,74 @@
+package com.crm.contactmanagementservice.dto;
+
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque watermark of a change feed.
+ * This record wraps the time and id of the last change returned on a page; the next page starts strictly after it.
+ * Changes are ordered by time and then by id, compared as unsigned bytes like the database does, so the order is total
+ * and the watermark only ever moves forward.
+ */
+public record ChangeCursor(
+        Instant at, // The time of the last change on the previous page
+        UUID id) // The id of the entity of the last change on the previous page
+        implements Comparable<ChangeCursor>
+{
+
+    /**
+     * The watermark positioned before the first change, so the first page of a feed holds every live entity.
+     */
+    public static final ChangeCursor START = new ChangeCursor(Instant.EPOCH, new UUID(0L, 0L));
+
+    /**
+     * Encodes the watermark as a URL-safe token.
+     * @return The opaque token.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * A null or blank token yields {@link #START}.
+     * @param token The opaque token.
+     * @return The decoded watermark.
+     * @throws AppBadRequestException if the token is malformed.
+     */
+    public static ChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new ChangeCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new AppBadRequestException("Invalid change token: " + token, ex);
+        }
+    }
+
+    /**
+     * Compares two watermarks by time, then by id as unsigned bytes.
+     * @param other The watermark to compare with.
+     * @return A negative number, zero or a positive number as this watermark is before, equal to or after the other.
+     */
+    @Override
+    public int compareTo(ChangeCursor other) {
+        int byTime = at.compareTo(other.at);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+    }
+}
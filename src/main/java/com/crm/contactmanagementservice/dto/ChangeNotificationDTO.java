@@ -0,0 +1,17 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a message pushed on a user's change topic.
+ * This record class names what changed during the last coalescing window; the data itself is fetched from the
+ * matching change feed, starting at the client's last watermark.
+ */
+public record ChangeNotificationDTO(
+        Collection<UUID> changed, // The IDs created or updated in the window
+        Collection<UUID> deleted, // The IDs deleted in the window
+        boolean resync) // Flag indicating that too much changed to list, and the IDs are omitted
+{
+
+}
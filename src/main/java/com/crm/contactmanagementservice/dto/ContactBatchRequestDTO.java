@@ -0,0 +1,13 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a batch lookup of contacts by id.
+ */
+public record ContactBatchRequestDTO(
+        List<UUID> ids) // The ids of the contacts to fetch, in the order the caller wants them back
+{
+
+}
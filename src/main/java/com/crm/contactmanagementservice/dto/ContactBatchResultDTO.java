@@ -0,0 +1,15 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the result of a batch lookup of contacts by id.
+ * This record class carries the contacts that were found in request order and the ids that were not.
+ */
+public record ContactBatchResultDTO(
+        List<ContactDTO> contacts, // The contacts found, in the order their ids were requested
+        List<UUID> missing) // The requested ids with no matching contact, in request order
+{
+
+}
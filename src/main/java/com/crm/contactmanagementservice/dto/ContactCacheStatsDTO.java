@@ -0,0 +1,14 @@
+package com.crm.contactmanagementservice.dto;
+
+/**
+ * Data Transfer Object for the contact lookup cache counters.
+ * This record class is a point-in-time snapshot; the counters are cumulative since startup.
+ */
+public record ContactCacheStatsDTO(
+        long hits, // The number of lookups answered from the cache
+        long misses, // The number of lookups that went to the database
+        long evictions, // The number of entries dropped because they expired or the cache was full
+        int size) // The number of contacts currently cached
+{
+
+}
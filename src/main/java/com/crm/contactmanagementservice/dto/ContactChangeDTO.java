@@ -0,0 +1,15 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for one entry of the contact change feed.
+ * An entry is either an insert or update carrying the contact as it is now, or a delete carrying only the id.
+ */
+public record ContactChangeDTO(
+        UUID id, // The unique identifier of the changed contact
+        boolean deleted, // Flag indicating whether the contact was deleted or left the user's contact lists
+        ContactDTO contact) // The contact as it is now, or null when it was deleted
+{
+
+}
@@ -0,0 +1,15 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of the contact change feed.
+ * This record class carries the changes in the order they happened and the watermark to resume from.
+ */
+public record ContactChangesDTO(
+        List<ContactChangeDTO> changes, // The changes after the requested watermark, oldest first
+        String next, // The watermark after the last change, to pass as since on the next request
+        boolean hasMore) // Flag indicating whether more changes are available right away
+{
+
+}
@@ -0,0 +1,51 @@
+package com.crm.contactmanagementservice.dto;
+
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for paginating contacts.
+ * This record wraps the id of the last contact returned on a page; the next page starts strictly after it.
+ * Clients only ever see the encoded token, so the underlying ordering key can change without breaking them.
+ */
+public record ContactCursor(
+        UUID after) // The id of the last contact on the previous page
+{
+
+    /**
+     * The cursor positioned before the first contact.
+     * Contact ids are compared as unsigned bytes, so the nil UUID sorts before every generated id.
+     */
+    public static final ContactCursor START = new ContactCursor(new UUID(0L, 0L));
+
+    /**
+     * Encodes the cursor as a URL-safe token.
+     * @return The opaque token.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(after.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * A null or blank token yields {@link #START}.
+     * @param token The opaque token.
+     * @return The decoded cursor.
+     * @throws AppBadRequestException if the token is malformed.
+     */
+    public static ContactCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new ContactCursor(UUID.fromString(raw));
+        } catch (IllegalArgumentException ex) {
+            throw new AppBadRequestException("Invalid cursor: " + token, ex);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  * Data Transfer Object for Contact.
  * This record class encapsulates all the fields related to a Contact.
  * It also includes a method to check if the DTO is valid.
+ * The version is not serialized; controllers return it as the ETag of the contact.
  */
 public record ContactDTO(
         java.util.UUID id, // The unique identifier for the contact
@@ -17,7 +18,17 @@ public record ContactDTO(
         String phone, // The phone number of the contact
         String fax, // The fax number of the contact
         java.util.UUID addressId, // The unique identifier for the address of the contact
-        boolean doNotContact) { // Flag indicating whether the contact should not be contacted
+        Boolean doNotContact, // Flag indicating whether the contact should not be contacted, null if a patch leaves it unchanged
+        @JsonIgnore Long version) { // The optimistic locking version, sent as the ETag instead of in the body
+
+    /**
+     * Constructor for a ContactDTO without a known version, such as one built from a request.
+     */
+    public ContactDTO(java.util.UUID id, java.util.UUID contactListId, String firstName, String lastName,
+                      String preferredName, String email, String phone, String fax, java.util.UUID addressId,
+                      Boolean doNotContact) {
+        this(id, contactListId, firstName, lastName, preferredName, email, phone, fax, addressId, doNotContact, null);
+    }
 
     /**
      * Checks if the DTO is valid.
@@ -0,0 +1,17 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the result of a bulk contact import.
+ * This record class summarizes the import and carries the per-row outcomes in payload order.
+ */
+public record ContactImportResultDTO(
+        int total, // The number of rows read from the payload
+        int succeeded, // The number of contacts created
+        int failed, // The number of rows rejected
+        double rowsPerSecond, // The import throughput measured over the whole request
+        List<ContactImportRowDTO> rows) // The outcome of each row, in payload order
+{
+
+}
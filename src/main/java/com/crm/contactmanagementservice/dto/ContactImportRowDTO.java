@@ -0,0 +1,13 @@
+package com.crm.contactmanagementservice.dto;
+
+/**
+ * Data Transfer Object for the outcome of a single row in a bulk contact import.
+ * This record class reports either the id assigned to the created contact or the reason the row was rejected.
+ */
+public record ContactImportRowDTO(
+        int index, // The zero-based position of the row in the import payload
+        java.util.UUID id, // The unique identifier assigned to the created contact, null if the row failed
+        String error) // The reason the row was rejected, null if the row succeeded
+{
+
+}
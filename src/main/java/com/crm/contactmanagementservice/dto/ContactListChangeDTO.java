@@ -0,0 +1,15 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for one entry of the contact list change feed.
+ * An entry is either an insert or update carrying the contact list as it is now, or a delete carrying only the id.
+ */
+public record ContactListChangeDTO(
+        UUID id, // The unique identifier of the changed contact list
+        boolean deleted, // Flag indicating whether the contact list was deleted
+        ContactListDTO contactList) // The contact list as it is now, or null when it was deleted
+{
+
+}
@@ -1,13 +1,23 @@
 package com.crm.contactmanagementservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Data Transfer Object for ContactList.
  * This record class encapsulates all the fields related to a ContactList.
+ * The version is not serialized; controllers return it as the ETag of the contact list.
  */
 public record ContactListDTO(
         java.util.UUID id, // The unique identifier for the contact list
         String listName, // The name of the contact list
-        java.util.UUID userId) // The unique identifier for the user who owns the contact list
+        java.util.UUID userId, // The unique identifier for the user who owns the contact list
+        @JsonIgnore Long version) // The optimistic locking version, sent as the ETag instead of in the body
 {
 
+    /**
+     * Constructor for a ContactListDTO without a known version, such as one built from a request.
+     */
+    public ContactListDTO(java.util.UUID id, String listName, java.util.UUID userId) {
+        this(id, listName, userId, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a contact list together with its contacts.
+ * This record class is read in a single query and carries the contact counts, so clients need no further requests to
+ * render a list.
+ */
+public record ContactListDetailDTO(
+        UUID id, // The unique identifier for the contact list
+        String listName, // The name of the contact list
+        UUID userId, // The unique identifier for the user who owns the contact list
+        int contactCount, // The number of contacts in the contact list
+        int doNotContactCount, // The number of those contacts flagged as do not contact
+        List<ContactDTO> contacts) // The contacts in the contact list, ordered by last name, first name and id
+{
+
+}
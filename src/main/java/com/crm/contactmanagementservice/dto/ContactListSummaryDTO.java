@@ -0,0 +1,18 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a contact list together with its contact counts.
+ * This record class is built by a grouped query over a user's contact lists, so clients can render every list with its
+ * size without loading any contacts.
+ */
+public record ContactListSummaryDTO(
+        UUID id, // The unique identifier for the contact list
+        String listName, // The name of the contact list
+        UUID userId, // The unique identifier for the user who owns the contact list
+        long contactCount, // The number of contacts in the contact list
+        long doNotContactCount) // The number of those contacts flagged as do not contact
+{
+
+}
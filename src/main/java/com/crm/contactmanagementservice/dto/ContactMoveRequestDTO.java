@@ -0,0 +1,17 @@
+package com.crm.contactmanagementservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a bulk move of contacts to another contact list.
+ * Exactly one of ids and sourceContactListId selects the contacts to move. The CONTACTS_MOVED outbox event of a chunk
+ * of a list move sets both: the IDs of the chunk and the list they left.
+ */
+public record ContactMoveRequestDTO(
+        List<UUID> ids, // The ids of the contacts to move
+        UUID sourceContactListId, // The id of the contact list whose contacts are all moved
+        UUID targetContactListId) // The id of the contact list the contacts are moved to
+{
+
+}
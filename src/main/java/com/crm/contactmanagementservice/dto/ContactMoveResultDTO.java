@@ -0,0 +1,10 @@
+package com.crm.contactmanagementservice.dto;
+
+/**
+ * Data Transfer Object for the result of a bulk move of contacts.
+ */
+public record ContactMoveResultDTO(
+        int moved) // The number of contacts whose contact list changed
+{
+
+}
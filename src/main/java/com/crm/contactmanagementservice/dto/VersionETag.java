@@ -0,0 +1,52 @@
+package com.crm.contactmanagementservice.dto;
+
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
+
+/**
+ * Strong entity tag derived from the optimistic locking version of a contact or contact list.
+ * The version changes with every committed update, so equal tags mean equal representations and a GET can be answered
+ * with 304 Not Modified without serializing the body.
+ */
+public record VersionETag(
+        long version) // The optimistic locking version of the entity
+{
+
+    /**
+     * Encodes the tag as a quoted ETag header value.
+     * @return The header value.
+     */
+    public String encode() {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Decodes an If-Match header.
+     * An absent header or {@code *} yields null, meaning the update is unconditional. Weak tags and tags that were not
+     * issued by this service can never match the current version.
+     * @param header The If-Match header value.
+     * @return The decoded tag, or null.
+     * @throws AppBadRequestException if the header is not a single entity tag.
+     * @throws AppPreconditionFailedException if the tag can never match.
+     */
+    public static VersionETag decodeIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.indexOf(',') >= 0) {
+            throw new AppBadRequestException("If-Match must hold a single entity tag: " + header);
+        }
+        if (tag.startsWith("W/")) {
+            throw new AppPreconditionFailedException("Weak entity tags never match If-Match: " + header);
+        }
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new AppBadRequestException("Invalid entity tag: " + header);
+        }
+        try {
+            return new VersionETag(Long.parseLong(tag.substring(1, tag.length() - 1)));
+        } catch (NumberFormatException ex) {
+            throw new AppPreconditionFailedException("Unknown entity tag: " + header);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.crm.contactmanagementservice.entity;
+
+import com.crm.contactmanagementservice.job.BulkJobStatus;
+import com.crm.contactmanagementservice.job.BulkJobType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity class for BulkJob.
+ * This class represents a bulk operation on the contacts of a contact list that is run in chunks by the job workers.
+ * The row is updated in the same transaction as each chunk, so its progress always matches the committed work.
+ */
+@Entity
+@Table(name = "bulk_job")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobEntity {
+
+    /**
+     * The unique identifier for the job.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", unique = true)
+    private UUID id;
+
+    /**
+     * The kind of job.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 32)
+    private BulkJobType jobType;
+
+    /**
+     * The state of the job.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private BulkJobStatus status;
+
+    /**
+     * The unique identifier of the contact list whose contacts the job processes.
+     */
+    @Column(name = "contact_list_id", nullable = false)
+    private UUID contactListId;
+
+    /**
+     * The unique identifier of the contact list the contacts are moved to, for move jobs.
+     */
+    @Column(name = "target_contact_list_id")
+    private UUID targetContactListId;
+
+    /**
+     * The do not contact flag written to the contacts, for do not contact jobs.
+     */
+    @Column(name = "do_not_contact")
+    private Boolean doNotContact;
+
+    /**
+     * The number of contacts processed by the committed chunks.
+     */
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    /**
+     * The reason the job failed.
+     */
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    /**
+     * The unique identifier of the worker running the job.
+     */
+    @Column(name = "worker_id")
+    private UUID workerId;
+
+    /**
+     * The time the running worker last committed a chunk or claimed the job.
+     */
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    /**
+     * The time the job was submitted.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * The time the job was last changed.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
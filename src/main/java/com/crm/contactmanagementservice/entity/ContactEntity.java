@@ -3,15 +3,22 @@ package com.crm.contactmanagementservice.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.UUID;
 
 /**
  * Entity class for Contact.
  * This class represents a contact in the database.
  * It includes fields for the contact's details and relationships.
+ * Updates only write the columns that changed, guarded by the version column.
  */
 @Entity
 @Table(name = "contact")
+@DynamicUpdate
 @Getter
 @Setter
 public class ContactEntity {
@@ -78,4 +85,26 @@ public class ContactEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contact_list_id", referencedColumnName = "id")
     private ContactListEntity contactList;
-}
\ No newline at end of file
+
+    /**
+     * The optimistic locking version of the contact, incremented on every update.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * The time the contact was created.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * The time the contact was last changed, the watermark of the contact change feed.
+     * On PostgreSQL a trigger overwrites it with the time of the write, from the database clock.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -2,6 +2,10 @@ package com.crm.contactmanagementservice.entity;
 
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -46,4 +50,26 @@ public class ContactListEntity {
      */
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "contactList", cascade = CascadeType.DETACH)
     private Set<ContactEntity> contacts = new HashSet<>();
-}
\ No newline at end of file
+
+    /**
+     * The optimistic locking version of the contact list, incremented on every update.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * The time the contact list was created.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * The time the contact list was last changed, the watermark of the contact list change feed.
+     * On PostgreSQL a trigger overwrites it with the time of the write, from the database clock.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,48 @@
+package com.crm.contactmanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity class for ContactListTombstone.
+ * This class records the deletion of a contact list, so the contact list change feed can report deletes after the
+ * row itself is gone.
+ */
+@Entity
+@Table(name = "contact_list_tombstone")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ContactListTombstoneEntity {
+
+    /**
+     * The unique identifier for the tombstone.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The unique identifier of the deleted contact list.
+     */
+    @Column(name = "contact_list_id", nullable = false)
+    private UUID contactListId;
+
+    /**
+     * The unique identifier of the user who owned the contact list.
+     */
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /**
+     * The time the contact list was deleted.
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
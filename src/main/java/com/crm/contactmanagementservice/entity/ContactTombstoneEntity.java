@@ -0,0 +1,48 @@
+package com.crm.contactmanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity class for ContactTombstone.
+ * This class records the deletion of a contact, or its removal from a user's contact lists, so the contact change
+ * feed can report deletes after the row itself is gone.
+ */
+@Entity
+@Table(name = "contact_tombstone")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ContactTombstoneEntity {
+
+    /**
+     * The unique identifier for the tombstone.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The unique identifier of the deleted contact.
+     */
+    @Column(name = "contact_id", nullable = false)
+    private UUID contactId;
+
+    /**
+     * The unique identifier of the user whose contact list held the contact.
+     */
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /**
+     * The time the contact was deleted.
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,59 @@
+package com.crm.contactmanagementservice.entity;
+
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity class for OutboxEvent.
+ * This class represents an event that is written in the same transaction as the change it describes and is deleted
+ * once the relay has handed it to the sink.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventEntity {
+
+    /**
+     * The unique identifier for the event. Ids are allocated in blocks of 50, so events inserted together share one
+     * JDBC batch; they increase per instance but not strictly in commit order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_id_seq")
+    @SequenceGenerator(name = "outbox_event_id_seq", sequenceName = "outbox_event_id_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The kind of event.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private OutboxEventType eventType;
+
+    /**
+     * The unique identifier of the contact or contact list the event is about.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    /**
+     * The event payload as JSON.
+     */
+    @Column(name = "payload", nullable = false, length = Length.LONG32)
+    private String payload;
+
+    /**
+     * The time the event was written.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
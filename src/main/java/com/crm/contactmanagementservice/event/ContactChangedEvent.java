@@ -0,0 +1,36 @@
+package com.crm.contactmanagementservice.event;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Application event published by ContactServiceImpl and the bulk job handlers when contacts were written.
+ * Listeners receive it after the writing transaction has committed. The owner is given directly when the service
+ * already knows it; otherwise it is resolved from the contact list.
+ */
+public record ContactChangedEvent(
+        UUID userId, // The owner of the contacts, or null to resolve it from the contact list
+        UUID contactListId, // The contact list holding the contacts; only read when the owner is not given
+        Collection<UUID> contactIds, // The IDs of the changed contacts, or null when any contact may have changed
+        boolean deleted) // Flag indicating whether the contacts were removed from the owner's feed
+{
+
+    /**
+     * Creates an event for contacts saved in a contact list.
+     * @param contactListId The contact list holding the contacts.
+     * @param contactIds The IDs of the saved contacts.
+     * @return The event.
+     */
+    public static ContactChangedEvent saved(UUID contactListId, Collection<UUID> contactIds) {
+        return new ContactChangedEvent(null, contactListId, contactIds, false);
+    }
+
+    /**
+     * Creates an event for a contact list whose contacts changed without their IDs being known.
+     * @param contactListId The contact list.
+     * @return The event.
+     */
+    public static ContactChangedEvent anyIn(UUID contactListId) {
+        return new ContactChangedEvent(null, contactListId, null, false);
+    }
+}
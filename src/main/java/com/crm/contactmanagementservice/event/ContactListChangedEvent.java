@@ -0,0 +1,15 @@
+package com.crm.contactmanagementservice.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published by ContactListServiceImpl when a contact list was written.
+ * Listeners receive it after the writing transaction has committed.
+ */
+public record ContactListChangedEvent(
+        UUID userId, // The owner whose feed the change belongs to
+        UUID contactListId, // The ID of the changed contact list
+        boolean deleted) // Flag indicating whether the contact list was removed from the owner's feed
+{
+
+}
@@ -0,0 +1,36 @@
+package com.crm.contactmanagementservice.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Custom exception class for malformed requests.
+ * This class extends the RuntimeException class and is thrown when a request parameter, header or body field fails the
+ * service's own validation, such as an invalid page cursor or an unsupported bulk job.
+ */
+public class AppBadRequestException extends RuntimeException {
+
+    /**
+     * Serial version UID for serialization. This is needed because this class extends a Serializable class.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor for the AppBadRequestException class.
+     * This constructor takes a message as a parameter.
+     * @param message The detail message, saved for later retrieval by the Throwable.getMessage() method.
+     */
+    public AppBadRequestException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor for the AppBadRequestException class.
+     * This constructor takes a message and the exception that made the request invalid.
+     * @param message The detail message, saved for later retrieval by the Throwable.getMessage() method.
+     * @param cause The cause, saved for later retrieval by the Throwable.getCause() method.
+     */
+    public AppBadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
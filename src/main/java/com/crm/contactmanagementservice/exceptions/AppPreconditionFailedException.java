@@ -0,0 +1,26 @@
+package com.crm.contactmanagementservice.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Custom exception class for conditional requests whose precondition does not hold.
+ * This class extends the RuntimeException class and is thrown when the If-Match version of an update is not the
+ * current version of the entity.
+ */
+public class AppPreconditionFailedException extends RuntimeException {
+
+    /**
+     * Serial version UID for serialization. This is needed because this class extends a Serializable class.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor for the AppPreconditionFailedException class.
+     * This constructor takes a message as a parameter.
+     * @param message The detail message, saved for later retrieval by the Throwable.getMessage() method.
+     */
+    public AppPreconditionFailedException(String message) {
+        super(message);
+    }
+}
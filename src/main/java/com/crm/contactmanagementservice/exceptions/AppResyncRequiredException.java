@@ -0,0 +1,27 @@
+package com.crm.contactmanagementservice.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Custom exception class for change feed tokens that can no longer be resumed.
+ * This class extends the RuntimeException class and is thrown when a change token is older than the tombstone
+ * retention window, so deletions after it may already have been purged. The client must drop its copy and read the
+ * feed again from the start.
+ */
+public class AppResyncRequiredException extends RuntimeException {
+
+    /**
+     * Serial version UID for serialization. This is needed because this class extends a Serializable class.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor for the AppResyncRequiredException class.
+     * This constructor takes a message as a parameter.
+     * @param message The detail message, saved for later retrieval by the Throwable.getMessage() method.
+     */
+    public AppResyncRequiredException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,17 @@
 package com.crm.contactmanagementservice.exceptions;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -15,7 +19,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 /**
  * This class is a controller advice that handles exceptions globally across the whole application.
- * It has three exception handlers: one for validation exceptions, one for domain exceptions, and one for runtime exceptions.
+ * It has exception handlers for validation exceptions, domain exceptions, bad request parameters, failed preconditions, concurrent modifications, database unavailability, and runtime exceptions.
  * Each exception handler logs the exception, creates an error response, and returns it with the appropriate HTTP status.
  *
  * @author : memo-aldu
@@ -87,6 +91,96 @@ public class ExceptionHandlerControllerAdvice {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * This method is an exception handler for malformed request parameters, such as an invalid page cursor.
+     * It logs the exception and returns an error response with a 400 Bad Request status.
+     * @param ex the bad request exception
+     * @param request the HTTP request
+     * @return ResponseEntity<Map<String, String>> the error response
+     */
+    @ExceptionHandler(AppBadRequestException.class)
+    public ResponseEntity<Map<String, String>> handleAppBadRequestException(AppBadRequestException ex, final HttpServletRequest request) {
+        log.warn("Advice BadRequestException: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        response.put("path", request.getRequestURI());
+        response.put("status", String.valueOf(HttpStatus.BAD_REQUEST.value()));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * This method is an exception handler for change tokens older than the tombstone retention window.
+     * It logs the exception and returns an error response with a 410 Gone status, telling the client to resync.
+     * @param ex the resync required exception
+     * @param request the HTTP request
+     * @return ResponseEntity<Map<String, String>> the error response
+     */
+    @ExceptionHandler(AppResyncRequiredException.class)
+    public ResponseEntity<Map<String, String>> handleAppResyncRequiredException(AppResyncRequiredException ex, final HttpServletRequest request) {
+        log.warn("Advice ResyncRequiredException: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        response.put("path", request.getRequestURI());
+        response.put("status", String.valueOf(HttpStatus.GONE.value()));
+        return ResponseEntity.status(HttpStatus.GONE).body(response);
+    }
+
+    /**
+     * This method is an exception handler for conditional updates whose If-Match version is not the current one.
+     * It logs the exception and returns an error response with a 412 Precondition Failed status.
+     * @param ex the precondition failed exception
+     * @param request the HTTP request
+     * @return ResponseEntity<Map<String, String>> the error response
+     */
+    @ExceptionHandler(AppPreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handleAppPreconditionFailedException(AppPreconditionFailedException ex, final HttpServletRequest request) {
+        log.warn("Advice PreconditionFailedException: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        response.put("path", request.getRequestURI());
+        response.put("status", String.valueOf(HttpStatus.PRECONDITION_FAILED.value()));
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    /**
+     * This method is an exception handler for updates that lost an optimistic locking race.
+     * It logs the exception and returns an error response with a 409 Conflict status, so clients can reload and retry.
+     * @param ex the optimistic locking exception
+     * @param request the HTTP request
+     * @return ResponseEntity<Map<String, String>> the error response
+     */
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, String>> handleOptimisticLockException(RuntimeException ex, final HttpServletRequest request) {
+        log.warn("Advice OptimisticLockException: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "The resource was modified concurrently, reload it and retry");
+        response.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        response.put("path", request.getRequestURI());
+        response.put("status", String.valueOf(HttpStatus.CONFLICT.value()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * This method is an exception handler for requests that could not get a database connection in time.
+     * It logs the exception and returns an error response with a 503 Service Unavailable status, so clients can retry.
+     * @param ex the connection exception
+     * @param request the HTTP request
+     * @return ResponseEntity<Map<String, String>> the error response
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<Map<String, String>> handleDatabaseUnavailableException(RuntimeException ex, final HttpServletRequest request) {
+        log.warn("Advice DatabaseUnavailableException: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Database unavailable, try again later");
+        response.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        response.put("path", request.getRequestURI());
+        response.put("status", String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     /**
      * This method is an exception handler for runtime exceptions.
      * It logs the exception and returns an error response with a 500 Internal Server Error status.
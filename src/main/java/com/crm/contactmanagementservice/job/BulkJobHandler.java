@@ -0,0 +1,40 @@
+package com.crm.contactmanagementservice.job;
+
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+
+/**
+ * Runs the chunks of one type of bulk job.
+ * A chunk must only select contacts the previous chunks have not processed yet, so a job taken over after a crash
+ * continues after its last committed chunk without a stored position.
+ */
+public interface BulkJobHandler {
+
+    /**
+     * @return The type of job this handler runs.
+     */
+    BulkJobType type();
+
+    /**
+     * Checks a request for this type of job before it is queued.
+     * @param request The submitted request.
+     * @throws AppBadRequestException if a parameter the job needs is missing or invalid.
+     * @throws com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException if a contact list does not exist.
+     */
+    void validate(BulkJobRequestDTO request);
+
+    /**
+     * Processes the next chunk of a job inside the worker's transaction.
+     * @param job The job, locked by the caller.
+     * @param limit The maximum number of contacts to process.
+     * @return The number of contacts processed; fewer than limit once the job is done.
+     */
+    int processChunk(BulkJobEntity job, int limit);
+
+    /**
+     * Refreshes the caches and notifies subscribers after a chunk has committed.
+     * @param job The job.
+     */
+    void afterChunk(BulkJobEntity job);
+}
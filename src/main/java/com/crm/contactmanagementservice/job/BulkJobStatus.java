@@ -0,0 +1,27 @@
+package com.crm.contactmanagementservice.job;
+
+/**
+ * The lifecycle of a bulk job.
+ */
+public enum BulkJobStatus {
+
+    /**
+     * The job was submitted and waits for a worker.
+     */
+    QUEUED,
+
+    /**
+     * A worker is processing the job; the job is taken over by another worker if its heartbeat stops.
+     */
+    RUNNING,
+
+    /**
+     * Every chunk of the job was committed.
+     */
+    SUCCEEDED,
+
+    /**
+     * A chunk of the job failed; the chunks committed before it are kept.
+     */
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.crm.contactmanagementservice.job;
+
+/**
+ * The kinds of bulk job the job workers can run.
+ */
+public enum BulkJobType {
+
+    /**
+     * Every contact of the contact list is moved to the target contact list.
+     */
+    MOVE_CONTACTS,
+
+    /**
+     * The do not contact flag of every contact of the contact list is set to the requested value.
+     */
+    SET_DO_NOT_CONTACT
+}
@@ -0,0 +1,270 @@
+package com.crm.contactmanagementservice.job;
+
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.repository.BulkJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background worker running the bulk jobs stored in the bulk_job table.
+ * Every instance runs a worker with a fixed number of threads. A free thread claims the oldest queued job with
+ * SELECT ... FOR UPDATE SKIP LOCKED and runs it chunk by chunk, each chunk in its own transaction together with the
+ * job's progress and heartbeat, so the table always reflects the committed work and any instance can report it.
+ * A job whose heartbeat is older than stale-after, because its instance stopped or crashed, is claimed again and
+ * continues after its last committed chunk. On shutdown, running jobs are handed back to the queue after their current
+ * chunk. After each chunk the job is pushed to {@value #PROGRESS_TOPIC} for subscribers connected to this instance.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.jobs.worker.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BulkJobWorker {
+
+    /**
+     * Topic receiving the progress of a job, by job ID.
+     */
+    public static final String PROGRESS_TOPIC = "/topic/jobs/%s";
+
+    private final BulkJobRepository bulkJobRepository;
+    private final Map<BulkJobType, BulkJobHandler> handlers = new EnumMap<>(BulkJobType.class);
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final int chunkSize;
+    private final Duration staleAfter;
+    private final UUID workerId = UUID.randomUUID();
+    private final Semaphore slots;
+    private final ExecutorService executor;
+    private volatile boolean stopping;
+
+    /**
+     * Constructor for the BulkJobWorker class.
+     * @param bulkJobRepository The repository holding the jobs.
+     * @param handlers The handlers running each type of job.
+     * @param transactionTemplate The template running each claim and chunk in its own transaction.
+     * @param messagingTemplate The template sending progress to the message broker.
+     * @param workers The number of jobs this instance runs at once.
+     * @param chunkSize The maximum number of contacts processed per transaction.
+     * @param staleAfter How long a running job may go without a heartbeat before another worker takes it over.
+     */
+    public BulkJobWorker(BulkJobRepository bulkJobRepository, List<BulkJobHandler> handlers,
+                         TransactionTemplate transactionTemplate, SimpMessageSendingOperations messagingTemplate,
+                         @Value("${contacts.jobs.workers:2}") int workers,
+                         @Value("${contacts.jobs.chunk-size:1000}") int chunkSize,
+                         @Value("${contacts.jobs.stale-after:PT1M}") Duration staleAfter) {
+        this.bulkJobRepository = bulkJobRepository;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.chunkSize = chunkSize;
+        this.staleAfter = staleAfter;
+        this.slots = new Semaphore(workers);
+        this.executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("bulk-job-", 0).factory());
+    }
+
+    /**
+     * Claims jobs until every worker thread is busy or no job is left, and starts them.
+     * @return The number of jobs started.
+     */
+    @Scheduled(initialDelayString = "${contacts.jobs.poll-interval:PT1S}", fixedDelayString = "${contacts.jobs.poll-interval:PT1S}")
+    public int poll() {
+        int started = 0;
+        while (!stopping && slots.tryAcquire()) {
+            Optional<UUID> claimed;
+            try {
+                claimed = claimNextJob();
+            } catch (RuntimeException ex) {
+                slots.release();
+                log.warn("Claiming a bulk job failed: {}", ex.getMessage());
+                break;
+            }
+            if (claimed.isEmpty()) {
+                slots.release();
+                break;
+            }
+            UUID jobId = claimed.get();
+            try {
+                executor.execute(() -> {
+                    try {
+                        runJob(jobId);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                slots.release();
+                break;
+            }
+            started++;
+        }
+        return started;
+    }
+
+    /**
+     * Stops claiming jobs and waits for the running chunks to commit; their jobs are handed back to the queue.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(staleAfter.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Bulk jobs still running at shutdown are resumed by another worker once their heartbeat is stale");
+        }
+    }
+
+    /**
+     * Claims the oldest queued or abandoned job for this worker.
+     * @return The ID of the claimed job, or empty if none is available.
+     */
+    Optional<UUID> claimNextJob() {
+        return transactionTemplate.execute(status -> bulkJobRepository.lockNextClaimableJob(Instant.now().minus(staleAfter))
+                .map(job -> {
+                    if (job.getStatus() == BulkJobStatus.RUNNING) {
+                        log.info("Taking over bulk job {} after {} processed contacts", job.getId(), job.getProcessed());
+                    }
+                    job.setStatus(BulkJobStatus.RUNNING);
+                    job.setWorkerId(workerId);
+                    job.setHeartbeatAt(Instant.now());
+                    return job.getId();
+                }));
+    }
+
+    /**
+     * Runs the chunks of a claimed job until it is done, fails, is taken over or the worker stops.
+     * @param jobId The ID of the job.
+     */
+    void runJob(UUID jobId) {
+        log.info("Running bulk job {}", jobId);
+        BulkJobEntity job;
+        do {
+            if (stopping) {
+                requeue(jobId);
+                return;
+            }
+            try {
+                job = runChunk(jobId);
+            } catch (RuntimeException ex) {
+                log.warn("Bulk job {} failed: {}", jobId, ex.getMessage());
+                fail(jobId, ex);
+                return;
+            }
+        } while (job != null && job.getStatus() == BulkJobStatus.RUNNING);
+        if (job != null) {
+            log.info("Bulk job {} finished after {} processed contacts", jobId, job.getProcessed());
+        }
+    }
+
+    /**
+     * Runs the next chunk of a job and records its progress in the same transaction.
+     * The job is marked as succeeded once a chunk processes fewer contacts than the chunk size.
+     * @param jobId The ID of the job.
+     * @return The job after the chunk, or null if this worker no longer owns it.
+     */
+    BulkJobEntity runChunk(UUID jobId) {
+        int[] processed = new int[1];
+        BulkJobEntity job = transactionTemplate.execute(status -> {
+            BulkJobEntity locked = lockOwnedJob(jobId);
+            if (locked == null) {
+                return null;
+            }
+            processed[0] = handlers.get(locked.getJobType()).processChunk(locked, chunkSize);
+            locked.setProcessed(locked.getProcessed() + processed[0]);
+            locked.setHeartbeatAt(Instant.now());
+            if (processed[0] < chunkSize) {
+                locked.setStatus(BulkJobStatus.SUCCEEDED);
+            }
+            return locked;
+        });
+        if (job == null) {
+            log.info("Bulk job {} is no longer owned by this worker", jobId);
+            return null;
+        }
+        if (processed[0] > 0) {
+            try {
+                handlers.get(job.getJobType()).afterChunk(job);
+            } catch (RuntimeException ex) {
+                log.warn("Refreshing caches after a chunk of bulk job {} failed: {}", jobId, ex.getMessage());
+            }
+        }
+        publishProgress(job);
+        return job;
+    }
+
+    /**
+     * Marks a job as failed, keeping the chunks committed before the failure.
+     * @param jobId The ID of the job.
+     * @param cause The failure.
+     */
+    private void fail(UUID jobId, RuntimeException cause) {
+        String message = String.valueOf(cause.getMessage());
+        BulkJobEntity job = transactionTemplate.execute(status -> {
+            BulkJobEntity locked = lockOwnedJob(jobId);
+            if (locked != null) {
+                locked.setStatus(BulkJobStatus.FAILED);
+                locked.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+            }
+            return locked;
+        });
+        if (job != null) {
+            publishProgress(job);
+        }
+    }
+
+    /**
+     * Hands a job back to the queue so another worker resumes it without waiting for its heartbeat to go stale.
+     * @param jobId The ID of the job.
+     */
+    private void requeue(UUID jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BulkJobEntity locked = lockOwnedJob(jobId);
+            if (locked != null) {
+                locked.setStatus(BulkJobStatus.QUEUED);
+                locked.setWorkerId(null);
+            }
+        });
+        log.info("Bulk job {} handed back to the queue", jobId);
+    }
+
+    /**
+     * Locks a job if it is still running on this worker.
+     * @param jobId The ID of the job.
+     * @return The locked job, or null if it finished or was taken over by another worker.
+     */
+    private BulkJobEntity lockOwnedJob(UUID jobId) {
+        return bulkJobRepository.lockBulkJobEntityById(jobId)
+                .filter(job -> job.getStatus() == BulkJobStatus.RUNNING && workerId.equals(job.getWorkerId()))
+                .orElse(null);
+    }
+
+    /**
+     * Sends the state of a job to its progress topic.
+     * A subscriber that misses a message still reads the job with GET /api/v1/jobs/{id}.
+     * @param job The job.
+     */
+    private void publishProgress(BulkJobEntity job) {
+        try {
+            messagingTemplate.convertAndSend(String.format(PROGRESS_TOPIC, job.getId()), BulkJobDTO.of(job));
+        } catch (MessagingException ex) {
+            log.debug("Sending the progress of bulk job {} failed: {}", job.getId(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.crm.contactmanagementservice.job;
+
+import com.crm.contactmanagementservice.cache.ContactLookupCache;
+import com.crm.contactmanagementservice.cache.ContactTypeaheadIndex;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.outbox.OutboxWriter;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs SET_DO_NOT_CONTACT jobs, setting the do not contact flag of every contact of a contact list.
+ * Each chunk locks contacts whose flag still differs, updates them by ID and writes a CONTACTS_DO_NOT_CONTACT_SET outbox
+ * event naming them.
+ */
+@Component
+@AllArgsConstructor
+public class DoNotContactJobHandler implements BulkJobHandler {
+
+    private final ContactRepository contactRepository;
+    private final ContactListRepository contactListRepository;
+    private final OutboxWriter outboxWriter;
+    private final ContactLookupCache contactLookupCache;
+    private final ContactTypeaheadIndex contactTypeaheadIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public BulkJobType type() {
+        return BulkJobType.SET_DO_NOT_CONTACT;
+    }
+
+    @Override
+    public void validate(BulkJobRequestDTO request) {
+        if (request.contactListId() == null || request.doNotContact() == null) {
+            throw new AppBadRequestException("contactListId and doNotContact are required");
+        }
+        if (contactListRepository.findContactListEntityById(request.contactListId()).isEmpty()) {
+            throw new AppEntityNotFoundException("Contact list not found with id: " + request.contactListId());
+        }
+    }
+
+    @Override
+    public int processChunk(BulkJobEntity job, int limit) {
+        UUID[] ids = contactRepository.lockContactListContactIdsToFlag(job.getContactListId(), job.getDoNotContact(), Limit.of(limit))
+                .toArray(UUID[]::new);
+        if (ids.length == 0) {
+            return 0;
+        }
+        int updated = contactRepository.setContactsDoNotContact(ids, job.getDoNotContact());
+        if (updated > 0) {
+            outboxWriter.append(OutboxEventType.CONTACTS_DO_NOT_CONTACT_SET, job.getContactListId(),
+                    Map.of("ids", List.of(ids), "doNotContact", job.getDoNotContact(), "count", updated));
+        }
+        return updated;
+    }
+
+    @Override
+    public void afterChunk(BulkJobEntity job) {
+        contactLookupCache.invalidateAll();
+        contactTypeaheadIndex.invalidateContactList(job.getContactListId());
+        eventPublisher.publishEvent(ContactChangedEvent.anyIn(job.getContactListId()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.crm.contactmanagementservice.job;
+
+import com.crm.contactmanagementservice.cache.ContactLookupCache;
+import com.crm.contactmanagementservice.cache.ContactTypeaheadIndex;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveRequestDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.outbox.OutboxWriter;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.repository.ContactTombstoneRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs MOVE_CONTACTS jobs, moving every contact of a contact list to another one.
+ * Each chunk runs the same steps as a chunk of ContactService.moveContactListContacts: it locks the next contacts still
+ * in the source list, records tombstones for their previous owner, moves them by ID and writes the same CONTACTS_MOVED
+ * outbox event naming them.
+ */
+@Component
+@AllArgsConstructor
+public class MoveContactsJobHandler implements BulkJobHandler {
+
+    private final ContactRepository contactRepository;
+    private final ContactTombstoneRepository contactTombstoneRepository;
+    private final ContactListRepository contactListRepository;
+    private final OutboxWriter outboxWriter;
+    private final ContactLookupCache contactLookupCache;
+    private final ContactTypeaheadIndex contactTypeaheadIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public BulkJobType type() {
+        return BulkJobType.MOVE_CONTACTS;
+    }
+
+    @Override
+    public void validate(BulkJobRequestDTO request) {
+        if (request.contactListId() == null || request.targetContactListId() == null) {
+            throw new AppBadRequestException("contactListId and targetContactListId are required");
+        }
+        if (request.contactListId().equals(request.targetContactListId())) {
+            throw new AppBadRequestException("Source and target contact lists must differ");
+        }
+        requireContactList(request.contactListId());
+        requireContactList(request.targetContactListId());
+    }
+
+    @Override
+    public int processChunk(BulkJobEntity job, int limit) {
+        UUID[] ids = contactRepository.lockContactListContactIds(job.getContactListId(), Limit.of(limit)).toArray(UUID[]::new);
+        if (ids.length == 0) {
+            return 0;
+        }
+        contactTombstoneRepository.insertContactMoveTombstones(ids, job.getTargetContactListId());
+        int moved = contactRepository.moveContactsToContactList(ids, job.getTargetContactListId());
+        if (moved > 0) {
+            outboxWriter.append(OutboxEventType.CONTACTS_MOVED, job.getTargetContactListId(),
+                    new ContactMoveRequestDTO(List.of(ids), job.getContactListId(), job.getTargetContactListId()));
+        }
+        return moved;
+    }
+
+    @Override
+    public void afterChunk(BulkJobEntity job) {
+        contactLookupCache.invalidateAll();
+        contactTypeaheadIndex.invalidateContactList(job.getContactListId());
+        contactTypeaheadIndex.invalidateContactList(job.getTargetContactListId());
+        eventPublisher.publishEvent(ContactChangedEvent.anyIn(job.getContactListId()));
+        eventPublisher.publishEvent(ContactChangedEvent.anyIn(job.getTargetContactListId()));
+    }
+
+    /**
+     * Checks that a contact list exists.
+     * @param contactListId The ID of the contact list.
+     * @throws AppEntityNotFoundException if the contact list is not found.
+     */
+    private void requireContactList(UUID contactListId) {
+        if (contactListRepository.findContactListEntityById(contactListId).isEmpty()) {
+            throw new AppEntityNotFoundException("Contact list not found with id: " + contactListId);
+        }
+    }
+}
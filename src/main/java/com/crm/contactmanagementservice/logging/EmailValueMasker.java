@@ -0,0 +1,20 @@
+package com.crm.contactmanagementservice.logging;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+import net.logstash.logback.mask.ValueMasker;
+
+/**
+ * Masks email addresses in every string field of the JSON log format, the message included.
+ * Returns null for values without an address, which tells the encoder to write them unchanged.
+ */
+public class EmailValueMasker implements ValueMasker {
+
+    @Override
+    public Object mask(JsonStreamContext context, Object value) {
+        if (value instanceof String text) {
+            String masked = PiiMasking.maskEmails(text);
+            return masked == text ? null : masked;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.crm.contactmanagementservice.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Logback message converter that masks email addresses in the text log format.
+ * Registered for {@code %m}, {@code %msg} and {@code %message} in logback-spring.xml, so Spring Boot's console pattern
+ * writes masked messages without being copied.
+ */
+public class MaskingMessageConverter extends MessageConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return PiiMasking.maskEmails(super.convert(event));
+    }
+}
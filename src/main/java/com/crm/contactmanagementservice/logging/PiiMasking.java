@@ -0,0 +1,86 @@
+package com.crm.contactmanagementservice.logging;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Masks personal data before it is written to the logs.
+ * Log statements that mention an email, phone number or search term pass it through the matching method, which keeps
+ * just enough to tell values apart while debugging. As a safety net, the log encoders also mask every email address in
+ * every message with {@link #maskEmails}, which catches addresses quoted in exception messages such as constraint
+ * violations.
+ */
+public final class PiiMasking {
+
+    /**
+     * Matches email addresses anywhere in a text.
+     */
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@([A-Za-z0-9-]+\\.)+[A-Za-z]{2,}");
+
+    private static final String MASK = "***";
+
+    private PiiMasking() {
+    }
+
+    /**
+     * Masks an email address down to its first character and its domain, so {@code june@test.com} becomes
+     * {@code j***@test.com}.
+     * @param email The email address, may be null.
+     * @return The masked email address, or null.
+     */
+    public static String maskEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        if (at <= 0) {
+            return MASK;
+        }
+        return email.charAt(0) + MASK + email.substring(at);
+    }
+
+    /**
+     * Masks a phone number down to its last two characters, so {@code 0987654321} becomes {@code ***21}.
+     * @param phone The phone number, may be null.
+     * @return The masked phone number, or null.
+     */
+    public static String maskPhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        return phone.length() <= 4 ? MASK : MASK + phone.substring(phone.length() - 2);
+    }
+
+    /**
+     * Masks free text such as a name search down to its first character and its length.
+     * @param text The text, may be null.
+     * @return The masked text, or null.
+     */
+    public static String maskText(String text) {
+        if (text == null) {
+            return null;
+        }
+        return text.isEmpty() ? text : text.charAt(0) + MASK + " (" + text.length() + " chars)";
+    }
+
+    /**
+     * Masks every email address in a text with {@link #maskEmail}.
+     * @param text The text, may be null.
+     * @return The text with its email addresses masked, or the same instance if it holds none.
+     */
+    public static String maskEmails(String text) {
+        if (text == null || text.indexOf('@') < 0) {
+            return text;
+        }
+        Matcher matcher = EMAIL.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+        StringBuilder masked = new StringBuilder(text.length());
+        do {
+            matcher.appendReplacement(masked, Matcher.quoteReplacement(maskEmail(matcher.group())));
+        } while (matcher.find());
+        matcher.appendTail(masked);
+        return masked.toString();
+    }
+}
@@ -0,0 +1,163 @@
+package com.crm.contactmanagementservice.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Correlates the log lines of a request and writes a sampled access log line when it completes.
+ * Each request gets a request id, taken from its X-Request-Id header when the caller sent a usable one. The id is
+ * returned in the same header and put in the MDC as {@value #REQUEST_ID_MDC_KEY}, so every line logged on the
+ * request's thread carries it. The access log line records the handler, URI template, status and duration as
+ * structured fields. It is written for a sampled fraction of requests per handler, and always for server errors and
+ * slow requests. The URI template is logged instead of the path, as paths carry names and ids.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    /**
+     * Header carrying the request id in both directions.
+     */
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    /**
+     * MDC key of the request id.
+     */
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    /**
+     * Request ids accepted from callers; anything else is replaced, so ids cannot be used to inject log content.
+     */
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    private static final String REQUEST_ID_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".requestId";
+    private static final String START_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".start";
+
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final long slowRequestNanos;
+
+    /**
+     * Constructor for the RequestLoggingFilter class.
+     * @param environment The environment holding the per-handler sample rates.
+     * @param defaultSampleRate The fraction of requests logged for handlers without their own rate.
+     * @param slowRequestThreshold How long a request may take before it is logged regardless of sampling.
+     */
+    public RequestLoggingFilter(Environment environment,
+                                @Value("${contacts.logging.sample-rate:0.01}") double defaultSampleRate,
+                                @Value("${contacts.logging.slow-request-threshold:PT1S}") Duration slowRequestThreshold) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Binder.get(environment)
+                .bind("contacts.logging.sample-rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+        this.slowRequestNanos = slowRequestThreshold.toNanos();
+    }
+
+    /**
+     * Streamed responses complete in an async dispatch, which is where their access log line is written.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId;
+        long start;
+        if (isAsyncDispatch(request)) {
+            requestId = (String) request.getAttribute(REQUEST_ID_ATTRIBUTE);
+            start = (Long) request.getAttribute(START_ATTRIBUTE);
+        } else {
+            requestId = requestIdOf(request);
+            start = System.nanoTime();
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+            request.setAttribute(START_ATTRIBUTE, start);
+            response.setHeader(REQUEST_ID_HEADER, requestId);
+        }
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!request.isAsyncStarted()) {
+                logRequest(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        System.nanoTime() - start);
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    /**
+     * Writes the access log line of a completed request if it is sampled, failed or slow.
+     * @param request The request.
+     * @param status The response status.
+     * @param elapsedNanos The time the request took.
+     */
+    private void logRequest(HttpServletRequest request, int status, long elapsedNanos) {
+        String handler = handlerOf(request);
+        double sampleRate = sampleRates.getOrDefault(handler, defaultSampleRate);
+        boolean serverError = status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        if (!serverError && elapsedNanos <= slowRequestNanos
+                && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        long durationMs = Duration.ofNanos(elapsedNanos).toMillis();
+        log.atLevel(serverError ? Level.WARN : Level.INFO)
+                .addKeyValue("handler", handler)
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", uri == null ? "UNKNOWN" : uri)
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMs)
+                .addKeyValue("sampleRate", sampleRate)
+                .log("{} {} {} in {} ms", request.getMethod(), uri == null ? "UNKNOWN" : uri, status, durationMs);
+    }
+
+    /**
+     * Returns the request id sent by the caller, or a new one if it sent none or an unusable one.
+     * @param request The request.
+     * @return The request id.
+     */
+    private static String requestIdOf(HttpServletRequest request) {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        return requestId != null && VALID_REQUEST_ID.matcher(requestId).matches() ? requestId : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Names the handler that served a request as its controller and method, the key of the per-handler sample rates.
+     * @param request The request, after dispatch.
+     * @return The handler name, or {@code none} if no handler method was selected.
+     */
+    private static String handlerOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -3,6 +3,7 @@ package com.crm.contactmanagementservice.mapper;
 import com.crm.contactmanagementservice.dto.ContactListDTO;
 import com.crm.contactmanagementservice.entity.ContactListEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -28,6 +29,9 @@ public interface ContactListMapper {
      * @param dto The ContactListDTO to convert.
      * @return The converted ContactListEntity.
      */
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     ContactListEntity toEntity(ContactListDTO dto);
 
     /**
@@ -31,6 +31,9 @@ public interface ContactMapper {
      * @return The converted ContactEntity.
      */
     @Mapping(target = "contactList.id", source = "contactListId")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     ContactEntity toEntity(ContactDTO dto);
 
     /**
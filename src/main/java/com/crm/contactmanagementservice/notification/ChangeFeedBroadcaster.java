@@ -0,0 +1,209 @@
+package com.crm.contactmanagementservice.notification;
+
+import com.crm.contactmanagementservice.dto.ChangeNotificationDTO;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.event.ContactListChangedEvent;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pushes contact and contact list changes to per-user STOMP topics.
+ * Events are collected once their transaction has committed and sent once per coalescing window, so a burst of writes
+ * for one user becomes a single message per topic. A window that touches more than the configured number of IDs for a
+ * user is sent as a resync instead, which also bounds what is held per user. Contact changes that only name their
+ * contact list are resolved to owners with one query per window.
+ * Messages only name what changed: clients read the data from the change feeds, starting at their last watermark, so
+ * a message that is lost with a dropped session costs nothing once the client reconnects and catches up.
+ */
+@Component
+@Slf4j
+public class ChangeFeedBroadcaster {
+
+    /**
+     * Topic receiving the contact changes of a user, by user ID.
+     */
+    public static final String CONTACTS_TOPIC = "/topic/users/%s/contacts";
+
+    /**
+     * Topic receiving the contact list changes of a user, by user ID.
+     */
+    public static final String CONTACT_LISTS_TOPIC = "/topic/users/%s/contact-lists";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ContactListRepository contactListRepository;
+    private final int maxIdsPerMessage;
+
+    private Map<UUID, PendingChanges> contactsByUser = new HashMap<>();
+    private Map<UUID, PendingChanges> contactsByContactList = new HashMap<>();
+    private Map<UUID, PendingChanges> contactListsByUser = new HashMap<>();
+
+    /**
+     * Constructor for the ChangeFeedBroadcaster class.
+     * @param messagingTemplate The template sending to the message broker.
+     * @param contactListRepository The repository used to resolve the owners of contact lists.
+     * @param maxIdsPerMessage The number of IDs a message may list before it is sent as a resync.
+     */
+    public ChangeFeedBroadcaster(SimpMessageSendingOperations messagingTemplate, ContactListRepository contactListRepository,
+                                 @Value("${contacts.websocket.max-ids-per-message:500}") int maxIdsPerMessage) {
+        this.messagingTemplate = messagingTemplate;
+        this.contactListRepository = contactListRepository;
+        this.maxIdsPerMessage = maxIdsPerMessage;
+    }
+
+    /**
+     * Queues a contact change for the next window.
+     * Runs after the publishing transaction commits, or right away when it was published outside of one.
+     * @param event The contact change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContactChanged(ContactChangedEvent event) {
+        if (event.userId() != null) {
+            pending(contactsByUser, event.userId()).add(event.contactIds(), event.deleted());
+        } else if (event.contactListId() != null) {
+            pending(contactsByContactList, event.contactListId()).add(event.contactIds(), event.deleted());
+        }
+    }
+
+    /**
+     * Queues a contact list change for the next window.
+     * Runs after the publishing transaction commits, or right away when it was published outside of one.
+     * @param event The contact list change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContactListChanged(ContactListChangedEvent event) {
+        if (event.userId() != null) {
+            pending(contactListsByUser, event.userId()).add(List.of(event.contactListId()), event.deleted());
+        }
+    }
+
+    /**
+     * Sends the changes queued during the last window, one message per user and topic.
+     */
+    @Scheduled(fixedDelayString = "${contacts.websocket.coalesce-window:PT0.25S}")
+    public void flush() {
+        Map<UUID, PendingChanges> contacts;
+        Map<UUID, PendingChanges> byContactList;
+        Map<UUID, PendingChanges> contactLists;
+        synchronized (this) {
+            contacts = contactsByUser;
+            byContactList = contactsByContactList;
+            contactLists = contactListsByUser;
+            contactsByUser = new HashMap<>();
+            contactsByContactList = new HashMap<>();
+            contactListsByUser = new HashMap<>();
+        }
+        if (!byContactList.isEmpty()) {
+            try {
+                for (ContactListEntity contactList : contactListRepository.findAllContactListsByIds(byContactList.keySet().toArray(UUID[]::new))) {
+                    if (contactList.getUserId() != null) {
+                        pending(contacts, contactList.getUserId()).addAll(byContactList.get(contactList.getId()));
+                    }
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Could not resolve the owners of {} contact lists, their changes are not pushed: {}",
+                        byContactList.size(), ex.getMessage());
+            }
+        }
+        contacts.forEach((userId, changes) -> send(CONTACTS_TOPIC.formatted(userId), changes));
+        contactLists.forEach((userId, changes) -> send(CONTACT_LISTS_TOPIC.formatted(userId), changes));
+    }
+
+    /**
+     * Sends one message to the broker. Subscribers that cannot keep up are dropped by the transport, not here.
+     * @param destination The topic.
+     * @param changes The coalesced changes.
+     */
+    private void send(String destination, PendingChanges changes) {
+        try {
+            messagingTemplate.convertAndSend(destination, changes.toDTO());
+        } catch (MessagingException ex) {
+            log.warn("Could not push changes to {}: {}", destination, ex.getMessage());
+        }
+    }
+
+    private PendingChanges pending(Map<UUID, PendingChanges> pending, UUID key) {
+        return pending.computeIfAbsent(key, k -> new PendingChanges(maxIdsPerMessage));
+    }
+
+    /**
+     * The changes of one user or contact list during a window.
+     * A deletion replaces an earlier change of the same ID; once more than maxIds IDs are held, they are dropped and
+     * the window is reported as a resync.
+     */
+    static final class PendingChanges {
+
+        private final int maxIds;
+        private final Set<UUID> changed = new LinkedHashSet<>();
+        private final Set<UUID> deleted = new LinkedHashSet<>();
+        private boolean resync;
+
+        PendingChanges(int maxIds) {
+            this.maxIds = maxIds;
+        }
+
+        /**
+         * Records changed or deleted IDs.
+         * @param ids The IDs, or null when any ID may have changed.
+         * @param isDeleted Whether the IDs were deleted.
+         */
+        void add(Collection<UUID> ids, boolean isDeleted) {
+            if (resync) {
+                return;
+            }
+            if (ids == null) {
+                overflow();
+                return;
+            }
+            for (UUID id : ids) {
+                if (isDeleted) {
+                    changed.remove(id);
+                    deleted.add(id);
+                } else if (!deleted.contains(id)) {
+                    changed.add(id);
+                }
+            }
+            if (changed.size() + deleted.size() > maxIds) {
+                overflow();
+            }
+        }
+
+        /**
+         * Records the changes of another window.
+         * @param other The changes to merge in.
+         */
+        void addAll(PendingChanges other) {
+            if (other.resync) {
+                overflow();
+            } else {
+                add(other.changed, false);
+                add(other.deleted, true);
+            }
+        }
+
+        private void overflow() {
+            resync = true;
+            changed.clear();
+            deleted.clear();
+        }
+
+        ChangeNotificationDTO toDTO() {
+            return new ChangeNotificationDTO(List.copyOf(changed), List.copyOf(deleted), resync);
+        }
+    }
+}
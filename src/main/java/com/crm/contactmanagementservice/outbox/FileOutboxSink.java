@@ -0,0 +1,65 @@
+package com.crm.contactmanagementservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * OutboxSink appending events to a local newline-delimited JSON file.
+ * Each batch is written with one call and forced to disk before the relay deletes it, so a crash can repeat a batch in
+ * the file but never lose one.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for the FileOutboxSink class.
+     * @param file The file to append to; it is created if missing.
+     * @param objectMapper The mapper used to write each event.
+     */
+    public FileOutboxSink(@Value("${contacts.outbox.file:outbox.ndjson}") Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (OutboxMessage message : messages) {
+                ObjectNode line = objectMapper.createObjectNode()
+                        .put("id", message.id())
+                        .put("type", message.type().name())
+                        .put("aggregateId", message.aggregateId().toString())
+                        .put("createdAt", message.createdAt().toString());
+                line.set("payload", objectMapper.readTree(message.payload()));
+                lines.append(objectMapper.writeValueAsString(line)).append('\n');
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append outbox events to " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.crm.contactmanagementservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default OutboxSink, used until a real destination is configured.
+ * It logs each event at debug level and discards it, so the outbox table does not grow without a consumer.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(message -> log.debug("Outbox event {} {} {}: {}",
+                message.id(), message.type(), message.aggregateId(), message.payload()));
+    }
+}
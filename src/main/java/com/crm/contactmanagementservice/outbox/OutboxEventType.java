@@ -0,0 +1,49 @@
+package com.crm.contactmanagementservice.outbox;
+
+/**
+ * The kinds of events written to the outbox, each with the aggregate its id refers to and the payload it carries.
+ */
+public enum OutboxEventType {
+
+    /**
+     * A contact was created; the aggregate is the contact and the payload its ContactDTO.
+     */
+    CONTACT_CREATED,
+
+    /**
+     * A contact was changed; the aggregate is the contact and the payload its ContactDTO after the change.
+     */
+    CONTACT_UPDATED,
+
+    /**
+     * A contact was deleted; the aggregate is the contact and the payload its id.
+     */
+    CONTACT_DELETED,
+
+    /**
+     * Contacts were moved in bulk; the aggregate is the target contact list and the payload the ContactMoveRequestDTO
+     * of one chunk.
+     */
+    CONTACTS_MOVED,
+
+    /**
+     * The do not contact flag of contacts was set in bulk; the aggregate is the contact list and the payload names the
+     * IDs of one chunk's contacts, the flag and their number.
+     */
+    CONTACTS_DO_NOT_CONTACT_SET,
+
+    /**
+     * A contact list was created; the aggregate is the contact list and the payload its ContactListDTO.
+     */
+    CONTACT_LIST_CREATED,
+
+    /**
+     * A contact list was changed; the aggregate is the contact list and the payload its ContactListDTO after the change.
+     */
+    CONTACT_LIST_UPDATED,
+
+    /**
+     * A contact list was deleted; the aggregate is the contact list and the payload its id.
+     */
+    CONTACT_LIST_DELETED
+}
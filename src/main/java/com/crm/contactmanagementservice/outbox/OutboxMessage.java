@@ -0,0 +1,29 @@
+package com.crm.contactmanagementservice.outbox;
+
+import com.crm.contactmanagementservice.entity.OutboxEventEntity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An outbox event as handed to an OutboxSink.
+ * Delivery is at least once: an event is only removed after its sink returns, so consumers should deduplicate by id.
+ */
+public record OutboxMessage(
+        long id, // The id of the event, unique per database
+        OutboxEventType type, // The kind of event
+        UUID aggregateId, // The id of the contact or contact list the event is about
+        String payload, // The event payload as JSON
+        Instant createdAt) // The time the event was written
+{
+
+    /**
+     * Creates a message from a stored event.
+     * @param entity The stored event.
+     * @return The message.
+     */
+    public static OutboxMessage of(OutboxEventEntity entity) {
+        return new OutboxMessage(entity.getId(), entity.getEventType(), entity.getAggregateId(), entity.getPayload(),
+                entity.getCreatedAt());
+    }
+}
@@ -0,0 +1,82 @@
+package com.crm.contactmanagementservice.outbox;
+
+import com.crm.contactmanagementservice.entity.OutboxEventEntity;
+import com.crm.contactmanagementservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Background relay moving events from the outbox table to the OutboxSink.
+ * Each batch is claimed with SELECT ... FOR UPDATE SKIP LOCKED, handed to the sink and deleted in one transaction, so
+ * every instance can run a relay: they split the backlog between them instead of blocking on each other, and an event
+ * is only removed once a sink has accepted it. A failed batch is rolled back and retried on the next poll.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructor for the OutboxRelay class.
+     * @param outboxEventRepository The repository holding the outbox.
+     * @param outboxSink The destination of the events.
+     * @param transactionTemplate The template running each batch in its own transaction.
+     * @param batchSize The maximum number of events claimed per transaction.
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${contacts.outbox.batch-size:500}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Relays batches until the outbox is empty or a batch fails.
+     * @return The number of events relayed.
+     */
+    @Scheduled(initialDelayString = "${contacts.outbox.poll-interval:PT1S}", fixedDelayString = "${contacts.outbox.poll-interval:PT1S}")
+    public int drain() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    /**
+     * Claims, delivers and deletes one batch of events in a single transaction.
+     * @return The number of events relayed, 0 if none were available or the batch failed.
+     */
+    int relayBatch() {
+        try {
+            Integer relayed = transactionTemplate.execute(status -> {
+                List<OutboxEventEntity> events = outboxEventRepository.lockNextEvents(batchSize);
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                outboxSink.publish(events.stream().map(OutboxMessage::of).toList());
+                outboxEventRepository.deleteOutboxEventsByIds(events.stream().map(OutboxEventEntity::getId).toArray(Long[]::new));
+                return events.size();
+            });
+            return relayed == null ? 0 : relayed;
+        } catch (RuntimeException ex) {
+            log.warn("Outbox batch failed and will be retried: {}", ex.getMessage());
+            return 0;
+        }
+    }
+}
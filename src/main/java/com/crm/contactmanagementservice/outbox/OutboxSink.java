@@ -0,0 +1,19 @@
+package com.crm.contactmanagementservice.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the events drained from the outbox.
+ * Exactly one sink bean is active, chosen with contacts.outbox.sink; a message broker client plugs in by implementing
+ * this interface.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of events, in id order.
+     * The events are removed from the outbox only if this method returns normally; if it throws, the whole batch is
+     * offered again on a later poll, possibly to another instance.
+     * @param messages The events to deliver.
+     */
+    void publish(List<OutboxMessage> messages);
+}
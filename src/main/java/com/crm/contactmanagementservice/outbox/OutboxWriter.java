@@ -0,0 +1,50 @@
+package com.crm.contactmanagementservice.outbox;
+
+import com.crm.contactmanagementservice.entity.OutboxEventEntity;
+import com.crm.contactmanagementservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Writes events to the outbox table.
+ * Events must be written inside the transaction of the change they describe, so they commit or roll back with it;
+ * calling append without a transaction fails. The insert itself is deferred to the next flush and batched with the
+ * change's own statements.
+ */
+@Component
+@AllArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Adds an event to the outbox of the current transaction.
+     * @param type The kind of event.
+     * @param aggregateId The id of the contact or contact list the event is about.
+     * @param payload The payload, serialized to JSON.
+     * @throws org.springframework.transaction.IllegalTransactionStateException if no transaction is active.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, UUID aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + type + " event for " + aggregateId, ex);
+        }
+        outboxEventRepository.save(OutboxEventEntity.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(json)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
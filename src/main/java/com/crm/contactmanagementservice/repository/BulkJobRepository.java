@@ -0,0 +1,51 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for BulkJob.
+ * This interface extends JpaRepository and provides the methods used to report jobs and by the job workers to claim
+ * and lock them.
+ */
+@Repository
+public interface BulkJobRepository extends JpaRepository<BulkJobEntity, UUID> {
+
+    /**
+     * Custom query to find a job by its id.
+     * This query is executed natively, meaning it is written in SQL and not JPQL.
+     * @param id The id of the job to find.
+     * @return An Optional that may contain the found BulkJobEntity.
+     */
+    @Query(value = "SELECT * FROM public.bulk_job WHERE id = :id", nativeQuery = true)
+    Optional<BulkJobEntity> findBulkJobEntityById(@Param("id") UUID id);
+
+    /**
+     * Custom query to claim the oldest job that is queued or whose worker stopped sending heartbeats.
+     * This query is executed natively and locks the returned row until the calling transaction ends. Rows locked by
+     * another worker are skipped instead of waited for, so workers on every instance claim different jobs.
+     * @param staleBefore The heartbeat time before which a running job is considered abandoned.
+     * @return An Optional that may contain the claimed BulkJobEntity.
+     */
+    @Query(value = "SELECT * FROM public.bulk_job j WHERE j.status IN ('QUEUED', 'RUNNING') " +
+            "AND (j.status = 'QUEUED' OR j.heartbeat_at < :staleBefore) " +
+            "ORDER BY j.created_at LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<BulkJobEntity> lockNextClaimableJob(@Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Custom query to lock a job by its id.
+     * This query is executed natively and locks the row until the calling transaction ends, so a chunk and the
+     * progress it records commit together and no other worker can take the job over in between.
+     * @param id The id of the job to lock.
+     * @return An Optional that may contain the locked BulkJobEntity.
+     */
+    @Query(value = "SELECT * FROM public.bulk_job WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<BulkJobEntity> lockBulkJobEntityById(@Param("id") UUID id);
+}
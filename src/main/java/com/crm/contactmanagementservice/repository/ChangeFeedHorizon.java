@@ -0,0 +1,62 @@
+package com.crm.contactmanagementservice.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Reads the horizon of the change feeds: the time before which every change is committed or rolled back for good.
+ * On PostgreSQL, contacts, contact lists and tombstones are stamped by triggers from the database clock, after their
+ * transaction takes a shared advisory lock that marks it as a change feed writer. The horizon is read by the
+ * change_feed_horizon function: the clock when the read starts, or the start of the oldest open transaction holding the
+ * lock if that is earlier. Changes at or after it are held back however long their transaction runs, and clocks of
+ * the application instances play no part. Transactions that write none of these tables, such as streamed exports or
+ * other applications' sessions, take no lock and do not hold the feeds back; a long writing transaction still does.
+ * pg_stat_activity only shows the transactions of other roles to members of pg_read_all_stats, so the service's role
+ * must be the one writing these tables or be granted that role.
+ * Other databases, such as the H2 test database, are not held back and return their current time.
+ */
+@Repository
+public class ChangeFeedHorizon {
+
+    private static final String POSTGRES_HORIZON = "SELECT public.change_feed_horizon()";
+
+    private static final String CURRENT_TIME = "SELECT CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String query;
+
+    /**
+     * Constructor for the ChangeFeedHorizon class.
+     * @param jdbcTemplate The template the horizon is read with, in the transaction of the feed read.
+     */
+    public ChangeFeedHorizon(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the horizon. It must be read in the transaction of the feed, before the changes are, so any change
+     * committed after it is read is still before its start or held back.
+     * @return The time before which changes can be returned, exclusive.
+     */
+    public Instant current() {
+        return jdbcTemplate.queryForObject(query(), OffsetDateTime.class).toInstant();
+    }
+
+    /**
+     * Returns the query of the connected database, looking the database up on first use.
+     */
+    private String query() {
+        String current = query;
+        if (current == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            current = "PostgreSQL".equals(product) ? POSTGRES_HORIZON : CURRENT_TIME;
+            query = current;
+        }
+        return current;
+    }
+}
@@ -1,11 +1,14 @@
 package com.crm.contactmanagementservice.repository;
 
+import com.crm.contactmanagementservice.dto.ContactListSummaryDTO;
 import com.crm.contactmanagementservice.entity.ContactListEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -13,7 +16,8 @@ import java.util.UUID;
 /**
  * Repository interface for ContactList.
  * This interface extends JpaRepository and provides methods to interact with the database.
- * It includes custom queries to find a contact list by its id and to find all contact lists by a user's id.
+ * It includes custom queries to find a contact list by its id, with or without its contacts, to find all contact lists
+ * by a user's id, with or without their contact counts, and to find a user's contact lists changed after a watermark.
  */
 @Repository
 public interface ContactListRepository extends JpaRepository<ContactListEntity, UUID> {
@@ -27,6 +31,16 @@ public interface ContactListRepository extends JpaRepository<ContactListEntity,
     @Query(value = "SELECT * FROM public.contact_list WHERE id = :id", nativeQuery = true)
     Optional<ContactListEntity> findContactListEntityById(@Param("id") UUID id);
 
+    /**
+     * Custom query to find a contact list by its id together with its contacts.
+     * This query is written in JPQL so the contacts can be fetch joined: the list and every contact come back in one
+     * SELECT, and each contact's contact list resolves to the list already loaded instead of a query per contact.
+     * @param id The id of the contact list to find.
+     * @return An Optional that may contain the found ContactListEntity, with its contacts initialized.
+     */
+    @Query("SELECT cl FROM ContactListEntity cl LEFT JOIN FETCH cl.contacts WHERE cl.id = :id")
+    Optional<ContactListEntity> findContactListWithContactsById(@Param("id") UUID id);
+
     /**
      * Custom query to find all contact lists by a user's id.
      * This query is executed natively, meaning it is written in SQL and not JPQL.
@@ -35,4 +49,44 @@ public interface ContactListRepository extends JpaRepository<ContactListEntity,
      */
     @Query(value = "SELECT * FROM public.contact_list WHERE user_id = :userId", nativeQuery = true)
     Set<ContactListEntity> findAllContactListsByUserId(@Param("userId") UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Custom query to find all contact lists by a user's id together with their contact counts.
+     * This query is written in JPQL so the rows are projected straight into ContactListSummaryDTO: the contacts are
+     * counted by one grouped join, served by the user id and contact list id indexes, and never loaded.
+     * @param userId The id of the user whose contact lists to find.
+     * @return A List of ContactListSummaryDTO ordered by list name and id.
+     */
+    @Query("SELECT new com.crm.contactmanagementservice.dto.ContactListSummaryDTO(cl.id, cl.listName, cl.userId, " +
+            "COUNT(c.id), COALESCE(SUM(CASE WHEN c.doNotContact = true THEN 1 ELSE 0 END), 0)) " +
+            "FROM ContactListEntity cl LEFT JOIN cl.contacts c WHERE cl.userId = :userId " +
+            "GROUP BY cl.id, cl.listName, cl.userId ORDER BY cl.listName, cl.id")
+    List<ContactListSummaryDTO> findContactListSummariesByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Custom query to find the contact lists with any of the given ids.
+     * This query is executed natively and binds the ids as a single array parameter, served by the primary key index.
+     * @param ids The ids of the contact lists to find.
+     * @return A List of the ContactListEntity found, in no particular order.
+     */
+    @Query(value = "SELECT * FROM public.contact_list cl WHERE cl.id = ANY(:ids)", nativeQuery = true)
+    List<ContactListEntity> findAllContactListsByIds(@Param("ids") UUID[] ids);
+
+    /**
+     * Custom query to find a user's contact lists changed after a watermark.
+     * This query is executed natively and backs the contact list change feed: it seeks on (updated_at, id) so every
+     * page starts strictly after the last change of the previous one.
+     * @param userId The id of the user whose contact lists to find.
+     * @param sinceAt The modification time of the watermark.
+     * @param sinceId The contact list id of the watermark, breaking ties between equal times.
+     * @param until The time before which changes are returned, exclusive.
+     * @param limit The maximum number of contact lists to return.
+     * @return A List of ContactListEntity ordered by modification time and id.
+     */
+    @Query(value = "SELECT * FROM public.contact_list cl " +
+            "WHERE cl.user_id = :userId AND (cl.updated_at, cl.id) > (:sinceAt, :sinceId) AND cl.updated_at < :until " +
+            "ORDER BY cl.updated_at, cl.id LIMIT :limit", nativeQuery = true)
+    List<ContactListEntity> findContactListsChangedByUserIdAfter(@Param("userId") UUID userId, @Param("sinceAt") Instant sinceAt,
+                                                                 @Param("sinceId") UUID sinceId, @Param("until") Instant until,
+                                                                 @Param("limit") int limit);
+}
@@ -0,0 +1,67 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.entity.ContactListTombstoneEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ContactListTombstone.
+ * This interface extends JpaRepository and provides methods to record deleted contact lists and to read them back in
+ * change feed order.
+ */
+@Repository
+public interface ContactListTombstoneRepository extends JpaRepository<ContactListTombstoneEntity, Long> {
+
+    /**
+     * Custom query to find a user's contact list tombstones after a watermark.
+     * This query is executed natively and seeks on the (user_id, deleted_at, contact_list_id) index.
+     * @param userId The id of the user whose tombstones to find.
+     * @param sinceAt The deletion time of the watermark.
+     * @param sinceId The contact list id of the watermark, breaking ties between equal times.
+     * @param until The time before which tombstones are returned, exclusive.
+     * @param limit The maximum number of tombstones to return.
+     * @return A List of ContactListTombstoneEntity ordered by deletion time and contact list id.
+     */
+    @Query(value = "SELECT * FROM public.contact_list_tombstone t " +
+            "WHERE t.user_id = :userId AND (t.deleted_at, t.contact_list_id) > (:sinceAt, :sinceId) AND t.deleted_at < :until " +
+            "ORDER BY t.deleted_at, t.contact_list_id LIMIT :limit", nativeQuery = true)
+    List<ContactListTombstoneEntity> findContactListTombstonesByUserIdAfter(@Param("userId") UUID userId, @Param("sinceAt") Instant sinceAt,
+                                                                            @Param("sinceId") UUID sinceId, @Param("until") Instant until,
+                                                                            @Param("limit") int limit);
+
+    /**
+     * Custom query to record the deletion of a contact list.
+     * This query is executed natively and copies the owner from the contact list. It must run before the contact list
+     * is deleted or handed to another user.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param contactListId The id of the contact list being deleted or handed over.
+     * @return The number of tombstones recorded.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO public.contact_list_tombstone (contact_list_id, user_id, deleted_at) " +
+            "SELECT cl.id, cl.user_id, CURRENT_TIMESTAMP FROM public.contact_list cl WHERE cl.id = :contactListId", nativeQuery = true)
+    int insertContactListTombstone(@Param("contactListId") UUID contactListId);
+
+    /**
+     * Custom query to purge tombstones older than the retention window, one batch at a time.
+     * This query is executed natively and seeks on the deleted_at index.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param cutoff The deletion time before which tombstones are purged.
+     * @param limit The maximum number of tombstones to purge.
+     * @return The number of tombstones purged.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM public.contact_list_tombstone WHERE id IN (" +
+            "SELECT t.id FROM public.contact_list_tombstone t WHERE t.deleted_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteContactListTombstonesBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -1,22 +1,35 @@
 package com.crm.contactmanagementservice.repository;
 
+import com.crm.contactmanagementservice.dto.ContactDTO;
 import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository interface for Contact.
  * This interface extends JpaRepository and provides methods to interact with the database.
  * It includes custom queries to find a contact by its id, email, phone, and name,
  * to find all contacts, to find all contacts by a contact list's id, and to delete a contact by its id.
+ * Reads that only feed a response project straight into ContactDTO; entities are loaded only where they are changed.
  */
 @Repository
 public interface ContactRepository extends JpaRepository<ContactEntity, UUID> {
@@ -31,74 +44,259 @@ public interface ContactRepository extends JpaRepository<ContactEntity, UUID> {
     Optional<ContactEntity> findContactEntityById(@Param("id") UUID id);
 
     /**
-     * Custom query to find all contacts.
-     * This query is executed natively, meaning it is written in SQL and not JPQL.
-     * @return A Set of all ContactEntity.
+     * The select clause of the ContactDTO projections below.
+     * The contact list id is read from the foreign key column, so no projection joins or loads the contact list.
      */
-    @Query(value = "SELECT * FROM public.contact", nativeQuery = true)
-    Set<ContactEntity> findAllContactEntities();
+    String CONTACT_DTO = "SELECT new com.crm.contactmanagementservice.dto.ContactDTO(c.id, c.contactList.id, " +
+            "c.firstName, c.lastName, c.preferredName, c.email, c.phone, c.fax, c.addressId, c.doNotContact, c.version) " +
+            "FROM ContactEntity c ";
 
     /**
-     * Custom query to find all contacts by a contact list's id.
-     * This query is executed natively, meaning it is written in SQL and not JPQL.
+     * Custom query to find a contact by its id as a ContactDTO.
+     * This query is written in JPQL with a constructor expression: the row is read straight into the DTO, so no
+     * entity is instantiated, tracked by the persistence context or dirty checked.
+     * @param id The id of the contact to find.
+     * @return An Optional that may contain the found ContactDTO.
+     */
+    @Query(CONTACT_DTO + "WHERE c.id = :id")
+    Optional<ContactDTO> findContactDTOById(@Param("id") UUID id);
+
+    /**
+     * Custom query to find a contact by its email as a ContactDTO.
+     * This query is written in JPQL with a constructor expression, so no entity is hydrated.
+     * @param email The email of the contact to find.
+     * @return An Optional that may contain the found ContactDTO.
+     */
+    @Query(CONTACT_DTO + "WHERE c.email = :email")
+    Optional<ContactDTO> findContactDTOByEmail(@Param("email") String email);
+
+    /**
+     * Custom query to find a contact by its phone as a ContactDTO.
+     * This query is written in JPQL with a constructor expression, so no entity is hydrated.
+     * @param phone The phone of the contact to find.
+     * @return An Optional that may contain the found ContactDTO.
+     */
+    @Query(CONTACT_DTO + "WHERE c.phone = :phone")
+    Optional<ContactDTO> findContactDTOByPhone(@Param("phone") String phone);
+
+    /**
+     * Custom query to find all contacts as ContactDTOs.
+     * This query is written in JPQL with a constructor expression, so no entity is hydrated.
+     * @return A Set of all ContactDTO.
+     */
+    @Query(CONTACT_DTO)
+    Set<ContactDTO> findAllContactDTOs();
+
+    /**
+     * Custom query to stream contacts as ContactDTOs in id order, starting strictly after the given id.
+     * This query is written in JPQL with a constructor expression and backs keyset pagination: it seeks on the
+     * primary key instead of using OFFSET. Rows are pulled from a forward-only JDBC cursor in fetch-size batches and
+     * nothing is added to the persistence context, so the caller must only consume the stream inside a transaction and
+     * close it when done.
+     * @param after The id after which to start.
+     * @param limit The maximum number of contacts to return.
+     * @return A Stream of ContactDTO ordered by id.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(CONTACT_DTO + "WHERE c.id > :after ORDER BY c.id LIMIT :limit")
+    Stream<ContactDTO> streamContactDTOsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    /**
+     * Custom query to find all contacts by a contact list's id as ContactDTOs.
+     * This query is written in JPQL with a constructor expression, so no entity is hydrated.
      * @param contactListId The id of the contact list whose contacts to find.
-     * @return A Set of ContactEntity that belong to the contact list.
+     * @return A Set of ContactDTO that belong to the contact list.
      */
-    @Query(value = "SELECT * FROM public.contact WHERE contact_list_id = :contactListId", nativeQuery = true)
-    Set<ContactEntity> findAllContactsByContactListId(@Param("contactListId") UUID contactListId);
+    @Query(CONTACT_DTO + "WHERE c.contactList.id = :contactListId")
+    Set<ContactDTO> findContactDTOsByContactListId(@Param("contactListId") UUID contactListId);
 
     /**
-     * Custom query to find all contacts for a given user ID.
-     * This query fetches all contact lists for the user and then lists all contacts from those contact lists.
+     * Custom query to find all contacts for a given user ID as ContactDTOs.
+     * This query is written in JPQL with a constructor expression; it joins the user's contact lists only to filter
+     * on their owner, so no entity is hydrated.
      * @param userId The ID of the user whose contacts to find.
-     * @return A Set of ContactEntity that belong to the user's contact lists.
+     * @return A Set of ContactDTO that belong to the user's contact lists.
      */
-    @Query(value = "SELECT c.* FROM public.contact c " +
-            "JOIN public.contact_list cl ON c.contact_list_id = cl.id " +
-            "WHERE cl.user_id = :userId", nativeQuery = true)
-    Set<ContactEntity> findAllContactsByUserId(@Param("userId") UUID userId);
+    @Query(CONTACT_DTO + "JOIN c.contactList cl WHERE cl.userId = :userId")
+    Set<ContactDTO> findContactDTOsByUserId(@Param("userId") UUID userId);
 
     /**
-     * Custom query to find a contact by its email.
-     * This query is executed natively, meaning it is written in SQL and not JPQL.
-     * @param email The email of the contact to find.
-     * @return An Optional that may contain the found ContactEntity.
+     * Custom query to stream all contacts for a given user ID as ContactDTOs.
+     * This is the cursor-backed variant of findContactDTOsByUserId: rows are pulled from a forward-only JDBC cursor in
+     * fetch-size batches, so the caller must consume the stream inside a transaction and close it when done.
+     * @param userId The ID of the user whose contacts to stream.
+     * @return A Stream of ContactDTO that belong to the user's contact lists.
      */
-    @Query(value = "SELECT * FROM public.contact c WHERE c.contact_email = :email", nativeQuery = true)
-    Optional<ContactEntity> findContactEntityByEmail(@Param("email") String email);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(CONTACT_DTO + "JOIN c.contactList cl WHERE cl.userId = :userId")
+    Stream<ContactDTO> streamContactDTOsByUserId(@Param("userId") UUID userId);
 
     /**
-     * Custom query to find a contact by its phone.
+     * Custom query to find the contact list of a contact.
+     * This query is written in JPQL, since a native query of this repository cannot return another entity. It reads
+     * the list through the contact's primary key in one statement, without loading the contact.
+     * @param id The id of the contact.
+     * @return An Optional that may contain the ContactListEntity; empty if the contact does not exist or is in no list.
+     */
+    @Query("SELECT cl FROM ContactEntity c JOIN c.contactList cl WHERE c.id = :id")
+    Optional<ContactListEntity> findContactListByContactId(@Param("id") UUID id);
+
+    /**
+     * Custom query to find the contacts with any of the given ids.
+     * This query is executed natively and binds the ids as a single array parameter, so every batch size shares one
+     * statement and one cached plan, served by the primary key index.
+     * @param ids The ids of the contacts to find.
+     * @return A List of the ContactEntity found, in no particular order.
+     */
+    @Query(value = "SELECT * FROM public.contact c WHERE c.id = ANY(:ids)", nativeQuery = true)
+    List<ContactEntity> findAllContactEntitiesByIds(@Param("ids") UUID[] ids);
+
+    /**
+     * Custom query to find a user's contacts changed after a watermark.
+     * This query is executed natively and backs the contact change feed: it seeks on (updated_at, id) so every page
+     * starts strictly after the last change of the previous one.
+     * @param userId The ID of the user whose contacts to find.
+     * @param sinceAt The modification time of the watermark.
+     * @param sinceId The contact id of the watermark, breaking ties between equal times.
+     * @param until The time before which changes are returned, exclusive.
+     * @param limit The maximum number of contacts to return.
+     * @return A List of ContactEntity ordered by modification time and id.
+     */
+    @Query(value = "SELECT c.* FROM public.contact c " +
+            "JOIN public.contact_list cl ON c.contact_list_id = cl.id " +
+            "WHERE cl.user_id = :userId AND (c.updated_at, c.id) > (:sinceAt, :sinceId) AND c.updated_at < :until " +
+            "ORDER BY c.updated_at, c.id LIMIT :limit", nativeQuery = true)
+    List<ContactEntity> findContactsChangedByUserIdAfter(@Param("userId") UUID userId, @Param("sinceAt") Instant sinceAt,
+                                                         @Param("sinceId") UUID sinceId, @Param("until") Instant until,
+                                                         @Param("limit") int limit);
+
+    /**
+     * Custom query to find which of the given emails are already taken.
      * This query is executed natively, meaning it is written in SQL and not JPQL.
-     * @param phone The phone of the contact to find.
-     * @return An Optional that may contain the found ContactEntity.
+     * @param emails The emails to check.
+     * @return A Set of the emails that already belong to a contact.
      */
-    @Query(value = "SELECT * FROM public.contact c WHERE c.contact_phone = :phone", nativeQuery = true)
-    Optional<ContactEntity> findContactEntityByPhone(@Param("phone") String phone);
+    @Query(value = "SELECT c.contact_email FROM public.contact c WHERE c.contact_email IN (:emails)", nativeQuery = true)
+    Set<String> findExistingEmails(@Param("emails") Set<String> emails);
 
     /**
      * Custom query to search for contacts by name.
      * This query is executed natively, meaning it is written in SQL and not JPQL.
-     * It searches for contacts whose first name, last name, or preferred name matches the provided name.
-     * @param name The name to search for.
-     * @return A Set of ContactEntity that match the search criteria.
+     * It searches for contacts whose first name, last name, or preferred name contains the search term and ranks
+     * exact matches first, then prefix matches, then other matches. On Postgres the lower-cased LIKE predicates are
+     * served by the trigram indexes in create_contact_name_search_index.sql; the query itself stays portable to H2.
+     * @param term The lower-cased search term, used for exact matches.
+     * @param prefix The LIKE pattern matching names that start with the term.
+     * @param contains The LIKE pattern matching names that contain the term.
+     * @param limit The maximum number of contacts to return.
+     * @param offset The number of ranked contacts to skip.
+     * @return A ranked List of ContactEntity that match the search criteria.
      */
-    @Query(value = "SELECT * FROM public.contact c WHERE LOWER(c.contact_first_Name) LIKE LOWER(:name) OR LOWER(c.contact_last_name) LIKE LOWER(:name) OR LOWER(c.contact_preferred_name) LIKE LOWER(:name)", nativeQuery = true)
-    Set<ContactEntity> searchByName(@Param("name") String name);
+    @Query(value = "SELECT * FROM public.contact c " +
+            "WHERE LOWER(c.contact_first_name) LIKE :contains " +
+            "OR LOWER(c.contact_last_name) LIKE :contains " +
+            "OR LOWER(c.contact_preferred_name) LIKE :contains " +
+            "ORDER BY CASE " +
+            "WHEN LOWER(c.contact_first_name) = :term OR LOWER(c.contact_last_name) = :term OR LOWER(c.contact_preferred_name) = :term THEN 0 " +
+            "WHEN LOWER(c.contact_first_name) LIKE :prefix OR LOWER(c.contact_last_name) LIKE :prefix OR LOWER(c.contact_preferred_name) LIKE :prefix THEN 1 " +
+            "ELSE 2 END, c.contact_last_name, c.contact_first_name, c.id " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<ContactEntity> searchByName(@Param("term") String term, @Param("prefix") String prefix, @Param("contains") String contains,
+                                     @Param("limit") int limit, @Param("offset") int offset);
 
     /**
      * Custom query to delete a contact by its id.
      * This query is executed natively, meaning it is written in SQL and not JPQL.
      * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
      * @param id The id of the contact to delete.
+     * @return The number of contacts deleted.
      */
     @Transactional
     @Modifying
     @Query(value = "DELETE FROM public.contact c WHERE c.id = :id", nativeQuery = true)
-    void deleteContactEntityById(@Param("id") UUID id);
+    int deleteContactEntityById(@Param("id") UUID id);
 
+    /**
+     * Custom query to detach every contact from a contact list, e.g. before the list is deleted.
+     * This query is executed natively as one set-based UPDATE that bumps the version and modification time, so the
+     * detached contacts' entity tags change; the foreign key's ON DELETE SET NULL would leave them unchanged.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param contactListId The id of the contact list.
+     * @return The number of contacts detached.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE public.contact SET contact_list_id = NULL, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE contact_list_id = :contactListId", nativeQuery = true)
+    int detachContactListContacts(@Param("contactListId") UUID contactListId);
+
+    /**
+     * Custom query to move the contacts with any of the given ids to a contact list.
+     * This query is executed natively as one set-based UPDATE; contacts already in the target list are not rewritten.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param ids The ids of the contacts to move.
+     * @param contactListId The id of the target contact list.
+     * @return The number of contacts moved.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE public.contact SET contact_list_id = :contactListId, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ANY(:ids) AND (contact_list_id IS NULL OR contact_list_id <> :contactListId)", nativeQuery = true)
+    int moveContactsToContactList(@Param("ids") UUID[] ids, @Param("contactListId") UUID contactListId);
+
+    /**
+     * Custom query to lock up to limit contacts of a contact list.
+     * This query locks the returned rows with SELECT ... FOR UPDATE until the calling transaction ends, so a chunk can
+     * be tombstoned and moved by ID without another transaction moving any of its contacts in between. Calling it and
+     * moving the chunk until it returns fewer than limit IDs empties the list in short transactions.
+     * @param contactListId The id of the contact list.
+     * @param limit The maximum number of contacts to lock.
+     * @return A List of the locked contacts' IDs.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM ContactEntity c WHERE c.contactList.id = :contactListId")
+    List<UUID> lockContactListContactIds(@Param("contactListId") UUID contactListId, Limit limit);
+
+    /**
+     * Custom query to stamp every contact of a contact list with a new modification time.
+     * This query is executed natively as one set-based UPDATE, so the contacts of a list handed to another user appear
+     * in the new owner's change feed.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param contactListId The id of the contact list.
+     * @return The number of contacts stamped.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE public.contact SET updated_at = CURRENT_TIMESTAMP WHERE contact_list_id = :contactListId", nativeQuery = true)
+    int touchContactListContacts(@Param("contactListId") UUID contactListId);
+
+    /**
+     * Custom query to lock up to limit contacts of a contact list whose do not contact flag differs from the given one.
+     * This query locks the returned rows with SELECT ... FOR UPDATE until the calling transaction ends, so the chunk can
+     * be updated by ID and named in its outbox event. Calling it and updating the chunk until it returns fewer than
+     * limit IDs flags the whole list in short transactions, and calling it again after a restart picks up where the
+     * last committed chunk stopped.
+     * @param contactListId The id of the contact list.
+     * @param doNotContact The flag to be written.
+     * @param limit The maximum number of contacts to lock.
+     * @return A List of the locked contacts' IDs.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM ContactEntity c WHERE c.contactList.id = :contactListId AND c.doNotContact <> :doNotContact")
+    List<UUID> lockContactListContactIdsToFlag(@Param("contactListId") UUID contactListId, @Param("doNotContact") boolean doNotContact,
+                                               Limit limit);
+
+    /**
+     * Custom query to set the do not contact flag of the contacts with any of the given ids.
+     * This query is executed natively as one set-based UPDATE of the contacts whose flag differs.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param ids The ids of the contacts.
+     * @param doNotContact The flag to write.
+     * @return The number of contacts updated.
+     */
     @Transactional
     @Modifying
-    @Query("UPDATE ContactEntity c SET c.contactList.id = :contactListId WHERE c.id = :contactId")
-    void setContactListId(@Param("contactListId") UUID contactListId, @Param("contactId") UUID contactId);
+    @Query(value = "UPDATE public.contact SET do_not_contact = :doNotContact, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ANY(:ids) AND do_not_contact <> :doNotContact", nativeQuery = true)
+    int setContactsDoNotContact(@Param("ids") UUID[] ids, @Param("doNotContact") boolean doNotContact);
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.entity.ContactTombstoneEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ContactTombstone.
+ * This interface extends JpaRepository and provides methods to record deleted contacts and to read them back in
+ * change feed order.
+ */
+@Repository
+public interface ContactTombstoneRepository extends JpaRepository<ContactTombstoneEntity, Long> {
+
+    /**
+     * Custom query to find a user's contact tombstones after a watermark.
+     * This query is executed natively and seeks on the (user_id, deleted_at, contact_id) index.
+     * @param userId The id of the user whose tombstones to find.
+     * @param sinceAt The deletion time of the watermark.
+     * @param sinceId The contact id of the watermark, breaking ties between equal times.
+     * @param until The time before which tombstones are returned, exclusive.
+     * @param limit The maximum number of tombstones to return.
+     * @return A List of ContactTombstoneEntity ordered by deletion time and contact id.
+     */
+    @Query(value = "SELECT * FROM public.contact_tombstone t " +
+            "WHERE t.user_id = :userId AND (t.deleted_at, t.contact_id) > (:sinceAt, :sinceId) AND t.deleted_at < :until " +
+            "ORDER BY t.deleted_at, t.contact_id LIMIT :limit", nativeQuery = true)
+    List<ContactTombstoneEntity> findContactTombstonesByUserIdAfter(@Param("userId") UUID userId, @Param("sinceAt") Instant sinceAt,
+                                                                    @Param("sinceId") UUID sinceId, @Param("until") Instant until,
+                                                                    @Param("limit") int limit);
+
+    /**
+     * Custom query to record the deletion of a contact.
+     * This query is executed natively and copies the owner from the contact's list; a contact that is in no list
+     * belongs to no user's feed and gets no tombstone. It must run before the contact is deleted.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param contactId The id of the contact being deleted.
+     * @return The number of tombstones recorded.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO public.contact_tombstone (contact_id, user_id, deleted_at) " +
+            "SELECT c.id, cl.user_id, CURRENT_TIMESTAMP FROM public.contact c " +
+            "JOIN public.contact_list cl ON c.contact_list_id = cl.id WHERE c.id = :contactId", nativeQuery = true)
+    int insertContactTombstone(@Param("contactId") UUID contactId);
+
+    /**
+     * Custom query to record the removal of every contact of a contact list from its owner's feed.
+     * This query is executed natively as one set-based INSERT. It must run before the contact list is deleted, which
+     * detaches its contacts, or handed to another user.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param contactListId The id of the contact list being deleted or handed over.
+     * @return The number of tombstones recorded.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO public.contact_tombstone (contact_id, user_id, deleted_at) " +
+            "SELECT c.id, cl.user_id, CURRENT_TIMESTAMP FROM public.contact c " +
+            "JOIN public.contact_list cl ON c.contact_list_id = cl.id WHERE cl.id = :contactListId", nativeQuery = true)
+    int insertContactListContactTombstones(@Param("contactListId") UUID contactListId);
+
+    /**
+     * Custom query to record the removal of contacts from their owner's feed when they move to another user's list.
+     * This query is executed natively as one set-based INSERT that copies the owner from each contact's current list
+     * and skips contacts that stay with the same user. It must run before the contacts are moved.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param contactIds The IDs of the contacts being moved.
+     * @param contactListId The id of the contact list they are moved to.
+     * @return The number of tombstones recorded.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO public.contact_tombstone (contact_id, user_id, deleted_at) " +
+            "SELECT c.id, cl.user_id, CURRENT_TIMESTAMP FROM public.contact c " +
+            "JOIN public.contact_list cl ON c.contact_list_id = cl.id " +
+            "WHERE c.id = ANY(:contactIds) AND cl.user_id IS NOT NULL AND cl.user_id IS DISTINCT FROM " +
+            "(SELECT t.user_id FROM public.contact_list t WHERE t.id = :contactListId)", nativeQuery = true)
+    int insertContactMoveTombstones(@Param("contactIds") UUID[] contactIds, @Param("contactListId") UUID contactListId);
+
+    /**
+     * Custom query to purge tombstones older than the retention window, one batch at a time.
+     * This query is executed natively and seeks on the deleted_at index.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param cutoff The deletion time before which tombstones are purged.
+     * @param limit The maximum number of tombstones to purge.
+     * @return The number of tombstones purged.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM public.contact_tombstone WHERE id IN (" +
+            "SELECT t.id FROM public.contact_tombstone t WHERE t.deleted_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteContactTombstonesBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
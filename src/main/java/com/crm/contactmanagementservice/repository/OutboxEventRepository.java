@@ -0,0 +1,42 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.transaction.Transactional;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent.
+ * This interface extends JpaRepository and provides the methods used by the outbox relay to claim and remove events.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Custom query to claim the oldest unclaimed events.
+     * This query is executed natively and locks the returned rows until the calling transaction ends. Rows locked by
+     * another relay are skipped instead of waited for, so several instances drain the table in parallel without
+     * handing out the same event twice.
+     * @param limit The maximum number of events to claim.
+     * @return A List of OutboxEventEntity ordered by id.
+     */
+    @Query(value = "SELECT * FROM public.outbox_event o ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEventEntity> lockNextEvents(@Param("limit") int limit);
+
+    /**
+     * Custom query to delete relayed events.
+     * This query is executed natively and binds the ids as a single array parameter.
+     * It is a modifying query, meaning it changes the database, and is therefore annotated with @Transactional.
+     * @param ids The ids of the events to delete.
+     * @return The number of events deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM public.outbox_event o WHERE o.id = ANY(:ids)", nativeQuery = true)
+    int deleteOutboxEventsByIds(@Param("ids") Long[] ids);
+}
@@ -0,0 +1,90 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the tombstone tables bounded by the retention window.
+ * Every instance purges tombstones older than the window in batches, each batch in its own transaction. A change token
+ * older than the window may have lost deletions to the purge, so the change feeds refuse it with a resync required
+ * error instead of silently skipping them; the client then reads the feed again from the start, which lists every
+ * live entity.
+ */
+@Component
+@Slf4j
+public class TombstoneRetention {
+
+    private final ContactTombstoneRepository contactTombstoneRepository;
+    private final ContactListTombstoneRepository contactListTombstoneRepository;
+    private final Duration retention;
+    private final int batchSize;
+
+    /**
+     * Constructor for the TombstoneRetention class.
+     * @param contactTombstoneRepository The repository holding the contact tombstones.
+     * @param contactListTombstoneRepository The repository holding the contact list tombstones.
+     * @param retention How long tombstones are kept, and so how old a change token may be.
+     * @param batchSize The maximum number of tombstones purged per transaction.
+     */
+    public TombstoneRetention(ContactTombstoneRepository contactTombstoneRepository,
+                              ContactListTombstoneRepository contactListTombstoneRepository,
+                              @Value("${contacts.changes.tombstone-retention:P30D}") Duration retention,
+                              @Value("${contacts.changes.purge-batch-size:1000}") int batchSize) {
+        this.contactTombstoneRepository = contactTombstoneRepository;
+        this.contactListTombstoneRepository = contactListTombstoneRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Checks that a change feed can resume after a watermark.
+     * The start of a feed can always be read; any other watermark must be within the retention window.
+     * @param since The watermark the client resumes after.
+     * @throws AppResyncRequiredException if the watermark is older than the retention window.
+     */
+    public void requireRetained(ChangeCursor since) {
+        if (!ChangeCursor.START.equals(since) && since.at().isBefore(Instant.now().minus(retention))) {
+            throw new AppResyncRequiredException("Change token is older than the " + retention
+                    + " tombstone retention window; resync from the start of the feed");
+        }
+    }
+
+    /**
+     * Purges the tombstones older than the retention window.
+     * @return The number of tombstones purged.
+     */
+    @Scheduled(initialDelayString = "${contacts.changes.purge-interval:PT1H}", fixedDelayString = "${contacts.changes.purge-interval:PT1H}")
+    public int purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        int purged = purge(cutoff, contactTombstoneRepository::deleteContactTombstonesBefore)
+                + purge(cutoff, contactListTombstoneRepository::deleteContactListTombstonesBefore);
+        if (purged > 0) {
+            log.info("Purged {} tombstones deleted before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    /**
+     * Purges one tombstone table batch by batch until a batch comes back short.
+     * @param cutoff The deletion time before which tombstones are purged.
+     * @param deleteBefore The repository query purging one batch.
+     * @return The number of tombstones purged.
+     */
+    private int purge(Instant cutoff, BiFunction<Instant, Integer, Integer> deleteBefore) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteBefore.apply(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,28 @@
+package com.crm.contactmanagementservice.service;
+
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+
+import java.util.UUID;
+
+/**
+ * Service interface for BulkJob.
+ * This interface provides methods to submit bulk jobs on the contacts of a contact list and to fetch their progress.
+ * The jobs themselves are run in the background by the job workers.
+ */
+public interface BulkJobService {
+
+    /**
+     * Validates and queues a bulk job.
+     * @param request The BulkJobRequestDTO describing the job.
+     * @return The queued BulkJobDTO.
+     */
+    BulkJobDTO submitJob(BulkJobRequestDTO request);
+
+    /**
+     * Fetches a bulk job by its id.
+     * @param id The id of the job to fetch.
+     * @return The fetched BulkJobDTO.
+     */
+    BulkJobDTO getJobById(UUID id);
+}
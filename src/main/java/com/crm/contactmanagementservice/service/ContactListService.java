@@ -1,6 +1,13 @@
 package com.crm.contactmanagementservice.service;
 
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactListChangesDTO;
+import com.crm.contactmanagementservice.dto.ContactListDetailDTO;
 import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.dto.ContactListSummaryDTO;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
+
+import java.util.List;
 
 import java.util.Set;
 import java.util.UUID;
@@ -19,6 +26,13 @@ public interface ContactListService {
      */
     ContactListDTO getContactListById(UUID id);
 
+    /**
+     * Fetches a contact list by its id together with its contacts and their counts.
+     * @param id The id of the contact list to fetch.
+     * @return The fetched ContactListDetailDTO.
+     */
+    ContactListDetailDTO getContactListDetailById(UUID id);
+
     /**
      * Fetches all contact lists.
      * @return A Set of all ContactListDTO.
@@ -31,6 +45,23 @@ public interface ContactListService {
      */
     Set<ContactListDTO> getAllContactListsByUserId(UUID id);
 
+    /**
+     * Fetches all contact lists by userId together with their contact counts.
+     * @param userId The id of the user whose contact lists to fetch.
+     * @return A List of ContactListSummaryDTO ordered by list name.
+     */
+    List<ContactListSummaryDTO> getContactListSummariesByUserId(UUID userId);
+
+    /**
+     * Fetches a page of the changes to a user's contact lists after a watermark.
+     * @param userId The id of the user whose contact list changes to fetch.
+     * @param since The watermark to start strictly after.
+     * @param limit The maximum number of changes to return.
+     * @return The changes in order, and the watermark to resume from.
+     * @throws AppResyncRequiredException if the watermark is older than the tombstone retention window.
+     */
+    ContactListChangesDTO getContactListChangesByUserId(UUID userId, ChangeCursor since, int limit);
+
     /**
      * Creates a new contact list.
      * @param contactListDTO The ContactListDTO to create.
@@ -46,6 +77,15 @@ public interface ContactListService {
      */
     ContactListDTO updateContactList(ContactListDTO contactListDTO, UUID id);
 
+    /**
+     * Updates a contact list if it is still at the expected version.
+     * @param contactListDTO The ContactListDTO to update.
+     * @param id The id of the contact list to update.
+     * @param expectedVersion The version the caller last saw, or null to update unconditionally.
+     * @return The updated ContactListDTO.
+     */
+    ContactListDTO updateContactList(ContactListDTO contactListDTO, UUID id, Long expectedVersion);
+
     /**
      * Deletes a contact list by its id.
      * @param id The id of the contact list to delete.
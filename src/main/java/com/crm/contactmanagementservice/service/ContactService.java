@@ -1,9 +1,20 @@
 package com.crm.contactmanagementservice.service;
 
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactBatchResultDTO;
+import com.crm.contactmanagementservice.dto.ContactCacheStatsDTO;
+import com.crm.contactmanagementservice.dto.ContactChangesDTO;
 import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactImportResultDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveResultDTO;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Contact.
@@ -20,6 +31,13 @@ public interface ContactService {
      */
     ContactDTO getContactById(UUID id);
 
+    /**
+     * Fetches several contacts by id in as few queries as possible.
+     * @param ids The ids of the contacts to fetch.
+     * @return The contacts found in request order, and the ids that were not found.
+     */
+    ContactBatchResultDTO getContactsByIds(List<UUID> ids);
+
     /**
      * Fetches a contact by its email.
      * @param email The email of the contact to fetch.
@@ -40,6 +58,15 @@ public interface ContactService {
      */
     Set<ContactDTO> getAllContacts();
 
+    /**
+     * Streams a keyset page of contacts ordered by id.
+     * Each contact is handed to the consumer as soon as it is read, so memory use does not grow with the page size.
+     * @param after The id after which to start; use the nil UUID for the first page.
+     * @param limit The maximum number of contacts to stream.
+     * @param consumer The callback receiving each ContactDTO in id order.
+     */
+    void streamContacts(UUID after, int limit, Consumer<ContactDTO> consumer);
+
     /**
      * Fetches all contacts from a contact list.
      * @return A Set of all ContactDTO.
@@ -52,6 +79,23 @@ public interface ContactService {
      */
     Set<ContactDTO> getAllContactsByUserId(UUID id);
 
+    /**
+     * Streams all contacts for a user without materializing them.
+     * @param userId The id of the user whose contacts to stream.
+     * @param consumer The callback receiving each ContactDTO.
+     */
+    void streamContactsByUserId(UUID userId, Consumer<ContactDTO> consumer);
+
+    /**
+     * Fetches a page of the changes to a user's contacts after a watermark.
+     * @param userId The id of the user whose contact changes to fetch.
+     * @param since The watermark to start strictly after.
+     * @param limit The maximum number of changes to return.
+     * @return The changes in order, and the watermark to resume from.
+     * @throws AppResyncRequiredException if the watermark is older than the tombstone retention window.
+     */
+    ContactChangesDTO getContactChangesByUserId(UUID userId, ChangeCursor since, int limit);
+
     /**
      * Fetches all contacts by a contact list's id.
      * @param contactListId The id of the contact list whose contacts to fetch.
@@ -66,6 +110,15 @@ public interface ContactService {
      */
     ContactDTO createContact(ContactDTO contactDTO);
 
+    /**
+     * Creates contacts in bulk.
+     * Rows are consumed lazily and written in batched inserts, one transaction per batch. Rows that cannot be read,
+     * fail validation or are rejected by the database are reported individually.
+     * @param contacts The ContactDTOs to create, in payload order.
+     * @return The per-row outcome and throughput of the import.
+     */
+    ContactImportResultDTO importContacts(Iterator<ContactDTO> contacts);
+
     /**
      * Updates a contact.
      * @param contactDTO The ContactDTO to update.
@@ -74,16 +127,58 @@ public interface ContactService {
      */
     ContactDTO updateContact(ContactDTO contactDTO, UUID id);
 
+    /**
+     * Updates a contact if it is still at the expected version.
+     * @param contactDTO The ContactDTO to update.
+     * @param id The id of the contact to update.
+     * @param expectedVersion The version the caller last saw, or null to update unconditionally.
+     * @return The updated ContactDTO.
+     */
+    ContactDTO updateContact(ContactDTO contactDTO, UUID id, Long expectedVersion);
+
+    /**
+     * Moves contacts to another contact list in bulk.
+     * @param ids The ids of the contacts to move.
+     * @param targetContactListId The id of the contact list to move them to.
+     * @return The number of contacts moved.
+     */
+    ContactMoveResultDTO moveContacts(Collection<UUID> ids, UUID targetContactListId);
+
+    /**
+     * Moves every contact of one contact list to another.
+     * @param sourceContactListId The id of the contact list to empty.
+     * @param targetContactListId The id of the contact list to move the contacts to.
+     * @return The number of contacts moved.
+     */
+    ContactMoveResultDTO moveContactListContacts(UUID sourceContactListId, UUID targetContactListId);
+
     /**
      * Deletes a contact by its id.
      * @param id The id of the contact to delete.
      */
     void deleteContactById(UUID id);
 
+    /**
+     * Returns the counters of the contact lookup cache used by getContactById, getContactByEmail and getContactByPhone.
+     * @return The cache statistics.
+     */
+    ContactCacheStatsDTO getCacheStats();
+
+    /**
+     * Finds a user's contacts whose first, last, preferred or full name starts with the query.
+     * @param userId The id of the user whose contacts to search.
+     * @param query The prefix to search for; case and accents are ignored.
+     * @param limit The maximum number of contacts to return.
+     * @return A List of matching ContactDTO, in name order.
+     */
+    List<ContactDTO> typeahead(UUID userId, String query, int limit);
+
     /**
      * Searches for contacts by name.
      * @param name The name to search for.
-     * @return A Set of ContactDTO that match the search criteria.
+     * @param limit The maximum number of contacts to return.
+     * @param offset The number of ranked contacts to skip.
+     * @return A List of ContactDTO that match the search criteria, best matches first.
      */
-    Set<ContactDTO> searchContactsByName(String name);
+    List<ContactDTO> searchContactsByName(String name, int limit, int offset);
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.crm.contactmanagementservice.service.impl;
+
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.job.BulkJobHandler;
+import com.crm.contactmanagementservice.job.BulkJobStatus;
+import com.crm.contactmanagementservice.job.BulkJobType;
+import com.crm.contactmanagementservice.repository.BulkJobRepository;
+import com.crm.contactmanagementservice.service.BulkJobService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service implementation for BulkJob.
+ * This class implements the BulkJobService interface. A job is checked by the handler of its type and stored as QUEUED;
+ * the job workers of any instance pick it up from the table.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class BulkJobServiceImpl implements BulkJobService {
+
+    private final BulkJobRepository bulkJobRepository;
+    private final List<BulkJobHandler> bulkJobHandlers;
+
+    /**
+     * Validates and queues a bulk job.
+     * @param request The BulkJobRequestDTO describing the job.
+     * @return The queued BulkJobDTO.
+     * @throws AppBadRequestException if the type or a parameter the job needs is missing or invalid.
+     * @throws AppEntityNotFoundException if a contact list of the job is not found.
+     */
+    @Override
+    public BulkJobDTO submitJob(BulkJobRequestDTO request) {
+        if (request.type() == null) {
+            throw new AppBadRequestException("type is required");
+        }
+        handler(request.type()).validate(request);
+        BulkJobEntity saved = bulkJobRepository.save(BulkJobEntity.builder()
+                .jobType(request.type())
+                .status(BulkJobStatus.QUEUED)
+                .contactListId(request.contactListId())
+                .targetContactListId(request.type() == BulkJobType.MOVE_CONTACTS ? request.targetContactListId() : null)
+                .doNotContact(request.type() == BulkJobType.SET_DO_NOT_CONTACT ? request.doNotContact() : null)
+                .build());
+        log.info("Queued bulk job {} of type {} for contact list with id: {}", saved.getId(), saved.getJobType(), saved.getContactListId());
+        return BulkJobDTO.of(saved);
+    }
+
+    /**
+     * Fetches a bulk job by its id.
+     * @param id The id of the job to fetch.
+     * @return The fetched BulkJobDTO.
+     * @throws AppEntityNotFoundException if the job is not found.
+     */
+    @Override
+    public BulkJobDTO getJobById(UUID id) {
+        log.debug("Fetching bulk job by id: {}", id);
+        return bulkJobRepository.findBulkJobEntityById(id)
+                .map(BulkJobDTO::of)
+                .orElseThrow(() -> new AppEntityNotFoundException("Bulk job not found with id: " + id));
+    }
+
+    /**
+     * Finds the handler of a job type.
+     * @param type The job type.
+     * @return The handler.
+     * @throws AppBadRequestException if no handler runs the type.
+     */
+    private BulkJobHandler handler(BulkJobType type) {
+        return bulkJobHandlers.stream()
+                .filter(handler -> handler.type() == type)
+                .findFirst()
+                .orElseThrow(() -> new AppBadRequestException("Unsupported job type: " + type));
+    }
+}
@@ -0,0 +1,56 @@
+package com.crm.contactmanagementservice.service.impl;
+
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a change feed, merged from the changed rows and the tombstones of one user.
+ * Both lists are read with one keyset query each, strictly after the same watermark and before the same horizon from
+ * ChangeFeedHorizon, so every change on the page is committed for good and none can later appear behind the watermark.
+ * They are merged in (time, id) order, an updated row before a tombstone with the same time and id.
+ * @param changes The changes in order.
+ * @param next The watermark after the last change on the page, or the requested one if the page is empty.
+ * @param hasMore Whether changes were left over for the next page.
+ * @param <C> The type of a change.
+ */
+record ChangeFeedPage<C>(List<C> changes, ChangeCursor next, boolean hasMore) {
+
+    /**
+     * Merges up to limit changes from the changed rows and the tombstones, both already in (time, id) order.
+     * @param since The watermark both lists were read after.
+     * @param limit The maximum number of changes on the page.
+     * @param changed The changed rows.
+     * @param changedAt Returns the position of a changed row in the feed.
+     * @param toChange Converts a changed row to a change.
+     * @param deleted The tombstones.
+     * @param deletedAt Returns the position of a tombstone in the feed.
+     * @param toDelete Converts a tombstone to a change.
+     * @return The page.
+     * @param <R> The type of a changed row.
+     * @param <T> The type of a tombstone.
+     * @param <C> The type of a change.
+     */
+    static <R, T, C> ChangeFeedPage<C> merge(ChangeCursor since, int limit,
+                                             List<R> changed, Function<R, ChangeCursor> changedAt, Function<R, C> toChange,
+                                             List<T> deleted, Function<T, ChangeCursor> deletedAt, Function<T, C> toDelete) {
+        List<C> changes = new ArrayList<>(Math.min(limit, changed.size() + deleted.size()));
+        ChangeCursor next = since;
+        int c = 0;
+        int d = 0;
+        while (changes.size() < limit && (c < changed.size() || d < deleted.size())) {
+            ChangeCursor changedNext = c < changed.size() ? changedAt.apply(changed.get(c)) : null;
+            ChangeCursor deletedNext = d < deleted.size() ? deletedAt.apply(deleted.get(d)) : null;
+            if (deletedNext == null || (changedNext != null && changedNext.compareTo(deletedNext) <= 0)) {
+                changes.add(toChange.apply(changed.get(c++)));
+                next = changedNext;
+            } else {
+                changes.add(toDelete.apply(deleted.get(d++)));
+                next = deletedNext;
+            }
+        }
+        return new ChangeFeedPage<>(changes, next, c < changed.size() || d < deleted.size());
+    }
+}
@@ -1,15 +1,46 @@
 package com.crm.contactmanagementservice.service.impl;
 
+import com.crm.contactmanagementservice.cache.ContactLookupCache;
+import com.crm.contactmanagementservice.cache.ContactTypeaheadIndex;
 import com.crm.contactmanagementservice.service.ContactListService;
+import com.crm.contactmanagementservice.config.PrimaryReads;
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactListChangeDTO;
+import com.crm.contactmanagementservice.dto.ContactListChangesDTO;
 import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.dto.ContactListDetailDTO;
+import com.crm.contactmanagementservice.dto.ContactListSummaryDTO;
+import com.crm.contactmanagementservice.dto.ContactDTO;
 import com.crm.contactmanagementservice.mapper.ContactListMapper;
+import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.crm.contactmanagementservice.repository.ChangeFeedHorizon;
 import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactListTombstoneRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.repository.ContactTombstoneRepository;
+import com.crm.contactmanagementservice.repository.TombstoneRetention;
 import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.entity.ContactListTombstoneEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.event.ContactListChangedEvent;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.outbox.OutboxWriter;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,8 +55,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ContactListServiceImpl implements ContactListService {
 
+    /**
+     * Order of the contacts in a contact list detail.
+     */
+    private static final Comparator<ContactDTO> CONTACT_ORDER = Comparator
+            .comparing(ContactDTO::lastName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(ContactDTO::firstName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(ContactDTO::id);
+
     private final ContactListRepository contactListRepository;
+    private final ContactRepository contactRepository;
     private final ContactListMapper contactListMapper;
+    private final ContactMapper contactMapper;
+    private final ContactTypeaheadIndex contactTypeaheadIndex;
+    private final ContactLookupCache contactLookupCache;
+    private final ContactListTombstoneRepository contactListTombstoneRepository;
+    private final ContactTombstoneRepository contactTombstoneRepository;
+    private final ChangeFeedHorizon changeFeedHorizon;
+    private final TombstoneRetention tombstoneRetention;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Fetches a contact list by its id.
@@ -35,18 +85,41 @@ public class ContactListServiceImpl implements ContactListService {
      */
     @Override
     public ContactListDTO getContactListById(UUID id) {
-        log.info("Fetching contact list by id: {}", id);
+        log.debug("Fetching contact list by id: {}", id);
         return contactListMapper.toDTO(contactListRepository.findContactListEntityById(id)
                 .orElseThrow(() -> new RuntimeException("ContactList not found")));
     }
 
+    /**
+     * Fetches a contact list by its id together with its contacts and their counts.
+     * The list and its contacts are read with a single fetch-join query inside one read-only transaction, and the
+     * counts are taken from the loaded contacts, so the cost is one SELECT however many contacts the list holds.
+     * @param id The id of the contact list to fetch.
+     * @return The fetched ContactListDetailDTO.
+     * @throws AppEntityNotFoundException if the contact list is not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContactListDetailDTO getContactListDetailById(UUID id) {
+        log.debug("Fetching contact list detail by id: {}", id);
+        ContactListEntity contactListEntity = contactListRepository.findContactListWithContactsById(id)
+                .orElseThrow(() -> new AppEntityNotFoundException("ContactList not found with id: " + id));
+        List<ContactDTO> contacts = contactListEntity.getContacts().stream()
+                .map(contactMapper::toDTO)
+                .sorted(CONTACT_ORDER)
+                .toList();
+        int doNotContactCount = (int) contacts.stream().filter(contact -> Boolean.TRUE.equals(contact.doNotContact())).count();
+        return new ContactListDetailDTO(contactListEntity.getId(), contactListEntity.getListName(),
+                contactListEntity.getUserId(), contacts.size(), doNotContactCount, contacts);
+    }
+
     /**
      * Fetches all contact lists.
      * @return A Set of all ContactListDTO.
      */
     @Override
     public Set<ContactListDTO> getAllContactLists() {
-        log.info("Fetching all contact lists");
+        log.debug("Fetching all contact lists");
         return contactListRepository.findAll().stream()
                 .map(contactListMapper::toDTO)
                 .collect(Collectors.toSet());
@@ -58,14 +131,59 @@ public class ContactListServiceImpl implements ContactListService {
      */
     @Override
     public Set<ContactListDTO> getAllContactListsByUserId(UUID id) {
-        log.info("Fetching all contact lists by user id: {}", id);
+        log.debug("Fetching all contact lists by user id: {}", id);
         return contactListRepository.findAllContactListsByUserId(id).stream()
                 .map(contactListMapper::toDTO)
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Fetches all contact lists who share the same user id together with their contact counts.
+     * The counts are computed by the database in the same query, so no contacts are loaded.
+     * @param userId The id of the user whose contact lists to fetch.
+     * @return A List of ContactListSummaryDTO ordered by list name.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContactListSummaryDTO> getContactListSummariesByUserId(UUID userId) {
+        log.debug("Fetching contact list summaries by user id: {}", userId);
+        return contactListRepository.findContactListSummariesByUserId(userId);
+    }
+
+    /**
+     * Fetches a page of the changes to a user's contact lists after a watermark.
+     * Updated contact lists and tombstones are read up to the horizon and merged into a {@link ChangeFeedPage}.
+     * The page is read from the primary, like the contact feed, so a lagging replica cannot move the watermark past
+     * changes it has not replayed yet.
+     * @param userId The id of the user whose contact list changes to fetch.
+     * @param since The watermark to start strictly after.
+     * @param limit The maximum number of changes to return.
+     * @return The changes in order, and the watermark to resume from.
+     * @throws AppResyncRequiredException if the watermark is older than the tombstone retention window.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContactListChangesDTO getContactListChangesByUserId(UUID userId, ChangeCursor since, int limit) {
+        log.debug("Fetching contact list changes by user id: {}", userId);
+        tombstoneRetention.requireRetained(since);
+        return PrimaryReads.call(() -> {
+            Instant until = changeFeedHorizon.current();
+            List<ContactListEntity> changed = contactListRepository.findContactListsChangedByUserIdAfter(
+                    userId, since.at(), since.id(), until, limit + 1);
+            List<ContactListTombstoneEntity> deleted = contactListTombstoneRepository.findContactListTombstonesByUserIdAfter(
+                    userId, since.at(), since.id(), until, limit + 1);
+            ChangeFeedPage<ContactListChangeDTO> page = ChangeFeedPage.merge(since, limit,
+                    changed, entity -> new ChangeCursor(entity.getUpdatedAt(), entity.getId()),
+                    entity -> new ContactListChangeDTO(entity.getId(), false, contactListMapper.toDTO(entity)),
+                    deleted, tombstone -> new ChangeCursor(tombstone.getDeletedAt(), tombstone.getContactListId()),
+                    tombstone -> new ContactListChangeDTO(tombstone.getContactListId(), true, null));
+            return new ContactListChangesDTO(page.changes(), page.next().encode(), page.hasMore());
+        });
+    }
+
     /**
      * Creates a new contact list.
+     * The contact list and its CONTACT_LIST_CREATED outbox event are written in one transaction.
      * @param contactListDTO The ContactListDTO to create.
      * @return The created ContactListDTO.
      */
@@ -73,7 +191,16 @@ public class ContactListServiceImpl implements ContactListService {
     public ContactListDTO createContactList(ContactListDTO contactListDTO) {
         log.info("Creating new contact list");
         ContactListEntity contactListEntity = contactListMapper.toEntity(contactListDTO);
-        return contactListMapper.toDTO(contactListRepository.save(contactListEntity));
+        ContactListDTO created = transactionTemplate.execute(status -> {
+            ContactListDTO saved = contactListMapper.toDTO(contactListRepository.save(contactListEntity));
+            outboxWriter.append(OutboxEventType.CONTACT_LIST_CREATED, saved.id(), saved);
+            return saved;
+        });
+        if (created.userId() != null) {
+            contactTypeaheadIndex.invalidateUser(created.userId());
+            eventPublisher.publishEvent(new ContactListChangedEvent(created.userId(), created.id(), false));
+        }
+        return created;
     }
 
     /**
@@ -85,23 +212,106 @@ public class ContactListServiceImpl implements ContactListService {
      */
     @Override
     public ContactListDTO updateContactList(ContactListDTO contactListDTO, UUID id) {
-        log.info("Updating contact list with id: {}", id);
-        ContactListEntity contactListEntity = contactListRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("ContactList not found with id: " + id));
+        return updateContactList(contactListDTO, id, null);
+    }
 
-        contactListEntity.setListName(contactListDTO.listName());
-        contactListEntity.setUserId(contactListDTO.userId());
+    /**
+     * Updates a contact list if it is still at the expected version.
+     * The version is checked when the contact list is loaded and again by the UPDATE, so a concurrent change between
+     * the two also fails the precondition. The contact list is loaded, written and given a CONTACT_LIST_UPDATED outbox
+     * event in one transaction; the event is skipped if nothing changed. When the owner changes, the list and its contacts
+     * get tombstones in the previous owner's change feeds and the contacts are stamped so they appear in the new
+     * owner's, all in the same transaction. The previous owner is told that the list and its contacts are gone and the
+     * new owner that they changed.
+     * @param contactListDTO The ContactListDTO to update.
+     * @param id The id of the contact list to update.
+     * @param expectedVersion The version the client last saw, or null to update unconditionally.
+     * @return The updated ContactListDTO.
+     * @throws RuntimeException if the contact list is not found.
+     * @throws AppPreconditionFailedException if the contact list is not at the expected version.
+     */
+    @Override
+    public ContactListDTO updateContactList(ContactListDTO contactListDTO, UUID id, Long expectedVersion) {
+        log.info("Updating contact list with id: {}", id);
+        UUID[] previousUserId = new UUID[1];
+        ContactListDTO updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                ContactListEntity contactListEntity = contactListRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("ContactList not found with id: " + id));
+                if (expectedVersion != null && contactListEntity.getVersion() != expectedVersion) {
+                    throw new AppPreconditionFailedException("ContactList with id: " + id + " is at version "
+                            + contactListEntity.getVersion() + ", not " + expectedVersion);
+                }
 
-        return contactListMapper.toDTO(contactListRepository.save(contactListEntity));
+                previousUserId[0] = contactListEntity.getUserId();
+                boolean handedOver = previousUserId[0] != null && !previousUserId[0].equals(contactListDTO.userId());
+                if (handedOver) {
+                    contactListTombstoneRepository.insertContactListTombstone(id);
+                    contactTombstoneRepository.insertContactListContactTombstones(id);
+                }
+                long version = contactListEntity.getVersion();
+                contactListEntity.setListName(contactListDTO.listName());
+                contactListEntity.setUserId(contactListDTO.userId());
+                ContactListEntity saved = contactListRepository.saveAndFlush(contactListEntity);
+                if (handedOver) {
+                    contactRepository.touchContactListContacts(id);
+                }
+                ContactListDTO savedDTO = contactListMapper.toDTO(saved);
+                if (saved.getVersion() != version) {
+                    outboxWriter.append(OutboxEventType.CONTACT_LIST_UPDATED, id, savedDTO);
+                }
+                return savedDTO;
+            });
+        } catch (OptimisticLockingFailureException ex) {
+            if (expectedVersion == null) {
+                throw ex;
+            }
+            throw new AppPreconditionFailedException("ContactList with id: " + id + " is no longer at version " + expectedVersion);
+        }
+        contactTypeaheadIndex.invalidateContactList(id);
+        if (updated.userId() != null) {
+            contactTypeaheadIndex.invalidateUser(updated.userId());
+            eventPublisher.publishEvent(new ContactListChangedEvent(updated.userId(), id, false));
+        }
+        if (previousUserId[0] != null && !previousUserId[0].equals(updated.userId())) {
+            eventPublisher.publishEvent(new ContactListChangedEvent(previousUserId[0], id, true));
+            eventPublisher.publishEvent(new ContactChangedEvent(previousUserId[0], null, null, true));
+        }
+        if (updated.userId() != null && !updated.userId().equals(previousUserId[0])) {
+            eventPublisher.publishEvent(ContactChangedEvent.anyIn(id));
+        }
+        return updated;
     }
 
     /**
      * Deletes a contact list by its id.
+     * The list's contacts are detached first with a new version, so their entity tags no longer match, and every cached
+     * contact is dropped. Tombstones for the list and for each of its contacts are recorded in the same transaction, so both change feeds report the delete, and the
+     * owner's change topics are notified once the transaction commits. A CONTACT_LIST_DELETED outbox event is written
+     * in the same transaction. The list is loaded once for its owner and deleteById finds it again in the persistence
+     * context. The caches are cleared after the commit, so a concurrent lookup cannot cache a contact as it was before.
      * @param id The id of the contact list to delete.
      */
     @Override
     public void deleteContactListById(UUID id) {
         log.info("Deleting contact list by id: {}", id);
-        contactListRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            contactTombstoneRepository.insertContactListContactTombstones(id);
+            contactListTombstoneRepository.insertContactListTombstone(id);
+            contactRepository.detachContactListContacts(id);
+            Optional<ContactListEntity> contactList = contactListRepository.findById(id);
+            UUID userId = contactList.map(ContactListEntity::getUserId).orElse(null);
+            contactListRepository.deleteById(id);
+            if (contactList.isPresent()) {
+                outboxWriter.append(OutboxEventType.CONTACT_LIST_DELETED, id, Map.of("id", id));
+            }
+            if (userId != null) {
+                eventPublisher.publishEvent(new ContactListChangedEvent(userId, id, true));
+                eventPublisher.publishEvent(new ContactChangedEvent(userId, null, null, true));
+            }
+        });
+        contactLookupCache.invalidateAll();
+        contactTypeaheadIndex.invalidateContactList(id);
     }
 }
\ No newline at end of file
@@ -1,19 +1,67 @@
 package com.crm.contactmanagementservice.service.impl;
 
+import com.crm.contactmanagementservice.cache.ContactLookupCache;
+import com.crm.contactmanagementservice.cache.ContactTypeaheadIndex;
+import com.crm.contactmanagementservice.config.PrimaryReads;
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactBatchResultDTO;
+import com.crm.contactmanagementservice.dto.ContactCacheStatsDTO;
+import com.crm.contactmanagementservice.dto.ContactChangeDTO;
+import com.crm.contactmanagementservice.dto.ContactChangesDTO;
 import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
 import com.crm.contactmanagementservice.service.ContactService;
 import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactImportResultDTO;
+import com.crm.contactmanagementservice.dto.ContactImportRowDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveResultDTO;
 import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactTombstoneEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
 import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.outbox.OutboxWriter;
+import com.crm.contactmanagementservice.repository.ChangeFeedHorizon;
 import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.repository.ContactTombstoneRepository;
+import com.crm.contactmanagementservice.repository.TombstoneRetention;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.crm.contactmanagementservice.logging.PiiMasking;
 import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing contacts.
@@ -23,100 +71,225 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ContactServiceImpl implements ContactService {
 
+    /**
+     * Number of rows written per import transaction. Matches hibernate.jdbc.batch_size.
+     */
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    /**
+     * Number of ids bound to each query of a batch lookup.
+     */
+    private static final int BATCH_GET_CHUNK_SIZE = 500;
+
+    /**
+     * Number of contacts moved per UPDATE statement of a bulk move. Each statement commits on its own.
+     */
+    private static final int MOVE_CHUNK_SIZE = 1000;
+
     private final ContactRepository contactRepository;
     private final ContactMapper contactMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactTypeaheadIndex contactTypeaheadIndex;
+    private final ContactLookupCache contactLookupCache;
+    private final ContactTombstoneRepository contactTombstoneRepository;
+    private final ChangeFeedHorizon changeFeedHorizon;
+    private final TombstoneRetention tombstoneRetention;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Fetches a contact by its ID.
+     * Served from the lookup cache when possible; a miss reads the row straight into a DTO.
      * @param id The ID of the contact.
      * @return The contact DTO.
      * @throws AppEntityNotFoundException if the contact is not found.
      */
     @Override
     public ContactDTO getContactById(UUID id) {
-        log.info("Fetching contact by id: {}", id);
-        return contactMapper.toDTO(contactRepository.findContactEntityById(id)
+        log.debug("Fetching contact by id: {}", id);
+        return contactLookupCache.getById(id, () -> contactRepository.findContactDTOById(id)
                 .orElseThrow(() -> new AppEntityNotFoundException("Contact not found")));
     }
 
+    /**
+     * Fetches several contacts by ID.
+     * Distinct IDs are looked up in chunks with one array-bound native query each. Unlike getContactById, which reads
+     * its DTO straight from a JPQL projection, the rows are loaded as entities in a read-only transaction that keeps no
+     * snapshots, and converted by ContactMapper. Duplicate IDs are answered once per occurrence.
+     * @param ids The IDs of the contacts.
+     * @return The contacts found in request order, and the IDs that were not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContactBatchResultDTO getContactsByIds(List<UUID> ids) {
+        log.debug("Fetching {} contacts by id", ids.size());
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<UUID, ContactDTO> found = new HashMap<>(distinct.size() * 2);
+        for (int from = 0; from < distinct.size(); from += BATCH_GET_CHUNK_SIZE) {
+            UUID[] chunk = distinct.subList(from, Math.min(from + BATCH_GET_CHUNK_SIZE, distinct.size())).toArray(UUID[]::new);
+            contactRepository.findAllContactEntitiesByIds(chunk)
+                    .forEach(entity -> found.put(entity.getId(), contactMapper.toDTO(entity)));
+        }
+        List<ContactDTO> contacts = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            ContactDTO contact = found.get(id);
+            if (contact != null) {
+                contacts.add(contact);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new ContactBatchResultDTO(contacts, missing);
+    }
+
     /**
      * Fetches a contact by its email.
+     * Served from the lookup cache when possible; a miss reads the row straight into a DTO.
      * @param email The email of the contact.
      * @return The contact DTO.
      * @throws AppEntityNotFoundException if the contact is not found.
      */
     @Override
     public ContactDTO getContactByEmail(String email) {
-        log.info("Fetching contact by email: {}", email);
-        return contactMapper.toDTO(contactRepository.findContactEntityByEmail(email)
+        log.debug("Fetching contact by email: {}", PiiMasking.maskEmail(email));
+        return contactLookupCache.getByEmail(email, () -> contactRepository.findContactDTOByEmail(email)
                 .orElseThrow(() -> new AppEntityNotFoundException("Contact not found")));
     }
 
     /**
      * Fetches a contact by its phone number.
+     * Phone numbers are not unique, so the lookup is not cached; it reads the row straight into a DTO.
      * @param phone The phone number of the contact.
      * @return The contact DTO.
      * @throws AppEntityNotFoundException if the contact is not found.
      */
     @Override
     public ContactDTO getContactByPhone(String phone) {
-        log.info("Fetching contact by phone: {}", phone);
-        return contactMapper.toDTO(contactRepository.findContactEntityByPhone(phone)
-                .orElseThrow(() -> new AppEntityNotFoundException("Contact not found")));
+        log.debug("Fetching contact by phone: {}", PiiMasking.maskPhone(phone));
+        return contactRepository.findContactDTOByPhone(phone)
+                .orElseThrow(() -> new AppEntityNotFoundException("Contact not found"));
     }
 
     /**
      * Fetches all contacts.
+     * The rows are read straight into DTOs in a read-only transaction.
      * @return A set of all contact DTOs.
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<ContactDTO> getAllContacts() {
-        log.info("Fetching all contacts");
-        return contactRepository.findAllContactEntities().stream()
-                .map(contactMapper::toDTO)
-                .collect(Collectors.toSet());
+        log.debug("Fetching all contacts");
+        return contactRepository.findAllContactDTOs();
+    }
+
+    /**
+     * Streams a keyset page of contacts ordered by ID.
+     * The rows are read straight into DTOs, so the persistence context stays empty while the cursor advances.
+     * @param after The ID after which to start.
+     * @param limit The maximum number of contacts to stream.
+     * @param consumer The callback receiving each contact DTO.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamContacts(UUID after, int limit, Consumer<ContactDTO> consumer) {
+        log.debug("Streaming up to {} contacts after id: {}", limit, after);
+        try (Stream<ContactDTO> contacts = contactRepository.streamContactDTOsAfter(after, limit)) {
+            contacts.forEach(consumer);
+        }
     }
 
     /**
      * Fetches all contacts from a contact list by its ID.
+     * The rows are read straight into DTOs in a read-only transaction.
      * @param id The ID of the contact list.
      * @return A Set of ContactDTO representing all contacts in the specified contact list.
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<ContactDTO> getAllContactsByContactListID(UUID id) {
-        log.info("Fetching all contacts by contact list ID: {}", id);
-        return contactRepository.findAllContactsByContactListId(id).stream()
-                .map(contactMapper::toDTO)
-                .collect(Collectors.toSet());
+        log.debug("Fetching all contacts by contact list ID: {}", id);
+        return contactRepository.findContactDTOsByContactListId(id);
     }
     /**
      * Fetches all contacts from a user ID.
+     * The rows are read straight into DTOs in a read-only transaction.
      * @param id The ID of the contact list.
      * @return A Set of ContactDTO representing all contacts in the specified contact list.
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<ContactDTO> getAllContactsByUserId(UUID id) {
-        log.info("Fetching all contacts by user ID: {}", id);
-        return contactRepository.findAllContactsByUserId(id).stream()
-                .map(contactMapper::toDTO)
-                .collect(Collectors.toSet());
+        log.debug("Fetching all contacts by user ID: {}", id);
+        return contactRepository.findContactDTOsByUserId(id);
+    }
+
+    /**
+     * Streams all contacts from a user ID.
+     * The rows are read straight into DTOs, so the persistence context stays empty while the cursor advances.
+     * @param userId The ID of the user.
+     * @param consumer The callback receiving each contact DTO.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamContactsByUserId(UUID userId, Consumer<ContactDTO> consumer) {
+        log.debug("Streaming all contacts by user ID: {}", userId);
+        try (Stream<ContactDTO> contacts = contactRepository.streamContactDTOsByUserId(userId)) {
+            contacts.forEach(consumer);
+        }
+    }
+
+    /**
+     * Fetches a page of the changes to a user's contacts after a watermark.
+     * Updated contacts and tombstones are read up to the horizon and merged into a {@link ChangeFeedPage}.
+     * A contact that moves to another user's contact list is reported to the new owner only.
+     * The page is read from the primary, even with read replicas: the horizon only holds back the transactions open on
+     * the database it is read from, and a lagging replica would hand out a watermark past changes it has not replayed
+     * yet, which the client would then never fetch. The pin is taken before the first statement, which is when the
+     * transaction gets its connection.
+     * @param userId The ID of the user whose contact changes to fetch.
+     * @param since The watermark to start strictly after.
+     * @param limit The maximum number of changes to return.
+     * @return The changes in order, and the watermark to resume from.
+     * @throws AppResyncRequiredException if the watermark is older than the tombstone retention window.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContactChangesDTO getContactChangesByUserId(UUID userId, ChangeCursor since, int limit) {
+        log.debug("Fetching contact changes by user id: {}", userId);
+        tombstoneRetention.requireRetained(since);
+        return PrimaryReads.call(() -> {
+            Instant until = changeFeedHorizon.current();
+            List<ContactEntity> changed = contactRepository.findContactsChangedByUserIdAfter(
+                    userId, since.at(), since.id(), until, limit + 1);
+            List<ContactTombstoneEntity> deleted = contactTombstoneRepository.findContactTombstonesByUserIdAfter(
+                    userId, since.at(), since.id(), until, limit + 1);
+            ChangeFeedPage<ContactChangeDTO> page = ChangeFeedPage.merge(since, limit,
+                    changed, entity -> new ChangeCursor(entity.getUpdatedAt(), entity.getId()),
+                    entity -> new ContactChangeDTO(entity.getId(), false, contactMapper.toDTO(entity)),
+                    deleted, tombstone -> new ChangeCursor(tombstone.getDeletedAt(), tombstone.getContactId()),
+                    tombstone -> new ContactChangeDTO(tombstone.getContactId(), true, null));
+            return new ContactChangesDTO(page.changes(), page.next().encode(), page.hasMore());
+        });
     }
 
     /**
      * Fetches all contacts by a contact list ID.
+     * The rows are read straight into DTOs in a read-only transaction.
      * @param contactListId The ID of the contact list.
      * @return A set of all contact DTOs in the contact list.
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<ContactDTO> getAllContactsByContactListId(UUID contactListId) {
-        log.info("Fetching all contacts by contact list ID: {}", contactListId);
-        return contactRepository.findAllContactsByContactListId(contactListId).stream()
-                .map(contactMapper::toDTO)
-                .collect(Collectors.toSet());
+        log.debug("Fetching all contacts by contact list ID: {}", contactListId);
+        return contactRepository.findContactDTOsByContactListId(contactListId);
     }
 
     /**
      * Creates a new contact.
+     * The contact and its CONTACT_CREATED outbox event are written in one transaction.
      * @param contactDTO The contact DTO to create.
      * @return The created contact DTO.
      */
@@ -127,75 +300,446 @@ public class ContactServiceImpl implements ContactService {
         if (contactDTO.contactListId() == null) {
             contactEntity.setContactList(null);
         }
-        return contactMapper.toDTO(contactRepository.save(contactEntity));
+        ContactDTO created = transactionTemplate.execute(status -> {
+            ContactDTO saved = contactMapper.toDTO(contactRepository.save(contactEntity));
+            outboxWriter.append(OutboxEventType.CONTACT_CREATED, saved.id(), saved);
+            return saved;
+        });
+        contactTypeaheadIndex.onContactSaved(created);
+        publishSaved(created);
+        return created;
+    }
+
+    /**
+     * Creates contacts in bulk.
+     * Rows are read in batches of {@value #IMPORT_BATCH_SIZE}; each batch is validated, checked for duplicate emails
+     * with a single query and inserted in its own transaction, so a rejected batch never rolls back earlier ones. The
+     * CONTACT_CREATED outbox events of a batch are inserted in the same transaction and flush. A row that cannot be
+     * mapped to a contact is reported like an invalid one; malformed JSON is reported on the row it occurs in and ends
+     * the import there, as the reader cannot find the start of the next row.
+     * @param contacts The contact DTOs to create, in payload order.
+     * @return The per-row outcome and throughput of the import.
+     */
+    @Override
+    public ContactImportResultDTO importContacts(Iterator<ContactDTO> contacts) {
+        log.info("Importing contacts in batches of {}", IMPORT_BATCH_SIZE);
+        long start = System.nanoTime();
+        List<ContactImportRowDTO> rows = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<ContactDTO> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<String> readErrors = new ArrayList<>(IMPORT_BATCH_SIZE);
+        boolean malformed = false;
+        while (!malformed) {
+            ContactDTO contactDTO = null;
+            String readError = null;
+            try {
+                if (!contacts.hasNext()) {
+                    break;
+                }
+                contactDTO = contacts.next();
+            } catch (RuntimeJsonMappingException ex) {
+                readError = "Unreadable contact: " + readErrorOf(ex);
+            } catch (RuntimeException ex) {
+                if (!(ex.getCause() instanceof JsonProcessingException)) {
+                    throw ex;
+                }
+                readError = "Malformed JSON, rest of the payload not read: " + readErrorOf(ex);
+                malformed = true;
+            }
+            batch.add(contactDTO);
+            readErrors.add(readError);
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                importBatch(batch, readErrors, seenEmails, rows);
+                batch.clear();
+                readErrors.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, readErrors, seenEmails, rows);
+        }
+
+        int succeeded = (int) rows.stream().filter(row -> row.error() == null).count();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        double rowsPerSecond = seconds > 0 ? rows.size() / seconds : rows.size();
+        log.info("Imported {} of {} contacts at {} rows/sec", succeeded, rows.size(), Math.round(rowsPerSecond));
+        return new ContactImportResultDTO(rows.size(), succeeded, rows.size() - succeeded, rowsPerSecond, rows);
+    }
+
+    /**
+     * Describes why an import row could not be read, without the location details of the whole payload.
+     * @param ex The exception thrown by the reader.
+     * @return The reason the row could not be read.
+     */
+    private static String readErrorOf(RuntimeException ex) {
+        return ex.getCause() instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+    }
+
+    /**
+     * Validates and inserts one import batch, appending an outcome for each of its rows.
+     * If the database rejects the batch, e.g. on a constraint, each of its rows is retried in its own transaction so
+     * that only the failing rows are reported.
+     * @param batch The contact DTOs in the batch, null for rows that could not be read.
+     * @param readErrors The reason each row could not be read, null for rows that were read.
+     * @param seenEmails The emails accepted so far in this import, used to reject duplicates within the payload.
+     * @param rows The outcomes collected so far.
+     */
+    private void importBatch(List<ContactDTO> batch, List<String> readErrors, Set<String> seenEmails,
+                             List<ContactImportRowDTO> rows) {
+        Set<String> batchEmails = new HashSet<>();
+        batch.stream().filter(Objects::nonNull).map(ContactDTO::email).filter(Objects::nonNull).forEach(batchEmails::add);
+        Set<String> takenEmails = batchEmails.isEmpty() ? Set.of() : contactRepository.findExistingEmails(batchEmails);
+
+        ContactEntity[] entities = new ContactEntity[batch.size()];
+        String[] errors = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            ContactDTO contactDTO = batch.get(i);
+            if (readErrors.get(i) != null) {
+                errors[i] = readErrors.get(i);
+            } else if (contactDTO == null || !contactDTO.isValidDto()) {
+                errors[i] = "Invalid contact";
+            } else if (contactDTO.email() != null
+                    && (takenEmails.contains(contactDTO.email()) || !seenEmails.add(contactDTO.email()))) {
+                errors[i] = "Contact already exists with email: " + contactDTO.email();
+            } else {
+                entities[i] = toImportEntity(contactDTO);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                contactRepository.saveAll(Arrays.stream(entities).filter(Objects::nonNull).toList()).forEach(saved ->
+                        outboxWriter.append(OutboxEventType.CONTACT_CREATED, saved.getId(), contactMapper.toDTO(saved)));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (DataAccessException | PersistenceException ex) {
+            log.warn("Import batch of {} rows rejected, retrying row by row: {}", batch.size(), ex.getMessage());
+            for (int i = 0; i < entities.length; i++) {
+                if (entities[i] != null) {
+                    // The rolled back entity keeps its id and version, so the row is retried with a fresh one
+                    ContactEntity contactEntity = toImportEntity(batch.get(i));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            ContactEntity saved = contactRepository.save(contactEntity);
+                            outboxWriter.append(OutboxEventType.CONTACT_CREATED, saved.getId(), contactMapper.toDTO(saved));
+                            entityManager.flush();
+                            entityManager.clear();
+                        });
+                        entities[i] = contactEntity;
+                    } catch (DataAccessException | PersistenceException rowEx) {
+                        seenEmails.remove(contactEntity.getEmail());
+                        errors[i] = "Contact rejected: " + rowEx.getMessage();
+                        entities[i] = null;
+                    }
+                }
+            }
+        }
+
+        Map<UUID, List<UUID>> importedByContactList = Arrays.stream(entities)
+                .filter(contactEntity -> contactEntity != null && contactEntity.getContactList() != null)
+                .collect(Collectors.groupingBy(contactEntity -> contactEntity.getContactList().getId(),
+                        Collectors.mapping(ContactEntity::getId, Collectors.toList())));
+        importedByContactList.forEach((contactListId, contactIds) -> {
+            contactTypeaheadIndex.invalidateContactList(contactListId);
+            eventPublisher.publishEvent(ContactChangedEvent.saved(contactListId, contactIds));
+        });
+        for (int i = 0; i < batch.size(); i++) {
+            rows.add(new ContactImportRowDTO(rows.size(), entities[i] == null ? null : entities[i].getId(), errors[i]));
+        }
+    }
+
+    /**
+     * Maps an import row to a new contact entity, leaving the id to the database.
+     * @param contactDTO The contact DTO of the row.
+     * @return The unsaved ContactEntity.
+     */
+    private ContactEntity toImportEntity(ContactDTO contactDTO) {
+        ContactEntity contactEntity = contactMapper.toEntity(contactDTO);
+        contactEntity.setId(null);
+        if (contactDTO.contactListId() == null) {
+            contactEntity.setContactList(null);
+        }
+        return contactEntity;
     }
 
     /**
      * Updates a contact.
+     * Only the fields present in the DTO are applied; a missing contact list leaves the contact where it is. A contact
+     * moved to another user's list gets a tombstone in its previous owner's change feed. The contact
+     * is loaded and changed in one transaction, and Hibernate's dirty checking then issues a single UPDATE of just the
+     * changed columns, guarded by the version column, or none at all if nothing changed. A CONTACT_UPDATED outbox event
+     * is written in the same transaction only if the contact was written. The caches are updated after the commit so a
+     * concurrent lookup cannot cache the row as it was before.
      * @param contactDTO The contact DTO to update.
      * @param id The ID of the contact to update.
      * @return The updated contact DTO.
      * @throws AppEntityNotFoundException if the contact is not found.
+     * @throws OptimisticLockException if the contact was changed concurrently.
      */
     @Override
     public ContactDTO updateContact(ContactDTO contactDTO, UUID id) {
-        log.info("Updating contact with id: {}", id);
-        ContactEntity contactEntity = contactRepository.findContactEntityById(id)
-                .orElseThrow(() -> new AppEntityNotFoundException("Contact not found with id: " + id));
+        return updateContact(contactDTO, id, null);
+    }
 
-        if(contactDTO.firstName() != null) {
-            contactEntity.setFirstName(contactDTO.firstName());
-        }
-        if(contactDTO.lastName() != null) {
-            contactEntity.setLastName(contactDTO.lastName());
-        }
-        if(contactDTO.preferredName() != null) {
-            contactEntity.setPreferredName(contactDTO.preferredName());
-        }
-        if(contactDTO.email() != null) {
-            contactEntity.setEmail(contactDTO.email());
-        }
-        if(contactDTO.phone() != null) {
-            contactEntity.setPhone(contactDTO.phone());
+    /**
+     * Updates a contact if it is still at the expected version.
+     * The version is checked when the contact is loaded and again by the UPDATE, so a concurrent change between the two
+     * also fails the precondition.
+     * @param contactDTO The contact DTO to update.
+     * @param id The ID of the contact to update.
+     * @param expectedVersion The version the client last saw, or null to update unconditionally.
+     * @return The updated contact DTO.
+     * @throws AppEntityNotFoundException if the contact is not found.
+     * @throws AppPreconditionFailedException if the contact is not at the expected version.
+     * @throws OptimisticLockException if the contact was changed concurrently during an unconditional update.
+     */
+    @Override
+    public ContactDTO updateContact(ContactDTO contactDTO, UUID id, Long expectedVersion) {
+        log.info("Updating contact with id: {}", id);
+        ContactDTO updated;
+        try {
+            updated = applyUpdate(contactDTO, id, expectedVersion);
+        } catch (OptimisticLockException | OptimisticLockingFailureException ex) {
+            if (expectedVersion == null) {
+                throw ex;
+            }
+            throw new AppPreconditionFailedException("Contact with id: " + id + " is no longer at version " + expectedVersion);
         }
-        if(contactDTO.fax() != null) {
-            contactEntity.setFax(contactDTO.fax());
+        contactLookupCache.invalidate(id);
+        contactTypeaheadIndex.onContactSaved(updated);
+        publishSaved(updated);
+        return updated;
+    }
+
+    /**
+     * Applies the non-null fields of a contact DTO to the stored contact in one transaction.
+     * @param contactDTO The contact DTO to update.
+     * @param id The ID of the contact to update.
+     * @param expectedVersion The version the contact must be at, or null for any version.
+     * @return The updated contact DTO.
+     */
+    private ContactDTO applyUpdate(ContactDTO contactDTO, UUID id, Long expectedVersion) {
+        return transactionTemplate.execute(status -> {
+            ContactEntity contactEntity = contactRepository.findContactEntityById(id)
+                    .orElseThrow(() -> new AppEntityNotFoundException("Contact not found with id: " + id));
+            if (expectedVersion != null && contactEntity.getVersion() != expectedVersion) {
+                throw new AppPreconditionFailedException("Contact with id: " + id + " is at version "
+                        + contactEntity.getVersion() + ", not " + expectedVersion);
+            }
+            if (contactDTO.contactListId() != null && (contactEntity.getContactList() == null
+                    || !contactDTO.contactListId().equals(contactEntity.getContactList().getId()))) {
+                contactTombstoneRepository.insertContactMoveTombstones(new UUID[]{id}, contactDTO.contactListId());
+            }
+
+            if(contactDTO.firstName() != null) {
+                contactEntity.setFirstName(contactDTO.firstName());
+            }
+            if(contactDTO.lastName() != null) {
+                contactEntity.setLastName(contactDTO.lastName());
+            }
+            if(contactDTO.preferredName() != null) {
+                contactEntity.setPreferredName(contactDTO.preferredName());
+            }
+            if(contactDTO.email() != null) {
+                contactEntity.setEmail(contactDTO.email());
+            }
+            if(contactDTO.phone() != null) {
+                contactEntity.setPhone(contactDTO.phone());
+            }
+            if(contactDTO.fax() != null) {
+                contactEntity.setFax(contactDTO.fax());
+            }
+            if (contactDTO.addressId() != null) {
+                contactEntity.setAddressId(contactDTO.addressId());
+            }
+            if (contactDTO.contactListId() != null) {
+                contactEntity.setContactList(entityManager.getReference(ContactListEntity.class, contactDTO.contactListId()));
+            }
+            if (contactDTO.doNotContact() != null) {
+                contactEntity.setDoNotContact(contactDTO.doNotContact());
+            }
+            long version = contactEntity.getVersion();
+            entityManager.flush();
+            ContactDTO updated = contactMapper.toDTO(contactEntity);
+            if (contactEntity.getVersion() != version) {
+                outboxWriter.append(OutboxEventType.CONTACT_UPDATED, id, updated);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Moves contacts to another contact list in bulk.
+     * Distinct IDs are moved in chunks, one set-based UPDATE and one short transaction per chunk, each with a
+     * CONTACTS_MOVED outbox event naming the chunk's IDs. Contacts leaving another user's list get a tombstone in that
+     * user's change feed. The moved contacts are dropped from the lookup cache and from the typeahead index even if a later chunk fails.
+     * @param ids The IDs of the contacts to move.
+     * @param targetContactListId The ID of the contact list to move them to.
+     * @return The number of contacts moved.
+     * @throws AppEntityNotFoundException if the target contact list is not found.
+     */
+    @Override
+    public ContactMoveResultDTO moveContacts(Collection<UUID> ids, UUID targetContactListId) {
+        log.info("Moving {} contacts to contact list with id: {}", ids.size(), targetContactListId);
+        requireContactList(targetContactListId);
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int moved = 0;
+        try {
+            for (int from = 0; from < distinct.size(); from += MOVE_CHUNK_SIZE) {
+                List<UUID> chunk = distinct.subList(from, Math.min(from + MOVE_CHUNK_SIZE, distinct.size()));
+                moved += transactionTemplate.execute(status -> {
+                    UUID[] chunkIds = chunk.toArray(UUID[]::new);
+                    contactTombstoneRepository.insertContactMoveTombstones(chunkIds, targetContactListId);
+                    int count = contactRepository.moveContactsToContactList(chunkIds, targetContactListId);
+                    if (count > 0) {
+                        outboxWriter.append(OutboxEventType.CONTACTS_MOVED, targetContactListId,
+                                new ContactMoveRequestDTO(List.copyOf(chunk), null, targetContactListId));
+                    }
+                    return count;
+                });
+            }
+        } finally {
+            distinct.forEach(contactLookupCache::invalidate);
+            contactTypeaheadIndex.invalidateContacts(distinct);
+            contactTypeaheadIndex.invalidateContactList(targetContactListId);
+            eventPublisher.publishEvent(ContactChangedEvent.saved(targetContactListId, distinct));
         }
-        if (contactDTO.addressId() != null) {
-            contactEntity.setAddressId(contactDTO.addressId());
+        log.info("Moved {} contacts to contact list with id: {}", moved, targetContactListId);
+        return new ContactMoveResultDTO(moved);
+    }
 
+    /**
+     * Moves every contact of one contact list to another.
+     * Contacts are moved in chunks, one short transaction per chunk, until the source list is empty. Each chunk locks
+     * the next contacts of the source list, records tombstones for the source list's owner if the target belongs to
+     * another user, and moves them with one set-based UPDATE. Each chunk writes a CONTACTS_MOVED outbox event naming its
+     * IDs and the two lists. The moved IDs are not known up front, so the whole lookup cache is cleared afterwards.
+     * @param sourceContactListId The ID of the contact list to empty.
+     * @param targetContactListId The ID of the contact list to move the contacts to.
+     * @return The number of contacts moved.
+     * @throws AppEntityNotFoundException if the target contact list is not found.
+     */
+    @Override
+    public ContactMoveResultDTO moveContactListContacts(UUID sourceContactListId, UUID targetContactListId) {
+        log.info("Moving contacts from contact list with id: {} to contact list with id: {}", sourceContactListId, targetContactListId);
+        if (sourceContactListId.equals(targetContactListId)) {
+            throw new AppBadRequestException("Source and target contact lists must differ");
         }
-        if (contactDTO.contactListId() != null) {
-            contactRepository.setContactListId(contactDTO.contactListId(), id);
-            contactEntity.setContactList(ContactListEntity.builder().id(contactDTO.contactListId()).build());
-        } else {
-            contactRepository.setContactListId(null, id);
-            contactEntity.setContactList(null);
+        requireContactList(targetContactListId);
+        int moved = 0;
+        try {
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> {
+                    UUID[] chunkIds = contactRepository.lockContactListContactIds(sourceContactListId, Limit.of(MOVE_CHUNK_SIZE))
+                            .toArray(UUID[]::new);
+                    if (chunkIds.length == 0) {
+                        return 0;
+                    }
+                    contactTombstoneRepository.insertContactMoveTombstones(chunkIds, targetContactListId);
+                    int count = contactRepository.moveContactsToContactList(chunkIds, targetContactListId);
+                    if (count > 0) {
+                        outboxWriter.append(OutboxEventType.CONTACTS_MOVED, targetContactListId,
+                                new ContactMoveRequestDTO(List.of(chunkIds), sourceContactListId, targetContactListId));
+                    }
+                    return count;
+                });
+                moved += chunk;
+            } while (chunk == MOVE_CHUNK_SIZE);
+        } finally {
+            contactLookupCache.invalidateAll();
+            contactTypeaheadIndex.invalidateContactList(sourceContactListId);
+            contactTypeaheadIndex.invalidateContactList(targetContactListId);
+            eventPublisher.publishEvent(ContactChangedEvent.anyIn(sourceContactListId));
+            eventPublisher.publishEvent(ContactChangedEvent.anyIn(targetContactListId));
         }
-        contactEntity.setDoNotContact(contactDTO.doNotContact());
-        return contactMapper.toDTO(contactRepository.save(contactEntity));
+        log.info("Moved {} contacts to contact list with id: {}", moved, targetContactListId);
+        return new ContactMoveResultDTO(moved);
     }
 
     /**
      * Deletes a contact by its ID.
+     * The contact's list is read first; a contact in a list gets a tombstone in the same transaction, so the change feed reports
+     * the delete, and the owner's change topic is notified once the transaction commits. A CONTACT_DELETED outbox event
+     * is written in the same transaction if a contact was deleted.
      * @param id The ID of the contact to delete.
      */
     @Override
     public void deleteContactById(UUID id) {
         log.info("Deleting contact by id: {}", id);
-        contactRepository.deleteContactEntityById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            contactRepository.findContactListByContactId(id).ifPresent(contactList -> {
+                contactTombstoneRepository.insertContactTombstone(id);
+                eventPublisher.publishEvent(new ContactChangedEvent(contactList.getUserId(), contactList.getId(), List.of(id), true));
+            });
+            if (contactRepository.deleteContactEntityById(id) > 0) {
+                outboxWriter.append(OutboxEventType.CONTACT_DELETED, id, Map.of("id", id));
+            }
+        });
+        contactLookupCache.invalidate(id);
+        contactTypeaheadIndex.onContactDeleted(id);
+    }
+
+    /**
+     * Returns the counters of the contact lookup cache.
+     * @return The cache statistics.
+     */
+    @Override
+    public ContactCacheStatsDTO getCacheStats() {
+        return contactLookupCache.stats();
+    }
+
+    /**
+     * Finds a user's contacts whose names start with the query, served from the in-memory typeahead index.
+     * @param userId The ID of the user whose contacts to search.
+     * @param query The prefix to search for.
+     * @param limit The maximum number of contacts to return.
+     * @return A list of matching contact DTOs, in name order.
+     */
+    @Override
+    public List<ContactDTO> typeahead(UUID userId, String query, int limit) {
+        return contactTypeaheadIndex.search(userId, query, limit);
     }
 
     /**
      * Searches contacts by name.
+     * The term is lower-cased once here and its LIKE wildcards are escaped, so user input is always matched literally.
+     * The ranking needs the native query, so entities are loaded, but in a read-only transaction that keeps no
+     * snapshots for dirty checking.
      * @param name The name to search for.
-     * @return A set of contact DTOs that match the search.
+     * @param limit The maximum number of contacts to return.
+     * @param offset The number of ranked contacts to skip.
+     * @return A list of contact DTOs that match the search, best matches first.
      */
     @Override
-    public Set<ContactDTO> searchContactsByName(String name) {
-        log.info("Searching contacts by first name, last name or preferred containing: {}", name);
-        return contactRepository.searchByName("%" + name + "%").stream()
+    @Transactional(readOnly = true)
+    public List<ContactDTO> searchContactsByName(String name, int limit, int offset) {
+        log.debug("Searching contacts by first name, last name or preferred containing: {}", PiiMasking.maskText(name));
+        String term = name.toLowerCase(Locale.ROOT);
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return contactRepository.searchByName(term, escaped + "%", "%" + escaped + "%", limit, offset).stream()
                 .map(contactMapper::toDTO)
-                .collect(Collectors.toSet());
+                .toList();
+    }
+
+    /**
+     * Checks that a contact list exists.
+     * @param contactListId The ID of the contact list.
+     * @throws AppEntityNotFoundException if the contact list is not found.
+     */
+    private void requireContactList(UUID contactListId) {
+        if (entityManager.find(ContactListEntity.class, contactListId) == null) {
+            throw new AppEntityNotFoundException("Contact list not found with id: " + contactListId);
+        }
+    }
+
+    /**
+     * Notifies the owner of a saved contact's list; a contact in no list belongs to no user's feed.
+     * @param contactDTO The saved contact.
+     */
+    private void publishSaved(ContactDTO contactDTO) {
+        if (contactDTO.contactListId() != null) {
+            eventPublisher.publishEvent(ContactChangedEvent.saved(contactDTO.contactListId(), List.of(contactDTO.id())));
+        }
     }
-}
\ No newline at end of file
+}
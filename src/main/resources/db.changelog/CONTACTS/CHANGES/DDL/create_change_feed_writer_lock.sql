@@ -0,0 +1,58 @@
+-- Only transactions that write the tables read by the change feeds hold the feeds back. Before stamping a row, the
+-- stamp triggers take a shared transaction-level advisory lock, then stamp the row from the clock. The horizon is the
+-- clock before the lock holders are read, or the start of the oldest transaction holding the lock if that is earlier.
+-- A writer that a horizon read misses took the lock after that read began, so every stamp it commits is later than
+-- the horizon. Read-only and idle sessions, streamed exports and other applications' sessions take no lock, so they no
+-- longer hold the feeds back.
+CREATE OR REPLACE FUNCTION public.change_feed_stamp() RETURNS timestamptz AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(1701143397);
+    RETURN clock_timestamp();
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.change_feed_horizon() RETURNS timestamptz AS
+$$
+DECLARE
+    horizon timestamptz := clock_timestamp();
+    oldest  timestamptz;
+BEGIN
+    -- pg_stat_activity is cached for the rest of the transaction once read; read it afresh, after the clock.
+    PERFORM pg_stat_clear_snapshot();
+    SELECT MIN(a.xact_start) INTO oldest
+    FROM pg_locks l
+    JOIN pg_stat_activity a ON a.pid = l.pid
+    WHERE l.locktype = 'advisory'
+      AND l.database = (SELECT d.oid FROM pg_database d WHERE d.datname = current_database())
+      AND l.classid = 0 AND l.objid = 1701143397 AND l.objsubid = 1
+      AND l.granted;
+    RETURN LEAST(horizon, oldest);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.stamp_updated_at() RETURNS trigger AS
+$$
+BEGIN
+    NEW.updated_at := public.change_feed_stamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.stamp_deleted_at() RETURNS trigger AS
+$$
+BEGIN
+    NEW.deleted_at := public.change_feed_stamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS contact_tombstone_stamp_deleted_at ON public.contact_tombstone;
+CREATE TRIGGER contact_tombstone_stamp_deleted_at
+    BEFORE INSERT ON public.contact_tombstone
+    FOR EACH ROW EXECUTE FUNCTION public.stamp_deleted_at();
+
+DROP TRIGGER IF EXISTS contact_list_tombstone_stamp_deleted_at ON public.contact_list_tombstone;
+CREATE TRIGGER contact_list_tombstone_stamp_deleted_at
+    BEFORE INSERT ON public.contact_list_tombstone
+    FOR EACH ROW EXECUTE FUNCTION public.stamp_deleted_at();
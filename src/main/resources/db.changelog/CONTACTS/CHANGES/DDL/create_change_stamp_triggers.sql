@@ -0,0 +1,20 @@
+-- Stamps contacts and contact lists with the start time of the writing transaction, from the database clock, on every
+-- insert and update. The change feeds hold back changes at or after the start of the oldest open transaction, which
+-- is only sound if no open transaction can commit an earlier stamp.
+CREATE OR REPLACE FUNCTION public.stamp_updated_at() RETURNS trigger AS
+$$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS contact_stamp_updated_at ON public.contact;
+CREATE TRIGGER contact_stamp_updated_at
+    BEFORE INSERT OR UPDATE ON public.contact
+    FOR EACH ROW EXECUTE FUNCTION public.stamp_updated_at();
+
+DROP TRIGGER IF EXISTS contact_list_stamp_updated_at ON public.contact_list;
+CREATE TRIGGER contact_list_stamp_updated_at
+    BEFORE INSERT OR UPDATE ON public.contact_list
+    FOR EACH ROW EXECUTE FUNCTION public.stamp_updated_at();
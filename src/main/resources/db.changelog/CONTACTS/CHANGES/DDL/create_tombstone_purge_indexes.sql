@@ -0,0 +1,4 @@
+-- Indexes backing the tombstone purge: tombstones older than the retention window are found by deletion time alone,
+-- across every user, so each purge batch reads only the expired rows instead of scanning the whole table.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_tombstone_deleted_at ON public.contact_tombstone (deleted_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_list_tombstone_deleted_at ON public.contact_list_tombstone (deleted_at);
@@ -0,0 +1,21 @@
+-- Tombstones of deleted contacts and contact lists, read by the change feeds together with updated_at.
+CREATE TABLE IF NOT EXISTS public.contact_tombstone
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contact_id  UUID        NOT NULL,
+    user_id     UUID        NULL,
+    deleted_at  TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS public.contact_list_tombstone
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contact_list_id  UUID        NOT NULL,
+    user_id          UUID        NULL,
+    deleted_at       TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_contact_tombstone_user_id_deleted_at
+    ON public.contact_tombstone (user_id, deleted_at, contact_id);
+CREATE INDEX IF NOT EXISTS idx_contact_list_tombstone_user_id_deleted_at
+    ON public.contact_list_tombstone (user_id, deleted_at, contact_list_id);
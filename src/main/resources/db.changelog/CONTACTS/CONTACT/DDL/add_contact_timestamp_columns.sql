@@ -0,0 +1,3 @@
+-- Creation and last modification times of a contact, the watermark of the contact change feed.
+ALTER TABLE public.contact ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+ALTER TABLE public.contact ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
@@ -0,0 +1,3 @@
+-- Index backing the contact change feed: each of a user's contact lists is read as a range of modification times
+-- after the watermark, so a poll only reads and sorts the contacts changed since, not every contact of the user.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_contact_list_id_updated_at ON public.contact (contact_list_id, updated_at, id);
@@ -0,0 +1,4 @@
+-- Indexes backing the contact lookups: by contact list, by phone and by email.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_contact_list_id ON public.contact (contact_list_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_phone ON public.contact (contact_phone);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_email ON public.contact (contact_email);
@@ -0,0 +1,6 @@
+-- Trigram indexes backing the contact name search.
+-- The search lower-cases each name column and matches it with LIKE, so the indexes are built on the same expressions.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_first_name_trgm ON public.contact USING gin (LOWER(contact_first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_last_name_trgm ON public.contact USING gin (LOWER(contact_last_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_preferred_name_trgm ON public.contact USING gin (LOWER(contact_preferred_name) gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Creation and last modification times of a contact list, the watermark of the contact list change feed.
+ALTER TABLE public.contact_list ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+ALTER TABLE public.contact_list ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
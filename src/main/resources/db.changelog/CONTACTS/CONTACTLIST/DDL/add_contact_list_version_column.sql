@@ -0,0 +1,2 @@
+-- Optimistic locking version, incremented by Hibernate on every update of a contact list.
+ALTER TABLE public.contact_list ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Index backing the per-user contact list lookup and the per-user contact join.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_list_user_id ON public.contact_list (user_id);
@@ -0,0 +1,19 @@
+-- Bulk jobs submitted through the API and run in chunks by the job workers of any instance.
+CREATE TABLE IF NOT EXISTS public.bulk_job
+(
+    id                     UUID          NOT NULL PRIMARY KEY,
+    job_type               VARCHAR(32)   NOT NULL,
+    status                 VARCHAR(16)   NOT NULL,
+    contact_list_id        UUID          NOT NULL,
+    target_contact_list_id UUID,
+    do_not_contact         BOOLEAN,
+    processed              BIGINT        NOT NULL DEFAULT 0,
+    error                  VARCHAR(1000),
+    worker_id              UUID,
+    heartbeat_at           TIMESTAMPTZ,
+    created_at             TIMESTAMPTZ   NOT NULL,
+    updated_at             TIMESTAMPTZ   NOT NULL
+);
+
+-- Only queued and running jobs are polled, so finished jobs stay out of the index the workers scan.
+CREATE INDEX IF NOT EXISTS idx_bulk_job_pending ON public.bulk_job (created_at) WHERE status IN ('QUEUED', 'RUNNING');
@@ -0,0 +1,12 @@
+-- Events written in the same transaction as the contact or contact list change they describe, drained by the relay.
+-- Ids come from a sequence allocated 50 at a time, so a batch of events is inserted in one round trip.
+CREATE SEQUENCE IF NOT EXISTS public.outbox_event_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS public.outbox_event
+(
+    id            BIGINT      NOT NULL PRIMARY KEY,
+    event_type    VARCHAR(32) NOT NULL,
+    aggregate_id  UUID        NOT NULL,
+    payload       TEXT        NOT NULL,
+    created_at    TIMESTAMPTZ NOT NULL
+);
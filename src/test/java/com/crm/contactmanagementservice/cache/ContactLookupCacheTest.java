@@ -0,0 +1,197 @@
+package com.crm.contactmanagementservice.cache;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ContactLookupCache.
+ * This class tests expiry, size eviction, secondary key mappings and invalidation with a controllable clock.
+ */
+class ContactLookupCacheTest {
+
+    private AtomicLong clock;
+    private ContactLookupCache cache;
+    private AtomicInteger loads;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a cache of two entries with a one-minute time to live.
+     */
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        cache = new ContactLookupCache(2, Duration.ofMinutes(1), clock::get);
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Tests that a contact loaded by id is then served by id and email.
+     * The test passes if only the first lookup loads.
+     */
+    @Test
+    @DisplayName("Lookup - serves id and email from one entry")
+    void givenLoadedContact_whenLookupBySecondaryKeys_thenHit() {
+        ContactDTO contact = contact("a@test.com", "111");
+
+        cache.getById(contact.id(), loader(contact));
+        cache.getById(contact.id(), loader(contact));
+        cache.getByEmail("a@test.com", loader(contact));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    /**
+     * Tests the time to live.
+     * The test passes if an expired contact is reloaded and counted as an eviction.
+     */
+    @Test
+    @DisplayName("Expiry - reloads after the time to live")
+    void givenExpiredContact_whenLookup_thenReload() {
+        ContactDTO contact = contact("a@test.com", "111");
+        cache.getById(contact.id(), loader(contact));
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.getById(contact.id(), loader(contact));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    /**
+     * Tests the size bound.
+     * The test passes if the least recently used contact and its secondary keys are evicted.
+     */
+    @Test
+    @DisplayName("Eviction - drops the least recently used contact when full")
+    void givenFullCache_whenLoadAnother_thenEvictLeastRecentlyUsed() {
+        ContactDTO first = contact("a@test.com", "111");
+        ContactDTO second = contact("b@test.com", "222");
+        ContactDTO third = contact("c@test.com", "333");
+        cache.getById(first.id(), loader(first));
+        cache.getById(second.id(), loader(second));
+        cache.getById(first.id(), loader(first));
+
+        cache.getById(third.id(), loader(third));
+        cache.getByEmail("b@test.com", loader(second));
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+    }
+
+    /**
+     * Tests invalidation.
+     * The test passes if an invalidated contact is no longer reachable by its id or email.
+     */
+    @Test
+    @DisplayName("Invalidation - drops every key of a contact")
+    void givenCachedContact_whenInvalidate_thenReload() {
+        ContactDTO contact = contact("a@test.com", "111");
+        cache.getById(contact.id(), loader(contact));
+
+        cache.invalidate(contact.id());
+        cache.getByEmail("a@test.com", loader(contact));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Tests a load that races with an invalidation.
+     * The test passes if the value loaded before the write is returned but not cached.
+     */
+    @Test
+    @DisplayName("Invalidation - does not cache a load that overlapped a write")
+    void givenInvalidationDuringLoad_whenLoadCompletes_thenDoNotCache() {
+        ContactDTO contact = contact("a@test.com", "111");
+
+        ContactDTO loaded = cache.getById(contact.id(), () -> {
+            cache.invalidate(contact.id());
+            return contact;
+        });
+
+        assertThat(loaded).isEqualTo(contact);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    /**
+     * Tests a load that races with an invalidation of another contact.
+     * The test passes if the loaded contact is still cached, as the write cannot have changed it.
+     */
+    @Test
+    @DisplayName("Invalidation - caches a load that overlapped a write to another contact")
+    void givenOtherContactInvalidatedDuringLoad_whenLoadCompletes_thenCache() {
+        ContactDTO contact = contact("a@test.com", "111");
+
+        cache.getByEmail("a@test.com", () -> {
+            cache.invalidate(UUID.randomUUID());
+            loads.incrementAndGet();
+            return contact;
+        });
+        cache.getById(contact.id(), loader(contact));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    /**
+     * Tests a load that races with the invalidation of every contact.
+     * The test passes if the loaded contact is returned but not cached.
+     */
+    @Test
+    @DisplayName("Invalidation - does not cache a load that overlapped a full invalidation")
+    void givenInvalidateAllDuringLoad_whenLoadCompletes_thenDoNotCache() {
+        ContactDTO contact = contact("a@test.com", "111");
+
+        ContactDTO loaded = cache.getById(contact.id(), () -> {
+            cache.invalidateAll();
+            return contact;
+        });
+
+        assertThat(loaded).isEqualTo(contact);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    /**
+     * Tests a load that starts after an invalidation while an older load is still in flight.
+     * The test passes if the newer load is cached, as it read the contact after the write.
+     */
+    @Test
+    @DisplayName("Invalidation - caches a load that started after the write")
+    void givenLoadStartedAfterInvalidation_whenLoadCompletes_thenCache() {
+        ContactDTO contact = contact("a@test.com", "111");
+        ContactDTO other = contact("b@test.com", "222");
+
+        cache.getById(other.id(), () -> {
+            cache.invalidate(contact.id());
+            cache.getById(contact.id(), loader(contact));
+            return other;
+        });
+        cache.getById(contact.id(), loader(contact));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    private Supplier<ContactDTO> loader(ContactDTO contact) {
+        return () -> {
+            loads.incrementAndGet();
+            return contact;
+        };
+    }
+
+    private ContactDTO contact(String email, String phone) {
+        return new ContactDTO(UUID.randomUUID(), null, "June", "Thomas", null, email, phone, null, null, false);
+    }
+}
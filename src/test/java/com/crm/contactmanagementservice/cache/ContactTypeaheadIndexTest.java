@@ -0,0 +1,298 @@
+package com.crm.contactmanagementservice.cache;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.crm.contactmanagementservice.mapper.ContactMapperImpl;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the ContactTypeaheadIndex.
+ * This class tests prefix matching, incremental maintenance, expiry and eviction by mocking the repositories the index
+ * loads from.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ContactTypeaheadIndexTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactListRepository contactListRepository;
+
+    private final ContactMapper mapper = new ContactMapperImpl();
+
+    private ContactTypeaheadIndex index;
+    private long now;
+
+    private UUID userId;
+    private UUID listId;
+    private ContactEntity jose;
+    private ContactEntity mary;
+
+    /**
+     * Sets up the test environment before each test.
+     * Gives the user one contact list holding two contacts.
+     */
+    @BeforeEach
+    public void setup() {
+        index = new ContactTypeaheadIndex(contactRepository, contactListRepository, 1_000_000, TTL, () -> now);
+        userId = UUID.randomUUID();
+        listId = UUID.randomUUID();
+        jose = contact("José", "Álvarez", null);
+        mary = contact("Mary", "Jones", "Mimi");
+        given(contactListRepository.findAllContactListsByUserId(userId))
+                .willReturn(Set.of(ContactListEntity.builder().id(listId).userId(userId).build()));
+        given(contactRepository.findContactDTOsByUserId(userId)).willReturn(mapper.toDTOs(Set.of(jose, mary)));
+    }
+
+    /**
+     * Tests the search method.
+     * The test passes if first, last, preferred and full names match case- and accent-insensitively.
+     */
+    @Test
+    @DisplayName("Search - matches any name prefix ignoring case and accents")
+    public void givenPrefix_whenSearch_thenReturnMatchingContacts() {
+        assertThat(index.search(userId, "jo", 10)).extracting(ContactDTO::id).containsExactly(mary.getId(), jose.getId());
+        assertThat(index.search(userId, "ALV", 10)).extracting(ContactDTO::id).containsExactly(jose.getId());
+        assertThat(index.search(userId, "mim", 10)).extracting(ContactDTO::id).containsExactly(mary.getId());
+        assertThat(index.search(userId, "mary j", 10)).extracting(ContactDTO::id).containsExactly(mary.getId());
+        assertThat(index.search(userId, "zed", 10)).isEmpty();
+    }
+
+    /**
+     * Tests that a loaded user is served from memory.
+     * The test passes if the repositories are queried only once across several searches.
+     */
+    @Test
+    @DisplayName("Search - loads each user once")
+    public void givenLoadedUser_whenSearchAgain_thenDoNotQueryDatabase() {
+        index.search(userId, "jo", 10);
+        index.search(userId, "ma", 10);
+
+        verify(contactRepository, times(1)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests the onContactSaved and onContactDeleted methods.
+     * The test passes if new, renamed and deleted contacts are reflected without reloading the user.
+     */
+    @Test
+    @DisplayName("Maintenance - applies saves and deletes incrementally")
+    public void givenLoadedUser_whenContactsChange_thenIndexIsCurrent() {
+        index.search(userId, "jo", 10);
+        UUID newId = UUID.randomUUID();
+
+        index.onContactSaved(new ContactDTO(newId, listId, "Joan", "Baez", null, null, null, null, null, false));
+        index.onContactSaved(new ContactDTO(mary.getId(), listId, "Mary", "Smith", null, null, null, null, null, false));
+        index.onContactDeleted(jose.getId());
+
+        assertThat(index.search(userId, "jo", 10)).extracting(ContactDTO::id).containsExactly(newId);
+        assertThat(index.search(userId, "smi", 10)).extracting(ContactDTO::id).containsExactly(mary.getId());
+        verify(contactRepository, times(1)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests the onContactSaved method when a contact moves to a list the user does not own.
+     * The test passes if the contact disappears from the user's suggestions.
+     */
+    @Test
+    @DisplayName("Maintenance - drops contacts moved to another user's list")
+    public void givenLoadedUser_whenContactMovesAway_thenRemoveIt() {
+        index.search(userId, "jo", 10);
+
+        index.onContactSaved(new ContactDTO(jose.getId(), UUID.randomUUID(), "José", "Álvarez", null, null, null, null, null, false));
+
+        assertThat(index.search(userId, "jos", 10)).isEmpty();
+    }
+
+    /**
+     * Tests the onContactSaved method when a contact moves between two loaded users.
+     * The test passes if the contact leaves the first user's suggestions and joins the second's, without reloading
+     * either user.
+     */
+    @Test
+    @DisplayName("Maintenance - moves contacts between loaded users")
+    public void givenTwoLoadedUsers_whenContactMoves_thenMoveItBetweenThem() {
+        UUID otherUser = UUID.randomUUID();
+        UUID otherList = UUID.randomUUID();
+        given(contactListRepository.findAllContactListsByUserId(otherUser))
+                .willReturn(Set.of(ContactListEntity.builder().id(otherList).userId(otherUser).build()));
+        given(contactRepository.findContactDTOsByUserId(otherUser)).willReturn(Set.of());
+        index.search(userId, "jo", 10);
+        index.search(otherUser, "jo", 10);
+
+        index.onContactSaved(new ContactDTO(jose.getId(), otherList, "José", "Álvarez", null, null, null, null, null, false));
+
+        assertThat(index.search(userId, "jos", 10)).isEmpty();
+        assertThat(index.search(otherUser, "jos", 10)).extracting(ContactDTO::id).containsExactly(jose.getId());
+        verify(contactRepository, times(1)).findContactDTOsByUserId(userId);
+        verify(contactRepository, times(1)).findContactDTOsByUserId(otherUser);
+    }
+
+    /**
+     * Tests the memory estimate across incremental changes.
+     * The test passes if adding, renaming and removing a contact returns the estimate to where it started.
+     */
+    @Test
+    @DisplayName("Maintenance - keeps the memory estimate in step with incremental changes")
+    public void givenLoadedUser_whenContactAddedAndRemoved_thenEstimateRestored() {
+        index.search(userId, "jo", 10);
+        long loaded = index.usedBytes();
+        UUID newId = UUID.randomUUID();
+
+        index.onContactSaved(new ContactDTO(newId, listId, "Joan", "Baez", null, null, null, null, null, false));
+        long added = index.usedBytes();
+        index.onContactSaved(new ContactDTO(newId, listId, "Joanna", "Baez", "Jo", null, null, null, null, false));
+        index.onContactDeleted(newId);
+
+        assertThat(added).isGreaterThan(loaded);
+        assertThat(index.usedBytes()).isEqualTo(loaded);
+    }
+
+    /**
+     * Tests the invalidateContacts method.
+     * The test passes if a user holding one of the contacts is reloaded on the next search.
+     */
+    @Test
+    @DisplayName("Maintenance - reloads users holding contacts moved in bulk")
+    public void givenLoadedUser_whenContactsInvalidated_thenReload() {
+        index.search(userId, "jo", 10);
+
+        index.invalidateContacts(List.of(UUID.randomUUID(), mary.getId()));
+        index.search(userId, "jo", 10);
+
+        verify(contactRepository, times(2)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests the time to live.
+     * The test passes if a snapshot is served until it expires, even after incremental changes, and rebuilt after.
+     */
+    @Test
+    @DisplayName("Expiry - rebuilds a user's snapshot once it is older than the time to live")
+    public void givenExpiredSnapshot_whenSearch_thenReload() {
+        index.search(userId, "jo", 10);
+        now += TTL.toNanos() - 1;
+        index.onContactDeleted(jose.getId());
+        index.search(userId, "jo", 10);
+        verify(contactRepository, times(1)).findContactDTOsByUserId(userId);
+
+        now += 1;
+        index.search(userId, "jo", 10);
+
+        verify(contactRepository, times(2)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests a write to another user while a snapshot is being built.
+     * The test passes if the snapshot is still cached, as the write cannot have changed it.
+     */
+    @Test
+    @DisplayName("Maintenance - caches a snapshot built during another user's write")
+    public void givenOtherUsersWriteDuringBuild_whenSearch_thenCache() {
+        given(contactRepository.findContactDTOsByUserId(userId)).willAnswer(invocation -> {
+            index.onContactSaved(new ContactDTO(UUID.randomUUID(), UUID.randomUUID(), "Joan", "Baez", null, null, null, null, null, false));
+            index.invalidateUser(UUID.randomUUID());
+            return mapper.toDTOs(Set.of(jose, mary));
+        });
+
+        index.search(userId, "jo", 10);
+        index.search(userId, "jo", 10);
+
+        verify(contactRepository, times(1)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests a write to the user while their snapshot is being built.
+     * The test passes if the snapshot is served but rebuilt on the next search, as it may have missed the write.
+     */
+    @Test
+    @DisplayName("Maintenance - does not cache a snapshot built during the user's own write")
+    public void givenUsersWriteDuringBuild_whenSearch_thenDoNotCache() {
+        given(contactRepository.findContactDTOsByUserId(userId)).willAnswer(invocation -> {
+            index.onContactSaved(new ContactDTO(UUID.randomUUID(), listId, "Joan", "Baez", null, null, null, null, null, false));
+            return mapper.toDTOs(Set.of(jose, mary));
+        });
+
+        assertThat(index.search(userId, "jo", 10)).hasSize(2);
+        index.search(userId, "jo", 10);
+
+        verify(contactRepository, times(2)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests the memory budget.
+     * The test passes if a user that does not fit the budget is served but never cached.
+     */
+    @Test
+    @DisplayName("Eviction - keeps the memory estimate within the budget")
+    public void givenTinyBudget_whenSearch_thenDoNotCache() {
+        index = new ContactTypeaheadIndex(contactRepository, contactListRepository, 10, TTL, () -> now);
+
+        assertThat(index.search(userId, "jo", 10)).hasSize(2);
+        index.search(userId, "jo", 10);
+
+        assertThat(index.usedBytes()).isZero();
+        verify(contactRepository, times(2)).findContactDTOsByUserId(userId);
+    }
+
+    /**
+     * Tests LRU eviction across users.
+     * The test passes if loading a second user evicts the least recently used one once the budget is exceeded.
+     */
+    @Test
+    @DisplayName("Eviction - evicts the least recently used user")
+    public void givenTwoUsersOverBudget_whenSearch_thenEvictColdUser() {
+        index.search(userId, "jo", 10);
+        long oneUser = index.usedBytes();
+        index = new ContactTypeaheadIndex(contactRepository, contactListRepository, oneUser + oneUser / 2, TTL, () -> now);
+        UUID otherUser = UUID.randomUUID();
+        given(contactListRepository.findAllContactListsByUserId(otherUser)).willReturn(Set.of());
+        given(contactRepository.findContactDTOsByUserId(otherUser)).willReturn(mapper.toDTOs(Set.of(jose, mary)));
+
+        index.search(userId, "jo", 10);
+        index.search(otherUser, "jo", 10);
+        index.search(userId, "jo", 10);
+
+        assertThat(index.evictions()).isEqualTo(2);
+        assertThat(index.usedBytes()).isEqualTo(oneUser);
+    }
+
+    /**
+     * Creates a ContactEntity in the user's contact list.
+     * @param firstName The first name.
+     * @param lastName The last name.
+     * @param preferredName The preferred name.
+     * @return The created ContactEntity.
+     */
+    private ContactEntity contact(String firstName, String lastName, String preferredName) {
+        ContactEntity entity = new ContactEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setFirstName(firstName);
+        entity.setLastName(lastName);
+        entity.setPreferredName(preferredName);
+        entity.setContactList(ContactListEntity.builder().id(listId).build());
+        return entity;
+    }
+}
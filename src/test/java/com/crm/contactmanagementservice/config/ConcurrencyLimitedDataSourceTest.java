@@ -0,0 +1,139 @@
+package com.crm.contactmanagementservice.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Unit tests for the ConcurrencyLimitedDataSource.
+ * This class tests that permits are taken on checkout, returned exactly once on close, and time out when exhausted, and
+ * that closing the data source closes its pool.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private ConcurrencyLimitedDataSource dataSource;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a data source limited to two connections with a short acquire timeout.
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        given(target.getConnection()).willReturn(connection);
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    /**
+     * Tests that closing a connection releases its permit, even when it is closed twice.
+     * The test passes if the permit count goes back to two and the underlying connection is closed each time.
+     */
+    @Test
+    @DisplayName("Checkout - close returns the permit once")
+    void givenCheckedOutConnection_whenClosedTwice_thenPermitReleasedOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    /**
+     * Tests that a checkout beyond the limit fails once the acquire timeout has passed.
+     * The test passes if a SQLTransientConnectionException is thrown and the pool is never asked for a third connection.
+     */
+    @Test
+    @DisplayName("Checkout - times out when every permit is held")
+    void givenAllPermitsHeld_whenGetConnection_thenTimeout() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(2)).getConnection();
+    }
+
+    /**
+     * Tests that a failed checkout does not leak its permit.
+     * The test passes if the permit count is unchanged after the pool throws.
+     */
+    @Test
+    @DisplayName("Checkout - pool failure returns the permit")
+    void givenPoolFailure_whenGetConnection_thenPermitReleased() throws SQLException {
+        given(target.getConnection()).willThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    /**
+     * Tests that other calls go through to the underlying connection.
+     * The test passes if the proxy returns the connection's own result.
+     */
+    @Test
+    @DisplayName("Checkout - delegates other calls to the connection")
+    void givenCheckedOutConnection_whenQueried_thenDelegates() throws SQLException {
+        given(connection.getAutoCommit()).willReturn(true);
+
+        assertThat(dataSource.getConnection().getAutoCommit()).isTrue();
+    }
+
+    /**
+     * Tests closing the data source.
+     * The test passes if the pool it wraps is closed with it.
+     */
+    @Test
+    @DisplayName("Close - closes the wrapped pool")
+    void givenCloseablePool_whenClose_thenPoolClosed() throws IOException {
+        DataSource pool = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+
+        new ConcurrencyLimitedDataSource(pool, 2, Duration.ofMillis(50)).close();
+
+        verify((Closeable) pool).close();
+    }
+
+    /**
+     * Tests that permit waits are recorded once the data source is bound to a registry.
+     * The test passes if both the granted and the timed out checkout are timed, and the gauge shows no free permits.
+     */
+    @Test
+    @DisplayName("Metrics - records every permit wait")
+    void givenBoundRegistry_whenGetConnection_thenWaitRecorded() throws SQLException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry, Tags.of("name", "dataSource"));
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+
+        Timer timer = registry.get("contacts.db.permit.acquire").tag("name", "dataSource").timer();
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(timer.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        assertThat(registry.get("contacts.db.permits.available").gauge().value()).isZero();
+    }
+}
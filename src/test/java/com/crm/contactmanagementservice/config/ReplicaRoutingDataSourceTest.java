@@ -0,0 +1,170 @@
+package com.crm.contactmanagementservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the ReplicaRoutingDataSource.
+ * This class tests which database serves read-only and other connections, how failed replicas leave and rejoin the
+ * rotation, that reads pinned by PrimaryReads go to the primary, and that the concurrency limiter gives each pool its
+ * own permits.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private Connection primaryConnection;
+    private Connection replicaAConnection;
+    private Connection replicaBConnection;
+    private ReplicaRoutingDataSource dataSource;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a routing data source over a primary and two replicas, with health checks left to the tests.
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaA = mock(DataSource.class);
+        replicaB = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaAConnection = mock(Connection.class);
+        replicaBConnection = mock(Connection.class);
+        given(primary.getConnection()).willReturn(primaryConnection);
+        given(replicaA.getConnection()).willReturn(replicaAConnection);
+        given(replicaB.getConnection()).willReturn(replicaBConnection);
+        given(replicaAConnection.isValid(anyInt())).willReturn(true);
+        given(replicaBConnection.isValid(anyInt())).willReturn(true);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+        dataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofHours(1));
+    }
+
+    /**
+     * Stops the health checks after each test.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        dataSource.close();
+    }
+
+    /**
+     * Tests the routing of read-only and other connections.
+     * The test passes if read-only connections alternate between the replicas and other connections use the primary.
+     */
+    @Test
+    @DisplayName("Routing - read-only connections take turns between replicas, others use the primary")
+    void givenReplicas_whenConnectionsUsed_thenReadOnlyOnReplicasInTurn() throws SQLException {
+        assertThat(target(true)).isSameAs(replicaAConnection);
+        assertThat(target(true)).isSameAs(replicaBConnection);
+        assertThat(target(false)).isSameAs(primaryConnection);
+        assertThat(target(true)).isSameAs(replicaAConnection);
+    }
+
+    /**
+     * Tests a replica that fails to hand out connections.
+     * The test passes if reads skip it, fall back to the primary once both replicas fail, and return to the replicas
+     * after a health check finds them valid again.
+     */
+    @Test
+    @DisplayName("Health - failed replicas leave the rotation until a health check passes")
+    void givenFailingReplicas_whenRead_thenSkippedUntilHealthy() throws SQLException {
+        given(replicaA.getConnection()).willThrow(new SQLTransientConnectionException("replica-a is down"));
+
+        assertThat(target(true)).isSameAs(replicaBConnection);
+        assertThat(dataSource.healthyReplicas()).isEqualTo(1);
+
+        given(replicaB.getConnection()).willThrow(new SQLTransientConnectionException("replica-b is down"));
+
+        assertThat(target(true)).isSameAs(primaryConnection);
+        assertThat(dataSource.healthyReplicas()).isZero();
+
+        willReturn(replicaAConnection).given(replicaA).getConnection();
+        dataSource.checkHealth();
+
+        assertThat(dataSource.healthyReplicas()).isEqualTo(1);
+        assertThat(target(true)).isSameAs(replicaAConnection);
+    }
+
+    /**
+     * Tests reads that must see the latest writes.
+     * The test passes if a read-only connection used within PrimaryReads comes from the primary.
+     */
+    @Test
+    @DisplayName("Pinning - reads pinned by PrimaryReads use the primary")
+    void givenPinnedThread_whenRead_thenPrimary() throws SQLException {
+        Connection[] target = new Connection[1];
+
+        PrimaryReads.call(() -> {
+            try {
+                target[0] = target(true);
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return null;
+        });
+
+        assertThat(target[0]).isSameAs(primaryConnection);
+        assertThat(PrimaryReads.isPinned()).isFalse();
+    }
+
+    /**
+     * Tests the concurrency limiter over the routing data source.
+     * The test passes if, with one permit per pool, a write and a read on each replica can hold connections at once,
+     * with each replica asked once and neither skipped.
+     */
+    @Test
+    @DisplayName("Limits - the primary and each replica have their own permits")
+    void givenLimiter_whenEveryPoolHeld_thenEachServesOne() throws SQLException {
+        DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(1, Duration.ofMillis(50));
+        assertThat(limiter.postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+
+        try (Connection write = dataSource.getConnection();
+             Connection firstRead = dataSource.getConnection();
+             Connection secondRead = dataSource.getConnection()) {
+            write.createStatement();
+            firstRead.setReadOnly(true);
+            firstRead.createStatement();
+            secondRead.setReadOnly(true);
+            secondRead.createStatement();
+
+            verify(replicaA).getConnection();
+            verify(replicaB).getConnection();
+            assertThat(dataSource.healthyReplicas()).isEqualTo(2);
+        }
+    }
+
+    /**
+     * Borrows a connection, uses it the way a transaction would, and returns the connection it ended up using.
+     * @param readOnly Whether the transaction is read-only.
+     * @return The connection of the primary or replica that served it.
+     */
+    private Connection target(boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+            return ((ConnectionProxy) connection).getTargetConnection();
+        }
+    }
+}
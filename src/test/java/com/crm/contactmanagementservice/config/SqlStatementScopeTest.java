@@ -0,0 +1,69 @@
+package com.crm.contactmanagementservice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the SqlStatementScope.
+ * This class tests that statements are counted by every open scope and that only the configured number of SQL texts
+ * is kept.
+ */
+class SqlStatementScopeTest {
+
+    /**
+     * Tests nested scopes.
+     * The test passes if the outer scope counts the statements of the inner scope too, and becomes current again once
+     * the inner scope is closed.
+     */
+    @Test
+    @DisplayName("Scope - nested scopes count into their parents")
+    void givenNestedScopes_whenRecord_thenCountedByBoth() {
+        try (SqlStatementScope outer = SqlStatementScope.open(10)) {
+            SqlStatementScope.record("select 1", 1_000);
+            try (SqlStatementScope inner = SqlStatementScope.open(10)) {
+                SqlStatementScope.record("select 2", 2_000);
+
+                assertThat(inner.statementCount()).isEqualTo(1);
+                assertThat(inner.statements()).containsExactly("select 2");
+            }
+
+            assertThat(SqlStatementScope.current()).isSameAs(outer);
+            assertThat(outer.statementCount()).isEqualTo(2);
+            assertThat(outer.elapsed().toNanos()).isEqualTo(3_000);
+            assertThat(outer.statements()).containsExactly("select 1", "select 2");
+        }
+        assertThat(SqlStatementScope.current()).isNull();
+    }
+
+    /**
+     * Tests the cap on kept statements.
+     * The test passes if statements beyond the cap are counted but not kept, and described as a remainder.
+     */
+    @Test
+    @DisplayName("Scope - statements beyond the cap are only counted")
+    void givenMoreStatementsThanKept_whenDescribe_thenRemainderNoted() {
+        try (SqlStatementScope scope = SqlStatementScope.open(2)) {
+            for (int i = 0; i < 5; i++) {
+                SqlStatementScope.record("select " + i, 0);
+            }
+
+            assertThat(scope.statementCount()).isEqualTo(5);
+            assertThat(scope.statements()).containsExactly("select 0", "select 1");
+            assertThat(scope.describeStatements()).isEqualTo("\n  1. select 0\n  2. select 1\n  ... and 3 more");
+        }
+    }
+
+    /**
+     * Tests a statement run with no scope open.
+     * The test passes if recording it does nothing.
+     */
+    @Test
+    @DisplayName("Scope - statements outside a scope are ignored")
+    void givenNoScope_whenRecord_thenIgnored() {
+        SqlStatementScope.record("select 1", 1_000);
+
+        assertThat(SqlStatementScope.current()).isNull();
+    }
+}
@@ -0,0 +1,37 @@
+package com.crm.contactmanagementservice.config;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+/**
+ * Test helper that fails a test when a block of code runs more SQL statements than its budget.
+ * The statements are counted on the calling thread by the SqlStatementMonitor, so the helper works around service calls
+ * and MockMvc requests alike, in any test whose context wraps the DataSource. The failure lists the SQL that ran.
+ */
+public final class StatementBudget {
+
+    /**
+     * The number of statements listed in a failure.
+     */
+    private static final int MAX_LISTED_STATEMENTS = 50;
+
+    private StatementBudget() {
+    }
+
+    /**
+     * Runs the action and fails if it ran more than the given number of statements.
+     * @param maxStatements The statement budget.
+     * @param action The code to measure.
+     * @return The scope the statements were counted in, for further assertions.
+     * @throws Throwable if the action throws.
+     */
+    public static SqlStatementScope assertAtMost(int maxStatements, ThrowingCallable action) throws Throwable {
+        try (SqlStatementScope scope = SqlStatementScope.open(MAX_LISTED_STATEMENTS)) {
+            action.call();
+            if (scope.statementCount() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " SQL statements but "
+                        + scope.statementCount() + " ran:" + scope.describeStatements());
+            }
+            return scope;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.crm.contactmanagementservice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Configuration tests for the STOMP broker relay.
+ * This class starts the application with a relay host that accepts no connections; the relay keeps retrying in the
+ * background, which is enough to check which broker the topics are sent through.
+ */
+@SpringBootTest(properties = {"contacts.websocket.relay.host=localhost", "contacts.websocket.relay.port=1"})
+@ActiveProfiles("test")
+class WebSocketRelayConfigTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    /**
+     * Tests the broker used when a relay host is configured.
+     * The test passes if the topics go through the relay and no in-memory broker is started.
+     */
+    @Test
+    @DisplayName("Relay - a configured relay host replaces the in-memory broker")
+    void givenRelayHost_whenStarted_thenTopicsRelayed() {
+        StompBrokerRelayMessageHandler relay = applicationContext.getBean(StompBrokerRelayMessageHandler.class);
+
+        assertThat(relay.getRelayHost()).isEqualTo("localhost");
+        assertThat(relay.getDestinationPrefixes()).containsExactly("/topic");
+        assertThat(applicationContext.getBeansOfType(SimpleBrokerMessageHandler.class)).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package com.crm.contactmanagementservice.integration;
+
+import com.crm.contactmanagementservice.controller.BulkJobController;
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.job.BulkJobStatus;
+import com.crm.contactmanagementservice.job.BulkJobType;
+import com.crm.contactmanagementservice.service.BulkJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the BulkJobController.
+ * This class tests the BulkJobController methods by mocking the BulkJobService and simulating HTTP requests.
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(BulkJobController.class)
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
+public class BulkJobIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkJobService bulkJobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private BulkJobRequestDTO request;
+    private BulkJobDTO job;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a do not contact request and the job queued for it.
+     */
+    @BeforeEach
+    public void setup() {
+        request = new BulkJobRequestDTO(BulkJobType.SET_DO_NOT_CONTACT, UUID.randomUUID(), null, true);
+        job = new BulkJobDTO(UUID.randomUUID(), request.type(), BulkJobStatus.QUEUED, request.contactListId(), 0, null,
+                Instant.now(), Instant.now());
+    }
+
+    /**
+     * Tests the submitJob method of the BulkJobController.
+     * The test passes if the HTTP status is Accepted and the response points to the queued job.
+     */
+    @Test
+    @DisplayName("Submit Job - POST /api/v1/jobs")
+    public void givenRequest_whenSubmitJob_thenAcceptedWithLocation() throws Exception {
+        given(bulkJobService.submitJob(request)).willReturn(job);
+
+        mockMvc.perform(post("/api/v1/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/jobs/" + job.id()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    /**
+     * Tests the submitJob method of the BulkJobController with an invalid request.
+     * The test passes if the HTTP status is Bad Request.
+     */
+    @Test
+    @DisplayName("Submit Job - POST /api/v1/jobs - Bad Request")
+    public void givenInvalidRequest_whenSubmitJob_thenBadRequest() throws Exception {
+        given(bulkJobService.submitJob(request)).willThrow(new AppBadRequestException("contactListId and doNotContact are required"));
+
+        mockMvc.perform(post("/api/v1/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the getJobById method of the BulkJobController.
+     * The test passes if the HTTP status is OK and the progress of the job is returned.
+     */
+    @Test
+    @DisplayName("Get Job By Id - GET /api/v1/jobs/{id}")
+    public void givenJobId_whenGetJobById_thenReturnProgress() throws Exception {
+        given(bulkJobService.getJobById(job.id())).willReturn(new BulkJobDTO(job.id(), job.type(), BulkJobStatus.RUNNING,
+                job.contactListId(), 2000, null, job.createdAt(), Instant.now()));
+
+        mockMvc.perform(get("/api/v1/jobs/{id}", job.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.processed").value(2000));
+    }
+
+    /**
+     * Tests the getJobById method of the BulkJobController with an unknown job.
+     * The test passes if the HTTP status is Not Found.
+     */
+    @Test
+    @DisplayName("Get Job By Id - GET /api/v1/jobs/{id} - Not Found")
+    public void givenNonExistentJobId_whenGetJobById_thenNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        given(bulkJobService.getJobById(id)).willThrow(new AppEntityNotFoundException("Bulk job not found"));
+
+        mockMvc.perform(get("/api/v1/jobs/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,172 @@
+package com.crm.contactmanagementservice.integration;
+
+import com.crm.contactmanagementservice.config.WebSocketConfig;
+import com.crm.contactmanagementservice.dto.ChangeNotificationDTO;
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.service.ContactListService;
+import com.crm.contactmanagementservice.service.ContactService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the live change topics.
+ * This class starts the application on a random port, subscribes to a user's topics over STOMP and writes through the
+ * services, so the whole path from the committed write to the pushed message is exercised.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ChangeTopicIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ContactListService contactListService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private SimpleBrokerMessageHandler broker;
+
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+
+    /**
+     * Sets up the test environment before each test.
+     * Connects a STOMP client to the WebSocket endpoint.
+     */
+    @BeforeEach
+    public void setup() throws Exception {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        session = stompClient.connectAsync("ws://localhost:" + port + WebSocketConfig.ENDPOINT, new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Disconnects the STOMP client after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        session.disconnect();
+        stompClient.stop();
+    }
+
+    /**
+     * Tests the contact list and contact topics of a user.
+     * The test passes if creating a contact list and a contact in it pushes their IDs to the owner's topics.
+     */
+    @Test
+    @DisplayName("Change topics - committed writes are pushed to the owner")
+    public void givenSubscription_whenWrite_thenReceiveChangedIds() throws Exception {
+        UUID userId = UUID.randomUUID();
+        BlockingQueue<ChangeNotificationDTO> contactLists = subscribe("/topic/users/" + userId + "/contact-lists");
+        BlockingQueue<ChangeNotificationDTO> contacts = subscribe("/topic/users/" + userId + "/contacts");
+
+        ContactListDTO contactList = contactListService.createContactList(new ContactListDTO(null, "List", userId));
+        ContactDTO contact = contactService.createContact(new ContactDTO(null, contactList.id(), "June", "Thomas", null,
+                UUID.randomUUID() + "@test.com", null, null, null, false));
+
+        ChangeNotificationDTO listMessage = contactLists.poll(5, TimeUnit.SECONDS);
+        ChangeNotificationDTO contactMessage = contacts.poll(5, TimeUnit.SECONDS);
+        assertThat(listMessage).isEqualTo(new ChangeNotificationDTO(List.of(contactList.id()), List.of(), false));
+        assertThat(contactMessage).isEqualTo(new ChangeNotificationDTO(List.of(contact.id()), List.of(), false));
+
+        contactService.deleteContactById(contact.id());
+
+        assertThat(contacts.poll(5, TimeUnit.SECONDS))
+                .isEqualTo(new ChangeNotificationDTO(List.of(), List.of(contact.id()), false));
+        contactListService.deleteContactListById(contactList.id());
+    }
+
+    /**
+     * Tests the allowed origins of the WebSocket endpoint.
+     * The test passes if a browser handshake from localhost is accepted and one from another site is refused.
+     */
+    @Test
+    @DisplayName("Origins - only allowed origins may open a WebSocket")
+    public void givenOrigins_whenConnect_thenOnlyAllowedAccepted() throws Exception {
+        String url = "ws://localhost:" + port + WebSocketConfig.ENDPOINT;
+
+        StompSession allowed = stompClient.connectAsync(url, origin("http://localhost:3000"), new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+        CompletableFuture<StompSession> refused = stompClient.connectAsync(url, origin("https://example.com"),
+                new StompSessionHandlerAdapter() {});
+
+        assertThat(allowed.isConnected()).isTrue();
+        assertThatThrownBy(() -> refused.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        allowed.disconnect();
+    }
+
+    /**
+     * Builds handshake headers carrying the Origin a browser would send.
+     * @param origin The origin.
+     * @return The handshake headers.
+     */
+    private WebSocketHttpHeaders origin(String origin) {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setOrigin(origin);
+        return headers;
+    }
+
+    /**
+     * Subscribes to a topic and waits until the broker has registered the subscription.
+     * @param destination The topic.
+     * @return The queue receiving the messages of the topic.
+     */
+    private BlockingQueue<ChangeNotificationDTO> subscribe(String destination) throws Exception {
+        BlockingQueue<ChangeNotificationDTO> messages = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return ChangeNotificationDTO.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                messages.add((ChangeNotificationDTO) payload);
+            }
+        });
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        Message<byte[]> probe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broker.getSubscriptionRegistry().findSubscriptions(probe).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return messages;
+    }
+}
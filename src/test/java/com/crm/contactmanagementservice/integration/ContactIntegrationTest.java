@@ -1,8 +1,25 @@
 package com.crm.contactmanagementservice.integration;
 
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactBatchRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactBatchResultDTO;
+import com.crm.contactmanagementservice.dto.ContactCacheStatsDTO;
+import com.crm.contactmanagementservice.dto.ContactChangeDTO;
+import com.crm.contactmanagementservice.dto.ContactChangesDTO;
+import com.crm.contactmanagementservice.dto.ContactCursor;
 import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactImportResultDTO;
+import com.crm.contactmanagementservice.dto.ContactImportRowDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveResultDTO;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
 import com.crm.contactmanagementservice.service.ContactService;
+import com.crm.contactmanagementservice.config.BinaryFormatConfig;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.crm.contactmanagementservice.controller.ContactController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,16 +30,27 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -72,6 +100,131 @@ public class ContactIntegrationTest {
                 .andExpect(jsonPath("$.email").value(contactDTO.email()));
     }
 
+    /**
+     * Tests the getContactById method of the ContactController when no database connection is available in time.
+     * The test passes if the HTTP status is Service Unavailable.
+     */
+    @Test
+    @DisplayName("Get Contact By Id - GET /api/v1/contacts/{id} - Database Unavailable")
+    public void givenDatabaseSaturated_whenGetContactById_thenServiceUnavailable() throws Exception {
+        given(contactService.getContactById(contactDTO.id()))
+                .willThrow(new CannotCreateTransactionException("Timed out waiting for a database permit"));
+
+        mockMvc.perform(get("/api/v1/contacts/{id}", contactDTO.id()))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    /**
+     * Tests the ETag of the getContactById method of the ContactController.
+     * The test passes if the contact's version is returned as a strong ETag and not in the body.
+     */
+    @Test
+    @DisplayName("Get Contact By Id - GET /api/v1/contacts/{id} - ETag")
+    public void givenVersionedContact_whenGetContactById_thenReturnVersionETag() throws Exception {
+        given(contactService.getContactById(contactDTO.id())).willReturn(versioned(contactDTO, 3));
+
+        mockMvc.perform(get("/api/v1/contacts/{id}", contactDTO.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    /**
+     * Tests the getContactById method of the ContactController with the current ETag in If-None-Match.
+     * The test passes if the HTTP status is Not Modified and the body is empty.
+     */
+    @Test
+    @DisplayName("Get Contact By Id - GET /api/v1/contacts/{id} - Not Modified")
+    public void givenCurrentETag_whenGetContactById_thenNotModified() throws Exception {
+        given(contactService.getContactById(contactDTO.id())).willReturn(versioned(contactDTO, 3));
+
+        mockMvc.perform(get("/api/v1/contacts/{id}", contactDTO.id()).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * Tests the getContactById method of the ContactController with an outdated ETag in If-None-Match.
+     * The test passes if the HTTP status is OK and the contact is returned.
+     */
+    @Test
+    @DisplayName("Get Contact By Id - GET /api/v1/contacts/{id} - Modified")
+    public void givenOutdatedETag_whenGetContactById_thenReturnContact() throws Exception {
+        given(contactService.getContactById(contactDTO.id())).willReturn(versioned(contactDTO, 4));
+
+        mockMvc.perform(get("/api/v1/contacts/{id}", contactDTO.id()).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.email").value(contactDTO.email()));
+    }
+
+    /**
+     * Tests the getContactsByIds method of the ContactController.
+     * The test passes if the HTTP status is OK and the found contacts and missing ids are returned.
+     */
+    @Test
+    @DisplayName("Get Contacts By Ids - POST /api/v1/contacts/batch")
+    public void givenIds_whenGetContactsByIds_thenReturnContactsAndMissingIds() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(contactDTO.id(), missingId);
+        given(contactService.getContactsByIds(ids)).willReturn(new ContactBatchResultDTO(List.of(contactDTO), List.of(missingId)));
+
+        mockMvc.perform(post("/api/v1/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactBatchRequestDTO(ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts[0].email").value(contactDTO.email()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+    }
+
+    /**
+     * Tests the getContactsByIds method of the ContactController with more ids than allowed.
+     * The test passes if the HTTP status is Bad Request.
+     */
+    @Test
+    @DisplayName("Get Contacts By Ids - POST /api/v1/contacts/batch - Too Many Ids")
+    public void givenTooManyIds_whenGetContactsByIds_thenBadRequest() throws Exception {
+        List<UUID> ids = Collections.nCopies(1001, contactDTO.id());
+
+        mockMvc.perform(post("/api/v1/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactBatchRequestDTO(ids))))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the moveContacts method of the ContactController with a list of ids.
+     * The test passes if the HTTP status is OK and the moved count is returned.
+     */
+    @Test
+    @DisplayName("Move Contacts - POST /api/v1/contacts/move")
+    public void givenIdsAndTarget_whenMoveContacts_thenReturnMovedCount() throws Exception {
+        UUID target = UUID.randomUUID();
+        given(contactService.moveContacts(List.of(contactDTO.id()), target)).willReturn(new ContactMoveResultDTO(1));
+
+        mockMvc.perform(post("/api/v1/contacts/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactMoveRequestDTO(List.of(contactDTO.id()), null, target))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moved").value(1));
+    }
+
+    /**
+     * Tests the moveContacts method of the ContactController with both ids and a source list.
+     * The test passes if the HTTP status is Bad Request.
+     */
+    @Test
+    @DisplayName("Move Contacts - POST /api/v1/contacts/move - Ids And Source List")
+    public void givenIdsAndSourceList_whenMoveContacts_thenBadRequest() throws Exception {
+        ContactMoveRequestDTO request = new ContactMoveRequestDTO(List.of(contactDTO.id()), UUID.randomUUID(), UUID.randomUUID());
+
+        mockMvc.perform(post("/api/v1/contacts/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Tests the createContact method of the ContactController.
      * The test passes if the HTTP status is Created and the returned ContactDTO's email matches the expected email.
@@ -106,6 +259,54 @@ public class ContactIntegrationTest {
                 .andExpect(jsonPath("$.email").value(contactDTO.email()));
     }
 
+    /**
+     * Tests the updateContact method of the ContactController with an If-Match header.
+     * The test passes if the expected version is passed to the service and the new version is returned as the ETag.
+     */
+    @Test
+    @DisplayName("Update Contact - PATCH /api/v1/contacts/{id} - If-Match")
+    public void givenIfMatch_whenUpdateContact_thenConditionalUpdate() throws Exception {
+        given(contactService.updateContact(contactDTO, contactDTO.id(), 3L)).willReturn(versioned(contactDTO, 4));
+
+        mockMvc.perform(patch("/api/v1/contacts/{id}", contactDTO.id())
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contactDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    /**
+     * Tests the updateContact method of the ContactController when the contact is no longer at the If-Match version.
+     * The test passes if the HTTP status is Precondition Failed.
+     */
+    @Test
+    @DisplayName("Update Contact - PATCH /api/v1/contacts/{id} - Precondition Failed")
+    public void givenOutdatedIfMatch_whenUpdateContact_thenPreconditionFailed() throws Exception {
+        given(contactService.updateContact(contactDTO, contactDTO.id(), 3L))
+                .willThrow(new AppPreconditionFailedException("Contact is at version 4, not 3"));
+
+        mockMvc.perform(patch("/api/v1/contacts/{id}", contactDTO.id())
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contactDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    /**
+     * Tests the updateContact method of the ContactController with a weak ETag in If-Match.
+     * The test passes if the HTTP status is Precondition Failed, since weak tags never match an update.
+     */
+    @Test
+    @DisplayName("Update Contact - PATCH /api/v1/contacts/{id} - Weak If-Match")
+    public void givenWeakIfMatch_whenUpdateContact_thenPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/api/v1/contacts/{id}", contactDTO.id())
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contactDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     /**
      * Tests the deleteContactById method of the ContactController.
      * The test passes if the HTTP status is No Content.
@@ -124,7 +325,7 @@ public class ContactIntegrationTest {
     @Test
     @DisplayName("Search Contacts By Name - GET /api/v1/contacts/search/{name}")
     public void givenContactName_whenSearchContactsByName_thenReturnContactsList() throws Exception {
-        given(contactService.searchContactsByName("June")).willReturn(Set.of(contactDTO));
+        given(contactService.searchContactsByName("June", 20, 0)).willReturn(List.of(contactDTO));
 
         mockMvc.perform(get("/api/v1/contacts/search/{name}", "June"))
                 .andExpect(status().isOk())
@@ -132,6 +333,17 @@ public class ContactIntegrationTest {
                 .andExpect(jsonPath("$[0].firstName").value(contactDTO.firstName()));
     }
 
+    /**
+     * Tests the searchContactsByName method of the ContactController with a limit above the maximum.
+     * The test passes if the HTTP status is Bad Request.
+     */
+    @Test
+    @DisplayName("Search Contacts By Name - GET /api/v1/contacts/search/{name}?limit=1000 - Limit Too Large")
+    public void givenLimitTooLarge_whenSearchContactsByName_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/contacts/search/{name}", "June").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Tests the getAllContactsByContactListID method of the ContactController.
      * The test passes if the HTTP status is OK and the returned set of ContactDTOs is not empty.
@@ -186,4 +398,308 @@ public class ContactIntegrationTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    /**
+     * Tests the getAllContacts method of the ContactController with a full page.
+     * The test passes if the streamed page contains the contact and a cursor pointing after it.
+     */
+    @Test
+    @DisplayName("Get All Contacts - GET /api/v1/contacts?limit=1 - Full Page")
+    public void givenLimit_whenGetAllContacts_thenStreamPageWithNextCursor() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<ContactDTO> consumer = invocation.getArgument(2);
+            consumer.accept(contactDTO);
+            return null;
+        }).given(contactService).streamContacts(eq(ContactCursor.START.after()), eq(1), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/contacts").param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts[0].email").value(contactDTO.email()))
+                .andExpect(jsonPath("$.next").value(new ContactCursor(contactDTO.id()).encode()));
+    }
+
+    /**
+     * Tests the getAllContactsByUserId method of the ContactController with a CBOR Accept header.
+     * The test passes if the response is CBOR and decodes to the contacts.
+     */
+    @Test
+    @DisplayName("Get All Contacts By User Id - GET /api/v1/contacts/user/{userId} - CBOR")
+    public void givenCborAccept_whenGetAllContactsByUserId_thenReturnCbor() throws Exception {
+        UUID userId = UUID.randomUUID();
+        given(contactService.getAllContactsByUserId(userId)).willReturn(Set.of(contactDTO));
+
+        byte[] body = mockMvc.perform(get("/api/v1/contacts/user/{userId}", userId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new CBORMapper().readValue(body, ContactDTO[].class)).containsExactly(contactDTO);
+    }
+
+    /**
+     * Tests the getAllContactsByUserId method of the ContactController with a wildcard Accept header.
+     * The test passes if the response is JSON, the format listed first.
+     */
+    @Test
+    @DisplayName("Get All Contacts By User Id - GET /api/v1/contacts/user/{userId} - Any Type")
+    public void givenWildcardAccept_whenGetAllContactsByUserId_thenReturnJson() throws Exception {
+        UUID userId = UUID.randomUUID();
+        given(contactService.getAllContactsByUserId(userId)).willReturn(Set.of(contactDTO));
+
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}", userId).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].email").value(contactDTO.email()));
+    }
+
+    /**
+     * Tests the getAllContacts method of the ContactController with a Smile Accept header.
+     * The test passes if the streamed page is Smile and carries the contact and the cursor.
+     */
+    @Test
+    @DisplayName("Get All Contacts - GET /api/v1/contacts?limit=1 - Smile")
+    public void givenSmileAccept_whenGetAllContacts_thenStreamSmilePage() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<ContactDTO> consumer = invocation.getArgument(2);
+            consumer.accept(contactDTO);
+            return null;
+        }).given(contactService).streamContacts(eq(ContactCursor.START.after()), eq(1), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/contacts").param("limit", "1")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new SmileMapper().readTree(body);
+        assertThat(page.get("contacts").get(0).get("email").asText()).isEqualTo(contactDTO.email());
+        assertThat(page.get("next").asText()).isEqualTo(new ContactCursor(contactDTO.id()).encode());
+    }
+
+    /**
+     * Tests the getAllContacts method of the ContactController on the last page.
+     * The test passes if the cursor is decoded before streaming and no next cursor is returned.
+     */
+    @Test
+    @DisplayName("Get All Contacts - GET /api/v1/contacts?after={cursor} - Last Page")
+    public void givenCursor_whenGetAllContacts_thenStreamLastPageWithoutNextCursor() throws Exception {
+        String after = new ContactCursor(contactDTO.id()).encode();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/contacts").param("after", after))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts").isEmpty())
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    /**
+     * Tests the getAllContacts method of the ContactController with a malformed cursor.
+     * The test passes if the HTTP status is Bad Request.
+     */
+    @Test
+    @DisplayName("Get All Contacts - GET /api/v1/contacts?after=garbage - Bad Cursor")
+    public void givenMalformedCursor_whenGetAllContacts_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/contacts").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the importContacts method of the ContactController with a newline-delimited JSON body.
+     * The test passes if every line is handed to the service and the per-row result is returned.
+     */
+    @Test
+    @DisplayName("Import Contacts - POST /api/v1/contacts/import - NDJSON")
+    public void givenNdjsonBody_whenImportContacts_thenReturnImportResult() throws Exception {
+        String body = objectMapper.writeValueAsString(contactDTO) + "\n" + objectMapper.writeValueAsString(contactDTO) + "\n";
+        given(contactService.importContacts(any())).willAnswer(invocation -> {
+            Iterator<ContactDTO> rows = invocation.getArgument(0);
+            int count = 0;
+            while (rows.hasNext()) {
+                rows.next();
+                count++;
+            }
+            return new ContactImportResultDTO(count, count, 0, 1000d,
+                    List.of(new ContactImportRowDTO(0, contactDTO.id(), null), new ContactImportRowDTO(1, contactDTO.id(), null)));
+        });
+
+        mockMvc.perform(post("/api/v1/contacts/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.rows[1].index").value(1));
+    }
+
+    /**
+     * Tests the exportContactsByUserId method of the ContactController with the CSV format.
+     * The test passes if the streamed body holds the header and one quoted-as-needed row per contact.
+     */
+    @Test
+    @DisplayName("Export Contacts By User ID - GET /api/v1/contacts/user/{userId}/export?format=csv")
+    public void givenUserId_whenExportContactsAsCsv_thenStreamCsv() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ContactDTO quoted = new ContactDTO(contactDTO.id(), null, "June, Jr.", "Thomas", null, "junethomas@test.com", "1234567890", null, null, false);
+        willAnswer(invocation -> {
+            Consumer<ContactDTO> consumer = invocation.getArgument(1);
+            consumer.accept(quoted);
+            return null;
+        }).given(contactService).streamContactsByUserId(eq(userId), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/contacts/user/{userId}/export", userId).param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id,contactListId,firstName,lastName,preferredName,email,phone,fax,addressId,doNotContact\n"
+                        + contactDTO.id() + ",,\"June, Jr.\",Thomas,,junethomas@test.com,1234567890,,,false\n"));
+    }
+
+    /**
+     * Tests the exportContactsByUserId method of the ContactController with the default NDJSON format.
+     * The test passes if each contact is written as one JSON document per line.
+     */
+    @Test
+    @DisplayName("Export Contacts By User ID - GET /api/v1/contacts/user/{userId}/export")
+    public void givenUserId_whenExportContactsAsNdjson_thenStreamNdjson() throws Exception {
+        UUID userId = UUID.randomUUID();
+        willAnswer(invocation -> {
+            Consumer<ContactDTO> consumer = invocation.getArgument(1);
+            consumer.accept(contactDTO);
+            consumer.accept(contactDTO);
+            return null;
+        }).given(contactService).streamContactsByUserId(eq(userId), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/contacts/user/{userId}/export", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = objectMapper.writeValueAsString(contactDTO) + "\n";
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + line));
+    }
+
+    /**
+     * Tests the exportContactsByUserId method of the ContactController with an unknown format.
+     * The test passes if the HTTP status is Bad Request.
+     */
+    @Test
+    @DisplayName("Export Contacts By User ID - GET /api/v1/contacts/user/{userId}/export?format=xml - Bad Format")
+    public void givenUnknownFormat_whenExportContacts_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/export", UUID.randomUUID()).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the getContactChangesByUserId method of the ContactController.
+     * The test passes if the HTTP status is OK, the watermark is decoded and the page of changes is returned.
+     */
+    @Test
+    @DisplayName("Get Contact Changes By User ID - GET /api/v1/contacts/user/{userId}/changes")
+    public void givenWatermark_whenGetContactChanges_thenReturnChanges() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ChangeCursor since = new ChangeCursor(Instant.parse("2024-03-01T10:00:00Z"), UUID.randomUUID());
+        UUID deletedId = UUID.randomUUID();
+        given(contactService.getContactChangesByUserId(userId, since, 2)).willReturn(new ContactChangesDTO(
+                List.of(new ContactChangeDTO(contactDTO.id(), false, contactDTO), new ContactChangeDTO(deletedId, true, null)),
+                "next", true));
+
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/changes", userId)
+                        .param("since", since.encode()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].contact.email").value(contactDTO.email()))
+                .andExpect(jsonPath("$.changes[1].id").value(deletedId.toString()))
+                .andExpect(jsonPath("$.changes[1].deleted").value(true))
+                .andExpect(jsonPath("$.next").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    /**
+     * Tests the getContactChangesByUserId method of the ContactController with an invalid watermark or limit.
+     * The test passes if the HTTP status is Bad Request in both cases.
+     */
+    @Test
+    @DisplayName("Get Contact Changes By User ID - GET /api/v1/contacts/user/{userId}/changes - Bad Request")
+    public void givenInvalidWatermarkOrLimit_whenGetContactChanges_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/changes", UUID.randomUUID()).param("since", "not-a-watermark"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/changes", UUID.randomUUID()).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the getContactChangesByUserId method of the ContactController with a watermark older than the tombstone
+     * retention window.
+     * The test passes if the HTTP status is Gone, telling the client to resync from the start of the feed.
+     */
+    @Test
+    @DisplayName("Get Contact Changes By User ID - GET /api/v1/contacts/user/{userId}/changes - Gone")
+    public void givenExpiredWatermark_whenGetContactChanges_thenGone() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ChangeCursor since = new ChangeCursor(Instant.parse("2020-01-01T00:00:00Z"), UUID.randomUUID());
+        given(contactService.getContactChangesByUserId(userId, since, 100))
+                .willThrow(new AppResyncRequiredException("Change token is older than the tombstone retention window"));
+
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/changes", userId).param("since", since.encode()))
+                .andExpect(status().isGone());
+    }
+
+    /**
+     * Tests the typeahead method of the ContactController.
+     * The test passes if the HTTP status is OK and the suggested contact is returned.
+     */
+    @Test
+    @DisplayName("Typeahead - GET /api/v1/contacts/user/{userId}/typeahead?q=")
+    public void givenPrefix_whenTypeahead_thenReturnSuggestions() throws Exception {
+        UUID userId = UUID.randomUUID();
+        given(contactService.typeahead(userId, "ju", 10)).willReturn(List.of(contactDTO));
+
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/typeahead", userId).param("q", "ju"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].firstName").value(contactDTO.firstName()));
+    }
+
+    /**
+     * Tests the getCacheStats method of the ContactController.
+     * The test passes if the HTTP status is OK and the counters are returned.
+     */
+    @Test
+    @DisplayName("Get Cache Stats - GET /api/v1/contacts/cache/stats")
+    public void whenGetCacheStats_thenReturnCounters() throws Exception {
+        given(contactService.getCacheStats()).willReturn(new ContactCacheStatsDTO(5, 2, 1, 3));
+
+        mockMvc.perform(get("/api/v1/contacts/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(5))
+                .andExpect(jsonPath("$.misses").value(2))
+                .andExpect(jsonPath("$.evictions").value(1))
+                .andExpect(jsonPath("$.size").value(3));
+    }
+
+    /**
+     * Copies a contact DTO with the given version.
+     * @param contactDTO The contact DTO to copy.
+     * @param version The version of the copy.
+     * @return The versioned contact DTO.
+     */
+    private static ContactDTO versioned(ContactDTO contactDTO, long version) {
+        return new ContactDTO(contactDTO.id(), contactDTO.contactListId(), contactDTO.firstName(), contactDTO.lastName(),
+                contactDTO.preferredName(), contactDTO.email(), contactDTO.phone(), contactDTO.fax(),
+                contactDTO.addressId(), contactDTO.doNotContact(), version);
+    }
 }
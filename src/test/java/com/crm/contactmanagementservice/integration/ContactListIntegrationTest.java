@@ -1,6 +1,11 @@
 package com.crm.contactmanagementservice.integration;
 
+import com.crm.contactmanagementservice.dto.ContactDTO;
 import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.dto.ContactListDetailDTO;
+import com.crm.contactmanagementservice.dto.ContactListSummaryDTO;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
 import com.crm.contactmanagementservice.service.ContactListService;
 import com.crm.contactmanagementservice.controller.ContactListController;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,11 +18,13 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -71,6 +78,55 @@ public class ContactListIntegrationTest {
                 .andExpect(jsonPath("$.listName").value(contactListDTO.listName()));
     }
 
+    /**
+     * Tests the getContactListDetailById method of the ContactListController.
+     * The test passes if the HTTP status is OK and the body carries the counts and the contacts.
+     */
+    @Test
+    @DisplayName("Get ContactList Detail - GET /api/v1/contact_lists/{id}/detail")
+    public void givenContactListId_whenGetContactListDetailById_thenReturnDetail() throws Exception {
+        ContactDTO contact = new ContactDTO(UUID.randomUUID(), contactListDTO.id(), "June", "Thomas", null,
+                "junethomas@test.com", null, null, null, true);
+        given(contactListService.getContactListDetailById(contactListDTO.id())).willReturn(new ContactListDetailDTO(
+                contactListDTO.id(), contactListDTO.listName(), contactListDTO.userId(), 1, 1, List.of(contact)));
+
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", contactListDTO.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.listName").value(contactListDTO.listName()))
+                .andExpect(jsonPath("$.contactCount").value(1))
+                .andExpect(jsonPath("$.doNotContactCount").value(1))
+                .andExpect(jsonPath("$.contacts[0].email").value("junethomas@test.com"));
+    }
+
+    /**
+     * Tests the getContactListDetailById method of the ContactListController with an unknown contact list.
+     * The test passes if the HTTP status is Not Found.
+     */
+    @Test
+    @DisplayName("Get ContactList Detail - GET /api/v1/contact_lists/{id}/detail - Not Found")
+    public void givenNonExistentContactListId_whenGetContactListDetailById_thenNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        given(contactListService.getContactListDetailById(id)).willThrow(new AppEntityNotFoundException("ContactList not found"));
+
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", id))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests the getContactListById method of the ContactListController with the current ETag in If-None-Match.
+     * The test passes if the HTTP status is Not Modified and the body is empty.
+     */
+    @Test
+    @DisplayName("Get ContactList By Id - GET /api/v1/contact_lists/{id} - Not Modified")
+    public void givenCurrentETag_whenGetContactListById_thenNotModified() throws Exception {
+        ContactListDTO versioned = new ContactListDTO(contactListDTO.id(), contactListDTO.listName(), contactListDTO.userId(), 2L);
+        given(contactListService.getContactListById(contactListDTO.id())).willReturn(versioned);
+
+        mockMvc.perform(get("/api/v1/contact_lists/{id}", contactListDTO.id()).header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     /**
      * Tests the createContactList method of the ContactListController.
      * The test passes if the HTTP status is Created and the returned ContactListDTO's list name matches the expected list name.
@@ -105,6 +161,23 @@ public class ContactListIntegrationTest {
                 .andExpect(jsonPath("$.listName").value(contactListDTO.listName()));
     }
 
+    /**
+     * Tests the updateContactList method of the ContactListController when the list is no longer at the If-Match version.
+     * The test passes if the HTTP status is Precondition Failed.
+     */
+    @Test
+    @DisplayName("Update ContactList - PATCH /api/v1/contact_lists/{id} - Precondition Failed")
+    public void givenOutdatedIfMatch_whenUpdateContactList_thenPreconditionFailed() throws Exception {
+        given(contactListService.updateContactList(contactListDTO, contactListDTO.id(), 2L))
+                .willThrow(new AppPreconditionFailedException("ContactList is at version 3, not 2"));
+
+        mockMvc.perform(patch("/api/v1/contact_lists/{id}", contactListDTO.id())
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contactListDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     /**
      * Tests the deleteContactListById method of the ContactListController.
      * The test passes if the HTTP status is No Content.
@@ -164,4 +237,23 @@ public class ContactListIntegrationTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    /**
+     * Tests the getContactListSummariesByUserId method of the ContactListController.
+     * The test passes if the HTTP status is OK and every summary carries its counts.
+     */
+    @Test
+    @DisplayName("Get ContactList Summaries By User Id - GET /api/v1/contact_lists/user/{id}/summary")
+    public void givenUserId_whenGetContactListSummariesByUserId_thenReturnSummaries() throws Exception {
+        UUID userId = contactListDTO.userId();
+        given(contactListService.getContactListSummariesByUserId(userId)).willReturn(List.of(
+                new ContactListSummaryDTO(contactListDTO.id(), contactListDTO.listName(), userId, 12, 3)));
+
+        mockMvc.perform(get("/api/v1/contact_lists/user/{id}/summary", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].listName").value(contactListDTO.listName()))
+                .andExpect(jsonPath("$[0].contactCount").value(12))
+                .andExpect(jsonPath("$[0].doNotContactCount").value(3));
+    }
+
 }
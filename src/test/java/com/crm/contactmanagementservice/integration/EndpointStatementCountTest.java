@@ -0,0 +1,159 @@
+package com.crm.contactmanagementservice.integration;
+
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement count tests for the read endpoints that touch the contact and contact list association.
+ * This class calls each endpoint against the H2 test database with Hibernate statistics enabled, for a contact list
+ * holding several contacts, so lazy loading of ContactListEntity.contacts or ContactEntity.contactList during mapping or
+ * serialization shows up as extra statements here. Change pushes are held back for the whole run.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "contacts.websocket.coalesce-window=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EndpointStatementCountTest {
+
+    private static final int CONTACTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ContactListEntity contactList;
+    private final List<ContactEntity> contacts = new ArrayList<>();
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves one contact list of a new user with {@value #CONTACTS} contacts and resets the statistics.
+     */
+    @BeforeEach
+    public void setup() {
+        contactList = contactListRepository.save(ContactListEntity.builder().listName("List").userId(UUID.randomUUID()).build());
+        for (int i = 0; i < CONTACTS; i++) {
+            ContactEntity entity = new ContactEntity();
+            entity.setFirstName("June");
+            entity.setLastName("Thomas " + i);
+            entity.setEmail(UUID.randomUUID() + "@test.com");
+            entity.setDoNotContact(i == 0);
+            entity.setContactList(contactList);
+            contacts.add(contactRepository.save(entity));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Cleans up the saved contacts and contact list after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        contacts.forEach(contact -> contactRepository.deleteContactEntityById(contact.getId()));
+        contactListRepository.deleteById(contactList.getId());
+    }
+
+    /**
+     * Tests the number of statements of a read endpoint.
+     * The test passes if the endpoint answers with one SELECT, whatever the number of contacts, and loads no
+     * association lazily.
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "/api/v1/contact_lists/{list}/detail",
+            "/api/v1/contact_lists/{list}",
+            "/api/v1/contact_lists/user/{user}",
+            "/api/v1/contact_lists/user/{user}/summary",
+            "/api/v1/contacts/contact-list/{list}",
+            "/api/v1/contacts/user/{user}"})
+    @DisplayName("Read endpoint - one statement per request")
+    public void givenListWithContacts_whenGetEndpoint_thenOneStatement(String path) throws Exception {
+        String uri = path.replace("{list}", contactList.getId().toString())
+                .replace("{user}", contactList.getUserId().toString());
+
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).as(uri).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).as(uri).isZero();
+        assertThat(statistics.getCollectionFetchCount()).as(uri).isZero();
+    }
+
+    /**
+     * Tests the body of the contact list detail endpoint.
+     * The test passes if the counts and every contact, in name order, are returned by the single query.
+     */
+    @Test
+    @DisplayName("Contact list detail - contacts and counts in one statement")
+    public void givenListWithContacts_whenGetDetail_thenReturnContactsAndCounts() throws Exception {
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", contactList.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contactCount").value(CONTACTS))
+                .andExpect(jsonPath("$.doNotContactCount").value(1))
+                .andExpect(jsonPath("$.contacts.length()").value(CONTACTS))
+                .andExpect(jsonPath("$.contacts[0].lastName").value("Thomas 0"))
+                .andExpect(jsonPath("$.contacts[0].contactListId").value(contactList.getId().toString()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Tests the body of the contact list summary endpoint.
+     * The test passes if the counts of a list with contacts and of an empty list are returned by the single query.
+     */
+    @Test
+    @DisplayName("Contact list summaries - counts in one statement")
+    public void givenListsWithAndWithoutContacts_whenGetSummaries_thenReturnCounts() throws Exception {
+        ContactListEntity empty = contactListRepository.save(ContactListEntity.builder().listName("Empty")
+                .userId(contactList.getUserId()).build());
+        statistics.clear();
+        try {
+            mockMvc.perform(get("/api/v1/contact_lists/user/{id}/summary", contactList.getUserId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(empty.getId().toString()))
+                    .andExpect(jsonPath("$[0].contactCount").value(0))
+                    .andExpect(jsonPath("$[0].doNotContactCount").value(0))
+                    .andExpect(jsonPath("$[1].id").value(contactList.getId().toString()))
+                    .andExpect(jsonPath("$[1].contactCount").value(CONTACTS))
+                    .andExpect(jsonPath("$[1].doNotContactCount").value(1));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            contactListRepository.deleteById(empty.getId());
+        }
+    }
+}
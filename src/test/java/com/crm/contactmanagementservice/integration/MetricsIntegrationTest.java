@@ -0,0 +1,117 @@
+package com.crm.contactmanagementservice.integration;
+
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the Prometheus scrape endpoint.
+ * This class calls the read endpoints against the H2 test database and checks that the scrape carries the request,
+ * repository, result size and connection pool metrics with their histogram buckets and percentiles.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    private ContactListEntity contactList;
+    private ContactEntity contact;
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves one contact in a contact list of a new user.
+     */
+    @BeforeEach
+    public void setup() {
+        contactList = contactListRepository.save(ContactListEntity.builder().listName("List").userId(UUID.randomUUID()).build());
+        ContactEntity entity = new ContactEntity();
+        entity.setFirstName("June");
+        entity.setLastName("Thomas");
+        entity.setEmail(UUID.randomUUID() + "@test.com");
+        entity.setContactList(contactList);
+        contact = contactRepository.save(entity);
+    }
+
+    /**
+     * Cleans up the saved contact and contact list after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        contactRepository.deleteContactEntityById(contact.getId());
+        contactListRepository.deleteById(contactList.getId());
+    }
+
+    /**
+     * Tests the scrape after a collection request.
+     * The test passes if the request timer, the repository timer of the query it ran, the number of items it returned,
+     * and the pool's acquire timer are all published as histograms with p50, p95 and p99.
+     * @throws Exception if the requests fail.
+     */
+    @Test
+    @DisplayName("Prometheus - request, repository, result size and pool metrics")
+    public void givenCollectionRequest_whenScrape_thenHistogramsPublished() throws Exception {
+        mockMvc.perform(get("/api/v1/contact_lists/user/{id}", contactList.getUserId())).andExpect(status().isOk());
+
+        String scrape = scrape();
+
+        assertThat(scrape).containsPattern("http_server_requests_seconds_bucket\\{[^}]*uri=\"/api/v1/contact_lists/user/\\{id}\"");
+        assertThat(scrape).containsPattern("http_server_requests_seconds\\{[^}]*uri=\"/api/v1/contact_lists/user/\\{id}\",quantile=\"0.99\"");
+        assertThat(scrape).containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*method=\"findAllContactListsByUserId\"[^}]*repository=\"ContactListRepository\"");
+        assertThat(scrape).containsPattern("http_server_response_items_count\\{method=\"GET\",uri=\"/api/v1/contact_lists/user/\\{id}\",} [1-9]");
+        assertThat(scrape).containsPattern("http_server_response_items_sum\\{method=\"GET\",uri=\"/api/v1/contact_lists/user/\\{id}\",} [1-9]");
+        assertThat(scrape).contains("hikaricp_connections_acquire_seconds_bucket{");
+        assertThat(scrape).containsPattern("hikaricp_connections_acquire_seconds\\{[^}]*quantile=\"0.95\"");
+    }
+
+    /**
+     * Tests the result size of a streamed page.
+     * The test passes if the page is counted under its own URI once the body has been written.
+     * @throws Exception if the requests fail.
+     */
+    @Test
+    @DisplayName("Prometheus - streamed page size")
+    public void givenStreamedPage_whenScrape_thenPageSizeRecorded() throws Exception {
+        MvcResult page = mockMvc.perform(get("/api/v1/contacts").param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(page)).andExpect(status().isOk());
+
+        assertThat(scrape()).containsPattern("http_server_response_items_max\\{method=\"GET\",uri=\"/api/v1/contacts\",} 1.0");
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.crm.contactmanagementservice.integration;
+
+import com.crm.contactmanagementservice.config.ReadYourWritesFilter;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for routing reads to a read replica.
+ * This class runs the application with a second H2 database as its replica. Replication is simulated by copying the
+ * primary into the replica; rows saved afterwards exist only on the primary, as they would on a lagging replica. The
+ * tests check which database serves reads, writes, cache loads and the reads of a client that just wrote.
+ */
+@SpringBootTest(properties = "contacts.db.replicas.urls=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaIntegrationTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    private ContactListEntity replicatedList;
+    private ContactListEntity primaryOnlyList;
+    private ContactEntity primaryOnlyContact;
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves a contact list and copies the primary into the replica, then saves a second contact list with one contact
+     * that only the primary has.
+     */
+    @BeforeEach
+    public void setup() throws SQLException {
+        replicatedList = contactListRepository.save(ContactListEntity.builder().listName("Replicated").userId(UUID.randomUUID()).build());
+        replicate();
+        primaryOnlyList = contactListRepository.save(ContactListEntity.builder().listName("Primary only").userId(UUID.randomUUID()).build());
+        ContactEntity entity = new ContactEntity();
+        entity.setFirstName("June");
+        entity.setLastName("Thomas");
+        entity.setEmail(UUID.randomUUID() + "@test.com");
+        entity.setContactList(primaryOnlyList);
+        primaryOnlyContact = contactRepository.save(entity);
+    }
+
+    /**
+     * Cleans up the saved contact and contact lists after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        contactRepository.deleteContactEntityById(primaryOnlyContact.getId());
+        contactListRepository.deleteById(primaryOnlyList.getId());
+        contactListRepository.deleteById(replicatedList.getId());
+    }
+
+    /**
+     * Tests the routing of read-only transactions.
+     * The test passes if the replicated contact list is found and the contact list saved after replication is not.
+     * @throws Exception if the requests fail.
+     */
+    @Test
+    @DisplayName("Reads - read-only transactions are served by the replica")
+    public void givenLaggingReplica_whenRead_thenServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", replicatedList.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", primaryOnlyList.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests a client reading after its own write.
+     * The test passes if the write finds the contact list on the primary and sets the last write cookie, the writer's
+     * next read sees the contact list, and another client's read still goes to the replica.
+     * @throws Exception if the requests fail.
+     */
+    @Test
+    @DisplayName("Read your writes - the writer reads from the primary after a write")
+    public void givenWrite_whenWriterReads_thenServedByPrimary() throws Exception {
+        Cookie lastWrite = mockMvc.perform(patch("/api/v1/contact_lists/{id}", primaryOnlyList.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"listName\": \"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+
+        assertThat(lastWrite).isNotNull();
+        assertThat(lastWrite.isHttpOnly()).isTrue();
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", primaryOnlyList.getId()).cookie(lastWrite))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/contact_lists/{id}/detail", primaryOnlyList.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests the loads of the lookup cache.
+     * The test passes if a contact that only the primary has is found by id, as cache loads read from the primary.
+     * @throws Exception if the request fails.
+     */
+    @Test
+    @DisplayName("Cache - lookup cache loads read from the primary")
+    public void givenLaggingReplica_whenLookupById_thenLoadedFromPrimary() throws Exception {
+        mockMvc.perform(get("/api/v1/contacts/{id}", primaryOnlyContact.getId()))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Tests the change feeds.
+     * The test passes if the contact list and the contact that only the primary has are in their owner's feeds, as the
+     * feeds read from the primary.
+     * @throws Exception if the requests fail.
+     */
+    @Test
+    @DisplayName("Change feeds - pages are read from the primary")
+    public void givenLaggingReplica_whenFetchChanges_thenServedByPrimary() throws Exception {
+        mockMvc.perform(get("/api/v1/contact_lists/user/{id}/changes", primaryOnlyList.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].id").value(primaryOnlyList.getId().toString()));
+        mockMvc.perform(get("/api/v1/contacts/user/{userId}/changes", primaryOnlyList.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].id").value(primaryOnlyContact.getId().toString()));
+    }
+
+    /**
+     * Replaces the replica's contents with a copy of the primary.
+     */
+    private void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = dataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
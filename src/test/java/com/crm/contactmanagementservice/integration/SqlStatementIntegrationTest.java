@@ -0,0 +1,150 @@
+package com.crm.contactmanagementservice.integration;
+
+import com.crm.contactmanagementservice.config.SqlStatementHeaderAdvice;
+import com.crm.contactmanagementservice.config.SqlStatementScope;
+import com.crm.contactmanagementservice.config.StatementBudget;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.logging.RequestLoggingFilter;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the per-request SQL statement accounting.
+ * This class sends requests against the H2 test database and checks the statement count headers, the log line of a
+ * request over the statement budget, and the StatementBudget test helper. The budget is lowered to two statements, so
+ * a PATCH that reads, updates and writes an outbox event is over it. Change pushes are held back for the whole run.
+ */
+@SpringBootTest(properties = {"contacts.sql.max-statements-per-request=2", "contacts.websocket.coalesce-window=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+public class SqlStatementIntegrationTest {
+
+    private static final String PATCH_BODY = "{\"phone\": \"0987654321\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    private ContactListEntity contactList;
+    private ContactEntity contact;
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves one contact in a contact list of a new user.
+     */
+    @BeforeEach
+    public void setup() {
+        contactList = contactListRepository.save(ContactListEntity.builder().listName("List").userId(UUID.randomUUID()).build());
+        ContactEntity entity = new ContactEntity();
+        entity.setFirstName("June");
+        entity.setLastName("Thomas");
+        entity.setEmail(UUID.randomUUID() + "@test.com");
+        entity.setContactList(contactList);
+        contact = contactRepository.save(entity);
+    }
+
+    /**
+     * Cleans up the saved contact and contact list after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        contactRepository.deleteContactEntityById(contact.getId());
+        contactListRepository.deleteById(contactList.getId());
+    }
+
+    /**
+     * Tests the statement count headers of a PATCH.
+     * The test passes if the headers report the statements counted around the request, which are the read, the update
+     * and the outbox insert, plus possibly the next block of outbox ids.
+     * @throws Throwable if the request fails.
+     */
+    @Test
+    @DisplayName("Headers - PATCH reports its statement count and database time")
+    public void givenPatch_whenResponse_thenStatementHeaders() throws Throwable {
+        MvcResult[] result = new MvcResult[1];
+
+        SqlStatementScope scope = StatementBudget.assertAtMost(4, () -> result[0] = mockMvc.perform(patch("/api/v1/contacts/{id}", contact.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PATCH_BODY))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(scope.statementCount()).isBetween(3, 4);
+        assertThat(result[0].getResponse().getHeader(SqlStatementHeaderAdvice.STATEMENT_COUNT_HEADER))
+                .isEqualTo(Integer.toString(scope.statementCount()));
+        assertThat(result[0].getResponse().getHeader(SqlStatementHeaderAdvice.TIME_HEADER)).matches("\\d+\\.\\d{3}");
+    }
+
+    /**
+     * Tests the log line of a request over the statement budget.
+     * The test passes if the PATCH is logged with its SQL, its request id and its URI template but not the contact's id,
+     * and the single-statement GET is not logged.
+     * @param output The captured log output.
+     * @throws Exception if the requests fail.
+     */
+    @Test
+    @DisplayName("Log - request over the statement budget is logged with its SQL")
+    public void givenRequestOverBudget_whenCompleted_thenLoggedWithSql(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/v1/contact_lists/{id}", contactList.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementHeaderAdvice.STATEMENT_COUNT_HEADER, "1"));
+        mockMvc.perform(patch("/api/v1/contacts/{id}", contact.getId())
+                        .header(RequestLoggingFilter.REQUEST_ID_HEADER, "patch-request-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PATCH_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestLoggingFilter.REQUEST_ID_HEADER, "patch-request-1"));
+
+        assertThat(output.getOut()).doesNotContain("GET /api/v1/contact_lists/{id} ran");
+        assertThat(output.getOut()).containsPattern("\\[patch-request-1] .*PATCH /api/v1/contacts/\\{id} ran [34] SQL statements");
+        assertThat(output.getOut()).doesNotContain("/api/v1/contacts/" + contact.getId() + " ran");
+        assertThat(output.getOut()).containsPattern("\\d\\. update public\\.contact set");
+        assertThat(output.getOut()).doesNotContain("0987654321\n");
+    }
+
+    /**
+     * Tests the StatementBudget helper.
+     * The test passes if a PATCH measured against a budget of one statement fails with the SQL that ran.
+     */
+    @Test
+    @DisplayName("Budget - exceeding the budget fails with the SQL that ran")
+    public void givenBudgetOfOne_whenPatch_thenAssertionErrorListsSql() {
+        assertThatThrownBy(() -> StatementBudget.assertAtMost(1, () -> mockMvc.perform(patch("/api/v1/contacts/{id}", contact.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PATCH_BODY))
+                .andExpect(status().isOk())))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Expected at most 1 SQL statements but")
+                .hasMessageContaining("update public.contact set");
+    }
+}
@@ -0,0 +1,206 @@
+package com.crm.contactmanagementservice.job;
+
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.repository.BulkJobRepository;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.repository.OutboxEventRepository;
+import com.crm.contactmanagementservice.service.BulkJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the BulkJobWorker.
+ * This class submits jobs through the BulkJobService against the H2 test database and runs them by hand, in chunks of
+ * two contacts; the scheduled poll is pushed out of the run.
+ */
+@SpringBootTest(properties = {"contacts.jobs.worker.enabled=true", "contacts.jobs.poll-interval=PT1H",
+        "contacts.jobs.chunk-size=2", "contacts.jobs.stale-after=PT1M", "contacts.websocket.coalesce-window=PT1H"})
+@ActiveProfiles("test")
+public class BulkJobWorkerTest {
+
+    private static final int CONTACTS = 5;
+
+    @Autowired
+    private BulkJobWorker bulkJobWorker;
+
+    @Autowired
+    private BulkJobService bulkJobService;
+
+    @Autowired
+    private BulkJobRepository bulkJobRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private ContactListEntity source;
+    private ContactListEntity target;
+    private final List<ContactEntity> contacts = new ArrayList<>();
+
+    /**
+     * Sets up the test environment before each test.
+     * Removes the jobs of earlier tests and saves a source list with {@value #CONTACTS} contacts and an empty target list.
+     */
+    @BeforeEach
+    public void setup() {
+        bulkJobRepository.deleteAllInBatch();
+        UUID userId = UUID.randomUUID();
+        source = contactListRepository.save(ContactListEntity.builder().listName("Source").userId(userId).build());
+        target = contactListRepository.save(ContactListEntity.builder().listName("Target").userId(userId).build());
+        for (int i = 0; i < CONTACTS; i++) {
+            ContactEntity entity = new ContactEntity();
+            entity.setFirstName("June");
+            entity.setLastName("Thomas " + i);
+            entity.setEmail(UUID.randomUUID() + "@test.com");
+            entity.setContactList(source);
+            contacts.add(contactRepository.save(entity));
+        }
+    }
+
+    /**
+     * Cleans up the saved contacts and contact lists after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        contacts.forEach(contact -> contactRepository.deleteContactEntityById(contact.getId()));
+        contactListRepository.deleteAllById(List.of(source.getId(), target.getId()));
+    }
+
+    /**
+     * Tests a move job run to completion.
+     * The test passes if every contact is moved in chunks, one outbox event per chunk naming its contacts, and the job
+     * reports them all.
+     */
+    @Test
+    @DisplayName("Bulk Job Worker - moves every contact in chunks")
+    public void givenMoveJob_whenRun_thenMoveContactsInChunks() {
+        BulkJobDTO submitted = bulkJobService.submitJob(new BulkJobRequestDTO(BulkJobType.MOVE_CONTACTS, source.getId(), target.getId(), null));
+
+        assertThat(bulkJobWorker.claimNextJob()).contains(submitted.id());
+        bulkJobWorker.runJob(submitted.id());
+
+        BulkJobDTO job = bulkJobService.getJobById(submitted.id());
+        assertThat(job.status()).isEqualTo(BulkJobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(CONTACTS);
+        assertThat(contactRepository.findContactDTOsByContactListId(source.getId())).isEmpty();
+        assertThat(contactRepository.findContactDTOsByContactListId(target.getId())).hasSize(CONTACTS);
+        assertThat(outboxEventRepository.findAll()).filteredOn(event -> event.getAggregateId().equals(target.getId()))
+                .extracting(event -> event.getEventType())
+                .containsExactly(OutboxEventType.CONTACTS_MOVED, OutboxEventType.CONTACTS_MOVED, OutboxEventType.CONTACTS_MOVED);
+        assertThat(payloads(target.getId())).contains(contactRepository.findContactDTOsByContactListId(target.getId()).stream()
+                .map(contact -> contact.id().toString()).toArray(String[]::new));
+    }
+
+    /**
+     * Tests a do not contact job started by the scheduled poll.
+     * The test passes if the job runs on a worker thread and flags every contact of the list, and the outbox events
+     * name every flagged contact.
+     */
+    @Test
+    @DisplayName("Bulk Job Worker - poll runs queued jobs in the background")
+    public void givenDoNotContactJob_whenPoll_thenFlagContactsInBackground() {
+        BulkJobDTO submitted = bulkJobService.submitJob(new BulkJobRequestDTO(BulkJobType.SET_DO_NOT_CONTACT, source.getId(), null, true));
+
+        assertThat(bulkJobWorker.poll()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> bulkJobService.getJobById(submitted.id()).status() == BulkJobStatus.SUCCEEDED);
+        assertThat(bulkJobService.getJobById(submitted.id()).processed()).isEqualTo(CONTACTS);
+        assertThat(contactRepository.findContactDTOsByContactListId(source.getId())).allMatch(contact -> contact.doNotContact());
+        assertThat(payloads(source.getId())).contains(contactRepository.findContactDTOsByContactListId(source.getId()).stream()
+                .map(contact -> contact.id().toString()).toArray(String[]::new));
+    }
+
+    /**
+     * Tests a job abandoned by a worker that stopped after committing some chunks.
+     * The test passes if another worker takes it over and processes only the contacts that are left.
+     */
+    @Test
+    @DisplayName("Bulk Job Worker - resumes an abandoned job after its last committed chunk")
+    public void givenAbandonedJob_whenClaim_thenResumeAfterLastChunk() {
+        contactRepository.moveContactsToContactList(contactRepository.findContactDTOsByContactListId(source.getId()).stream()
+                .limit(2).map(ContactDTO::id).toArray(UUID[]::new), target.getId());
+        BulkJobEntity abandoned = bulkJobRepository.save(BulkJobEntity.builder().jobType(BulkJobType.MOVE_CONTACTS)
+                .status(BulkJobStatus.RUNNING).contactListId(source.getId()).targetContactListId(target.getId())
+                .processed(2).workerId(UUID.randomUUID()).heartbeatAt(Instant.now().minus(Duration.ofMinutes(5))).build());
+
+        assertThat(bulkJobWorker.claimNextJob()).contains(abandoned.getId());
+        bulkJobWorker.runJob(abandoned.getId());
+
+        BulkJobDTO job = bulkJobService.getJobById(abandoned.getId());
+        assertThat(job.status()).isEqualTo(BulkJobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(CONTACTS);
+        assertThat(contactRepository.findContactDTOsByContactListId(target.getId())).hasSize(CONTACTS);
+    }
+
+    /**
+     * Tests a job whose worker is still sending heartbeats.
+     * The test passes if no other worker claims it.
+     */
+    @Test
+    @DisplayName("Bulk Job Worker - leaves a job with a live heartbeat alone")
+    public void givenLiveJob_whenClaim_thenSkipIt() {
+        bulkJobRepository.save(BulkJobEntity.builder().jobType(BulkJobType.MOVE_CONTACTS)
+                .status(BulkJobStatus.RUNNING).contactListId(source.getId()).targetContactListId(target.getId())
+                .workerId(UUID.randomUUID()).heartbeatAt(Instant.now()).build());
+
+        assertThat(bulkJobWorker.claimNextJob()).isEmpty();
+    }
+
+    /**
+     * Tests a job whose chunk fails.
+     * The test passes if the job is marked as failed with the reason and nothing is moved.
+     */
+    @Test
+    @DisplayName("Bulk Job Worker - marks a job failed when a chunk fails")
+    public void givenTargetDeleted_whenRun_thenFailJob() {
+        BulkJobDTO submitted = bulkJobService.submitJob(new BulkJobRequestDTO(BulkJobType.MOVE_CONTACTS, source.getId(), target.getId(), null));
+        contactListRepository.deleteById(target.getId());
+
+        assertThat(bulkJobWorker.claimNextJob()).contains(submitted.id());
+        bulkJobWorker.runJob(submitted.id());
+
+        BulkJobDTO job = bulkJobService.getJobById(submitted.id());
+        assertThat(job.status()).isEqualTo(BulkJobStatus.FAILED);
+        assertThat(job.processed()).isZero();
+        assertThat(job.error()).isNotBlank();
+        assertThat(contactRepository.findContactDTOsByContactListId(source.getId())).hasSize(CONTACTS);
+    }
+
+    /**
+     * Joins the payloads of the outbox events of an aggregate.
+     * @param aggregateId The id of the aggregate.
+     * @return The payloads, one per line.
+     */
+    private String payloads(UUID aggregateId) {
+        return outboxEventRepository.findAll().stream().filter(event -> event.getAggregateId().equals(aggregateId))
+                .map(event -> event.getPayload()).collect(Collectors.joining("\n"));
+    }
+}
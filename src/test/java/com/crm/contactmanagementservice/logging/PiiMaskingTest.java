@@ -0,0 +1,93 @@
+package com.crm.contactmanagementservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.mask.MaskingJsonGeneratorDecorator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PiiMasking and the log encoders that use it.
+ * This class tests the masks of emails, phone numbers and free text, and that both log formats mask email addresses
+ * anywhere in a message.
+ */
+class PiiMaskingTest {
+
+    /**
+     * Tests the email, phone and text masks.
+     * The test passes if each keeps only the first character, domain or last digits, and null stays null.
+     */
+    @Test
+    @DisplayName("Mask - emails, phones and text keep only a hint")
+    void givenPersonalData_whenMasked_thenOnlyHintKept() {
+        assertThat(PiiMasking.maskEmail("june.thomas@test.com")).isEqualTo("j***@test.com");
+        assertThat(PiiMasking.maskEmail("not-an-email")).isEqualTo("***");
+        assertThat(PiiMasking.maskPhone("0987654321")).isEqualTo("***21");
+        assertThat(PiiMasking.maskPhone("123")).isEqualTo("***");
+        assertThat(PiiMasking.maskText("Thomas")).isEqualTo("T*** (6 chars)");
+        assertThat(PiiMasking.maskEmail(null)).isNull();
+        assertThat(PiiMasking.maskPhone(null)).isNull();
+        assertThat(PiiMasking.maskText(null)).isNull();
+    }
+
+    /**
+     * Tests masking the email addresses inside a text.
+     * The test passes if every address is masked, the rest of the text is unchanged, and a text without addresses is
+     * returned as the same instance.
+     */
+    @Test
+    @DisplayName("Mask - every email address in a text")
+    void givenTextWithEmails_whenMaskEmails_thenEachMasked() {
+        String text = "Key (email)=(june@test.com) already exists, see also j.t@mail.example.org";
+        String plain = "Contact not found with id: 42";
+
+        assertThat(PiiMasking.maskEmails(text))
+                .isEqualTo("Key (email)=(j***@test.com) already exists, see also j***@mail.example.org");
+        assertThat(PiiMasking.maskEmails(plain)).isSameAs(plain);
+    }
+
+    /**
+     * Tests the text format's message converter.
+     * The test passes if the formatted message has its email address masked.
+     */
+    @Test
+    @DisplayName("Text format - message is masked")
+    void givenMessageWithEmail_whenConverted_thenMasked() {
+        LoggingEvent event = event("Import batch rejected: Key (email)=({}) already exists", "june@test.com");
+
+        assertThat(new MaskingMessageConverter().convert(event)).isEqualTo("Import batch rejected: Key (email)=(j***@test.com) already exists");
+    }
+
+    /**
+     * Tests the JSON format's encoder as configured in logback-spring.xml.
+     * The test passes if the message field has its email address masked.
+     */
+    @Test
+    @DisplayName("JSON format - message is masked")
+    void givenMessageWithEmail_whenEncodedAsJson_thenMasked() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        MaskingJsonGeneratorDecorator decorator = new MaskingJsonGeneratorDecorator();
+        decorator.addValueMasker(new EmailValueMasker());
+        decorator.start();
+        encoder.setJsonGeneratorDecorator(decorator);
+        encoder.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+        encoder.start();
+
+        String json = new String(encoder.encode(event("Lookup for {} failed", "june@test.com")), StandardCharsets.UTF_8);
+
+        assertThat(json).contains("\"message\":\"Lookup for j***@test.com failed\"").doesNotContain("june@test.com");
+    }
+
+    private static LoggingEvent event(String message, Object argument) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        return new LoggingEvent(PiiMaskingTest.class.getName(), context.getLogger(PiiMaskingTest.class), Level.WARN, message, null,
+                new Object[]{argument});
+    }
+}
@@ -0,0 +1,145 @@
+package com.crm.contactmanagementservice.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.crm.contactmanagementservice.controller.ContactController;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the RequestLoggingFilter.
+ * This class runs the filter around stub handlers and checks the request id it assigns, the MDC it sets while the
+ * request runs, and which requests it writes to the access log.
+ */
+class RequestLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLoggingFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private RequestLoggingFilter filter;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a filter that logs no requests by default and every request served by getContactById.
+     */
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("contacts.logging.sample-rates.ContactController.getContactById", "1.0");
+        filter = new RequestLoggingFilter(environment, 0.0, Duration.ofSeconds(1));
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    /**
+     * Detaches the captured appender after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    /**
+     * Tests the request id of a request that brings its own.
+     * The test passes if the id is in the MDC while the request runs, echoed in the response, and removed afterwards.
+     */
+    @Test
+    @DisplayName("Request id - caller's id is used and put in the MDC")
+    void givenRequestIdHeader_whenFiltered_thenIdInMdcAndResponse() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/contacts/1");
+        request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "client-id-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] seen = new String[1];
+
+        filter.doFilter(request, response, (req, res) -> seen[0] = MDC.get(RequestLoggingFilter.REQUEST_ID_MDC_KEY));
+
+        assertThat(seen[0]).isEqualTo("client-id-1");
+        assertThat(response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER)).isEqualTo("client-id-1");
+        assertThat(MDC.get(RequestLoggingFilter.REQUEST_ID_MDC_KEY)).isNull();
+    }
+
+    /**
+     * Tests the request id of a request whose id could inject log content.
+     * The test passes if the id is replaced by a generated UUID.
+     */
+    @Test
+    @DisplayName("Request id - unusable id is replaced")
+    void givenUnusableRequestId_whenFiltered_thenGeneratedId() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/contacts/1");
+        request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "forged\nline");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(UUID.fromString(response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER))).isNotNull();
+    }
+
+    /**
+     * Tests the per-handler sample rate.
+     * The test passes if a request to a handler sampled at 1.0 is logged with its structured fields, and a request to
+     * a handler at the default rate of 0 is not.
+     */
+    @Test
+    @DisplayName("Access log - sampled per handler with structured fields")
+    void givenSampleRates_whenFiltered_thenOnlySampledHandlerLogged() throws Exception {
+        filter.doFilter(handledRequest("getContactById", UUID.class), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(handledRequest("typeahead", UUID.class, String.class, int.class), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.get(0);
+        Map<String, Object> fields = event.getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+        assertThat(fields).containsEntry("handler", "ContactController.getContactById")
+                .containsEntry("uri", "/api/v1/contacts/{id}")
+                .containsEntry("status", 200)
+                .containsEntry("sampleRate", 1.0);
+        assertThat(event.getFormattedMessage()).startsWith("GET /api/v1/contacts/{id} 200 in ");
+        assertThat(event.getKeyValuePairs()).extracting((KeyValuePair pair) -> pair.key).doesNotContain("path");
+    }
+
+    /**
+     * Tests a server error on a handler that is not sampled.
+     * The test passes if the request is logged anyway, as a warning.
+     */
+    @Test
+    @DisplayName("Access log - server errors are always logged")
+    void givenServerError_whenFiltered_thenLoggedRegardlessOfSampling() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(handledRequest("typeahead", UUID.class, String.class, int.class), response,
+                (req, res) -> response.setStatus(503));
+
+        assertThat(appender.list).singleElement()
+                .satisfies(event -> assertThat(event.getLevel()).isEqualTo(ch.qos.logback.classic.Level.WARN));
+    }
+
+    private static MockHttpServletRequest handledRequest(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/contacts/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(mock(ContactController.class),
+                ContactController.class.getMethod(methodName, parameterTypes)));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                methodName.equals("getContactById") ? "/api/v1/contacts/{id}" : "/api/v1/contacts/user/{userId}/typeahead");
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package com.crm.contactmanagementservice.notification;
+
+import com.crm.contactmanagementservice.dto.ChangeNotificationDTO;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.event.ContactListChangedEvent;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the ChangeFeedBroadcaster.
+ * This class tests coalescing, owner resolution and the resync fallback with a mocked broker and repository.
+ */
+class ChangeFeedBroadcasterTest {
+
+    private SimpMessageSendingOperations messagingTemplate;
+    private ContactListRepository contactListRepository;
+    private ChangeFeedBroadcaster broadcaster;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a broadcaster that lists at most three IDs per message.
+     */
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        contactListRepository = mock(ContactListRepository.class);
+        broadcaster = new ChangeFeedBroadcaster(messagingTemplate, contactListRepository, 3);
+    }
+
+    /**
+     * Tests that a burst of changes for one user is sent once.
+     * The test passes if one message lists every change, and a deletion replaces an earlier change of the same contact.
+     */
+    @Test
+    @DisplayName("Flush - coalesces a burst into one message per topic")
+    void givenBurst_whenFlush_thenSendOneMessage() {
+        UUID userId = UUID.randomUUID();
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+
+        broadcaster.onContactChanged(new ContactChangedEvent(userId, null, List.of(kept, removed), false));
+        broadcaster.onContactChanged(new ContactChangedEvent(userId, null, List.of(kept), false));
+        broadcaster.onContactChanged(new ContactChangedEvent(userId, null, List.of(removed), true));
+        broadcaster.flush();
+        broadcaster.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend(any(String.class), any(Object.class));
+        verify(messagingTemplate).convertAndSend("/topic/users/" + userId + "/contacts",
+                new ChangeNotificationDTO(List.of(kept), List.of(removed), false));
+        verifyNoInteractions(contactListRepository);
+    }
+
+    /**
+     * Tests that contact changes named by contact list reach the list's owner.
+     * The test passes if the owners of all pending lists are read with one query and merged with direct changes.
+     */
+    @Test
+    @DisplayName("Flush - resolves contact list owners with one query")
+    void givenChangesByContactList_whenFlush_thenSendToOwner() {
+        UUID userId = UUID.randomUUID();
+        ContactListEntity first = ContactListEntity.builder().id(UUID.randomUUID()).userId(userId).build();
+        ContactListEntity second = ContactListEntity.builder().id(UUID.randomUUID()).userId(userId).build();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        given(contactListRepository.findAllContactListsByIds(any(UUID[].class))).willReturn(List.of(first, second));
+
+        broadcaster.onContactChanged(ContactChangedEvent.saved(first.getId(), List.of(a)));
+        broadcaster.onContactChanged(ContactChangedEvent.saved(second.getId(), List.of(b)));
+        broadcaster.onContactChanged(new ContactChangedEvent(userId, null, List.of(c), true));
+        broadcaster.flush();
+
+        verify(contactListRepository, times(1)).findAllContactListsByIds(any(UUID[].class));
+        verify(messagingTemplate, times(1)).convertAndSend(any(String.class), any(Object.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/users/" + userId + "/contacts"),
+                ArgumentMatchers.<Object>argThat(message -> message instanceof ChangeNotificationDTO dto
+                        && dto.changed().size() == 2 && dto.changed().containsAll(List.of(a, b))
+                        && dto.deleted().equals(List.of(c)) && !dto.resync()));
+    }
+
+    /**
+     * Tests the resync fallback.
+     * The test passes if a window touching more IDs than allowed, or an unknown set of contacts, is sent without IDs.
+     */
+    @Test
+    @DisplayName("Flush - too many changes are sent as a resync")
+    void givenTooManyChanges_whenFlush_thenSendResync() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+
+        broadcaster.onContactListChanged(new ContactListChangedEvent(userId, UUID.randomUUID(), false));
+        broadcaster.onContactChanged(new ContactChangedEvent(userId, null,
+                List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()), false));
+        broadcaster.onContactChanged(new ContactChangedEvent(otherUserId, null, null, true));
+        broadcaster.flush();
+
+        ChangeNotificationDTO resync = new ChangeNotificationDTO(List.of(), List.of(), true);
+        verify(messagingTemplate).convertAndSend("/topic/users/" + userId + "/contacts", resync);
+        verify(messagingTemplate).convertAndSend("/topic/users/" + otherUserId + "/contacts", resync);
+        verify(messagingTemplate, never()).convertAndSend("/topic/users/" + userId + "/contact-lists", resync);
+    }
+}
@@ -0,0 +1,62 @@
+package com.crm.contactmanagementservice.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the FileOutboxSink.
+ * This class appends batches to a temporary file and reads them back line by line.
+ */
+public class FileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Tests appending two batches.
+     * The test passes if every event is one JSON line, in order, with its payload embedded as JSON.
+     */
+    @Test
+    @DisplayName("File Outbox Sink - appends one JSON line per event")
+    public void givenBatches_whenPublish_thenAppendOneLinePerEvent() throws IOException {
+        Path file = directory.resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+        UUID aggregateId = UUID.randomUUID();
+
+        sink.publish(List.of(message(1, aggregateId), message(2, aggregateId)));
+        sink.publish(List.of(message(3, aggregateId)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("type").asText()).isEqualTo("CONTACT_CREATED");
+        assertThat(first.get("aggregateId").asText()).isEqualTo(aggregateId.toString());
+        assertThat(first.get("payload").get("firstName").asText()).isEqualTo("June");
+        assertThat(objectMapper.readTree(lines.get(2)).get("id").asLong()).isEqualTo(3);
+    }
+
+    /**
+     * Creates a CONTACT_CREATED message.
+     * @param id The id of the message.
+     * @param aggregateId The id of the contact.
+     * @return The message.
+     */
+    private static OutboxMessage message(long id, UUID aggregateId) {
+        return new OutboxMessage(id, OutboxEventType.CONTACT_CREATED, aggregateId, "{\"firstName\":\"June\"}", Instant.now());
+    }
+}
@@ -0,0 +1,160 @@
+package com.crm.contactmanagementservice.outbox;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.repository.OutboxEventRepository;
+import com.crm.contactmanagementservice.service.ContactService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the OutboxRelay.
+ * This class writes contacts through the service against the H2 test database and drains the outbox by hand into an
+ * in-memory sink; the scheduled poll is pushed out of the run.
+ */
+@SpringBootTest(properties = {"contacts.outbox.relay.enabled=true", "contacts.outbox.sink=memory",
+        "contacts.outbox.poll-interval=PT1H", "contacts.outbox.batch-size=2"})
+@ActiveProfiles("test")
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Sets up the test environment before each test.
+     * Empties the outbox and the sink, so only the events written by the test are relayed.
+     */
+    @BeforeEach
+    public void setup() {
+        outboxEventRepository.deleteAllInBatch();
+        outboxSink.messages.clear();
+        outboxSink.failures = 0;
+    }
+
+    /**
+     * Tests the relay of committed changes.
+     * The test passes if every event is delivered once, in order and over several batches, and removed from the outbox.
+     */
+    @Test
+    @DisplayName("Outbox Relay - delivers committed events in order and removes them")
+    public void givenCommittedChanges_whenDrain_thenDeliverInOrderAndDelete() {
+        ContactDTO created = createContact();
+        contactService.updateContact(new ContactDTO(null, null, null, null, null, null, "0987654321", null, null, false), created.id());
+        contactService.deleteContactById(created.id());
+
+        int relayed = outboxRelay.drain();
+
+        assertThat(relayed).isEqualTo(3);
+        assertThat(outboxSink.messages).extracting(OutboxMessage::type).containsExactly(
+                OutboxEventType.CONTACT_CREATED, OutboxEventType.CONTACT_UPDATED, OutboxEventType.CONTACT_DELETED);
+        assertThat(outboxSink.messages).extracting(OutboxMessage::aggregateId).containsOnly(created.id());
+        assertThat(outboxSink.messages.get(1).payload()).contains("0987654321");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    /**
+     * Tests the relay when the sink fails.
+     * The test passes if the failed batch stays in the outbox and is delivered on the next drain.
+     */
+    @Test
+    @DisplayName("Outbox Relay - keeps events when the sink fails")
+    public void givenFailingSink_whenDrain_thenKeepEventsForRetry() {
+        ContactDTO created = createContact();
+        outboxSink.failures = 1;
+
+        assertThat(outboxRelay.drain()).isZero();
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        assertThat(outboxRelay.drain()).isEqualTo(1);
+        assertThat(outboxSink.messages).extracting(OutboxMessage::aggregateId).containsExactly(created.id());
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    /**
+     * Tests two relays draining at once.
+     * The test passes if a relay skips the events claimed by another transaction instead of waiting for them.
+     */
+    @Test
+    @DisplayName("Outbox Relay - skips events locked by another relay")
+    public void givenLockedEvents_whenRelayBatch_thenSkipThem() throws Exception {
+        createContact();
+        createContact();
+        createContact();
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+
+        int relayedWhileLocked = other.execute(status -> {
+            assertThat(outboxEventRepository.lockNextEvents(2)).hasSize(2);
+            try {
+                return CompletableFuture.supplyAsync(outboxRelay::relayBatch).get(10, TimeUnit.SECONDS);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertThat(relayedWhileLocked).isEqualTo(1);
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+    }
+
+    /**
+     * Creates a contact with a unique email.
+     * @return The created contact.
+     */
+    private ContactDTO createContact() {
+        return contactService.createContact(new ContactDTO(null, null, "June", "Thomas", null,
+                UUID.randomUUID() + "@test.com", null, null, null, false));
+    }
+
+    /**
+     * OutboxSink keeping every delivered event in memory, failing the next batches on request.
+     */
+    static class InMemoryOutboxSink implements OutboxSink {
+
+        private final List<OutboxMessage> messages = new ArrayList<>();
+        private volatile int failures;
+
+        @Override
+        public synchronized void publish(List<OutboxMessage> batch) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Sink unavailable");
+            }
+            messages.addAll(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class InMemoryOutboxSinkConfig {
+
+        @Bean
+        public InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+}
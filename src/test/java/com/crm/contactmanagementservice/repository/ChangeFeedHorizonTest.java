@@ -0,0 +1,128 @@
+package com.crm.contactmanagementservice.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Postgres tests for the ChangeFeedHorizon and the stamp triggers it relies on.
+ * This class runs against the Postgres database configured through the POSTGRES_* environment variables, after
+ * Liquibase has applied the change sets, and is skipped when no such database is configured.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+public class ChangeFeedHorizonTest {
+
+    @Autowired
+    private ChangeFeedHorizon changeFeedHorizon;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Tests the horizon while another transaction writes a contact list.
+     * The test passes if the horizon is not after the start of the writing transaction, so its changes are held back.
+     */
+    @Test
+    @DisplayName("Horizon - held back at the start of the oldest open writing transaction")
+    public void givenOpenWritingTransaction_whenCurrent_thenNotAfterItsStart() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            Instant started = now(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO contact_list (id, list_name, user_id, created_at, updated_at, version) " +
+                        "VALUES (gen_random_uuid(), 'Open', gen_random_uuid(), now(), now(), 0)");
+            }
+            Thread.sleep(50);
+
+            Instant horizon = transactionTemplate.execute(status -> changeFeedHorizon.current());
+
+            assertThat(horizon).isBeforeOrEqualTo(started);
+            connection.rollback();
+        }
+    }
+
+    /**
+     * Tests the horizon while another transaction only reads, as a streamed export does.
+     * The test passes if the horizon is after the start of the reading transaction, so it does not hold the feeds back.
+     */
+    @Test
+    @DisplayName("Horizon - not held back by open transactions that do not write")
+    public void givenOpenReadingTransaction_whenCurrent_thenAfterItsStart() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            Instant started = now(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT count(*) FROM contact").close();
+            }
+            Thread.sleep(50);
+
+            Instant horizon = transactionTemplate.execute(status -> changeFeedHorizon.current());
+
+            assertThat(horizon).isAfter(started);
+            connection.rollback();
+        }
+    }
+
+    /**
+     * Tests the stamp triggers of the contact list and contact list tombstone tables.
+     * The test passes if the times set by the application are replaced by times of the database clock taken during the
+     * writing transaction.
+     */
+    @Test
+    @DisplayName("Stamp trigger - modification and deletion times come from the database clock")
+    public void givenApplicationTime_whenSaveContactList_thenStampedByDatabase() {
+        UUID id = UUID.randomUUID();
+        Instant past = Instant.parse("2024-03-01T10:00:00Z");
+
+        Instant[] times = transactionTemplate.execute(status -> {
+            Instant started = jdbcTemplate.queryForObject("SELECT now()", OffsetDateTime.class).toInstant();
+            jdbcTemplate.update("INSERT INTO contact_list (id, list_name, user_id, created_at, updated_at, version) " +
+                    "VALUES (?, 'Stamped', ?, ?, ?, 0)", id, UUID.randomUUID(), Timestamp.from(past), Timestamp.from(past));
+            jdbcTemplate.update("INSERT INTO contact_list_tombstone (contact_list_id, user_id, deleted_at) VALUES (?, ?, ?)",
+                    id, UUID.randomUUID(), Timestamp.from(past));
+            return new Instant[]{started,
+                    jdbcTemplate.queryForObject("SELECT updated_at FROM contact_list WHERE id = ?", Timestamp.class, id).toInstant(),
+                    jdbcTemplate.queryForObject("SELECT deleted_at FROM contact_list_tombstone WHERE contact_list_id = ?",
+                            Timestamp.class, id).toInstant(),
+                    jdbcTemplate.queryForObject("SELECT clock_timestamp()", OffsetDateTime.class).toInstant()};
+        });
+        jdbcTemplate.update("DELETE FROM contact_list_tombstone WHERE contact_list_id = ?", id);
+        jdbcTemplate.update("DELETE FROM contact_list WHERE id = ?", id);
+
+        assertThat(times[1]).isBetween(times[0], times[3]);
+        assertThat(times[2]).isBetween(times[1], times[3]);
+    }
+
+    /**
+     * Returns the start time of the connection's transaction.
+     */
+    private static Instant now(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT now()")) {
+            resultSet.next();
+            return resultSet.getObject(1, OffsetDateTime.class).toInstant();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the ContactRepository.
+ * This class runs the native queries against the H2 test database to check they stay portable.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+public class ContactRepositoryTest {
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    @Autowired
+    private ContactTombstoneRepository contactTombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves contacts whose names match the search term exactly, as a prefix, and in the middle.
+     */
+    @BeforeEach
+    public void setup() {
+        contactRepository.save(contact("Anna", "Johnson"));
+        contactRepository.save(contact("John", "Smith"));
+        contactRepository.save(contact("Johnny", "Walker"));
+        contactRepository.save(contact("Mary", "Poppins"));
+    }
+
+    /**
+     * Tests the searchByName query.
+     * The test passes if exact matches rank before prefix matches, which rank before other matches.
+     */
+    @Test
+    @DisplayName("Search By Name - ranks exact, prefix, then contains matches")
+    public void givenMatchingNames_whenSearchByName_thenReturnRankedContacts() {
+        List<ContactEntity> result = contactRepository.searchByName("john", "john%", "%john%", 10, 0);
+
+        assertThat(result).extracting(ContactEntity::getFirstName).containsExactly("John", "Anna", "Johnny");
+    }
+
+    /**
+     * Tests the searchByName query with a limit and an offset.
+     * The test passes if the requested page of the ranked results is returned.
+     */
+    @Test
+    @DisplayName("Search By Name - pages through ranked results")
+    public void givenLimitAndOffset_whenSearchByName_thenReturnPage() {
+        List<ContactEntity> result = contactRepository.searchByName("john", "john%", "%john%", 1, 1);
+
+        assertThat(result).extracting(ContactEntity::getFirstName).containsExactly("Anna");
+    }
+
+    /**
+     * Tests the findAllContactEntitiesByIds query.
+     * The test passes if only the contacts whose ids are in the array are returned and unknown ids are ignored.
+     */
+    @Test
+    @DisplayName("Find All By Ids - matches the ids bound as an array")
+    public void givenIds_whenFindAllContactEntitiesByIds_thenReturnMatchingContacts() {
+        List<ContactEntity> saved = contactRepository.findAll();
+        UUID[] ids = {saved.get(0).getId(), saved.get(2).getId(), UUID.randomUUID()};
+
+        List<ContactEntity> result = contactRepository.findAllContactEntitiesByIds(ids);
+
+        assertThat(result).extracting(ContactEntity::getId).containsExactlyInAnyOrder(ids[0], ids[1]);
+    }
+
+    /**
+     * Tests the moveContactsToContactList query.
+     * The test passes if the listed contacts are moved and contacts already in the target list are not counted.
+     */
+    @Test
+    @DisplayName("Move Contacts - moves the listed contacts in one statement")
+    public void givenIds_whenMoveContactsToContactList_thenMoveOnlyContactsNotAlreadyThere() {
+        List<ContactEntity> saved = contactRepository.findAll();
+        UUID target = contactList().getId();
+        contactRepository.flush();
+
+        int first = contactRepository.moveContactsToContactList(new UUID[]{saved.get(0).getId(), saved.get(1).getId()}, target);
+        int second = contactRepository.moveContactsToContactList(new UUID[]{saved.get(1).getId(), saved.get(2).getId()}, target);
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        assertThat(contactRepository.findContactDTOsByContactListId(target)).hasSize(3);
+    }
+
+    /**
+     * Tests the lockContactListContactIds query.
+     * The test passes if at most limit contacts of the list are returned and moving each chunk empties the list.
+     */
+    @Test
+    @DisplayName("Lock Contact List Contacts - returns at most limit contacts of the list per call")
+    public void givenSourceList_whenLockAndMoveChunks_thenMoveInChunks() {
+        UUID source = contactList().getId();
+        UUID target = contactList().getId();
+        contactRepository.flush();
+        contactRepository.moveContactsToContactList(
+                contactRepository.findAll().stream().map(ContactEntity::getId).toArray(UUID[]::new), source);
+
+        List<UUID> first = contactRepository.lockContactListContactIds(source, Limit.of(3));
+        contactRepository.moveContactsToContactList(first.toArray(UUID[]::new), target);
+        List<UUID> second = contactRepository.lockContactListContactIds(source, Limit.of(3));
+        contactRepository.moveContactsToContactList(second.toArray(UUID[]::new), target);
+
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(1).doesNotContainAnyElementsOf(first);
+        assertThat(contactRepository.findContactDTOsByContactListId(source)).isEmpty();
+        assertThat(contactRepository.findContactDTOsByContactListId(target)).hasSize(4);
+    }
+
+    /**
+     * Tests the detachContactListContacts query.
+     * The test passes if the list's contacts leave it with a new version and modification time, and other contacts
+     * are untouched.
+     */
+    @Test
+    @DisplayName("Detach Contact List Contacts - bumps the version of every detached contact")
+    public void givenListedContacts_whenDetachContactListContacts_thenBumpVersions() {
+        UUID list = contactList().getId();
+        List<ContactEntity> saved = contactRepository.findAll();
+        contactRepository.flush();
+        contactRepository.moveContactsToContactList(new UUID[]{saved.get(0).getId(), saved.get(1).getId()}, list);
+        long version = contactRepository.findContactDTOById(saved.get(0).getId()).orElseThrow().version();
+
+        int detached = contactRepository.detachContactListContacts(list);
+
+        assertThat(detached).isEqualTo(2);
+        assertThat(contactRepository.findContactDTOsByContactListId(list)).isEmpty();
+        assertThat(contactRepository.findContactDTOById(saved.get(0).getId()).orElseThrow().version()).isEqualTo(version + 1);
+        assertThat(contactRepository.findContactDTOById(saved.get(2).getId()).orElseThrow().version())
+                .isEqualTo(saved.get(2).getVersion());
+    }
+
+    /**
+     * Tests the findContactsChangedByUserIdAfter query.
+     * The test passes if a user's contacts are returned in (updated_at, id) order strictly after the watermark and
+     * before the upper bound.
+     */
+    @Test
+    @DisplayName("Find Contacts Changed - seeks after the watermark in change order")
+    public void givenChangedContacts_whenFindContactsChangedByUserIdAfter_thenReturnPageInOrder() {
+        ContactListEntity list = contactList();
+        List<ContactEntity> saved = contactRepository.findAll();
+        Instant first = Instant.parse("2024-03-01T10:00:00Z");
+        Instant second = first.plusSeconds(60);
+        contactRepository.flush();
+        contactRepository.moveContactsToContactList(new UUID[]{saved.get(0).getId(), saved.get(1).getId(), saved.get(2).getId()}, list.getId());
+        stamp(first, saved.get(0).getId(), saved.get(1).getId());
+        stamp(second, saved.get(2).getId());
+        List<UUID> sameTime = saved.subList(0, 2).stream().map(ContactEntity::getId)
+                .sorted((a, b) -> new ChangeCursor(first, a).compareTo(new ChangeCursor(first, b))).toList();
+
+        List<ContactEntity> all = contactRepository.findContactsChangedByUserIdAfter(
+                list.getUserId(), ChangeCursor.START.at(), ChangeCursor.START.id(), second.plusSeconds(1), 10);
+        List<ContactEntity> after = contactRepository.findContactsChangedByUserIdAfter(
+                list.getUserId(), first, sameTime.get(0), second.plusSeconds(1), 10);
+        List<ContactEntity> settled = contactRepository.findContactsChangedByUserIdAfter(
+                list.getUserId(), ChangeCursor.START.at(), ChangeCursor.START.id(), second, 10);
+
+        assertThat(all).extracting(ContactEntity::getId).containsExactly(sameTime.get(0), sameTime.get(1), saved.get(2).getId());
+        assertThat(after).extracting(ContactEntity::getId).containsExactly(sameTime.get(1), saved.get(2).getId());
+        assertThat(settled).extracting(ContactEntity::getId).containsExactly(sameTime.get(0), sameTime.get(1));
+    }
+
+    /**
+     * Tests the contact tombstone queries.
+     * The test passes if deleting a listed contact or its contact list records tombstones for the list's owner, and a
+     * contact in no list gets none.
+     */
+    @Test
+    @DisplayName("Contact Tombstones - recorded for the owner of the contact's list")
+    public void givenListedContacts_whenInsertTombstones_thenFindThemByOwner() {
+        ContactListEntity list = contactList();
+        List<ContactEntity> saved = contactRepository.findAll();
+        contactRepository.flush();
+        contactRepository.moveContactsToContactList(new UUID[]{saved.get(0).getId(), saved.get(1).getId()}, list.getId());
+
+        int single = contactTombstoneRepository.insertContactTombstone(saved.get(0).getId());
+        int unlisted = contactTombstoneRepository.insertContactTombstone(saved.get(3).getId());
+        int listed = contactTombstoneRepository.insertContactListContactTombstones(list.getId());
+
+        assertThat(single).isEqualTo(1);
+        assertThat(unlisted).isZero();
+        assertThat(listed).isEqualTo(2);
+        assertThat(contactTombstoneRepository.findContactTombstonesByUserIdAfter(list.getUserId(), ChangeCursor.START.at(),
+                ChangeCursor.START.id(), Instant.now().plusSeconds(60), 10))
+                .hasSize(3).allMatch(tombstone -> list.getUserId().equals(tombstone.getUserId()));
+    }
+
+    /**
+     * Sets the modification time of contacts, which the database otherwise stamps with the time of the transaction.
+     * @param at The modification time.
+     * @param ids The IDs of the contacts.
+     */
+    private void stamp(Instant at, UUID... ids) {
+        for (UUID id : ids) {
+            jdbcTemplate.update("UPDATE contact SET updated_at = ? WHERE id = ?", Timestamp.from(at), id);
+        }
+    }
+
+    /**
+     * Tests the insertContactMoveTombstones query.
+     * The test passes if only contacts leaving a list of another user get a tombstone, recorded for that user.
+     */
+    @Test
+    @DisplayName("Contact Move Tombstones - recorded for the previous owner when the owner changes")
+    public void givenListsOfTwoUsers_whenInsertContactMoveTombstones_thenOnlyForPreviousOwner() {
+        ContactListEntity list = contactList();
+        ContactListEntity sameOwner = contactListRepository.saveAndFlush(
+                ContactListEntity.builder().listName("Same owner").userId(list.getUserId()).build());
+        ContactListEntity otherOwner = contactList();
+        List<ContactEntity> saved = contactRepository.findAll();
+        contactRepository.flush();
+        contactRepository.moveContactsToContactList(new UUID[]{saved.get(0).getId(), saved.get(1).getId()}, list.getId());
+        UUID[] ids = {saved.get(0).getId(), saved.get(1).getId(), saved.get(2).getId()};
+
+        int kept = contactTombstoneRepository.insertContactMoveTombstones(ids, sameOwner.getId());
+        int handedOver = contactTombstoneRepository.insertContactMoveTombstones(ids, otherOwner.getId());
+
+        assertThat(kept).isZero();
+        assertThat(handedOver).isEqualTo(2);
+        assertThat(contactTombstoneRepository.findContactTombstonesByUserIdAfter(list.getUserId(), ChangeCursor.START.at(),
+                ChangeCursor.START.id(), Instant.now().plusSeconds(60), 10))
+                .extracting(tombstone -> tombstone.getContactId()).containsExactlyInAnyOrder(ids[0], ids[1]);
+    }
+
+    /**
+     * Tests the deleteContactTombstonesBefore query.
+     * The test passes if only tombstones deleted before the cutoff are purged, at most limit per call.
+     */
+    @Test
+    @DisplayName("Contact Tombstones - purged before the cutoff in batches")
+    public void givenOldAndRecentTombstones_whenDeleteBefore_thenOnlyOldOnesInBatches() {
+        ContactListEntity list = contactList();
+        List<ContactEntity> saved = contactRepository.findAll();
+        contactRepository.flush();
+        contactRepository.moveContactsToContactList(new UUID[]{saved.get(0).getId(), saved.get(1).getId(),
+                saved.get(2).getId()}, list.getId());
+        contactTombstoneRepository.insertContactListContactTombstones(list.getId());
+        Instant cutoff = Instant.now().minusSeconds(3600);
+        jdbcTemplate.update("UPDATE contact_tombstone SET deleted_at = ? WHERE contact_id <> ?",
+                Timestamp.from(cutoff.minusSeconds(60)), saved.get(2).getId());
+
+        int firstBatch = contactTombstoneRepository.deleteContactTombstonesBefore(cutoff, 1);
+        int secondBatch = contactTombstoneRepository.deleteContactTombstonesBefore(cutoff, 1);
+        int thirdBatch = contactTombstoneRepository.deleteContactTombstonesBefore(cutoff, 1);
+
+        assertThat(List.of(firstBatch, secondBatch, thirdBatch)).containsExactly(1, 1, 0);
+        assertThat(contactTombstoneRepository.findAll())
+                .extracting(tombstone -> tombstone.getContactId()).containsExactly(saved.get(2).getId());
+    }
+
+    /**
+     * Saves an empty contact list.
+     * @return The saved ContactListEntity.
+     */
+    private ContactListEntity contactList() {
+        return contactListRepository.saveAndFlush(ContactListEntity.builder().listName("List").userId(UUID.randomUUID()).build());
+    }
+
+    /**
+     * Creates a ContactEntity with the given names.
+     * @param firstName The first name.
+     * @param lastName The last name.
+     * @return The created ContactEntity.
+     */
+    private ContactEntity contact(String firstName, String lastName) {
+        ContactEntity entity = new ContactEntity();
+        entity.setFirstName(firstName);
+        entity.setLastName(lastName);
+        return entity;
+    }
+}
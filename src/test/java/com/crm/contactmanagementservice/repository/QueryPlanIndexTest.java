@@ -0,0 +1,168 @@
+package com.crm.contactmanagementservice.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan tests for the lookup queries in ContactRepository and ContactListRepository, and for the range scan of
+ * the contact change feed.
+ * This class runs against the Postgres database configured through the POSTGRES_* environment variables, after
+ * Liquibase has applied the change sets, and is skipped when no such database is configured.
+ * Sequential scans are disabled for each EXPLAIN, so the planner only falls back to one when no index can serve the
+ * query; the tables are too small for the plan to be meaningful otherwise. Native queries are explained as written;
+ * JPQL queries are run once and their generated SQL is explained.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.crm.contactmanagementservice.repository.QueryPlanIndexTest$CapturingStatementInspector")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+public class QueryPlanIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Provides each repository lookup that must be served by an index, with sample values for its parameters.
+     * @return The repository type, method name, parameter types and sample values.
+     */
+    static Stream<Arguments> indexedLookups() {
+        Class<?>[] changesAfter = {UUID.class, Instant.class, UUID.class, Instant.class, int.class};
+        Object[] watermark = {UUID.randomUUID(), Timestamp.from(Instant.EPOCH), UUID.randomUUID(), Timestamp.from(Instant.now()), 100};
+        Class<?>[] purgeBefore = {Instant.class, int.class};
+        Object[] cutoff = {Timestamp.from(Instant.now()), 1000};
+        return Stream.of(
+                lookup(ContactRepository.class, "findContactEntityById", UUID.class, UUID.randomUUID()),
+                lookup(ContactRepository.class, "findAllContactEntitiesByIds", UUID[].class,
+                        (Object) new UUID[]{UUID.randomUUID(), UUID.randomUUID()}),
+                lookup(ContactRepository.class, "findContactDTOById", UUID.class, UUID.randomUUID()),
+                lookup(ContactRepository.class, "findContactDTOsByContactListId", UUID.class, UUID.randomUUID()),
+                lookup(ContactRepository.class, "findContactDTOsByUserId", UUID.class, UUID.randomUUID()),
+                lookup(ContactRepository.class, "findContactDTOByEmail", String.class, "june@test.com"),
+                lookup(ContactRepository.class, "findContactDTOByPhone", String.class, "1234567890"),
+                lookup(ContactRepository.class, "findContactsChangedByUserIdAfter", changesAfter, watermark),
+                lookup(ContactListRepository.class, "findAllContactListsByUserId", UUID.class, UUID.randomUUID()),
+                lookup(ContactListRepository.class, "findContactListSummariesByUserId", UUID.class, UUID.randomUUID()),
+                lookup(ContactListRepository.class, "findAllContactListsByIds", UUID[].class,
+                        (Object) new UUID[]{UUID.randomUUID(), UUID.randomUUID()}),
+                lookup(ContactListRepository.class, "findContactListsChangedByUserIdAfter", changesAfter, watermark),
+                lookup(ContactTombstoneRepository.class, "findContactTombstonesByUserIdAfter", changesAfter, watermark),
+                lookup(ContactListTombstoneRepository.class, "findContactListTombstonesByUserIdAfter", changesAfter, watermark),
+                lookup(ContactTombstoneRepository.class, "deleteContactTombstonesBefore", purgeBefore, cutoff),
+                lookup(ContactListTombstoneRepository.class, "deleteContactListTombstonesBefore", purgeBefore, cutoff),
+                lookup(OutboxEventRepository.class, "lockNextEvents", int.class, 100),
+                lookup(BulkJobRepository.class, "findBulkJobEntityById", UUID.class, UUID.randomUUID()),
+                lookup(BulkJobRepository.class, "lockNextClaimableJob", Instant.class, Timestamp.from(Instant.now())));
+    }
+
+    /**
+     * Builds the arguments of a single parameter lookup.
+     */
+    private static Arguments lookup(Class<?> repository, String method, Class<?> parameterType, Object value) {
+        return lookup(repository, method, new Class<?>[]{parameterType}, value);
+    }
+
+    /**
+     * Builds the arguments of a lookup; the values are bound in the order the parameters appear in the query.
+     */
+    private static Arguments lookup(Class<?> repository, String method, Class<?>[] parameterTypes, Object... values) {
+        return Arguments.of(repository, method, parameterTypes, values);
+    }
+
+    /**
+     * Tests that a repository lookup is planned without a sequential scan.
+     * The test passes if no node of the EXPLAIN output is a Seq Scan.
+     */
+    @ParameterizedTest(name = "{0}.{1}")
+    @MethodSource("indexedLookups")
+    @DisplayName("Query plan - lookup uses an index")
+    public void givenIndexes_whenExplainLookup_thenNoSequentialScan(Class<?> repository, String method,
+                                                                     Class<?>[] parameterTypes, Object[] values) throws Exception {
+        Query query = repository.getMethod(method, parameterTypes).getAnnotation(Query.class);
+        String sql = query.nativeQuery()
+                ? query.value().replaceAll(":\\w+", "?")
+                : generatedSql(repository, repository.getMethod(method, parameterTypes), values);
+
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, values);
+        });
+
+        assertThat(plan).as(String.join("\n", plan)).noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    /**
+     * Tests the plan of the contact change feed.
+     * The test passes if each contact list is read through the change index with the watermark as its index condition,
+     * so a poll only reads the contacts changed after it.
+     */
+    @Test
+    @DisplayName("Query plan - contact change feed reads a range of modification times")
+    public void givenChangeIndex_whenExplainContactChanges_thenRangeScanAfterWatermark() throws Exception {
+        Query query = ContactRepository.class.getMethod("findContactsChangedByUserIdAfter",
+                UUID.class, Instant.class, UUID.class, Instant.class, int.class).getAnnotation(Query.class);
+
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + query.value().replaceAll(":\\w+", "?"), String.class,
+                    UUID.randomUUID(), Timestamp.from(Instant.EPOCH), UUID.randomUUID(), Timestamp.from(Instant.now()), 100);
+        });
+
+        String text = String.join("\n", plan);
+        assertThat(text).as(text).contains("idx_contact_contact_list_id_updated_at");
+        assertThat(plan).as(text).anyMatch(line -> line.contains("Index Cond") && line.contains("updated_at"));
+    }
+
+    /**
+     * Runs a JPQL repository method and returns the SQL Hibernate generated for it.
+     * @param repository The repository type.
+     * @param method The repository method.
+     * @param values The arguments of the call, also bound to the returned SQL.
+     * @return The SQL of the last statement the call prepared.
+     */
+    private String generatedSql(Class<?> repository, Method method, Object[] values) throws Exception {
+        CapturingStatementInspector.LAST_STATEMENT.remove();
+        method.invoke(applicationContext.getBean(repository), values);
+        return CapturingStatementInspector.LAST_STATEMENT.get();
+    }
+
+    /**
+     * StatementInspector recording the SQL of the last statement of each thread, registered through the Hibernate
+     * properties of this test so JPQL lookups can be explained as the SQL Hibernate actually runs. Statements are kept
+     * per thread so the scheduled outbox relay cannot interleave its own.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            LAST_STATEMENT.set(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.crm.contactmanagementservice.repository;
+
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.exceptions.AppResyncRequiredException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the TombstoneRetention.
+ * This class checks the change token age limit and the batching of the purge against mocked tombstone repositories,
+ * with a one day retention window and batches of two.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TombstoneRetentionTest {
+
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    @Mock
+    private ContactTombstoneRepository contactTombstoneRepository;
+
+    @Mock
+    private ContactListTombstoneRepository contactListTombstoneRepository;
+
+    private TombstoneRetention tombstoneRetention;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    public void setup() {
+        tombstoneRetention = new TombstoneRetention(contactTombstoneRepository, contactListTombstoneRepository, RETENTION, 2);
+    }
+
+    /**
+     * Tests the age limit of change tokens.
+     * The test passes if the start of the feed and a token within the window are accepted, and an older token is
+     * refused with a resync required error.
+     */
+    @Test
+    @DisplayName("Tombstone Retention - refuses tokens older than the window")
+    public void givenTokens_whenRequireRetained_thenRefuseOnlyExpired() {
+        ChangeCursor recent = new ChangeCursor(Instant.now().minus(RETENTION).plusSeconds(60), UUID.randomUUID());
+        ChangeCursor expired = new ChangeCursor(Instant.now().minus(RETENTION).minusSeconds(60), UUID.randomUUID());
+
+        assertThatCode(() -> tombstoneRetention.requireRetained(ChangeCursor.START)).doesNotThrowAnyException();
+        assertThatCode(() -> tombstoneRetention.requireRetained(recent)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> tombstoneRetention.requireRetained(expired)).isInstanceOf(AppResyncRequiredException.class);
+    }
+
+    /**
+     * Tests the purge of both tombstone tables.
+     * The test passes if each table is purged batch by batch until a batch comes back short, and the total is returned.
+     */
+    @Test
+    @DisplayName("Tombstone Retention - purges in batches until a batch is short")
+    public void givenExpiredTombstones_whenPurge_thenDeleteInBatches() {
+        given(contactTombstoneRepository.deleteContactTombstonesBefore(any(Instant.class), eq(2))).willReturn(2, 2, 1);
+        given(contactListTombstoneRepository.deleteContactListTombstonesBefore(any(Instant.class), eq(2))).willReturn(0);
+
+        int purged = tombstoneRetention.purge();
+
+        assertThat(purged).isEqualTo(5);
+        verify(contactTombstoneRepository, times(3)).deleteContactTombstonesBefore(any(Instant.class), eq(2));
+        verify(contactListTombstoneRepository).deleteContactListTombstonesBefore(any(Instant.class), eq(2));
+    }
+}
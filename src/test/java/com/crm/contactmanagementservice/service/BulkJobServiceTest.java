@@ -0,0 +1,121 @@
+package com.crm.contactmanagementservice.service;
+
+import com.crm.contactmanagementservice.dto.BulkJobDTO;
+import com.crm.contactmanagementservice.dto.BulkJobRequestDTO;
+import com.crm.contactmanagementservice.entity.BulkJobEntity;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.job.BulkJobHandler;
+import com.crm.contactmanagementservice.job.BulkJobStatus;
+import com.crm.contactmanagementservice.job.BulkJobType;
+import com.crm.contactmanagementservice.repository.BulkJobRepository;
+import com.crm.contactmanagementservice.service.impl.BulkJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the BulkJobService.
+ * This class tests the BulkJobService methods by mocking the BulkJobRepository and the job handler.
+ */
+@ExtendWith(MockitoExtension.class)
+public class BulkJobServiceTest {
+
+    @Mock
+    private BulkJobRepository bulkJobRepository;
+
+    @Mock
+    private BulkJobHandler moveContactsHandler;
+
+    private BulkJobServiceImpl bulkJobService;
+
+    private BulkJobRequestDTO request;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates the service with a handler for move jobs, and a move request.
+     */
+    @BeforeEach
+    public void setup() {
+        lenient().when(moveContactsHandler.type()).thenReturn(BulkJobType.MOVE_CONTACTS);
+        bulkJobService = new BulkJobServiceImpl(bulkJobRepository, List.of(moveContactsHandler));
+        request = new BulkJobRequestDTO(BulkJobType.MOVE_CONTACTS, UUID.randomUUID(), UUID.randomUUID(), true);
+    }
+
+    /**
+     * Tests the submitJob method of the BulkJobService.
+     * The test passes if the request is validated by its handler and stored as a queued job with only its own parameters.
+     */
+    @DisplayName("JUnit test for submitJob method")
+    @Test
+    public void givenValidRequest_whenSubmitJob_thenQueueJob() {
+        given(bulkJobRepository.save(any(BulkJobEntity.class))).willAnswer(invocation -> {
+            BulkJobEntity entity = invocation.getArgument(0);
+            entity.setId(UUID.randomUUID());
+            return entity;
+        });
+
+        BulkJobDTO job = bulkJobService.submitJob(request);
+
+        ArgumentCaptor<BulkJobEntity> saved = ArgumentCaptor.forClass(BulkJobEntity.class);
+        verify(moveContactsHandler).validate(request);
+        verify(bulkJobRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(BulkJobStatus.QUEUED);
+        assertThat(saved.getValue().getTargetContactListId()).isEqualTo(request.targetContactListId());
+        assertThat(saved.getValue().getDoNotContact()).isNull();
+        assertThat(job.id()).isNotNull();
+        assertThat(job.status()).isEqualTo(BulkJobStatus.QUEUED);
+    }
+
+    /**
+     * Tests the submitJob method of the BulkJobService with a request its handler rejects.
+     * The test passes if the exception is passed on and no job is stored.
+     */
+    @DisplayName("JUnit test for submitJob method with an invalid request")
+    @Test
+    public void givenRejectedRequest_whenSubmitJob_thenThrowAndQueueNothing() {
+        willThrow(new AppEntityNotFoundException("Contact list not found")).given(moveContactsHandler).validate(request);
+
+        assertThrows(AppEntityNotFoundException.class, () -> bulkJobService.submitJob(request));
+        verify(bulkJobRepository, never()).save(any());
+    }
+
+    /**
+     * Tests the submitJob method of the BulkJobService without a job type.
+     * The test passes if an AppBadRequestException is thrown.
+     */
+    @DisplayName("JUnit test for submitJob method without a type")
+    @Test
+    public void givenNoType_whenSubmitJob_thenThrowIllegalArgument() {
+        assertThrows(AppBadRequestException.class,
+                () -> bulkJobService.submitJob(new BulkJobRequestDTO(null, UUID.randomUUID(), null, null)));
+    }
+
+    /**
+     * Tests the getJobById method of the BulkJobService with a non-existent id.
+     * The test passes if an AppEntityNotFoundException is thrown.
+     */
+    @DisplayName("JUnit test for getJobById method with non-existent ID")
+    @Test
+    public void givenNonExistentJobId_whenGetJobById_thenThrowNotFound() {
+        UUID id = UUID.randomUUID();
+        given(bulkJobRepository.findBulkJobEntityById(id)).willReturn(Optional.empty());
+
+        assertThrows(AppEntityNotFoundException.class, () -> bulkJobService.getJobById(id));
+    }
+}
@@ -1,23 +1,48 @@
 package com.crm.contactmanagementservice.service;
 
+import com.crm.contactmanagementservice.cache.ContactLookupCache;
+import com.crm.contactmanagementservice.cache.ContactTypeaheadIndex;
+import com.crm.contactmanagementservice.dto.ContactDTO;
 import com.crm.contactmanagementservice.dto.ContactListDTO;
+import com.crm.contactmanagementservice.dto.ContactListDetailDTO;
+import com.crm.contactmanagementservice.dto.ContactListSummaryDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
 import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.event.ContactListChangedEvent;
+import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
 import com.crm.contactmanagementservice.mapper.ContactListMapper;
+import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.outbox.OutboxWriter;
+import com.crm.contactmanagementservice.repository.ChangeFeedHorizon;
 import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactListTombstoneRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.repository.ContactTombstoneRepository;
+import com.crm.contactmanagementservice.repository.TombstoneRetention;
 import com.crm.contactmanagementservice.service.impl.ContactListServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,9 +55,42 @@ public class ContactListServiceTest {
     @Mock
     private ContactListRepository contactListRepository;
 
+    @Mock
+    private ContactRepository contactRepository;
+
     @Mock
     private ContactListMapper contactListMapper;
 
+    @Mock
+    private ContactMapper contactMapper;
+
+    @Mock
+    private ContactTypeaheadIndex contactTypeaheadIndex;
+
+    @Mock
+    private ContactLookupCache contactLookupCache;
+
+    @Mock
+    private ContactListTombstoneRepository contactListTombstoneRepository;
+
+    @Mock
+    private ContactTombstoneRepository contactTombstoneRepository;
+
+    @Mock
+    private ChangeFeedHorizon changeFeedHorizon;
+
+    @Mock
+    private TombstoneRetention tombstoneRetention;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
     @InjectMocks
     private ContactListServiceImpl contactListService;
 
@@ -67,6 +125,59 @@ public class ContactListServiceTest {
         assertThat(foundContactList.id()).isEqualTo(contactListEntity.getId());
     }
 
+    /**
+     * Tests the getContactListDetailById method of the ContactListService.
+     * The test passes if the contacts of the fetched list are mapped, ordered by name and counted.
+     */
+    @DisplayName("JUnit test for getContactListDetailById method")
+    @Test
+    public void givenContactListId_whenGetContactListDetailById_thenReturnOrderedContactsAndCounts() {
+        ContactEntity thomas = new ContactEntity();
+        ContactEntity adams = new ContactEntity();
+        contactListEntity.setContacts(Set.of(thomas, adams));
+        ContactDTO thomasDTO = new ContactDTO(UUID.randomUUID(), contactListEntity.getId(), "June", "Thomas", null, null, null, null, null, false);
+        ContactDTO adamsDTO = new ContactDTO(UUID.randomUUID(), contactListEntity.getId(), "Ray", "Adams", null, null, null, null, null, true);
+        given(contactListRepository.findContactListWithContactsById(contactListEntity.getId())).willReturn(Optional.of(contactListEntity));
+        given(contactMapper.toDTO(thomas)).willReturn(thomasDTO);
+        given(contactMapper.toDTO(adams)).willReturn(adamsDTO);
+
+        ContactListDetailDTO detail = contactListService.getContactListDetailById(contactListEntity.getId());
+
+        assertThat(detail.listName()).isEqualTo("Soussi's Contacts");
+        assertThat(detail.contacts()).containsExactly(adamsDTO, thomasDTO);
+        assertThat(detail.contactCount()).isEqualTo(2);
+        assertThat(detail.doNotContactCount()).isEqualTo(1);
+    }
+
+    /**
+     * Tests the getContactListDetailById method of the ContactListService with a non-existent id.
+     * The test passes if an AppEntityNotFoundException is thrown.
+     */
+    @DisplayName("JUnit test for getContactListDetailById method with non-existent ID")
+    @Test
+    public void givenNonExistentContactListId_whenGetContactListDetailById_thenThrowNotFound() {
+        UUID nonExistentId = UUID.randomUUID();
+        given(contactListRepository.findContactListWithContactsById(nonExistentId)).willReturn(Optional.empty());
+        assertThrows(AppEntityNotFoundException.class, () -> contactListService.getContactListDetailById(nonExistentId));
+    }
+
+    /**
+     * Tests the getContactListSummariesByUserId method of the ContactListService.
+     * The test passes if the summaries counted by the repository are returned without loading any contacts.
+     */
+    @DisplayName("JUnit test for getContactListSummariesByUserId method")
+    @Test
+    public void givenUserId_whenGetContactListSummariesByUserId_thenReturnSummaries() {
+        ContactListSummaryDTO summary = new ContactListSummaryDTO(contactListEntity.getId(), contactListEntity.getListName(),
+                contactListEntity.getUserId(), 2, 1);
+        given(contactListRepository.findContactListSummariesByUserId(contactListEntity.getUserId())).willReturn(List.of(summary));
+
+        List<ContactListSummaryDTO> summaries = contactListService.getContactListSummariesByUserId(contactListEntity.getUserId());
+
+        assertThat(summaries).containsExactly(summary);
+        verifyNoInteractions(contactMapper);
+    }
+
     /**
      * Tests the getContactListById method of the ContactListService with a non-existent id.
      * The test passes if a RuntimeException is thrown.
@@ -101,6 +212,7 @@ public class ContactListServiceTest {
     @DisplayName("JUnit test for createContactList method")
     @Test
     public void givenContactListDTO_whenCreateContactList_thenReturnSavedContactListDTO() {
+        runTransactionCallbacks();
         given(contactListMapper.toEntity(any(ContactListDTO.class))).willReturn(contactListEntity);
         given(contactListRepository.save(any(ContactListEntity.class))).willReturn(contactListEntity);
         given(contactListMapper.toDTO(any(ContactListEntity.class))).willReturn(contactListDTO);
@@ -109,38 +221,111 @@ public class ContactListServiceTest {
 
         assertThat(savedContactList).isNotNull();
         assertThat(savedContactList.listName()).isEqualTo("Soussi's Contacts");
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACT_LIST_CREATED, contactListDTO.id(), contactListDTO);
     }
 
     /**
      * Tests the updateContactList method of the ContactListService.
-     * The test passes if the returned ContactListDTO is not null and its list name matches the expected list name.
+     * The test passes if the returned ContactListDTO is not null, its list name matches the expected list name and the
+     * version change is recorded in the outbox.
      */
     @DisplayName("JUnit test for updateContactList method")
     @Test
     public void givenUpdatedContactListDTO_whenUpdateContactList_thenReturnUpdatedContactListDTO() {
+        runTransactionCallbacks();
         given(contactListRepository.findById(contactListEntity.getId())).willReturn(Optional.of(contactListEntity));
-        given(contactListRepository.save(any(ContactListEntity.class))).willReturn(contactListEntity);
+        given(contactListRepository.saveAndFlush(any(ContactListEntity.class))).willAnswer(invocation -> {
+            contactListEntity.setVersion(contactListEntity.getVersion() + 1);
+            return contactListEntity;
+        });
         given(contactListMapper.toDTO(any(ContactListEntity.class))).willReturn(contactListDTO);
 
         ContactListDTO updatedContactList = contactListService.updateContactList(contactListDTO, contactListEntity.getId());
 
         assertThat(updatedContactList).isNotNull();
         assertThat(updatedContactList.listName()).isEqualTo("Soussi's Contacts");
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACT_LIST_UPDATED, contactListEntity.getId(), contactListDTO);
+        verify(contactListTombstoneRepository, never()).insertContactListTombstone(any(UUID.class));
+        verify(contactRepository, never()).touchContactListContacts(any(UUID.class));
+    }
+
+    /**
+     * Tests the updateContactList method of the ContactListService with an outdated expected version.
+     * The test passes if an AppPreconditionFailedException is thrown and nothing is saved.
+     */
+    @DisplayName("JUnit test for updateContactList method with an outdated expected version")
+    @Test
+    public void givenOutdatedVersion_whenUpdateContactList_thenThrowPreconditionFailed() {
+        contactListEntity.setVersion(5);
+        runTransactionCallbacks();
+        given(contactListRepository.findById(contactListEntity.getId())).willReturn(Optional.of(contactListEntity));
+
+        assertThrows(AppPreconditionFailedException.class,
+                () -> contactListService.updateContactList(contactListDTO, contactListEntity.getId(), 4L));
+
+        verify(contactListRepository, never()).saveAndFlush(any(ContactListEntity.class));
+        verify(outboxWriter, never()).append(any(), any(), any());
     }
 
     /**
      * Tests the deleteContactListById method of the ContactListService.
-     * The test passes if the deletion is verified.
+     * The test passes if the deletion, its outbox event and the owner's change events are verified, and the caches are
+     * only cleared once the transaction is done.
      */
     @DisplayName("JUnit test for deleteContactListById method")
     @Test
     public void givenContactListId_whenDeleteContactListById_thenVerifyDeletion() {
-        UUID id = UUID.randomUUID();
+        UUID id = contactListEntity.getId();
+        UUID userId = UUID.randomUUID();
+        contactListEntity.setUserId(userId);
+        runTransactionActions();
+        given(contactListRepository.findById(id)).willReturn(Optional.of(contactListEntity));
         doNothing().when(contactListRepository).deleteById(id);
 
         contactListService.deleteContactListById(id);
 
+        InOrder inOrder = inOrder(transactionTemplate, contactListRepository, contactLookupCache, contactTypeaheadIndex);
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(contactLookupCache).invalidateAll();
+        inOrder.verify(contactTypeaheadIndex).invalidateContactList(id);
+
+        verify(contactTombstoneRepository, times(1)).insertContactListContactTombstones(id);
+        verify(contactListTombstoneRepository, times(1)).insertContactListTombstone(id);
+        verify(contactRepository, times(1)).detachContactListContacts(id);
         verify(contactListRepository, times(1)).deleteById(id);
+        verify(contactTypeaheadIndex, times(1)).invalidateContactList(id);
+        verify(contactLookupCache, times(1)).invalidateAll();
+        verify(eventPublisher, times(1)).publishEvent(new ContactListChangedEvent(userId, id, true));
+        verify(eventPublisher, times(1)).publishEvent(new ContactChangedEvent(userId, null, null, true));
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACT_LIST_DELETED, id, Map.of("id", id));
+    }
+
+    /**
+     * Tests the updateContactList method of the ContactListService when the owner changes.
+     * The test passes if the list and its contacts get tombstones for the previous owner, the contacts are stamped for
+     * the new owner, and both owners are notified.
+     */
+    @DisplayName("JUnit test for updateContactList method with a new owner")
+    @Test
+    public void givenNewOwner_whenUpdateContactList_thenNotifyBothOwners() {
+        UUID previousUserId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        contactListEntity.setUserId(previousUserId);
+        ContactListDTO moved = new ContactListDTO(contactListEntity.getId(), contactListEntity.getListName(), userId);
+        runTransactionCallbacks();
+        given(contactListRepository.findById(contactListEntity.getId())).willReturn(Optional.of(contactListEntity));
+        given(contactListRepository.saveAndFlush(any(ContactListEntity.class))).willReturn(contactListEntity);
+        given(contactListMapper.toDTO(any(ContactListEntity.class))).willReturn(moved);
+
+        contactListService.updateContactList(moved, contactListEntity.getId());
+
+        verify(contactListTombstoneRepository, times(1)).insertContactListTombstone(contactListEntity.getId());
+        verify(contactTombstoneRepository, times(1)).insertContactListContactTombstones(contactListEntity.getId());
+        verify(contactRepository, times(1)).touchContactListContacts(contactListEntity.getId());
+        verify(eventPublisher, times(1)).publishEvent(new ContactListChangedEvent(userId, contactListEntity.getId(), false));
+        verify(eventPublisher, times(1)).publishEvent(ContactChangedEvent.anyIn(contactListEntity.getId()));
+        verify(eventPublisher, times(1)).publishEvent(new ContactListChangedEvent(previousUserId, contactListEntity.getId(), true));
+        verify(eventPublisher, times(1)).publishEvent(new ContactChangedEvent(previousUserId, null, null, true));
     }
 
     /**
@@ -165,6 +350,7 @@ public class ContactListServiceTest {
     @Test
     public void givenNonExistentContactListId_whenUpdateContactList_thenThrowException() {
         UUID nonExistentId = UUID.randomUUID();
+        runTransactionCallbacks();
         given(contactListRepository.findById(nonExistentId)).willReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> contactListService.updateContactList(contactListDTO, nonExistentId));
@@ -178,6 +364,7 @@ public class ContactListServiceTest {
     @Test
     public void givenNonExistentContactListId_whenDeleteContactListById_thenExpectDeletion() {
         UUID nonExistentId = UUID.randomUUID();
+        runTransactionActions();
         doThrow(new RuntimeException("ContactList not found")).when(contactListRepository).deleteById(nonExistentId);
 
         assertThrows(RuntimeException.class, () -> contactListService.deleteContactListById(nonExistentId));
@@ -215,4 +402,25 @@ public class ContactListServiceTest {
 
         assertThat(contactLists).isEmpty();
     }
+
+    /**
+     * Makes the mocked TransactionTemplate run the callbacks it is given.
+     */
+    private void runTransactionCallbacks() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    /**
+     * Makes the mocked TransactionTemplate run the actions it is given.
+     */
+    private void runTransactionActions() {
+        willAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+    }
 }
@@ -1,25 +1,63 @@
 package com.crm.contactmanagementservice.service;
 
+import com.crm.contactmanagementservice.cache.ContactLookupCache;
+import com.crm.contactmanagementservice.cache.ContactTypeaheadIndex;
+import com.crm.contactmanagementservice.dto.ChangeCursor;
+import com.crm.contactmanagementservice.dto.ContactBatchResultDTO;
+import com.crm.contactmanagementservice.dto.ContactChangeDTO;
+import com.crm.contactmanagementservice.dto.ContactChangesDTO;
 import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.dto.ContactImportResultDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveRequestDTO;
+import com.crm.contactmanagementservice.dto.ContactMoveResultDTO;
 import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.entity.ContactTombstoneEntity;
 import com.crm.contactmanagementservice.mapper.ContactMapper;
+import com.crm.contactmanagementservice.outbox.OutboxEventType;
+import com.crm.contactmanagementservice.outbox.OutboxWriter;
+import com.crm.contactmanagementservice.repository.ChangeFeedHorizon;
 import com.crm.contactmanagementservice.repository.ContactRepository;
+import com.crm.contactmanagementservice.repository.ContactTombstoneRepository;
+import com.crm.contactmanagementservice.repository.TombstoneRetention;
 import com.crm.contactmanagementservice.service.impl.ContactServiceImpl;
+import com.crm.contactmanagementservice.event.ContactChangedEvent;
+import com.crm.contactmanagementservice.exceptions.AppBadRequestException;
 import com.crm.contactmanagementservice.exceptions.AppEntityNotFoundException;
+import com.crm.contactmanagementservice.exceptions.AppPreconditionFailedException;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +74,33 @@ public class ContactServiceTest {
     @Mock
     private ContactMapper contactMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ContactTypeaheadIndex contactTypeaheadIndex;
+
+    @Mock
+    private ContactTombstoneRepository contactTombstoneRepository;
+
+    @Mock
+    private ChangeFeedHorizon changeFeedHorizon;
+
+    @Mock
+    private TombstoneRetention tombstoneRetention;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Spy
+    private ContactLookupCache contactLookupCache = new ContactLookupCache(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private ContactServiceImpl contactService;
 
@@ -66,12 +131,15 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for createContact method")
     @Test
     public void givenContactObject_whenCreateContact_thenReturnContactObject() {
+        runTransactionCallbacks();
         given(contactMapper.toEntity(any(ContactDTO.class))).willReturn(contactEntity);
         given(contactRepository.save(any(ContactEntity.class))).willReturn(contactEntity);
         given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
         ContactDTO savedContact = contactService.createContact(contactDTO);
         assertThat(savedContact).isNotNull();
         assertThat(savedContact.email()).isEqualTo(contactEntity.getEmail());
+        verify(contactTypeaheadIndex, times(1)).onContactSaved(contactDTO);
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACT_CREATED, contactDTO.id(), contactDTO);
     }
 
     /**
@@ -81,13 +149,140 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for getContactById method")
     @Test
     public void givenContactId_whenGetContactById_thenReturnContactObject() {
-        given(contactRepository.findContactEntityById(contactEntity.getId())).willReturn(Optional.of(contactEntity));
-        given(contactMapper.toDTO(contactEntity)).willReturn(contactDTO);
+        given(contactRepository.findContactDTOById(contactEntity.getId())).willReturn(Optional.of(contactDTO));
         ContactDTO foundContact = contactService.getContactById(contactEntity.getId());
         assertThat(foundContact).isNotNull();
         assertThat(foundContact.id()).isEqualTo(contactEntity.getId());
     }
 
+    /**
+     * Tests the getContactsByIds method of the ContactService.
+     * The test passes if the found contacts come back in request order, duplicates included, and unknown ids are reported as missing.
+     */
+    @DisplayName("JUnit test for getContactsByIds method")
+    @Test
+    public void givenIds_whenGetContactsByIds_thenReturnContactsInRequestOrderAndMissingIds() {
+        ContactEntity otherEntity = new ContactEntity();
+        otherEntity.setId(UUID.randomUUID());
+        ContactDTO otherDTO = new ContactDTO(otherEntity.getId(), null, "Amelie", "Nguyen", null, null, null, null, null, false);
+        UUID unknownId = UUID.randomUUID();
+        given(contactRepository.findAllContactEntitiesByIds(any(UUID[].class))).willReturn(List.of(contactEntity, otherEntity));
+        given(contactMapper.toDTO(contactEntity)).willReturn(contactDTO);
+        given(contactMapper.toDTO(otherEntity)).willReturn(otherDTO);
+
+        ContactBatchResultDTO result = contactService.getContactsByIds(
+                List.of(otherEntity.getId(), unknownId, contactEntity.getId(), otherEntity.getId()));
+
+        assertThat(result.contacts()).containsExactly(otherDTO, contactDTO, otherDTO);
+        assertThat(result.missing()).containsExactly(unknownId);
+        verify(contactRepository, times(1)).findAllContactEntitiesByIds(
+                new UUID[]{otherEntity.getId(), unknownId, contactEntity.getId()});
+    }
+
+    /**
+     * Tests the getContactsByIds method of the ContactService with more ids than fit in one query.
+     * The test passes if the ids are split into chunks of at most 500.
+     */
+    @DisplayName("JUnit test for getContactsByIds method - chunks large batches")
+    @Test
+    public void givenManyIds_whenGetContactsByIds_thenQueryInChunks() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(1001).toList();
+        given(contactRepository.findAllContactEntitiesByIds(any(UUID[].class))).willReturn(List.of());
+
+        ContactBatchResultDTO result = contactService.getContactsByIds(ids);
+
+        assertThat(result.contacts()).isEmpty();
+        assertThat(result.missing()).isEqualTo(ids);
+        verify(contactRepository, times(3)).findAllContactEntitiesByIds(any(UUID[].class));
+    }
+
+    /**
+     * Tests the moveContacts method of the ContactService.
+     * The test passes if the distinct ids are moved in chunks of at most 1000, each with an outbox event, every moved
+     * contact is invalidated and one change event names them all.
+     */
+    @DisplayName("JUnit test for moveContacts method")
+    @Test
+    public void givenIds_whenMoveContacts_thenMoveInChunksAndInvalidate() {
+        UUID target = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>(Stream.generate(UUID::randomUUID).limit(1500).toList());
+        ids.add(ids.get(0));
+        runTransactionCallbacks();
+        given(entityManager.find(ContactListEntity.class, target)).willReturn(ContactListEntity.builder().id(target).build());
+        given(contactRepository.moveContactsToContactList(any(UUID[].class), eq(target))).willReturn(1000, 500);
+
+        ContactMoveResultDTO result = contactService.moveContacts(ids, target);
+
+        assertThat(result.moved()).isEqualTo(1500);
+        verify(contactRepository, times(2)).moveContactsToContactList(any(UUID[].class), eq(target));
+        verify(contactTombstoneRepository, times(2)).insertContactMoveTombstones(any(UUID[].class), eq(target));
+        verify(contactLookupCache, times(1500)).invalidate(any(UUID.class));
+        verify(contactTypeaheadIndex, times(1)).invalidateContacts(anyList());
+        verify(contactTypeaheadIndex, times(1)).invalidateContactList(target);
+        verify(eventPublisher, times(1)).publishEvent(ContactChangedEvent.saved(target, ids.subList(0, 1500)));
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACTS_MOVED, target,
+                new ContactMoveRequestDTO(ids.subList(1000, 1500), null, target));
+        verify(outboxWriter, times(2)).append(eq(OutboxEventType.CONTACTS_MOVED), eq(target), any(ContactMoveRequestDTO.class));
+    }
+
+    /**
+     * Tests the moveContacts method of the ContactService with an unknown target contact list.
+     * The test passes if an AppEntityNotFoundException is thrown and nothing is updated.
+     */
+    @DisplayName("JUnit test for moveContacts method - unknown target list")
+    @Test
+    public void givenUnknownTarget_whenMoveContacts_thenThrowNotFound() {
+        UUID target = UUID.randomUUID();
+        given(entityManager.find(ContactListEntity.class, target)).willReturn(null);
+
+        assertThrows(AppEntityNotFoundException.class, () -> contactService.moveContacts(List.of(contactEntity.getId()), target));
+        verify(contactRepository, never()).moveContactsToContactList(any(UUID[].class), any(UUID.class));
+    }
+
+    /**
+     * Tests the moveContactListContacts method of the ContactService.
+     * The test passes if locked chunks are tombstoned and moved until one comes back short, each with an outbox event,
+     * and the caches are cleared.
+     */
+    @DisplayName("JUnit test for moveContactListContacts method")
+    @Test
+    public void givenSourceList_whenMoveContactListContacts_thenMoveUntilEmpty() {
+        UUID source = UUID.randomUUID();
+        UUID target = UUID.randomUUID();
+        runTransactionCallbacks();
+        given(entityManager.find(ContactListEntity.class, target)).willReturn(ContactListEntity.builder().id(target).build());
+        List<UUID> lastChunk = Stream.generate(UUID::randomUUID).limit(7).toList();
+        given(contactRepository.lockContactListContactIds(source, Limit.of(1000)))
+                .willReturn(Stream.generate(UUID::randomUUID).limit(1000).toList())
+                .willReturn(Stream.generate(UUID::randomUUID).limit(1000).toList())
+                .willReturn(lastChunk);
+        given(contactRepository.moveContactsToContactList(any(UUID[].class), eq(target))).willReturn(1000, 1000, 7);
+
+        ContactMoveResultDTO result = contactService.moveContactListContacts(source, target);
+
+        assertThat(result.moved()).isEqualTo(2007);
+        verify(contactRepository, times(3)).lockContactListContactIds(source, Limit.of(1000));
+        verify(contactTombstoneRepository, times(3)).insertContactMoveTombstones(any(UUID[].class), eq(target));
+        verify(contactRepository, times(3)).moveContactsToContactList(any(UUID[].class), eq(target));
+        verify(contactLookupCache, times(1)).invalidateAll();
+        verify(contactTypeaheadIndex, times(1)).invalidateContactList(source);
+        verify(contactTypeaheadIndex, times(1)).invalidateContactList(target);
+        verify(outboxWriter, times(3)).append(eq(OutboxEventType.CONTACTS_MOVED), eq(target), any(ContactMoveRequestDTO.class));
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACTS_MOVED, target, new ContactMoveRequestDTO(lastChunk, source, target));
+    }
+
+    /**
+     * Tests the moveContactListContacts method of the ContactService with the same source and target.
+     * The test passes if an AppBadRequestException is thrown.
+     */
+    @DisplayName("JUnit test for moveContactListContacts method - same list")
+    @Test
+    public void givenSameSourceAndTarget_whenMoveContactListContacts_thenThrowIllegalArgument() {
+        UUID list = UUID.randomUUID();
+
+        assertThrows(AppBadRequestException.class, () -> contactService.moveContactListContacts(list, list));
+    }
+
     /**
      * Tests the getContactByEmail method of the ContactService.
      * The test passes if the returned ContactDTO is not null and its email matches the expected email.
@@ -96,8 +291,7 @@ public class ContactServiceTest {
     @Test
     public void givenContactEmail_whenGetContactByEmail_thenReturnContactObject() {
         String email = contactEntity.getEmail();
-        given(contactRepository.findContactEntityByEmail(email)).willReturn(Optional.of(contactEntity));
-        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+        given(contactRepository.findContactDTOByEmail(email)).willReturn(Optional.of(contactDTO));
         ContactDTO resultContact = contactService.getContactByEmail(email);
         assertThat(resultContact).isNotNull();
         assertThat(resultContact.email()).isEqualTo(email);
@@ -112,8 +306,7 @@ public class ContactServiceTest {
     public void givenContactPhone_whenGetContactByPhone_thenReturnContactObject() {
         String phone = contactEntity.getPhone();
 
-        given(contactRepository.findContactEntityByPhone(phone)).willReturn(Optional.of(contactEntity));
-        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+        given(contactRepository.findContactDTOByPhone(phone)).willReturn(Optional.of(contactDTO));
         ContactDTO resultContact = contactService.getContactByPhone(phone);
         assertThat(resultContact).isNotNull();
         assertThat(resultContact.phone()).isEqualTo(phone);
@@ -121,38 +314,124 @@ public class ContactServiceTest {
 
     /**
      * Tests the updateContact method of the ContactService.
-     * The test passes if the returned ContactDTO is not null and its email matches the expected email.
+     * The test passes if the provided fields are applied to the loaded entity inside one transaction, the change is
+     * flushed without a separate save, the omitted contact list is left as it was and the version change is recorded
+     * in the outbox.
      */
     @DisplayName("JUnit test for updateContact method")
     @Test
     public void givenUpdatedContactObject_whenUpdateContact_thenReturnUpdatedContactObject() {
         UUID contactId = contactEntity.getId();
+        ContactListEntity contactList = ContactListEntity.builder().id(UUID.randomUUID()).build();
+        contactEntity.setContactList(contactList);
         ContactDTO updatedContactDTO = new ContactDTO(contactId, null, "June", "Thomas", null, "junethomas@test.com", "0987654321", null, null, false);
 
+        runTransactionCallbacks();
         given(contactRepository.findContactEntityById(contactId)).willReturn(Optional.of(contactEntity));
-        given(contactRepository.save(any(ContactEntity.class))).willReturn(contactEntity);
         given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(updatedContactDTO);
+        willAnswer(invocation -> {
+            contactEntity.setVersion(contactEntity.getVersion() + 1);
+            return null;
+        }).given(entityManager).flush();
 
         ContactDTO updatedContact = contactService.updateContact(updatedContactDTO, contactId);
 
         assertThat(updatedContact).isNotNull();
         assertThat(updatedContact.email()).isEqualTo("junethomas@test.com");
+        assertThat(contactEntity.getPhone()).isEqualTo("0987654321");
+        assertThat(contactEntity.getContactList()).isSameAs(contactList);
+        verify(entityManager, times(1)).flush();
+        verify(contactRepository, never()).save(any(ContactEntity.class));
+        verify(contactTombstoneRepository, never()).insertContactMoveTombstones(any(UUID[].class), any(UUID.class));
+        verify(contactLookupCache, times(1)).invalidate(contactId);
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACT_UPDATED, contactId, updatedContactDTO);
+    }
+
+    /**
+     * Tests the updateContact method of the ContactService with a new contact list.
+     * The test passes if the contact list is set from a reference, without loading it, and the move is recorded for
+     * the previous owner's change feed.
+     */
+    @DisplayName("JUnit test for updateContact method with a new contact list")
+    @Test
+    public void givenNewContactList_whenUpdateContact_thenReferenceContactList() {
+        UUID contactId = contactEntity.getId();
+        ContactListEntity contactList = ContactListEntity.builder().id(UUID.randomUUID()).build();
+        ContactDTO patch = new ContactDTO(null, contactList.getId(), null, null, null, null, null, null, null, false);
+
+        runTransactionCallbacks();
+        given(contactRepository.findContactEntityById(contactId)).willReturn(Optional.of(contactEntity));
+        given(entityManager.getReference(ContactListEntity.class, contactList.getId())).willReturn(contactList);
+        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+
+        contactService.updateContact(patch, contactId);
+
+        assertThat(contactEntity.getContactList()).isSameAs(contactList);
+        assertThat(contactEntity.getFirstName()).isEqualTo("June");
+        verify(contactTombstoneRepository, times(1)).insertContactMoveTombstones(new UUID[]{contactId}, contactList.getId());
+    }
+
+    /**
+     * Tests the updateContact method of the ContactService with an outdated expected version.
+     * The test passes if an AppPreconditionFailedException is thrown and nothing is written or invalidated.
+     */
+    @DisplayName("JUnit test for updateContact method with an outdated expected version")
+    @Test
+    public void givenOutdatedVersion_whenUpdateContact_thenThrowPreconditionFailed() {
+        UUID contactId = contactEntity.getId();
+        contactEntity.setVersion(4);
+        ContactDTO patch = new ContactDTO(null, null, "Juniper", null, null, null, null, null, null, false);
+
+        runTransactionCallbacks();
+        given(contactRepository.findContactEntityById(contactId)).willReturn(Optional.of(contactEntity));
+
+        assertThrows(AppPreconditionFailedException.class, () -> contactService.updateContact(patch, contactId, 3L));
+
+        assertThat(contactEntity.getFirstName()).isEqualTo("June");
+        verify(entityManager, never()).flush();
+        verify(contactLookupCache, never()).invalidate(contactId);
+    }
+
+    /**
+     * Tests the updateContact method of the ContactService when the contact changes between the read and the UPDATE.
+     * The test passes if the optimistic locking failure of a conditional update is reported as a failed precondition.
+     */
+    @DisplayName("JUnit test for updateContact method with a concurrent change after the version check")
+    @Test
+    public void givenConcurrentChange_whenConditionalUpdateContact_thenThrowPreconditionFailed() {
+        UUID contactId = contactEntity.getId();
+        contactEntity.setVersion(3);
+
+        runTransactionCallbacks();
+        given(contactRepository.findContactEntityById(contactId)).willReturn(Optional.of(contactEntity));
+        willThrow(new OptimisticLockException()).given(entityManager).flush();
+
+        assertThrows(AppPreconditionFailedException.class, () -> contactService.updateContact(contactDTO, contactId, 3L));
+        assertThrows(OptimisticLockException.class, () -> contactService.updateContact(contactDTO, contactId));
     }
 
     /**
      * Tests the deleteContactById method of the ContactService.
-     * The test passes if the deletion is verified.
+     * The test passes if the tombstone, the deletion and the owner's change event are verified.
      */
     @DisplayName("JUnit test for deleteContactById method")
     @Test
     public void givenContactId_whenDeleteContactById_thenNothing() {
         UUID contactId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
 
-        doNothing().when(contactRepository).deleteContactEntityById(contactId);
+        runTransactionActions();
+        ContactListEntity contactList = ContactListEntity.builder().id(UUID.randomUUID()).userId(userId).build();
+        given(contactRepository.findContactListByContactId(contactId)).willReturn(Optional.of(contactList));
+        given(contactRepository.deleteContactEntityById(contactId)).willReturn(1);
 
         contactService.deleteContactById(contactId);
 
+        verify(contactTombstoneRepository, times(1)).insertContactTombstone(contactId);
+        verify(eventPublisher, times(1)).publishEvent(new ContactChangedEvent(userId, contactList.getId(), List.of(contactId), true));
         verify(contactRepository, times(1)).deleteContactEntityById(contactId);
+        verify(contactTypeaheadIndex, times(1)).onContactDeleted(contactId);
+        verify(outboxWriter, times(1)).append(OutboxEventType.CONTACT_DELETED, contactId, Map.of("id", contactId));
     }
 
     /**
@@ -162,8 +441,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for getAllContacts method")
     @Test
     public void whenGetAllContacts_thenReturnContactsList() {
-        given(contactRepository.findAllContactEntities()).willReturn(Set.of(contactEntity));
-        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+        given(contactRepository.findAllContactDTOs()).willReturn(Set.of(contactDTO));
 
         Set<ContactDTO> contacts = contactService.getAllContacts();
 
@@ -172,21 +450,35 @@ public class ContactServiceTest {
 
     /**
      * Tests the searchContactsByName method of the ContactService.
-     * The test passes if the returned set of ContactDTOs is not null, has a size of 1, and the first name of the first ContactDTO matches the expected first name.
+     * The test passes if the term is lower-cased into exact, prefix and contains patterns and the ranked list is returned.
      */
     @DisplayName("JUnit test for searchContactsByName method")
     @Test
     public void givenName_whenSearchContactsByName_thenReturnContactsList() {
-        Set<ContactEntity> entities = Set.of(contactEntity);
+        List<ContactEntity> entities = List.of(contactEntity);
         String name = "June";
 
-        given(contactRepository.searchByName("%" + name + "%")).willReturn(entities);
+        given(contactRepository.searchByName("june", "june%", "%june%", 20, 0)).willReturn(entities);
         given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
 
-        Set<ContactDTO> result = contactService.searchContactsByName(name);
+        List<ContactDTO> result = contactService.searchContactsByName(name, 20, 0);
 
         assertThat(result).isNotNull().hasSize(1);
-        assertThat(result.iterator().next().firstName()).isEqualTo(contactDTO.firstName());
+        assertThat(result.get(0).firstName()).isEqualTo(contactDTO.firstName());
+    }
+
+    /**
+     * Tests the searchContactsByName method of the ContactService with LIKE wildcards in the term.
+     * The test passes if the wildcards are escaped so they are matched literally.
+     */
+    @DisplayName("JUnit test for searchContactsByName method with wildcard characters")
+    @Test
+    public void givenNameWithWildcards_whenSearchContactsByName_thenEscapeWildcards() {
+        given(contactRepository.searchByName("50%_off", "50\\%\\_off%", "%50\\%\\_off%", 5, 10)).willReturn(List.of());
+
+        List<ContactDTO> result = contactService.searchContactsByName("50%_OFF", 5, 10);
+
+        assertThat(result).isEmpty();
     }
 
     /**
@@ -197,11 +489,7 @@ public class ContactServiceTest {
     @Test
     public void givenContactListId_whenGetAllContactsByContactListId_thenReturnContactsSet() {
         UUID contactListId = UUID.randomUUID();
-        Set<ContactEntity> contactEntitySet = new LinkedHashSet<>();
-        contactEntitySet.add(contactEntity);
-
-        given(contactRepository.findAllContactsByContactListId(contactListId)).willReturn(contactEntitySet);
-        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+        given(contactRepository.findContactDTOsByContactListId(contactListId)).willReturn(Set.of(contactDTO));
 
         Set<ContactDTO> contacts = contactService.getAllContactsByContactListId(contactListId);
 
@@ -216,7 +504,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for getContactById method with non-existent contact")
     @Test
     public void givenNonExistentContactId_whenGetContactById_thenThrowException() {
-        given(contactRepository.findContactEntityById(contactEntity.getId())).willReturn(Optional.empty());
+        given(contactRepository.findContactDTOById(contactEntity.getId())).willReturn(Optional.empty());
 
         assertThrows(AppEntityNotFoundException.class, () -> contactService.getContactById(contactEntity.getId()));
     }
@@ -228,7 +516,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for getContactByEmail method with non-existent email")
     @Test
     public void givenNonExistentEmail_whenGetContactByEmail_thenThrowException() {
-        given(contactRepository.findContactEntityByEmail("nonexistentemail@test.com")).willReturn(Optional.empty());
+        given(contactRepository.findContactDTOByEmail("nonexistentemail@test.com")).willReturn(Optional.empty());
 
         assertThrows(AppEntityNotFoundException.class, () -> contactService.getContactByEmail("nonexistentemail@test.com"));
     }
@@ -240,7 +528,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for getContactByPhone method with non-existent phone")
     @Test
     public void givenNonExistentPhone_whenGetContactByPhone_thenThrowException() {
-        given(contactRepository.findContactEntityByPhone("0000000000")).willReturn(Optional.empty());
+        given(contactRepository.findContactDTOByPhone("0000000000")).willReturn(Optional.empty());
 
         assertThrows(AppEntityNotFoundException.class, () -> contactService.getContactByPhone("0000000000"));
     }
@@ -252,6 +540,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for updateContact method with non-existent contact")
     @Test
     public void givenNonExistentContactId_whenUpdateContact_thenThrowException() {
+        runTransactionCallbacks();
         given(contactRepository.findContactEntityById(contactEntity.getId())).willReturn(Optional.empty());
 
         assertThrows(AppEntityNotFoundException.class, () -> contactService.updateContact(contactDTO, contactEntity.getId()));
@@ -263,6 +552,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for deleteContactById method with non-existent contact")
     @Test
     public void givenNonExistentContactId_whenDeleteContactById_thenExpectDeletion() {
+        runTransactionActions();
         doThrow(new AppEntityNotFoundException("Contact not found")).when(contactRepository).deleteContactEntityById(contactEntity.getId());
 
         assertThrows(AppEntityNotFoundException.class, () -> contactService.deleteContactById(contactEntity.getId()));
@@ -276,7 +566,7 @@ public class ContactServiceTest {
     @DisplayName("JUnit test for getAllContacts method when no contacts exist")
     @Test
     public void whenGetAllContacts_andNoContactsExist_thenReturnEmptySet() {
-        given(contactRepository.findAllContactEntities()).willReturn(Collections.emptySet());
+        given(contactRepository.findAllContactDTOs()).willReturn(Collections.emptySet());
 
         Set<ContactDTO> result = contactService.getAllContacts();
 
@@ -291,7 +581,7 @@ public class ContactServiceTest {
     @Test
     public void givenContactListIdWithNoLinkedContacts_whenGetAllContactsByContactListId_thenReturnEmptySet() {
         UUID contactListId = UUID.randomUUID();
-        given(contactRepository.findAllContactsByContactListId(contactListId)).willReturn(Collections.emptySet());
+        given(contactRepository.findContactDTOsByContactListId(contactListId)).willReturn(Collections.emptySet());
 
         Set<ContactDTO> result = contactService.getAllContactsByContactListId(contactListId);
 
@@ -300,15 +590,15 @@ public class ContactServiceTest {
 
     /**
      * Tests the searchContactsByName method of the ContactService when no contacts match the provided name.
-     * The test passes if the returned set of ContactDTOs is empty.
+     * The test passes if the returned list of ContactDTOs is empty.
      */
     @DisplayName("JUnit test for searchContactsByName method when no matching contacts found")
     @Test
     public void givenNameWithNoMatchingContacts_whenSearchContactsByName_thenReturnEmptySet() {
         String name = "NonExistentName";
-        given(contactRepository.searchByName("%" + name + "%")).willReturn(Collections.emptySet());
+        given(contactRepository.searchByName("nonexistentname", "nonexistentname%", "%nonexistentname%", 20, 0)).willReturn(Collections.emptyList());
 
-        Set<ContactDTO> result = contactService.searchContactsByName(name);
+        List<ContactDTO> result = contactService.searchContactsByName(name, 20, 0);
 
         assertThat(result).isEmpty();
     }
@@ -321,11 +611,7 @@ public class ContactServiceTest {
     @Test
     public void givenContactListId_whenGetAllContactsByContactListID_thenReturnContactsSet() {
         UUID contactListId = UUID.randomUUID();
-        Set<ContactEntity> contactEntitySet = new LinkedHashSet<>();
-        contactEntitySet.add(contactEntity);
-
-        given(contactRepository.findAllContactsByContactListId(contactListId)).willReturn(contactEntitySet);
-        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+        given(contactRepository.findContactDTOsByContactListId(contactListId)).willReturn(Set.of(contactDTO));
 
         Set<ContactDTO> contacts = contactService.getAllContactsByContactListID(contactListId);
 
@@ -341,7 +627,7 @@ public class ContactServiceTest {
     @Test
     public void givenContactListIdWithNoLinkedContacts_whenGetAllContactsByContactListID_thenReturnEmptySet() {
         UUID contactListId = UUID.randomUUID();
-        given(contactRepository.findAllContactsByContactListId(contactListId)).willReturn(Collections.emptySet());
+        given(contactRepository.findContactDTOsByContactListId(contactListId)).willReturn(Collections.emptySet());
 
         Set<ContactDTO> result = contactService.getAllContactsByContactListID(contactListId);
 
@@ -355,11 +641,7 @@ public class ContactServiceTest {
     @Test
     public void givenUserId_whenGetAllContactsByUserId_thenReturnContactsSet() {
         UUID userId = UUID.randomUUID();
-        Set<ContactEntity> contactEntitySet = new LinkedHashSet<>();
-        contactEntitySet.add(contactEntity);
-
-        given(contactRepository.findAllContactsByUserId(userId)).willReturn(contactEntitySet);
-        given(contactMapper.toDTO(any(ContactEntity.class))).willReturn(contactDTO);
+        given(contactRepository.findContactDTOsByUserId(userId)).willReturn(Set.of(contactDTO));
 
         Set<ContactDTO> contacts = contactService.getAllContactsByUserId(userId);
 
@@ -375,11 +657,307 @@ public class ContactServiceTest {
     @Test
     public void givenUserIdWithNoContacts_whenGetAllContactsByUserId_thenReturnEmptySet() {
         UUID userId = UUID.randomUUID();
-        given(contactRepository.findAllContactsByUserId(userId)).willReturn(Collections.emptySet());
+        given(contactRepository.findContactDTOsByUserId(userId)).willReturn(Collections.emptySet());
 
         Set<ContactDTO> result = contactService.getAllContactsByUserId(userId);
 
         assertThat(result).isEmpty();
     }
 
+    /**
+     * Tests the streamContacts method of the ContactService.
+     * The test passes if every streamed DTO is handed to the consumer in order and the stream is closed.
+     */
+    @DisplayName("JUnit test for streamContacts method")
+    @Test
+    public void givenCursor_whenStreamContacts_thenConsumeEachContactAndClose() {
+        UUID after = new UUID(0L, 0L);
+        AtomicBoolean closed = new AtomicBoolean();
+        given(contactRepository.streamContactDTOsAfter(after, 10)).willReturn(Stream.of(contactDTO).onClose(() -> closed.set(true)));
+
+        List<ContactDTO> consumed = new ArrayList<>();
+        contactService.streamContacts(after, 10, consumed::add);
+
+        assertThat(consumed).containsExactly(contactDTO);
+        assertThat(closed).isTrue();
+        verifyNoInteractions(entityManager);
+    }
+
+    /**
+     * Tests the importContacts method of the ContactService.
+     * The test passes if valid rows are saved in one batch and invalid or duplicate rows are reported as failures in order.
+     */
+    @DisplayName("JUnit test for importContacts method")
+    @Test
+    public void givenMixedRows_whenImportContacts_thenReportPerRowOutcome() {
+        ContactDTO invalid = new ContactDTO(null, null, null, null, null, null, null, null, null, false);
+        ContactDTO taken = new ContactDTO(null, null, "Taken", null, null, "taken@test.com", null, null, null, false);
+        willAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        given(contactRepository.findExistingEmails(Set.of("junethomas@test.com", "taken@test.com"))).willReturn(Set.of("taken@test.com"));
+        given(contactMapper.toEntity(contactDTO)).willReturn(contactEntity);
+        given(contactRepository.saveAll(anyList())).willAnswer(invocation -> {
+            contactEntity.setId(UUID.randomUUID());
+            return invocation.getArgument(0);
+        });
+
+        ContactImportResultDTO result = contactService.importContacts(List.of(contactDTO, invalid, taken, contactDTO).iterator());
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.rows().get(0).id()).isEqualTo(contactEntity.getId());
+        assertThat(result.rows().get(1).error()).isEqualTo("Invalid contact");
+        assertThat(result.rows().get(2).error()).contains("taken@test.com");
+        assertThat(result.rows().get(3).error()).contains("junethomas@test.com");
+        verify(contactRepository, times(1)).saveAll(List.of(contactEntity));
+        verify(outboxWriter, times(1)).append(eq(OutboxEventType.CONTACT_CREATED), eq(contactEntity.getId()), any());
+        verify(entityManager, times(1)).flush();
+    }
+
+    /**
+     * Tests the importContacts method of the ContactService when the batch insert fails.
+     * The test passes if every row of the rejected batch is reported as failed.
+     */
+    @DisplayName("JUnit test for importContacts method when the batch is rejected")
+    @Test
+    public void givenRejectedBatch_whenImportContacts_thenReportBatchFailure() {
+        given(contactRepository.findExistingEmails(Set.of("junethomas@test.com"))).willReturn(Set.of());
+        given(contactMapper.toEntity(contactDTO)).willReturn(contactEntity);
+        willThrow(new DataIntegrityViolationException("duplicate key"))
+                .given(transactionTemplate).executeWithoutResult(any());
+
+        ContactImportResultDTO result = contactService.importContacts(List.of(contactDTO).iterator());
+
+        assertThat(result.succeeded()).isZero();
+        assertThat(result.rows().get(0).id()).isNull();
+        assertThat(result.rows().get(0).error()).contains("duplicate key");
+    }
+
+    /**
+     * Tests the importContacts method of the ContactService when the database rejects one row of a batch.
+     * The test passes if the batch is retried row by row, so the other rows are imported and only the failing one is
+     * reported.
+     */
+    @DisplayName("JUnit test for importContacts method when one row of the batch is rejected")
+    @Test
+    public void givenRejectedRowInBatch_whenImportContacts_thenRetryRowByRow() {
+        ContactDTO other = new ContactDTO(null, null, "Ann", "Lee", null, "annlee@test.com", null, null, null, false);
+        given(contactRepository.findExistingEmails(Set.of("junethomas@test.com", "annlee@test.com"))).willReturn(Set.of());
+        given(contactMapper.toEntity(any(ContactDTO.class))).willAnswer(invocation -> new ContactEntity());
+        given(contactRepository.save(any(ContactEntity.class))).willAnswer(invocation -> {
+            ContactEntity saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+        willThrow(new DataIntegrityViolationException("batch rejected"))
+                .willAnswer(invocation -> {
+                    Consumer<TransactionStatus> action = invocation.getArgument(0);
+                    action.accept(null);
+                    return null;
+                })
+                .willThrow(new DataIntegrityViolationException("duplicate key"))
+                .given(transactionTemplate).executeWithoutResult(any());
+
+        ContactImportResultDTO result = contactService.importContacts(List.of(contactDTO, other).iterator());
+
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.rows().get(0).id()).isNotNull();
+        assertThat(result.rows().get(0).error()).isNull();
+        assertThat(result.rows().get(1).id()).isNull();
+        assertThat(result.rows().get(1).error()).contains("duplicate key");
+        verify(outboxWriter, times(1)).append(eq(OutboxEventType.CONTACT_CREATED), eq(result.rows().get(0).id()), any());
+    }
+
+    /**
+     * Tests the importContacts method of the ContactService with rows the reader cannot map or parse.
+     * The test passes if a row that does not map to a contact is reported and the import continues, and malformed JSON
+     * is reported on its row and ends the import.
+     */
+    @DisplayName("JUnit test for importContacts method with unreadable rows")
+    @Test
+    public void givenUnreadableRows_whenImportContacts_thenReportThemPerRow() throws Exception {
+        Iterator<ContactDTO> contacts = new ObjectMapper().readerFor(ContactDTO.class).readValues("""
+                {"firstName": "June", "email": "junethomas@test.com"}
+                {"firstName": "Ann", "contactListId": "not-a-uuid"}
+                {"firstName": "Ann", "email": "annlee@test.com"}
+                {"firstName": }
+                {"firstName": "Never", "email": "never@test.com"}
+                """);
+        willAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        given(contactRepository.findExistingEmails(Set.of("junethomas@test.com", "annlee@test.com"))).willReturn(Set.of());
+        given(contactMapper.toEntity(any(ContactDTO.class))).willAnswer(invocation -> new ContactEntity());
+        given(contactRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<ContactEntity> saved = invocation.getArgument(0);
+            saved.forEach(entity -> entity.setId(UUID.randomUUID()));
+            return saved;
+        });
+
+        ContactImportResultDTO result = contactService.importContacts(contacts);
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.rows().get(0).id()).isNotNull();
+        assertThat(result.rows().get(1).error()).startsWith("Unreadable contact");
+        assertThat(result.rows().get(2).id()).isNotNull();
+        assertThat(result.rows().get(3).error()).startsWith("Malformed JSON");
+    }
+
+    /**
+     * Tests the streamContactsByUserId method of the ContactService.
+     * The test passes if every streamed DTO is handed to the consumer and the stream is closed.
+     */
+    @DisplayName("JUnit test for streamContactsByUserId method")
+    @Test
+    public void givenUserId_whenStreamContactsByUserId_thenConsumeEachContactAndClose() {
+        UUID userId = UUID.randomUUID();
+        AtomicBoolean closed = new AtomicBoolean();
+        given(contactRepository.streamContactDTOsByUserId(userId)).willReturn(Stream.of(contactDTO).onClose(() -> closed.set(true)));
+
+        List<ContactDTO> consumed = new ArrayList<>();
+        contactService.streamContactsByUserId(userId, consumed::add);
+
+        assertThat(consumed).containsExactly(contactDTO);
+        assertThat(closed).isTrue();
+    }
+
+    /**
+     * Tests the getContactChangesByUserId method of the ContactService.
+     * The test passes if updates and tombstones are merged in watermark order, the page is cut at the limit and the
+     * next watermark points at the last change returned.
+     */
+    @DisplayName("JUnit test for getContactChangesByUserId method")
+    @Test
+    public void givenUpdatesAndTombstones_whenGetContactChangesByUserId_thenMergeInOrder() {
+        UUID userId = UUID.randomUUID();
+        Instant at = Instant.parse("2024-03-01T10:00:00Z");
+        contactEntity.setUpdatedAt(at);
+        ContactEntity later = new ContactEntity();
+        later.setId(UUID.randomUUID());
+        later.setUpdatedAt(at.plusSeconds(2));
+        ContactTombstoneEntity tombstone = new ContactTombstoneEntity();
+        tombstone.setContactId(UUID.randomUUID());
+        tombstone.setDeletedAt(at.plusSeconds(1));
+        Instant horizon = at.plusSeconds(3);
+        given(changeFeedHorizon.current()).willReturn(horizon);
+        given(contactRepository.findContactsChangedByUserIdAfter(userId, ChangeCursor.START.at(),
+                ChangeCursor.START.id(), horizon, 3)).willReturn(List.of(contactEntity, later));
+        given(contactTombstoneRepository.findContactTombstonesByUserIdAfter(userId, ChangeCursor.START.at(),
+                ChangeCursor.START.id(), horizon, 3)).willReturn(List.of(tombstone));
+        given(contactMapper.toDTO(contactEntity)).willReturn(contactDTO);
+
+        ContactChangesDTO result = contactService.getContactChangesByUserId(userId, ChangeCursor.START, 2);
+
+        assertThat(result.changes()).extracting(ContactChangeDTO::id).containsExactly(contactEntity.getId(), tombstone.getContactId());
+        assertThat(result.changes()).extracting(ContactChangeDTO::deleted).containsExactly(false, true);
+        assertThat(result.changes().get(0).contact()).isEqualTo(contactDTO);
+        assertThat(result.hasMore()).isTrue();
+        assertThat(ChangeCursor.decode(result.next())).isEqualTo(new ChangeCursor(tombstone.getDeletedAt(), tombstone.getContactId()));
+    }
+
+    /**
+     * Tests the getContactChangesByUserId method of the ContactService when nothing changed.
+     * The test passes if the page is empty and the watermark is returned unchanged.
+     */
+    @DisplayName("JUnit test for getContactChangesByUserId method (no changes)")
+    @Test
+    public void givenNoChanges_whenGetContactChangesByUserId_thenReturnSameWatermark() {
+        ChangeCursor since = new ChangeCursor(Instant.parse("2024-03-01T10:00:00Z"), UUID.randomUUID());
+
+        ContactChangesDTO result = contactService.getContactChangesByUserId(UUID.randomUUID(), since, 10);
+
+        assertThat(result.changes()).isEmpty();
+        assertThat(result.hasMore()).isFalse();
+        assertThat(result.next()).isEqualTo(since.encode());
+    }
+
+    /**
+     * Tests the typeahead method of the ContactService.
+     * The test passes if the query is answered by the typeahead index.
+     */
+    @DisplayName("JUnit test for typeahead method")
+    @Test
+    public void givenPrefix_whenTypeahead_thenReturnIndexedContacts() {
+        UUID userId = UUID.randomUUID();
+        given(contactTypeaheadIndex.search(userId, "ju", 10)).willReturn(List.of(contactDTO));
+
+        List<ContactDTO> result = contactService.typeahead(userId, "ju", 10);
+
+        assertThat(result).containsExactly(contactDTO);
+        verifyNoInteractions(contactRepository);
+    }
+
+    /**
+     * Tests that getContactById and getContactByEmail share the lookup cache, and getContactByPhone bypasses it.
+     * The test passes if the repository is queried once by id, the email lookup is served from the cache, and the
+     * phone lookup, whose key is not unique, always reads the repository.
+     */
+    @DisplayName("JUnit test for cached contact lookups")
+    @Test
+    public void givenCachedContact_whenLookupByIdEmailAndPhone_thenQueryRepositoryOnce() {
+        given(contactRepository.findContactDTOById(contactEntity.getId())).willReturn(Optional.of(contactDTO));
+        given(contactRepository.findContactDTOByPhone(contactDTO.phone())).willReturn(Optional.of(contactDTO));
+
+        contactService.getContactById(contactEntity.getId());
+        contactService.getContactById(contactEntity.getId());
+        contactService.getContactByEmail(contactDTO.email());
+        contactService.getContactByPhone(contactDTO.phone());
+
+        verify(contactRepository, times(1)).findContactDTOById(contactEntity.getId());
+        verify(contactRepository, never()).findContactDTOByEmail(any());
+        verify(contactRepository, times(1)).findContactDTOByPhone(contactDTO.phone());
+        assertThat(contactService.getCacheStats().hits()).isEqualTo(2);
+        assertThat(contactService.getCacheStats().misses()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that updateContact and deleteContactById invalidate the lookup cache.
+     * The test passes if the next lookup after each write goes back to the repository.
+     */
+    @DisplayName("JUnit test for lookup cache invalidation on update and delete")
+    @Test
+    public void givenCachedContact_whenUpdateOrDelete_thenInvalidateCache() {
+        UUID id = contactEntity.getId();
+        runTransactionCallbacks();
+        given(contactRepository.findContactDTOById(id)).willReturn(Optional.of(contactDTO));
+        given(contactRepository.findContactEntityById(id)).willReturn(Optional.of(contactEntity));
+        given(contactMapper.toDTO(contactEntity)).willReturn(contactDTO);
+
+        contactService.getContactById(id);
+        contactService.updateContact(contactDTO, id);
+        contactService.getContactById(id);
+        contactService.deleteContactById(id);
+        contactService.getContactById(id);
+
+        verify(contactLookupCache, times(2)).invalidate(id);
+        assertThat(contactService.getCacheStats().misses()).isEqualTo(3);
+    }
+
+    /**
+     * Makes the mocked TransactionTemplate run the callbacks it is given.
+     */
+    private void runTransactionCallbacks() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    /**
+     * Makes the mocked TransactionTemplate run the actions it is given.
+     */
+    private void runTransactionActions() {
+        willAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+    }
 }
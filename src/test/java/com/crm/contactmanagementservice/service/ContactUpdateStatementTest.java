@@ -0,0 +1,165 @@
+package com.crm.contactmanagementservice.service;
+
+import com.crm.contactmanagementservice.dto.ContactDTO;
+import com.crm.contactmanagementservice.entity.ContactEntity;
+import com.crm.contactmanagementservice.entity.ContactListEntity;
+import com.crm.contactmanagementservice.repository.ContactListRepository;
+import com.crm.contactmanagementservice.repository.ContactRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statement count tests for ContactService.updateContact.
+ * This class runs the update against the H2 test database with Hibernate statistics enabled, so a change that brings
+ * back extra round trips per PATCH fails here. Change pushes are held back for the whole run, so the owner lookups of
+ * the change topics are not counted.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "contacts.websocket.coalesce-window=PT1H"})
+@ActiveProfiles("test")
+public class ContactUpdateStatementTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactListRepository contactListRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ContactListEntity contactList;
+    private ContactEntity contact;
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves one contact in a contact list and resets the statistics.
+     */
+    @BeforeEach
+    public void setup() {
+        contactList = contactListRepository.save(ContactListEntity.builder().listName("List").userId(UUID.randomUUID()).build());
+        ContactEntity entity = new ContactEntity();
+        entity.setFirstName("June");
+        entity.setLastName("Thomas");
+        entity.setEmail(UUID.randomUUID() + "@test.com");
+        entity.setContactList(contactList);
+        contact = contactRepository.save(entity);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Cleans up the saved contact and contact list after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        contactRepository.deleteContactEntityById(contact.getId());
+        contactListRepository.deleteById(contactList.getId());
+    }
+
+    /**
+     * Tests the number of statements of a PATCH that changes one field.
+     * The test passes if the contact is read once and written once, one outbox event is inserted, and the version is
+     * incremented. The outbox ids come from a pooled sequence, so a call for the next block of ids may be counted too.
+     */
+    @Test
+    @DisplayName("Update Contact - one SELECT, one UPDATE and one outbox INSERT per changed PATCH")
+    public void givenChangedField_whenUpdateContact_thenSelectAndUpdateOnce() {
+        ContactDTO patch = new ContactDTO(null, null, null, null, null, null, "0987654321", null, null, false);
+
+        ContactDTO updated = contactService.updateContact(patch, contact.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isBetween(3L, 4L);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(updated.phone()).isEqualTo("0987654321");
+        assertThat(updated.contactListId()).isEqualTo(contactList.getId());
+        assertThat(contactRepository.findContactEntityById(contact.getId()).orElseThrow().getVersion())
+                .isEqualTo(contact.getVersion() + 1);
+    }
+
+    /**
+     * Tests the number of statements of a PATCH that changes nothing.
+     * The test passes if the contact is read once and neither the contact nor an outbox event is written.
+     */
+    @Test
+    @DisplayName("Update Contact - no UPDATE when nothing changed")
+    public void givenUnchangedFields_whenUpdateContact_thenSelectOnly() {
+        ContactDTO patch = new ContactDTO(null, contactList.getId(), "June", null, null, null, null, null, null, false);
+
+        contactService.updateContact(patch, contact.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+
+    /**
+     * Tests a PATCH that leaves out the do not contact flag.
+     * The test passes if a flagged contact keeps its flag and, with nothing else changed, is not written.
+     */
+    @Test
+    @DisplayName("Update Contact - omitted do not contact flag is left unchanged")
+    public void givenFlaggedContact_whenPatchWithoutFlag_thenFlagKept() {
+        ContactEntity flagged = contactRepository.findContactEntityById(contact.getId()).orElseThrow();
+        flagged.setDoNotContact(true);
+        flagged = contactRepository.save(flagged);
+        statistics.clear();
+        ContactDTO patch = new ContactDTO(null, null, "June", null, null, null, null, null, null, null);
+
+        ContactDTO updated = contactService.updateContact(patch, contact.getId());
+
+        assertThat(updated.doNotContact()).isTrue();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(contactRepository.findContactEntityById(contact.getId()).orElseThrow().getVersion())
+                .isEqualTo(flagged.getVersion());
+    }
+
+    /**
+     * Tests the version check.
+     * The test passes if a transaction that read the contact before a concurrent update cannot overwrite it.
+     */
+    @Test
+    @DisplayName("Update Contact - stale writer fails the version check")
+    public void givenConcurrentUpdate_whenStaleWriterFlushes_thenOptimisticLockException() {
+        TransactionTemplate stale = new TransactionTemplate(transactionManager);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThatThrownBy(() -> stale.executeWithoutResult(status -> {
+            ContactEntity loaded = entityManager.find(ContactEntity.class, contact.getId());
+            concurrent.executeWithoutResult(inner -> contactService.updateContact(
+                    new ContactDTO(null, null, "Juniper", null, null, null, null, null, null, false), contact.getId()));
+            loaded.setLastName("Stale");
+            entityManager.flush();
+        })).isInstanceOf(OptimisticLockException.class);
+    }
+}